@@ -1,18 +1,31 @@
 package com.energygames.lojadegames.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
 import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.security.PrincipalCache;
+import com.energygames.lojadegames.service.EstoqueQuenteService;
 import com.energygames.lojadegames.service.ProdutoService;
+import com.energygames.lojadegames.service.cache.ProdutoDetalheCache;
+import com.energygames.lojadegames.service.cache.ProdutoListagemRespostaCache;
+import com.energygames.lojadegames.service.cache.SegundoNivelCacheMonitor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -26,9 +39,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class AdminProdutoController {
 
     private final ProdutoService produtoService;
+    private final ProdutoDetalheCache detalheCache;
+    private final ProdutoListagemRespostaCache listagemCache;
+    private final SegundoNivelCacheMonitor segundoNivelCacheMonitor;
+    private final EstoqueQuenteService estoqueQuenteService;
+    private final PrincipalCache principalCache;
 
-    public AdminProdutoController(ProdutoService produtoService) {
+    public AdminProdutoController(ProdutoService produtoService, ProdutoDetalheCache detalheCache,
+            ProdutoListagemRespostaCache listagemCache, SegundoNivelCacheMonitor segundoNivelCacheMonitor,
+            EstoqueQuenteService estoqueQuenteService, PrincipalCache principalCache) {
         this.produtoService = produtoService;
+        this.detalheCache = detalheCache;
+        this.listagemCache = listagemCache;
+        this.segundoNivelCacheMonitor = segundoNivelCacheMonitor;
+        this.estoqueQuenteService = estoqueQuenteService;
+        this.principalCache = principalCache;
     }
 
     @GetMapping("/pendentes")
@@ -45,4 +70,43 @@ public class AdminProdutoController {
 
         return ResponseEntity.ok(produtoService.buscarProdutosPendentes(pageable));
     }
+
+    @GetMapping("/cache")
+    @Operation(summary = "Estatísticas dos caches do catálogo", description = "Retorna hits, misses e evictions dos caches em memória, das regiões do cache de segundo nível e do cache de principais do JWT")
+    public ResponseEntity<List<CacheEstatisticasDTO>> estatisticasCache() {
+        List<CacheEstatisticasDTO> caches = new ArrayList<>();
+        caches.add(detalheCache.estatisticas());
+        caches.add(listagemCache.estatisticas());
+        caches.addAll(segundoNivelCacheMonitor.estatisticas());
+        caches.add(principalCache.estatisticas());
+        return ResponseEntity.ok(caches);
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "Limpar caches do catálogo", description = "Descarta todas as entradas dos caches em memória")
+    public ResponseEntity<Void> limparCache() {
+        detalheCache.invalidarTudo();
+        listagemCache.invalidarTudo();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/estoque-quente")
+    @Operation(summary = "Produtos em modo de estoque quente", description = "Retorna o disponível para venda em memória de cada produto em modo quente")
+    public ResponseEntity<Map<Long, Integer>> estoqueQuente() {
+        return ResponseEntity.ok(estoqueQuenteService.situacao());
+    }
+
+    @PutMapping("/{id}/estoque-quente")
+    @Operation(summary = "Ativar modo de estoque quente", description = "Passa o estoque do produto para contadores em memória gravados em lote, para vendas relâmpago. Exige implantação em instância única (estoque.quente.instancia-unica=true)")
+    public ResponseEntity<Void> ativarEstoqueQuente(@PathVariable Long id) {
+        estoqueQuenteService.ativar(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/estoque-quente")
+    @Operation(summary = "Desativar modo de estoque quente", description = "Grava as movimentações pendentes e volta às baixas diretas em banco")
+    public ResponseEntity<Void> desativarEstoqueQuente(@PathVariable Long id) {
+        estoqueQuenteService.desativar(id);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,34 @@
+package com.energygames.lojadegames.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.energygames.lojadegames.dto.response.HashSenhaEstatisticasDTO;
+import com.energygames.lojadegames.security.HashSenhaExecutor;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/admin/seguranca")
+@Tag(name = "Admin Segurança", description = "Monitoramento da autenticação")
+@SecurityRequirement(name = "bearer-key")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminSegurancaController {
+
+    private final HashSenhaExecutor hashSenhaExecutor;
+
+    public AdminSegurancaController(HashSenhaExecutor hashSenhaExecutor) {
+        this.hashSenhaExecutor = hashSenhaExecutor;
+    }
+
+    @GetMapping("/hash-senha")
+    @Operation(summary = "Estatísticas do pool de hash de senhas", description = "Retorna threads ocupadas, tamanho da fila, recusas e latências de espera e de hash do BCrypt")
+    public ResponseEntity<HashSenhaEstatisticasDTO> estatisticasHashSenha() {
+        return ResponseEntity.ok(hashSenhaExecutor.estatisticas());
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.energygames.lojadegames.dto.request.AvaliacaoRequestDTO;
 import com.energygames.lojadegames.dto.response.AvaliacaoResponseDTO;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.service.AvaliacaoService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -81,6 +82,22 @@ public class AvaliacaoController {
 		return ResponseEntity.ok(avaliacaoService.buscarPorProduto(produtoId, pageable));
 	}
 
+	@GetMapping("/produto/{produtoId}/cursor")
+	@Operation(summary = "Listar avaliações de um produto por cursor", description = "Paginação keyset sem contagem total. Ordenação suportada: dataAvaliacao")
+	public ResponseEntity<CursorPageResponseDTO<AvaliacaoResponseDTO>> buscarPorProdutoPorCursor(
+			@PathVariable Long produtoId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "dataAvaliacao,desc") String sort) {
+
+		String[] sortParams = sort.split(",");
+		Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
+				? Sort.Direction.DESC : Sort.Direction.ASC;
+
+		return ResponseEntity.ok(avaliacaoService.buscarPorProdutoPorCursor(
+				produtoId, sortParams[0], direction, cursor, size));
+	}
+
 	@GetMapping("/produto/{produtoId}/media")
 	@Operation(summary = "Calcular média de avaliações", description = "Retorna a média das notas de um produto")
 	public ResponseEntity<Double> calcularMedia(@PathVariable Long produtoId) {
@@ -14,10 +14,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.energygames.lojadegames.dto.banner.BannerRequestDTO;
 import com.energygames.lojadegames.dto.banner.BannerResponseDTO;
 import com.energygames.lojadegames.service.BannerService;
+import com.energygames.lojadegames.util.EtagUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -39,8 +41,12 @@ public class BannerController {
      */
     @GetMapping("/ativos")
     @Operation(summary = "Lista banners ativos para o carousel (público)")
-    public ResponseEntity<List<BannerResponseDTO>> listarBannersAtivos() {
-        return ResponseEntity.ok(bannerService.listarBannersAtivos());
+    public ResponseEntity<List<BannerResponseDTO>> listarBannersAtivos(WebRequest request) {
+        String etag = bannerService.calcularEtagAtivos();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EtagUtils.REVALIDAR).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(EtagUtils.REVALIDAR).body(bannerService.listarBannersAtivos());
     }
 
     /**
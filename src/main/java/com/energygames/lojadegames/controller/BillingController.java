@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -12,6 +13,7 @@ import com.energygames.lojadegames.dto.request.CheckoutRequestDTO;
 import com.energygames.lojadegames.dto.response.CheckoutResponseDTO;
 import com.energygames.lojadegames.dto.response.PaymentStatusDTO;
 import com.energygames.lojadegames.service.BillingService;
+import com.energygames.lojadegames.service.cache.IdempotenciaCache;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,15 +25,20 @@ import jakarta.validation.Valid;
 public class BillingController {
 
     private final BillingService billingService;
+    private final IdempotenciaCache idempotenciaCache;
 
-    public BillingController(BillingService billingService) {
+    public BillingController(BillingService billingService, IdempotenciaCache idempotenciaCache) {
         this.billingService = billingService;
+        this.idempotenciaCache = idempotenciaCache;
     }
 
     @PostMapping("/checkout")
-    @Operation(summary = "Criar Checkout Session", description = "Cria uma sessão de checkout no Stripe para um pedido existente")
-    public ResponseEntity<CheckoutResponseDTO> createCheckoutSession(@Valid @RequestBody CheckoutRequestDTO request) {
-        return ResponseEntity.ok(billingService.createCheckoutSession(request));
+    @Operation(summary = "Criar Checkout Session", description = "Cria uma sessão de checkout no Stripe para um pedido existente. Com o cabeçalho Idempotency-Key, retentativas devolvem a mesma sessão sem chamar o Stripe")
+    public ResponseEntity<CheckoutResponseDTO> createCheckoutSession(
+            @RequestHeader(value = IdempotenciaCache.CABECALHO, required = false) String idempotencyKey,
+            @Valid @RequestBody CheckoutRequestDTO request) {
+        return idempotenciaCache.executar("POST /api/billing/checkout", idempotencyKey, String.valueOf(request.pedidoId()),
+                () -> ResponseEntity.ok(billingService.createCheckoutSession(request)));
     }
 
     @GetMapping("/status/{sessionId}")
@@ -17,10 +17,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.energygames.lojadegames.dto.request.CategoriaRequestDTO;
 import com.energygames.lojadegames.dto.response.CategoriaResponseDTO;
 import com.energygames.lojadegames.service.CategoriaService;
+import com.energygames.lojadegames.util.EtagUtils;
 
 import jakarta.validation.Valid;
 
@@ -39,14 +41,21 @@ public class CategoriaController {
 			@RequestParam(required = false) String descricao,
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "20") int size,
-			@RequestParam(defaultValue = "tipo,asc") String sort) {
+			@RequestParam(defaultValue = "tipo,asc") String sort,
+			WebRequest request) {
+		
+		String etag = categoriaService.calcularEtagListagem();
+		if (request.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EtagUtils.REVALIDAR).build();
+		}
 		
 		String[] sortParams = sort.split(",");
 		Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc") 
 				? Sort.Direction.DESC : Sort.Direction.ASC;
 		Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
 		
-		return ResponseEntity.ok(categoriaService.buscarTodas(descricao, pageable));
+		return ResponseEntity.ok().eTag(etag).cacheControl(EtagUtils.REVALIDAR)
+				.body(categoriaService.buscarTodas(descricao, pageable));
 	}
 	
 	@GetMapping("/{id}")
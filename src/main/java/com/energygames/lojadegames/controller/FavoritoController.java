@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.FavoritoResponseDTO;
 import com.energygames.lojadegames.service.FavoritoService;
 
@@ -62,6 +63,20 @@ public class FavoritoController {
 		return ResponseEntity.ok(favoritoService.listarMeusFavoritos(pageable));
 	}
 
+	@GetMapping("/cursor")
+	@Operation(summary = "Listar meus favoritos por cursor", description = "Paginação keyset sem contagem total. Ordenação suportada: dataAdicionado")
+	public ResponseEntity<CursorPageResponseDTO<FavoritoResponseDTO>> listarPorCursor(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "dataAdicionado,desc") String sort) {
+
+		String[] sortParams = sort.split(",");
+		Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
+				? Sort.Direction.DESC : Sort.Direction.ASC;
+
+		return ResponseEntity.ok(favoritoService.listarMeusFavoritosPorCursor(sortParams[0], direction, cursor, size));
+	}
+
 	@GetMapping("/produto/{produtoId}/verificar")
 	@Operation(summary = "Verificar se é favorito", description = "Verifica se um produto está nos favoritos do usuário")
 	public ResponseEntity<Boolean> verificar(@PathVariable Long produtoId) {
@@ -1,17 +1,25 @@
 package com.energygames.lojadegames.controller;
 
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
+import com.energygames.lojadegames.dto.response.FilaCheckoutResponseDTO;
 import com.energygames.lojadegames.dto.response.PedidoResponseDTO;
 import com.energygames.lojadegames.service.PedidoService;
+import com.energygames.lojadegames.service.cache.IdempotenciaCache;
+import com.energygames.lojadegames.service.concorrencia.FilaCheckout;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,24 +30,59 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class PedidoController {
 
     private final PedidoService pedidoService;
+    private final IdempotenciaCache idempotenciaCache;
+    private final FilaCheckout filaCheckout;
 
-    public PedidoController(PedidoService pedidoService) {
+    public PedidoController(PedidoService pedidoService, IdempotenciaCache idempotenciaCache, FilaCheckout filaCheckout) {
         this.pedidoService = pedidoService;
+        this.idempotenciaCache = idempotenciaCache;
+        this.filaCheckout = filaCheckout;
     }
 
     @PostMapping
-    @Operation(summary = "Criar pedido (Checkout)", description = "Cria um novo pedido com base nos itens do carrinho do usuário autenticado")
-    public ResponseEntity<PedidoResponseDTO> criarPedido() {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(pedidoService.criarPedido());
+    @Operation(summary = "Criar pedido (Checkout)", description = "Cria um novo pedido com base nos itens do carrinho do usuário autenticado. Com o cabeçalho Idempotency-Key, retentativas devolvem o mesmo pedido. Em venda relâmpago, pode responder 202 com uma senha da fila, a ser consultada em /pedidos/fila/{token}")
+    public ResponseEntity<Object> criarPedido(
+            @RequestHeader(value = IdempotenciaCache.CABECALHO, required = false) String idempotencyKey) {
+        return idempotenciaCache.executar("POST /pedidos", idempotencyKey, null, () -> {
+            FilaCheckout.Admissao admissao = filaCheckout.admitir(pedidoService::criarPedido);
+            if (admissao.isNaFila()) {
+                return ResponseEntity.accepted()
+                        .location(URI.create("/pedidos/fila/" + admissao.senha().token()))
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(filaCheckout.getIntervaloConsultaSegundos()))
+                        .body(admissao.senha());
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(admissao.pedido());
+        });
+    }
+
+    @GetMapping("/fila/{token}")
+    @Operation(summary = "Consultar senha da fila de checkout", description = "Posição na fila da venda relâmpago e, quando concluído, o pedido criado. Senhas sem consulta por muito tempo são descartadas")
+    public ResponseEntity<FilaCheckoutResponseDTO> consultarFila(@PathVariable String token) {
+        FilaCheckoutResponseDTO senha = filaCheckout.consultar(token);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (senha.posicao() != null) {
+            resposta.header(HttpHeaders.RETRY_AFTER, String.valueOf(filaCheckout.getIntervaloConsultaSegundos()));
+        }
+        return resposta.body(senha);
     }
 
     @GetMapping
-    @Operation(summary = "Listar meus pedidos", description = "Retorna o histórico de pedidos do usuário autenticado")
+    @Operation(summary = "Listar meus pedidos", description = "Retorna todos os pedidos do usuário autenticado. Para históricos longos, prefira /pedidos/historico")
     public ResponseEntity<List<PedidoResponseDTO>> listarMeusPedidos() {
         return ResponseEntity.ok(pedidoService.listarMeusPedidos());
     }
 
+    @GetMapping("/historico")
+    @Operation(summary = "Histórico de pedidos por cursor", description = "Pedidos do usuário autenticado, do mais recente para o mais antigo, sem contagem total. Com resumo=true omite os itens e retorna apenas a quantidade total de itens")
+    public ResponseEntity<CursorPageResponseDTO<?>> listarHistorico(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean resumo) {
+        return ResponseEntity.ok(resumo
+                ? pedidoService.listarHistoricoResumido(cursor, size)
+                : pedidoService.listarHistorico(cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pedido por ID", description = "Retorna detalhes de um pedido específico (apenas dono ou admin)")
     public ResponseEntity<PedidoResponseDTO> buscarPedidoPorId(@PathVariable Long id) {
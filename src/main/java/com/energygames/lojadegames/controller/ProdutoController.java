@@ -1,10 +1,17 @@
 package com.energygames.lojadegames.controller;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,16 +26,25 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.energygames.lojadegames.dto.request.ProdutoComercialUpdateDTO;
 import com.energygames.lojadegames.dto.request.ProdutoRequestDTO;
+import com.energygames.lojadegames.dto.response.BuscaFacetadaResponseDTO;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.dto.response.ProdutoSugestaoDTO;
 import com.energygames.lojadegames.service.ProdutoService;
+import com.energygames.lojadegames.service.cache.ProdutoListagemRespostaCache;
+import com.energygames.lojadegames.service.search.ProdutoFacetaIndex;
+import com.energygames.lojadegames.util.EtagUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -37,9 +53,11 @@ import jakarta.validation.Valid;
 public class ProdutoController {
 
 	private final ProdutoService produtoService;
+	private final ProdutoListagemRespostaCache listagemCache;
 	
-	public ProdutoController(ProdutoService produtoService) {
+	public ProdutoController(ProdutoService produtoService, ProdutoListagemRespostaCache listagemCache) {
 		this.produtoService = produtoService;
+		this.listagemCache = listagemCache;
 	}
 
 	@GetMapping
@@ -48,33 +66,155 @@ public class ProdutoController {
 			@RequestParam(required = false) Long categoriaId,
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "20") int size,
-			@RequestParam(defaultValue = "nome,asc") String sort) {
+			@RequestParam(required = false) String sort,
+			HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
 		
-		String[] sortParams = sort.split(",");
+		// Busca textual sem ordenação explícita segue a relevância do índice
+		if (sort == null && nome != null && !nome.isBlank()) {
+			return ResponseEntity.ok(produtoService.buscarTodos(nome, categoriaId, PageRequest.of(page, size)));
+		}
+
+		String[] sortParams = (sort != null ? sort : "nome,asc").split(",");
 		Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc") 
 				? Sort.Direction.DESC : Sort.Direction.ASC;
 		Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+
+		ProdutoListagemRespostaCache.Chave chave = listagemCache.chave(
+				nome, categoriaId, page, size, sortParams[0], direction.isDescending());
+		if (chave != null) {
+			escreverListagem(listagemCache.obter(chave, () -> produtoService.buscarTodos(null, categoriaId, pageable)),
+					request, response);
+			// Corpo já escrito: null sinaliza ao Spring que a resposta foi tratada
+			return null;
+		}
 		
 		return ResponseEntity.ok(produtoService.buscarTodos(nome, categoriaId, pageable));
 	}
 
+	/**
+	 * Escreve os bytes pré-serializados direto no corpo, em gzip quando o cliente aceita
+	 */
+	private void escreverListagem(ProdutoListagemRespostaCache.Resposta resposta,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		byte[] corpo = resposta.getJson();
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (resposta.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			corpo = resposta.getGzip();
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(corpo.length);
+		response.getOutputStream().write(corpo);
+	}
+
+	@Operation(summary = "Listar produtos por cursor",
+		description = "Paginação keyset sem contagem total. Ordenação suportada: dataLancamento, ratingIgdb, nome, preco")
+	@GetMapping("/cursor")
+	public ResponseEntity<CursorPageResponseDTO<ProdutoResponseDTO>> getAllPorCursor(
+			@RequestParam(required = false) String nome,
+			@RequestParam(required = false) Long categoriaId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "nome,asc") String sort) {
+
+		String[] sortParams = sort.split(",");
+		Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
+				? Sort.Direction.DESC : Sort.Direction.ASC;
+
+		return ResponseEntity.ok(produtoService.buscarTodosPorCursor(
+				nome, categoriaId, sortParams[0], direction, cursor, size));
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<ProdutoResponseDTO> getById(@PathVariable Long id) {
-		return ResponseEntity.ok(produtoService.buscarPorId(id));
+	public ResponseEntity<ProdutoResponseDTO> getById(@PathVariable Long id, WebRequest request) {
+		String etag = produtoService.calcularEtag(id);
+		if (request.checkNotModified(etag)) {
+			return naoModificado(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(EtagUtils.REVALIDAR).body(produtoService.buscarPorId(id));
 	}
 
 	@Operation(summary = "Buscar produto com mídia estruturada", 
 		description = "Retorna detalhes do produto com imagens e vídeos em múltiplos tamanhos")
 	@GetMapping("/{id}/detalhe")
-	public ResponseEntity<ProdutoDetalheResponseDTO> getDetalheById(@PathVariable Long id) {
-		return ResponseEntity.ok(produtoService.buscarDetalhePorId(id));
+	public ResponseEntity<ProdutoDetalheResponseDTO> getDetalheById(@PathVariable Long id, WebRequest request) {
+		String etag = produtoService.calcularEtag(id);
+		if (request.checkNotModified(etag)) {
+			return naoModificado(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(EtagUtils.REVALIDAR).body(produtoService.buscarDetalhePorId(id));
 	}
 
 	@Operation(summary = "Buscar produto por slug", 
 		description = "Retorna detalhes do produto pelo slug (URL amigável)")
 	@GetMapping("/slug/{slug}")
-	public ResponseEntity<ProdutoDetalheResponseDTO> getBySlug(@PathVariable String slug) {
-		return ResponseEntity.ok(produtoService.buscarDetalhePorSlug(slug));
+	public ResponseEntity<ProdutoDetalheResponseDTO> getBySlug(@PathVariable String slug, WebRequest request) {
+		String etag = produtoService.calcularEtagPorSlug(slug);
+		if (request.checkNotModified(etag)) {
+			return naoModificado(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(EtagUtils.REVALIDAR).body(produtoService.buscarDetalhePorSlug(slug));
+	}
+
+	/**
+	 * 304 respondido só com a versão do produto, sem montar o DTO
+	 */
+	private <T> ResponseEntity<T> naoModificado(String etag) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(EtagUtils.REVALIDAR).build();
+	}
+
+	@Operation(summary = "Busca facetada de produtos",
+		description = "Filtra por categoria, plataforma, genero, status, preco e rating (valores múltiplos por faceta) "
+			+ "e retorna a página de produtos com as contagens de cada valor de faceta")
+	@GetMapping("/facetas")
+	public ResponseEntity<BuscaFacetadaResponseDTO> getFacetado(
+			@RequestParam(required = false) String nome,
+			@RequestParam(required = false) List<String> categoria,
+			@RequestParam(required = false) List<String> plataforma,
+			@RequestParam(required = false) List<String> genero,
+			@RequestParam(required = false) List<String> status,
+			@RequestParam(required = false) List<String> preco,
+			@RequestParam(required = false) List<String> rating,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) String sort) {
+
+		Map<String, List<String>> filtros = new LinkedHashMap<>();
+		adicionarFiltro(filtros, ProdutoFacetaIndex.CATEGORIA, categoria);
+		adicionarFiltro(filtros, ProdutoFacetaIndex.PLATAFORMA, plataforma);
+		adicionarFiltro(filtros, ProdutoFacetaIndex.GENERO, genero);
+		adicionarFiltro(filtros, ProdutoFacetaIndex.STATUS, status);
+		adicionarFiltro(filtros, ProdutoFacetaIndex.PRECO, preco);
+		adicionarFiltro(filtros, ProdutoFacetaIndex.RATING, rating);
+
+		// Sem ordenação explícita a página segue a ordem de ID e só os IDs da página são consultados
+		Pageable pageable = PageRequest.of(page, size);
+		if (sort != null) {
+			String[] sortParams = sort.split(",");
+			Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
+					? Sort.Direction.DESC : Sort.Direction.ASC;
+			pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+		}
+
+		return ResponseEntity.ok(produtoService.buscarFacetado(nome, filtros, pageable));
+	}
+
+	private void adicionarFiltro(Map<String, List<String>> filtros, String faceta, List<String> valores) {
+		if (valores != null && !valores.isEmpty()) {
+			filtros.put(faceta, valores);
+		}
+	}
+
+	@Operation(summary = "Autocomplete de produtos",
+		description = "Sugestões (id, nome, slug, capa) para o texto digitado, tolerando um erro de digitação e ordenadas por popularidade")
+	@GetMapping("/autocomplete")
+	public ResponseEntity<List<ProdutoSugestaoDTO>> autocomplete(
+			@RequestParam String q,
+			@RequestParam(defaultValue = "8") int limite) {
+		return ResponseEntity.ok(produtoService.autocompletar(q, limite));
 	}
 
 	@GetMapping("/buscar")
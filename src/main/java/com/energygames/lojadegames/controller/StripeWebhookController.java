@@ -11,10 +11,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.energygames.lojadegames.configuration.StripeConfig;
-import com.energygames.lojadegames.service.BillingService;
+import com.energygames.lojadegames.service.WebhookInboxService;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Event;
-import com.stripe.model.checkout.Session;
 import com.stripe.net.Webhook;
 
 import io.swagger.v3.oas.annotations.Hidden;
@@ -26,11 +25,11 @@ public class StripeWebhookController {
 
     private static final Logger log = LoggerFactory.getLogger(StripeWebhookController.class);
 
-    private final BillingService billingService;
+    private final WebhookInboxService webhookInboxService;
     private final StripeConfig stripeConfig;
 
-    public StripeWebhookController(BillingService billingService, StripeConfig stripeConfig) {
-        this.billingService = billingService;
+    public StripeWebhookController(WebhookInboxService webhookInboxService, StripeConfig stripeConfig) {
+        this.webhookInboxService = webhookInboxService;
         this.stripeConfig = stripeConfig;
     }
 
@@ -51,52 +50,14 @@ public class StripeWebhookController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Payload inválido");
         }
 
-        String eventType = event.getType();
-        String eventId = event.getId();
+        log.info("Webhook recebido: type={}, id={}", event.getType(), event.getId());
 
-        log.info("Webhook recebido: type={}, id={}", eventType, eventId);
-
-        try {
-            switch (eventType) {
-                case "checkout.session.completed" -> {
-                    Session session = (Session) event.getDataObjectDeserializer()
-                            .getObject()
-                            .orElseThrow(() -> new RuntimeException("Falha ao deserializar session"));
-                    
-                    String paymentStatus = session.getPaymentStatus();
-                    
-                    if ("paid".equals(paymentStatus)) {
-                        billingService.handlePaymentSuccess(session.getId(), eventId);
-                    } else {
-                        log.info("Checkout completed mas pagamento não confirmado: {}", paymentStatus);
-                    }
-                }
-                
-                case "checkout.session.expired" -> {
-                    Session session = (Session) event.getDataObjectDeserializer()
-                            .getObject()
-                            .orElseThrow(() -> new RuntimeException("Falha ao deserializar session"));
-                    
-                    billingService.handlePaymentFailure(session.getId(), eventId);
-                }
-                
-                case "payment_intent.succeeded" -> {
-                    log.info("PaymentIntent succeeded - processado via checkout.session.completed");
-                }
-                
-                case "payment_intent.payment_failed" -> {
-                    log.warn("PaymentIntent falhou: {}", eventId);
-                }
-                
-                default -> log.info("Evento não tratado: {}", eventType);
-            }
-        } catch (Exception e) {
-            log.error("Erro ao processar evento {}: {}", eventType, e.getMessage(), e);
-            // Retornar 200 mesmo com erro para evitar retry infinito
-            // O erro será tratado manualmente via logs
-            return ResponseEntity.ok("Evento recebido com erro no processamento");
+        // Só grava na caixa de entrada: estoque e pedido são atualizados pelos workers, com retentativas.
+        // Se a gravação falhar, o 500 faz o Stripe reenviar o evento
+        if (!webhookInboxService.registrar(event, payload)) {
+            log.info("Evento já recebido (idempotência): {}", event.getId());
         }
 
-        return ResponseEntity.ok("Webhook processado");
+        return ResponseEntity.ok("Webhook recebido");
     }
 }
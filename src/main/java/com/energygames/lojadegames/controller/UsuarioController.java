@@ -11,10 +11,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.energygames.lojadegames.dto.request.LoginRequestDTO;
+import com.energygames.lojadegames.dto.request.RefreshTokenRequestDTO;
 import com.energygames.lojadegames.dto.request.SenhaResetDTO;
 import com.energygames.lojadegames.dto.request.SenhaUpdateDTO;
 import com.energygames.lojadegames.dto.request.UsuarioRequestDTO;
@@ -22,6 +24,7 @@ import com.energygames.lojadegames.dto.response.AuthResponseDTO;
 import com.energygames.lojadegames.dto.response.UsuarioResponseDTO;
 import com.energygames.lojadegames.service.UsuarioService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -45,24 +48,38 @@ public class UsuarioController {
 	}
 	
 	@PostMapping("/logar")
-	public ResponseEntity<AuthResponseDTO> autenticar(@Valid @RequestBody LoginRequestDTO dto){
-		return ResponseEntity.ok(usuarioService.autenticar(dto));
+	public ResponseEntity<AuthResponseDTO> autenticar(@Valid @RequestBody LoginRequestDTO dto, HttpServletRequest request){
+		return ResponseEntity.ok(usuarioService.autenticar(dto, request.getRemoteAddr()));
+	}
+
+	@PostMapping("/renovar")
+	public ResponseEntity<AuthResponseDTO> renovar(@Valid @RequestBody RefreshTokenRequestDTO dto) {
+		return ResponseEntity.ok(usuarioService.renovar(dto));
+	}
+
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authorization,
+			@RequestBody(required = false) RefreshTokenRequestDTO dto) {
+		usuarioService.logout(authorization.replaceFirst("^Bearer ", ""), dto == null ? null : dto.getRefreshToken());
+		return ResponseEntity.noContent().build();
 	}
 
 	@PostMapping("/cadastrar")
-	public ResponseEntity<UsuarioResponseDTO> cadastrar(@Valid @RequestBody UsuarioRequestDTO dto) {
+	public ResponseEntity<UsuarioResponseDTO> cadastrar(@Valid @RequestBody UsuarioRequestDTO dto, HttpServletRequest request) {
 		return ResponseEntity.status(HttpStatus.CREATED)
-				.body(usuarioService.cadastrar(dto));
+				.body(usuarioService.cadastrar(dto, request.getRemoteAddr()));
 	}
 
 	@PutMapping("/atualizar/{id}")
-	public ResponseEntity<UsuarioResponseDTO> atualizar(@PathVariable Long id, @Valid @RequestBody UsuarioRequestDTO dto) {
-		return ResponseEntity.ok(usuarioService.atualizar(id, dto));
+	public ResponseEntity<UsuarioResponseDTO> atualizar(@PathVariable Long id, @Valid @RequestBody UsuarioRequestDTO dto,
+			HttpServletRequest request) {
+		return ResponseEntity.ok(usuarioService.atualizar(id, dto, request.getRemoteAddr()));
 	}
 
 	@PatchMapping("/{id}/senha")
-	public ResponseEntity<Void> alterarSenha(@PathVariable Long id, @Valid @RequestBody SenhaUpdateDTO dto) {
-		usuarioService.alterarSenha(id, dto);
+	public ResponseEntity<Void> alterarSenha(@PathVariable Long id, @Valid @RequestBody SenhaUpdateDTO dto,
+			HttpServletRequest request) {
+		usuarioService.alterarSenha(id, dto, request.getRemoteAddr());
 		return ResponseEntity.noContent().build();
 	}
 
@@ -1,12 +1,11 @@
 package com.energygames.lojadegames.dto.mapper;
 
-import java.math.BigDecimal;
-
 import org.springframework.stereotype.Component;
 
 import com.energygames.lojadegames.dto.response.CarrinhoItemResponseDTO;
 import com.energygames.lojadegames.model.CarrinhoItem;
 import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.util.Dinheiro;
 
 @Component
 public class CarrinhoMapper {
@@ -19,7 +18,7 @@ public class CarrinhoMapper {
 		dto.setPlataforma(item.getProduto().getPlataforma());
 		dto.setPrecoUnitario(item.getPrecoUnitario());
 		dto.setDescontoUnitario(item.getDescontoUnitario());
-		dto.setPrecoComDesconto(calcularPrecoComDesconto(item.getPrecoUnitario(), item.getDescontoUnitario()));
+		dto.setPrecoComDesconto(Dinheiro.precoComDesconto(item.getPrecoUnitario(), item.getDescontoUnitario()));
 		dto.setQuantidade(item.getQuantidade());
 		dto.setSubtotal(item.calcularSubtotal());
 		dto.setDataAdicionado(item.getDataAdicionado());
@@ -34,12 +33,4 @@ public class CarrinhoMapper {
 		
 		return dto;
 	}
-
-	private BigDecimal calcularPrecoComDesconto(BigDecimal preco, BigDecimal desconto) {
-		if (preco == null || desconto == null || desconto.compareTo(BigDecimal.ZERO) == 0) {
-			return preco;
-		}
-		BigDecimal percentualDesconto = desconto.divide(BigDecimal.valueOf(100), 4, java.math.RoundingMode.HALF_UP);
-		return preco.subtract(preco.multiply(percentualDesconto)).setScale(2, java.math.RoundingMode.HALF_UP);
-	}
 }
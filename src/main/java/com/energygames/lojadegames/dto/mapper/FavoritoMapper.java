@@ -1,12 +1,11 @@
 package com.energygames.lojadegames.dto.mapper;
 
-import java.math.BigDecimal;
-
 import org.springframework.stereotype.Component;
 
 import com.energygames.lojadegames.dto.response.FavoritoResponseDTO;
 import com.energygames.lojadegames.model.Favorito;
 import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.util.Dinheiro;
 
 @Component
 public class FavoritoMapper {
@@ -25,7 +24,7 @@ public class FavoritoMapper {
 		dto.setNome(produto.getNome());
 		dto.setDescricao(produto.getDescricao());
 		dto.setPreco(produto.getPreco());
-		dto.setPrecoComDesconto(calcularPrecoComDesconto(produto.getPreco(), produto.getDesconto()));
+		dto.setPrecoComDesconto(Dinheiro.precoComDesconto(produto.getPreco(), produto.getDesconto()));
 		dto.setPlataforma(produto.getPlataforma());
 		dto.setEmEstoque(produto.getEstoque() != null && produto.getEstoque() > 0);
 		
@@ -35,12 +34,4 @@ public class FavoritoMapper {
 		
 		return dto;
 	}
-
-	private BigDecimal calcularPrecoComDesconto(BigDecimal preco, BigDecimal desconto) {
-		if (preco == null || desconto == null || desconto.compareTo(BigDecimal.ZERO) == 0) {
-			return preco;
-		}
-		BigDecimal percentualDesconto = desconto.divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-		return preco.subtract(preco.multiply(percentualDesconto)).setScale(2, java.math.RoundingMode.HALF_UP);
-	}
 }
@@ -1,12 +1,12 @@
 package com.energygames.lojadegames.dto.mapper;
 
-import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.energygames.lojadegames.dto.projection.ProdutoListagemProjection;
 import com.energygames.lojadegames.dto.request.ProdutoRequestDTO;
 import com.energygames.lojadegames.dto.response.ImagemResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
@@ -22,6 +22,7 @@ import com.energygames.lojadegames.model.ProdutoImagem;
 import com.energygames.lojadegames.model.ProdutoVideo;
 import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.service.MediaUrlService;
+import com.energygames.lojadegames.util.Dinheiro;
 
 @Component
 public class ProdutoMapper {
@@ -70,7 +71,7 @@ public class ProdutoMapper {
 		dto.setNome(produto.getNome());
 		dto.setDescricao(produto.getDescricao());
 		dto.setPreco(produto.getPreco());
-		dto.setPrecoComDesconto(calcularPrecoComDesconto(produto.getPreco(), produto.getDesconto()));
+		dto.setPrecoComDesconto(Dinheiro.precoComDesconto(produto.getPreco(), produto.getDesconto()));
 		dto.setDesconto(produto.getDesconto());
 		dto.setEstoque(produto.getEstoque());
 		dto.setEmEstoque(produto.getEstoque() != null && produto.getEstoque() > 0);
@@ -90,6 +91,38 @@ public class ProdutoMapper {
 		return dto;
 	}
 
+	/**
+	 * Converte a projeção da listagem para ProdutoResponseDTO
+	 * As URLs de imagem já chegam resolvidas (estruturadas ou simples) pela consulta em lote
+	 */
+	public ProdutoResponseDTO toResponseDTO(ProdutoListagemProjection projecao, List<String> imagens) {
+		ProdutoResponseDTO dto = new ProdutoResponseDTO();
+		dto.setId(projecao.getId());
+		dto.setNome(projecao.getNome());
+		dto.setDescricao(projecao.getDescricao());
+		dto.setPreco(projecao.getPreco());
+		dto.setPrecoComDesconto(Dinheiro.precoComDesconto(projecao.getPreco(), projecao.getDesconto()));
+		dto.setDesconto(projecao.getDesconto());
+		dto.setEstoque(projecao.getEstoque());
+		dto.setEmEstoque(projecao.getEstoque() != null && projecao.getEstoque() > 0);
+		dto.setPlataforma(projecao.getPlataforma());
+		dto.setDesenvolvedor(projecao.getDesenvolvedor());
+		dto.setPublisher(projecao.getPublisher());
+		dto.setDataLancamento(projecao.getDataLancamento());
+		dto.setImagens(imagens);
+		dto.setAtivo(projecao.getAtivo());
+
+		if (projecao.getCategoriaId() != null) {
+			ProdutoResponseDTO.CategoriaResumoDTO categoria = new ProdutoResponseDTO.CategoriaResumoDTO();
+			categoria.setId(projecao.getCategoriaId());
+			categoria.setTipo(projecao.getCategoriaTipo());
+			categoria.setIcone(projecao.getCategoriaIcone());
+			dto.setCategoria(categoria);
+		}
+
+		return dto;
+	}
+
 	/**
 	 * Extrai URLs das imagens, priorizando imagens estruturadas (IGDB)
 	 * Se não houver estruturadas, usa o campo simples de imagens
@@ -107,14 +140,6 @@ public class ProdutoMapper {
 		return produto.getImagens();
 	}
 
-	private BigDecimal calcularPrecoComDesconto(BigDecimal preco, BigDecimal desconto) {
-		if (preco == null || desconto == null || desconto.compareTo(BigDecimal.ZERO) == 0) {
-			return preco;
-		}
-		BigDecimal percentualDesconto = desconto.divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-		return preco.subtract(preco.multiply(percentualDesconto)).setScale(2, java.math.RoundingMode.HALF_UP);
-	}
-
 	private ProdutoResponseDTO.CategoriaResumoDTO toCategoriaResumoDTO(Categoria categoria) {
 		ProdutoResponseDTO.CategoriaResumoDTO dto = new ProdutoResponseDTO.CategoriaResumoDTO();
 		dto.setId(categoria.getId());
@@ -139,7 +164,7 @@ public class ProdutoMapper {
 		dto.setDescricao(produto.getDescricao());
 		dto.setDescricaoCompleta(produto.getDescricaoCompleta());
 		dto.setPreco(produto.getPreco());
-		dto.setPrecoComDesconto(calcularPrecoComDesconto(produto.getPreco(), produto.getDesconto()));
+		dto.setPrecoComDesconto(Dinheiro.precoComDesconto(produto.getPreco(), produto.getDesconto()));
 		dto.setDesconto(produto.getDesconto());
 		dto.setEstoque(produto.getEstoque());
 		dto.setEmEstoque(produto.getEstoque() != null && produto.getEstoque() > 0);
@@ -35,13 +35,14 @@ public class UsuarioMapper {
 		return dto;
 	}
 
-	public AuthResponseDTO toAuthResponseDTO(Usuario usuario, String token) {
+	public AuthResponseDTO toAuthResponseDTO(Usuario usuario, String token, String refreshToken) {
 		AuthResponseDTO dto = new AuthResponseDTO();
 		dto.setId(usuario.getId());
 		dto.setNickname(usuario.getNickname());
 		dto.setEmail(usuario.getEmail());
 		dto.setFoto(usuario.getFoto());
 		dto.setToken(token);
+		dto.setRefreshToken(refreshToken);
 		dto.setRoles(usuario.getRoles());
 		return dto;
 	}
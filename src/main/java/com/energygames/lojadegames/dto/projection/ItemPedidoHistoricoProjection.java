@@ -0,0 +1,15 @@
+package com.energygames.lojadegames.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Item de pedido do histórico com o nome do produto, sem carregar a entidade Produto
+ */
+public record ItemPedidoHistoricoProjection(
+    Long pedidoId,
+    Long produtoId,
+    String produtoNome,
+    Integer quantidade,
+    BigDecimal precoUnitario,
+    BigDecimal descontoUnitario
+) {}
@@ -0,0 +1,18 @@
+package com.energygames.lojadegames.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
+
+/**
+ * Cabeçalho de pedido do histórico montado direto pela consulta (SELECT new ...)
+ * Não carrega usuário nem itens; totalItens é a soma das quantidades, calculada no banco
+ */
+public record PedidoHistoricoProjection(
+    Long id,
+    StatusPedidoEnum status,
+    BigDecimal valorTotal,
+    LocalDateTime dataCriacao,
+    Long totalItens
+) {}
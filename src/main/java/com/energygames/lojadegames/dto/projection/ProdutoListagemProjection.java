@@ -0,0 +1,102 @@
+package com.energygames.lojadegames.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha da listagem de produtos montada direto pela consulta (SELECT new ...)
+ * Não é entidade gerenciada: não entra no contexto de persistência nem em dirty checking
+ * e não carrega colunas pesadas como descricaoCompleta
+ */
+public class ProdutoListagemProjection {
+
+	private final Long id;
+	private final String nome;
+	private final String descricao;
+	private final BigDecimal preco;
+	private final BigDecimal desconto;
+	private final Integer estoque;
+	private final String plataforma;
+	private final String desenvolvedor;
+	private final String publisher;
+	private final LocalDate dataLancamento;
+	private final Boolean ativo;
+	private final Long categoriaId;
+	private final String categoriaTipo;
+	private final String categoriaIcone;
+
+	public ProdutoListagemProjection(Long id, String nome, String descricao, BigDecimal preco, BigDecimal desconto,
+			Integer estoque, String plataforma, String desenvolvedor, String publisher, LocalDate dataLancamento,
+			Boolean ativo, Long categoriaId, String categoriaTipo, String categoriaIcone) {
+		this.id = id;
+		this.nome = nome;
+		this.descricao = descricao;
+		this.preco = preco;
+		this.desconto = desconto;
+		this.estoque = estoque;
+		this.plataforma = plataforma;
+		this.desenvolvedor = desenvolvedor;
+		this.publisher = publisher;
+		this.dataLancamento = dataLancamento;
+		this.ativo = ativo;
+		this.categoriaId = categoriaId;
+		this.categoriaTipo = categoriaTipo;
+		this.categoriaIcone = categoriaIcone;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+	public BigDecimal getPreco() {
+		return preco;
+	}
+
+	public BigDecimal getDesconto() {
+		return desconto;
+	}
+
+	public Integer getEstoque() {
+		return estoque;
+	}
+
+	public String getPlataforma() {
+		return plataforma;
+	}
+
+	public String getDesenvolvedor() {
+		return desenvolvedor;
+	}
+
+	public String getPublisher() {
+		return publisher;
+	}
+
+	public LocalDate getDataLancamento() {
+		return dataLancamento;
+	}
+
+	public Boolean getAtivo() {
+		return ativo;
+	}
+
+	public Long getCategoriaId() {
+		return categoriaId;
+	}
+
+	public String getCategoriaTipo() {
+		return categoriaTipo;
+	}
+
+	public String getCategoriaIcone() {
+		return categoriaIcone;
+	}
+}
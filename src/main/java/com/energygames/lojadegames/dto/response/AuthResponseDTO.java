@@ -11,6 +11,7 @@ public class AuthResponseDTO {
 	private String email;
 	private String foto;
 	private String token;
+	private String refreshToken;
 	private Set<RoleEnum> roles;
 
 	public Long getId() {
@@ -53,6 +54,14 @@ public class AuthResponseDTO {
 		this.token = token;
 	}
 
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
 	public Set<RoleEnum> getRoles() {
 		return roles;
 	}
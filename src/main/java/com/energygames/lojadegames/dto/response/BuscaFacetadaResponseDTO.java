@@ -0,0 +1,41 @@
+package com.energygames.lojadegames.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * DTO de resposta da busca facetada: página de produtos e contagens de cada faceta
+ * considerando os filtros selecionados
+ */
+public class BuscaFacetadaResponseDTO {
+
+    private Page<ProdutoResponseDTO> produtos;
+    private Map<String, List<FacetaValorDTO>> facetas;
+
+    public BuscaFacetadaResponseDTO() {}
+
+    public BuscaFacetadaResponseDTO(Page<ProdutoResponseDTO> produtos, Map<String, List<FacetaValorDTO>> facetas) {
+        this.produtos = produtos;
+        this.facetas = facetas;
+    }
+
+    // Getters e Setters
+
+    public Page<ProdutoResponseDTO> getProdutos() {
+        return produtos;
+    }
+
+    public void setProdutos(Page<ProdutoResponseDTO> produtos) {
+        this.produtos = produtos;
+    }
+
+    public Map<String, List<FacetaValorDTO>> getFacetas() {
+        return facetas;
+    }
+
+    public void setFacetas(Map<String, List<FacetaValorDTO>> facetas) {
+        this.facetas = facetas;
+    }
+}
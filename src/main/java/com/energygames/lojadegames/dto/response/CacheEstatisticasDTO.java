@@ -0,0 +1,97 @@
+package com.energygames.lojadegames.dto.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * DTO de resposta com estatísticas de um cache em memória
+ */
+public class CacheEstatisticasDTO {
+
+    private String nome;
+    private long entradas;
+    private long hits;
+    private long misses;
+    private double taxaAcerto;
+    private long evictions;
+    private long pesoEvictado;
+    private double tempoMedioCargaMs;
+
+    public static CacheEstatisticasDTO de(String nome, long entradas, CacheStats stats) {
+        CacheEstatisticasDTO dto = new CacheEstatisticasDTO();
+        dto.setNome(nome);
+        dto.setEntradas(entradas);
+        dto.setHits(stats.hitCount());
+        dto.setMisses(stats.missCount());
+        dto.setTaxaAcerto(stats.hitRate());
+        dto.setEvictions(stats.evictionCount());
+        dto.setPesoEvictado(stats.evictionWeight());
+        dto.setTempoMedioCargaMs(stats.averageLoadPenalty() / 1_000_000.0);
+        return dto;
+    }
+
+    // Getters e Setters
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public long getEntradas() {
+        return entradas;
+    }
+
+    public void setEntradas(long entradas) {
+        this.entradas = entradas;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getPesoEvictado() {
+        return pesoEvictado;
+    }
+
+    public void setPesoEvictado(long pesoEvictado) {
+        this.pesoEvictado = pesoEvictado;
+    }
+
+    public double getTempoMedioCargaMs() {
+        return tempoMedioCargaMs;
+    }
+
+    public void setTempoMedioCargaMs(double tempoMedioCargaMs) {
+        this.tempoMedioCargaMs = tempoMedioCargaMs;
+    }
+}
@@ -0,0 +1,57 @@
+package com.energygames.lojadegames.dto.response;
+
+import java.util.List;
+
+/**
+ * Resposta de listagem paginada por cursor (estilo Slice, sem total de elementos)
+ * Para obter a próxima página, envie proximoCursor no parâmetro "cursor"
+ */
+public class CursorPageResponseDTO<T> {
+
+	private List<T> conteudo;
+	private int tamanho;
+	private boolean temProxima;
+	private String proximoCursor;
+
+	public CursorPageResponseDTO() {}
+
+	public CursorPageResponseDTO(List<T> conteudo, boolean temProxima, String proximoCursor) {
+		this.conteudo = conteudo;
+		this.tamanho = conteudo.size();
+		this.temProxima = temProxima;
+		this.proximoCursor = proximoCursor;
+	}
+
+	// Getters e Setters
+	public List<T> getConteudo() {
+		return conteudo;
+	}
+
+	public void setConteudo(List<T> conteudo) {
+		this.conteudo = conteudo;
+	}
+
+	public int getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(int tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	public boolean isTemProxima() {
+		return temProxima;
+	}
+
+	public void setTemProxima(boolean temProxima) {
+		this.temProxima = temProxima;
+	}
+
+	public String getProximoCursor() {
+		return proximoCursor;
+	}
+
+	public void setProximoCursor(String proximoCursor) {
+		this.proximoCursor = proximoCursor;
+	}
+}
@@ -0,0 +1,35 @@
+package com.energygames.lojadegames.dto.response;
+
+/**
+ * DTO de resposta com a contagem de um valor de faceta da busca do catálogo
+ */
+public class FacetaValorDTO {
+
+    private final String valor;
+    private final String rotulo;
+    private final long quantidade;
+    private final boolean selecionado;
+
+    public FacetaValorDTO(String valor, String rotulo, long quantidade, boolean selecionado) {
+        this.valor = valor;
+        this.rotulo = rotulo;
+        this.quantidade = quantidade;
+        this.selecionado = selecionado;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public boolean isSelecionado() {
+        return selecionado;
+    }
+}
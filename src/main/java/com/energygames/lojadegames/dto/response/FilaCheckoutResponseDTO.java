@@ -0,0 +1,17 @@
+package com.energygames.lojadegames.dto.response;
+
+import com.energygames.lojadegames.enums.StatusFilaCheckoutEnum;
+
+/**
+ * Situação de uma senha da fila de checkout
+ * @param posicao Pedidos à frente (inclusive este) enquanto AGUARDANDO; null nos demais status
+ * @param pedido Pedido criado quando CONCLUIDO
+ * @param mensagem Motivo quando FALHOU ou EXPIRADO
+ */
+public record FilaCheckoutResponseDTO(
+    String token,
+    StatusFilaCheckoutEnum status,
+    Long posicao,
+    PedidoResponseDTO pedido,
+    String mensagem
+) {}
@@ -0,0 +1,17 @@
+package com.energygames.lojadegames.dto.response;
+
+/**
+ * Situação do pool de hash de senhas (BCrypt)
+ * Latências em milissegundos: espera na fila e execução do hash, média desde a subida e máxima
+ */
+public record HashSenhaEstatisticasDTO(
+    int threads,
+    int ativos,
+    int naFila,
+    int capacidadeFila,
+    long concluidos,
+    long rejeitados,
+    double esperaMediaMs,
+    double hashMedioMs,
+    double hashMaximoMs
+) {}
@@ -0,0 +1,14 @@
+package com.energygames.lojadegames.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
+
+public record PedidoResumoResponseDTO(
+    Long id,
+    StatusPedidoEnum status,
+    BigDecimal valorTotal,
+    LocalDateTime dataCriacao,
+    Long totalItens
+) {}
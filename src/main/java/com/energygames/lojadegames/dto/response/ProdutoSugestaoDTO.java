@@ -0,0 +1,36 @@
+package com.energygames.lojadegames.dto.response;
+
+/**
+ * DTO de resposta do autocomplete: apenas o necessário para a lista de sugestões
+ * Imutável, pois as instâncias ficam no índice em memória e são compartilhadas entre requisições
+ */
+public class ProdutoSugestaoDTO {
+
+    private final Long id;
+    private final String nome;
+    private final String slug;
+    private final String capa;
+
+    public ProdutoSugestaoDTO(Long id, String nome, String slug, String capa) {
+        this.id = id;
+        this.nome = nome;
+        this.slug = slug;
+        this.capa = capa;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public String getCapa() {
+        return capa;
+    }
+}
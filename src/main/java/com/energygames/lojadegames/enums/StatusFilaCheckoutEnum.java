@@ -0,0 +1,9 @@
+package com.energygames.lojadegames.enums;
+
+public enum StatusFilaCheckoutEnum {
+    AGUARDANDO,
+    PROCESSANDO,
+    CONCLUIDO,
+    FALHOU,
+    EXPIRADO
+}
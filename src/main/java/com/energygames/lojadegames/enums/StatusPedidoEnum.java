@@ -6,5 +6,18 @@ public enum StatusPedidoEnum {
     PAGO,
     ENVIADO,
     ENTREGUE,
-    CANCELADO
+    CANCELADO;
+
+    /**
+     * Tabela de transições permitidas (ENTREGUE e CANCELADO são finais)
+     */
+    public boolean podeIrPara(StatusPedidoEnum destino) {
+        return switch (this) {
+            case CRIADO -> destino == PENDENTE_PAGAMENTO || destino == CANCELADO;
+            case PENDENTE_PAGAMENTO -> destino == PAGO || destino == CANCELADO;
+            case PAGO -> destino == ENVIADO || destino == CANCELADO;
+            case ENVIADO -> destino == ENTREGUE;
+            case ENTREGUE, CANCELADO -> false;
+        };
+    }
 }
@@ -0,0 +1,9 @@
+package com.energygames.lojadegames.enums;
+
+public enum StatusWebhookEventoEnum {
+    PENDENTE,
+    PROCESSANDO,
+    PROCESSADO,
+    // Dead-letter: falha definitiva ou tentativas esgotadas, exige análise manual
+    FALHOU
+}
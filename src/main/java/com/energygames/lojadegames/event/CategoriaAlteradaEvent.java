@@ -0,0 +1,19 @@
+package com.energygames.lojadegames.event;
+
+/**
+ * Evento publicado quando uma categoria é alterada ou removida
+ * Categorias aparecem resumidas dentro dos DTOs de produto (categoria e gêneros),
+ * então os caches de produto montados a partir delas precisam ser descartados
+ */
+public class CategoriaAlteradaEvent {
+
+	private final Long categoriaId;
+
+	public CategoriaAlteradaEvent(Long categoriaId) {
+		this.categoriaId = categoriaId;
+	}
+
+	public Long getCategoriaId() {
+		return categoriaId;
+	}
+}
@@ -0,0 +1,40 @@
+package com.energygames.lojadegames.event;
+
+/**
+ * Evento publicado sempre que um produto do catálogo é criado, alterado ou removido
+ * Consumido pelos índices e caches em memória do catálogo após o commit da transação
+ */
+public class ProdutoAlteradoEvent {
+
+	public enum Tipo {
+		CRIADO,
+		ATUALIZADO,
+		REMOVIDO,
+		// Apenas o estoque mudou (baixa de pagamento): não afeta campos textuais indexados
+		ESTOQUE
+	}
+
+	private final Long produtoId;
+	private final Tipo tipo;
+
+	public ProdutoAlteradoEvent(Long produtoId, Tipo tipo) {
+		this.produtoId = produtoId;
+		this.tipo = tipo;
+	}
+
+	public Long getProdutoId() {
+		return produtoId;
+	}
+
+	public Tipo getTipo() {
+		return tipo;
+	}
+
+	public boolean isRemocao() {
+		return tipo == Tipo.REMOVIDO;
+	}
+
+	public boolean isApenasEstoque() {
+		return tipo == Tipo.ESTOQUE;
+	}
+}
@@ -0,0 +1,25 @@
+package com.energygames.lojadegames.event;
+
+/**
+ * Evento publicado quando dados de autenticação de um usuário mudam (email, senha, perfis)
+ * ou o usuário é removido. Os principais já verificados para tokens desse email precisam
+ * ser recarregados do banco, e os tokens emitidos até aqui deixam de valer
+ */
+public class UsuarioAlteradoEvent {
+
+	private final Long usuarioId;
+	private final String email;
+
+	public UsuarioAlteradoEvent(Long usuarioId, String email) {
+		this.usuarioId = usuarioId;
+		this.email = email;
+	}
+
+	public Long getUsuarioId() {
+		return usuarioId;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+}
@@ -5,6 +5,8 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -70,6 +72,42 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
 	}
 
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorResponse> handleOptimisticLocking(
+			OptimisticLockingFailureException ex,
+			HttpServletRequest request) {
+		
+		log.warn("Conflito de versão: {}", ex.getMessage());
+		
+		ErrorResponse error = new ErrorResponse(
+			HttpStatus.CONFLICT.value(),
+			"Conflict",
+			"Registro alterado por outra operação. Tente novamente.",
+			request.getRequestURI()
+		);
+		
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+	}
+
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<ErrorResponse> handleTooManyRequests(
+			TooManyRequestsException ex,
+			HttpServletRequest request) {
+		
+		log.warn("Requisição recusada por limite de capacidade: {}", ex.getMessage());
+		
+		ErrorResponse error = new ErrorResponse(
+			HttpStatus.TOO_MANY_REQUESTS.value(),
+			"Too Many Requests",
+			ex.getMessage(),
+			request.getRequestURI()
+		);
+		
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+			.body(error);
+	}
+
 	@ExceptionHandler(UnauthorizedException.class)
 	public ResponseEntity<ErrorResponse> handleUnauthorized(
 			UnauthorizedException ex,
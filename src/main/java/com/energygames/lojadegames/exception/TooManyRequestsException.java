@@ -0,0 +1,20 @@
+package com.energygames.lojadegames.exception;
+
+/**
+ * Requisição recusada por limite de capacidade; o cliente deve tentar de novo após o intervalo
+ */
+public class TooManyRequestsException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public TooManyRequestsException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -3,6 +3,8 @@ package com.energygames.lojadegames.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.energygames.lojadegames.util.Dinheiro;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +14,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Min;
@@ -24,7 +27,8 @@ import jakarta.validation.constraints.NotNull;
 public class CarrinhoItem {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_carrinho_itens")
+	@SequenceGenerator(name = "seq_carrinho_itens", sequenceName = "seq_carrinho_itens", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne
@@ -63,18 +67,17 @@ public class CarrinhoItem {
 		this.dataAtualizacao = LocalDateTime.now();
 	}
 
-	// Método auxiliar para calcular subtotal
+	// Métodos auxiliares para calcular subtotal (desconto aplicado no preço unitário)
+	public Dinheiro calcularSubtotalBruto() {
+		return Dinheiro.de(precoUnitario).vezes(quantidade);
+	}
+
+	public Dinheiro calcularSubtotalComDesconto() {
+		return Dinheiro.de(precoUnitario).comDesconto(descontoUnitario).vezes(quantidade);
+	}
+
 	public BigDecimal calcularSubtotal() {
-		BigDecimal precoFinal = precoUnitario;
-		
-		if (descontoUnitario != null && descontoUnitario.compareTo(BigDecimal.ZERO) > 0) {
-			BigDecimal percentualDesconto = descontoUnitario.divide(BigDecimal.valueOf(100), 4, java.math.RoundingMode.HALF_UP);
-			BigDecimal valorDesconto = precoUnitario.multiply(percentualDesconto);
-			precoFinal = precoUnitario.subtract(valorDesconto);
-		}
-		
-		return precoFinal.multiply(BigDecimal.valueOf(quantidade))
-				.setScale(2, java.math.RoundingMode.HALF_UP);
+		return calcularSubtotalComDesconto().paraReais();
 	}
 
 	// Getters e Setters
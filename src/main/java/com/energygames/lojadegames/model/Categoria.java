@@ -5,6 +5,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.energygames.lojadegames.enums.TipoCategoriaEnum;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -14,6 +17,8 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "tb_categoria")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo-categoria")
 public class Categoria {
 
 	@Id
@@ -40,6 +45,9 @@ public class Categoria {
 	@Column(name = "data_criacao", updatable = false)
 	private LocalDateTime dataCriacao;
 
+	@Column(name = "data_atualizacao")
+	private LocalDateTime dataAtualizacao;
+
 	@OneToMany(fetch = FetchType.LAZY, mappedBy = "categoria", cascade = CascadeType.REMOVE)
 	@JsonIgnoreProperties("categoria")
 	private List<Produto> produto;
@@ -66,6 +74,19 @@ public class Categoria {
 		this.dataCriacao = LocalDateTime.now(); // Define a data de criação automaticamente.
 	}
 
+	@PrePersist
+	protected void onCreate() {
+		if (dataCriacao == null) {
+			dataCriacao = LocalDateTime.now();
+		}
+		dataAtualizacao = LocalDateTime.now();
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		dataAtualizacao = LocalDateTime.now();
+	}
+
 	// Getters e Setters
 	public Long getId() {
 		return id;
@@ -115,6 +136,14 @@ public class Categoria {
 		this.dataCriacao = dataCriacao;
 	}
 
+	public LocalDateTime getDataAtualizacao() {
+		return dataAtualizacao;
+	}
+
+	public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+		this.dataAtualizacao = dataAtualizacao;
+	}
+
 	public List<Produto> getProduto() {
 		return produto;
 	}
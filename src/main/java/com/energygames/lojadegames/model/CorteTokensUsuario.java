@@ -0,0 +1,66 @@
+package com.energygames.lojadegames.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Corte por usuário na lista de revogação: tokens de acesso emitidos antes de emitidosAntes são recusados
+ * Gravado quando email, senha ou perfis mudam. Uma linha por usuário, útil até que o último token
+ * emitido antes do corte expire (expiraEm); depois é apagada junto com as revogações por jti.
+ */
+@Entity
+@Table(name = "tb_cortes_tokens_usuario", indexes = {
+    @Index(name = "idx_corte_token_atualizado_em", columnList = "atualizado_em"),
+    @Index(name = "idx_corte_token_expira_em", columnList = "expira_em")
+})
+public class CorteTokensUsuario {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(name = "emitidos_antes", nullable = false)
+    private LocalDateTime emitidosAntes;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    public CorteTokensUsuario() {
+    }
+
+    public CorteTokensUsuario(Long usuarioId, LocalDateTime emitidosAntes, LocalDateTime expiraEm) {
+        this.usuarioId = usuarioId;
+        this.emitidosAntes = emitidosAntes;
+        this.expiraEm = expiraEm;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public LocalDateTime getEmitidosAntes() {
+        return emitidosAntes;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -16,6 +17,8 @@ import jakarta.persistence.UniqueConstraint;
 @Entity
 @Table(name = "tb_favoritos", uniqueConstraints = {
 	@UniqueConstraint(columnNames = {"usuario_id", "produto_id"})
+}, indexes = {
+	@Index(name = "idx_favorito_usuario_data", columnList = "usuario_id,dataAdicionado")
 })
 public class Favorito {
 
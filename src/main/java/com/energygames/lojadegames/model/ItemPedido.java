@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -19,7 +20,8 @@ import jakarta.validation.constraints.NotNull;
 public class ItemPedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_itens_pedido")
+    @SequenceGenerator(name = "seq_itens_pedido", sequenceName = "seq_itens_pedido", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Index;
 
@@ -19,7 +20,8 @@ import jakarta.persistence.Index;
 public class PaymentEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_payment_events")
+    @SequenceGenerator(name = "seq_payment_events", sequenceName = "seq_payment_events", allocationSize = 50)
     private Long id;
 
     @Column(name = "stripe_event_id", nullable = false, unique = true)
@@ -22,6 +22,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
@@ -54,6 +55,11 @@ public class Pedido {
     @Column(name = "stripe_session_id")
     private String stripeSessionId;
 
+    // Incrementada também pelas transições de status por compare-and-set (PedidoRepository.transicionarStatus)
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("pedido")
     private List<ItemPedido> itens = new ArrayList<>();
@@ -86,6 +92,10 @@ public class Pedido {
         this.usuario = usuario;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public StatusPedidoEnum getStatus() {
         return status;
     }
@@ -3,9 +3,13 @@ package com.energygames.lojadegames.model;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.energygames.lojadegames.enums.TipoPlataformaEnum;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -25,6 +29,8 @@ import jakarta.validation.constraints.Size;
  */
 @Entity
 @Table(name = "tb_plataformas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo-plataforma")
 public class Plataforma {
 
     @Id
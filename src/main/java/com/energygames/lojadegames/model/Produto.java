@@ -9,7 +9,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.energygames.lojadegames.enums.StatusJogoEnum;
+import com.energygames.lojadegames.util.Dinheiro;
+import com.energygames.lojadegames.util.TextoUtils;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.*;
@@ -20,11 +26,15 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
+// UPDATE só com as colunas alteradas: o save da entidade não regrava estoque lido antes de uma venda
+@DynamicUpdate
 @Table(name = "tb_produtos", indexes = {
 	@Index(name = "idx_slug", columnList = "slug"),
 	@Index(name = "idx_ativo_data", columnList = "ativo,dataLancamento"),
 	@Index(name = "idx_status", columnList = "status"),
-	@Index(name = "idx_rating", columnList = "ratingIgdb")
+	@Index(name = "idx_rating", columnList = "ratingIgdb"),
+	@Index(name = "idx_nome", columnList = "nome"),
+	@Index(name = "idx_preco", columnList = "preco")
 })
 public class Produto {
 
@@ -61,6 +71,23 @@ public class Produto {
 	@NotNull(message = "O estoque do produto é obrigatório.")
 	private Integer estoque;
 
+	// Unidades presas em pedidos aguardando pagamento (ver ReservaEstoque)
+	// Alterado apenas por UPDATEs atômicos do ProdutoRepository, nunca pelo save da entidade
+	@Column(name = "estoque_reservado", nullable = false, updatable = false)
+	private Integer estoqueReservado = 0;
+
+	// Modo de estoque quente (vendas relâmpago): o disponível fica em contadores em memória e
+	// estoque/estoqueReservado são gravados em lote. Alterado apenas pelo ProdutoRepository
+	@Column(name = "estoque_quente", nullable = false, updatable = false)
+	private Boolean estoqueQuente = false;
+
+	// Trava otimista dos dados cadastrais/comerciais (admin, sincronização IGDB). Os UPDATEs
+	// atômicos de estoque também incrementam a versão: uma edição lida antes de uma venda é repetida
+	// sobre o estoque atual em vez de gravar por cima dela
+	@Version
+	@Column(nullable = false)
+	private Long versao;
+
 	@NotBlank(message = "A plataforma do produto é obrigatória.")
 	private String plataforma; // Ex.: "PlayStation", "Xbox", "PC"
 
@@ -105,7 +132,7 @@ public class Produto {
 	private LocalDateTime dataAtualizacao;
 
 	// Relacionamento legado (manter por compatibilidade)
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonIgnoreProperties("produto")
 	private Categoria categoria;
 
@@ -117,6 +144,7 @@ public class Produto {
 		inverseJoinColumns = @JoinColumn(name = "genero_id")
 	)
 	@JsonIgnoreProperties("produtos")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo-produto-generos")
 	private Set<Categoria> generos = new HashSet<>();
 
 	// Novo relacionamento N:N com plataformas
@@ -127,6 +155,7 @@ public class Produto {
 		inverseJoinColumns = @JoinColumn(name = "plataforma_id")
 	)
 	@JsonIgnoreProperties("produtos")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogo-produto-plataformas")
 	private Set<Plataforma> plataformas = new HashSet<>();
 
 	// Relacionamento com imagens estruturadas
@@ -151,7 +180,7 @@ public class Produto {
 	@Column(name = "url", length = 500)
 	private Map<String, String> linksExternos = new HashMap<>();
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonIgnoreProperties("produto")
 	private Usuario usuario;
 
@@ -181,12 +210,7 @@ public class Produto {
 	 * Gera um slug a partir do nome do produto
 	 */
 	private String gerarSlug(String texto) {
-		return texto.toLowerCase()
-			.replaceAll("[^a-z0-9\\s-]", "")
-			.replaceAll("\\s+", "-")
-			.replaceAll("-+", "-")
-			.replaceAll("^-|-$", "")
-			.trim();
+		return TextoUtils.gerarSlug(texto);
 	}
 
 	// Construtor vazio para JPA
@@ -256,6 +280,27 @@ public class Produto {
 		this.estoque = estoque;
 	}
 
+	public Integer getEstoqueReservado() {
+		return estoqueReservado;
+	}
+
+	public Boolean getEstoqueQuente() {
+		return estoqueQuente;
+	}
+
+	public Long getVersao() {
+		return versao;
+	}
+
+	/**
+	 * Disponível para venda: estoque menos as reservas de pedidos aguardando pagamento
+	 */
+	public int getEstoqueDisponivel() {
+		int total = estoque != null ? estoque : 0;
+		int reservado = estoqueReservado != null ? estoqueReservado : 0;
+		return Math.max(0, total - reservado);
+	}
+
 	public String getPlataforma() {
 		return plataforma;
 	}
@@ -508,15 +553,10 @@ public class Produto {
 	}
 
 	/**
-	 * Retorna o preço com desconto aplicado
+	 * Retorna o preço com desconto aplicado, arredondado para o centavo
 	 */
 	public BigDecimal getPrecoComDesconto() {
-		if (desconto == null || desconto.compareTo(BigDecimal.ZERO) == 0) {
-			return preco;
-		}
-		BigDecimal percentualDesconto = desconto.divide(new BigDecimal("100"));
-		BigDecimal valorDesconto = preco.multiply(percentualDesconto);
-		return preco.subtract(valorDesconto);
+		return Dinheiro.precoComDesconto(preco, desconto);
 	}
 
 	/**
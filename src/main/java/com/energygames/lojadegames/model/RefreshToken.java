@@ -0,0 +1,104 @@
+package com.energygames.lojadegames.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Refresh token opaco, guardado apenas como SHA-256
+ * Cada uso troca o token por um novo da mesma família (rotação). Um token já usado que
+ * volta a ser apresentado indica vazamento: a família inteira é revogada.
+ */
+@Entity
+@Table(name = "tb_refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_token_hash", columnList = "hash", unique = true),
+    @Index(name = "idx_refresh_token_familia", columnList = "familia"),
+    @Index(name = "idx_refresh_token_usuario", columnList = "usuario_id"),
+    @Index(name = "idx_refresh_token_expira_em", columnList = "expira_em")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash;
+
+    // Sessão de login: todos os tokens obtidos por rotação a partir do mesmo login
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "usado_em")
+    private LocalDateTime usadoEm;
+
+    @Column(name = "revogado_em")
+    private LocalDateTime revogadoEm;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String hash, String familia, Usuario usuario, LocalDateTime expiraEm) {
+        this.hash = hash;
+        this.familia = familia;
+        this.usuario = usuario;
+        this.expiraEm = expiraEm;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getFamilia() {
+        return familia;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getUsadoEm() {
+        return usadoEm;
+    }
+
+    public LocalDateTime getRevogadoEm() {
+        return revogadoEm;
+    }
+}
@@ -0,0 +1,104 @@
+package com.energygames.lojadegames.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Reserva de estoque de um pedido aguardando pagamento (uma linha por produto)
+ * Enquanto existir, a quantidade fica somada em Produto.estoqueReservado e não pode ser vendida
+ * a outro pedido. É consumida no pagamento ou liberada na falha/expiração da sessão do Stripe.
+ *
+ * Produtos em modo de estoque quente não alteram tb_produtos a cada venda: a reserva paga fica
+ * marcada como confirmada até a próxima descarga, que a aplica em Produto.estoque e a remove.
+ */
+@Entity
+@Table(name = "tb_reservas_estoque", indexes = {
+    @Index(name = "idx_reserva_pedido", columnList = "pedido_id"),
+    @Index(name = "idx_reserva_expira_em", columnList = "expira_em"),
+    @Index(name = "idx_reserva_produto_confirmada", columnList = "produto_id, confirmada")
+})
+public class ReservaEstoque {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_reservas_estoque")
+    @SequenceGenerator(name = "seq_reservas_estoque", sequenceName = "seq_reservas_estoque", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "pedido_id", nullable = false)
+    private Long pedidoId;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(nullable = false)
+    private Boolean confirmada = false;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @PrePersist
+    protected void onCreate() {
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    public ReservaEstoque() {
+    }
+
+    public ReservaEstoque(Long pedidoId, Long produtoId, Integer quantidade, LocalDateTime expiraEm) {
+        this.pedidoId = pedidoId;
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.expiraEm = expiraEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    public Boolean getConfirmada() {
+        return confirmada;
+    }
+
+    public void setConfirmada(Boolean confirmada) {
+        this.confirmada = confirmada;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+}
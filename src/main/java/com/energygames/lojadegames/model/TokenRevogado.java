@@ -0,0 +1,76 @@
+package com.energygames.lojadegames.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Token JWT revogado antes do exp (logout)
+ * Os tokens são autocontidos; as instâncias mantêm esta lista em memória e a sincronizam
+ * periodicamente. A linha só é útil até o exp do token e depois é apagada.
+ */
+@Entity
+@Table(name = "tb_tokens_revogados", indexes = {
+    @Index(name = "idx_token_revogado_jti", columnList = "jti", unique = true),
+    @Index(name = "idx_token_revogado_em", columnList = "revogado_em"),
+    @Index(name = "idx_token_expira_em", columnList = "expira_em")
+})
+public class TokenRevogado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "revogado_em", nullable = false, updatable = false)
+    private LocalDateTime revogadoEm;
+
+    public TokenRevogado() {
+    }
+
+    public TokenRevogado(String jti, Long usuarioId, LocalDateTime expiraEm) {
+        this.jti = jti;
+        this.usuarioId = usuarioId;
+        this.expiraEm = expiraEm;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.revogadoEm = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public LocalDateTime getRevogadoEm() {
+        return revogadoEm;
+    }
+}
@@ -0,0 +1,181 @@
+package com.energygames.lojadegames.model;
+
+import java.time.LocalDateTime;
+
+import com.energygames.lojadegames.enums.StatusWebhookEventoEnum;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Caixa de entrada dos webhooks do Stripe
+ * O endpoint só verifica a assinatura, grava o evento bruto aqui e responde; o processamento
+ * (estoque, status do pedido) é feito depois pelos workers, com retentativas.
+ *
+ * A chave agrupa os eventos de um mesmo pedido: eventos com a mesma chave são processados
+ * um de cada vez, em ordem de chegada.
+ */
+@Entity
+@Table(name = "tb_webhook_eventos", indexes = {
+    @Index(name = "idx_webhook_stripe_event_id", columnList = "stripe_event_id", unique = true),
+    @Index(name = "idx_webhook_status_proxima", columnList = "status, proxima_tentativa"),
+    @Index(name = "idx_webhook_chave", columnList = "chave, status")
+})
+public class WebhookEvento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stripe_event_id", nullable = false, unique = true)
+    private String stripeEventId;
+
+    @Column(nullable = false)
+    private String tipo;
+
+    @Column(length = 100)
+    private String chave;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusWebhookEventoEnum status = StatusWebhookEventoEnum.PENDENTE;
+
+    @Column(nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    // Prazo do worker que reivindicou o evento; vencido, o evento volta a PENDENTE
+    @Column(name = "bloqueado_ate")
+    private LocalDateTime bloqueadoAte;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    @Column(name = "recebido_em", nullable = false, updatable = false)
+    private LocalDateTime recebidoEm;
+
+    @Column(name = "processado_em")
+    private LocalDateTime processadoEm;
+
+    @PrePersist
+    protected void onCreate() {
+        this.recebidoEm = LocalDateTime.now();
+        if (this.proximaTentativa == null) {
+            this.proximaTentativa = this.recebidoEm;
+        }
+    }
+
+    public WebhookEvento() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStripeEventId() {
+        return stripeEventId;
+    }
+
+    public void setStripeEventId(String stripeEventId) {
+        this.stripeEventId = stripeEventId;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public StatusWebhookEventoEnum getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusWebhookEventoEnum status) {
+        this.status = status;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(Integer tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    public void setProximaTentativa(LocalDateTime proximaTentativa) {
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    public LocalDateTime getBloqueadoAte() {
+        return bloqueadoAte;
+    }
+
+    public void setBloqueadoAte(LocalDateTime bloqueadoAte) {
+        this.bloqueadoAte = bloqueadoAte;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro;
+    }
+
+    public LocalDateTime getRecebidoEm() {
+        return recebidoEm;
+    }
+
+    public void setRecebidoEm(LocalDateTime recebidoEm) {
+        this.recebidoEm = recebidoEm;
+    }
+
+    public LocalDateTime getProcessadoEm() {
+        return processadoEm;
+    }
+
+    public void setProcessadoEm(LocalDateTime processadoEm) {
+        this.processadoEm = processadoEm;
+    }
+}
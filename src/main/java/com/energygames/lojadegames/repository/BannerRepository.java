@@ -27,6 +27,16 @@ public interface BannerRepository extends JpaRepository<Banner, Long> {
            "ORDER BY b.ordem ASC")
     List<Banner> findBannersAtivosNoPeriodo(@Param("now") LocalDateTime now);
 
+    /**
+     * Versões (id, updatedAt, dataAtualizacao do produto) dos banners ativos no período, para ETag
+     */
+    @Query("SELECT b.id, b.updatedAt, p.dataAtualizacao FROM Banner b LEFT JOIN b.produto p " +
+           "WHERE b.ativo = true " +
+           "AND (b.dataInicio IS NULL OR b.dataInicio <= :now) " +
+           "AND (b.dataFim IS NULL OR b.dataFim >= :now) " +
+           "ORDER BY b.ordem ASC")
+    List<Object[]> findVersoesBannersAtivosNoPeriodo(@Param("now") LocalDateTime now);
+
     /**
      * Busca banners vinculados a um produto específico
      */
@@ -23,5 +23,8 @@ public interface CarrinhoRepository extends JpaRepository<CarrinhoItem, Long> {
 	@Query("SELECT SUM(c.quantidade) FROM CarrinhoItem c WHERE c.usuario.id = :usuarioId")
 	Integer somarQuantidadePorUsuario(@Param("usuarioId") Long usuarioId);
 
+	@Query("SELECT c.produto.id FROM CarrinhoItem c WHERE c.usuario.email = :email")
+	List<Long> findProdutoIdsByUsuarioEmail(@Param("email") String email);
+
 	void deleteAllByUsuarioId(Long usuarioId);
 }
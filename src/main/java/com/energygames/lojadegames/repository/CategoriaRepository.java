@@ -1,18 +1,33 @@
 package com.energygames.lojadegames.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.energygames.lojadegames.model.Categoria;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, Long>, JpaSpecificationExecutor<Categoria> {
     
     /**
-     * Busca categoria por ID da IGDB
+     * Busca categoria por ID da IGDB (resultado no cache de consultas do Hibernate)
      * @param idIgdb ID do gênero na API IGDB
      * @return Categoria encontrada
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Categoria> findByIdIgdb(Integer idIgdb);
+
+    /**
+     * Impressão digital da tabela (quantidade, última atualização) para ETag
+     * Fica no cache de consultas e só volta ao banco depois de alguma escrita em tb_categoria
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(c), MAX(c.dataAtualizacao) FROM Categoria c")
+    List<Object[]> findVersaoTabela();
 }
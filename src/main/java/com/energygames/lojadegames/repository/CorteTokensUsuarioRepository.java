@@ -0,0 +1,39 @@
+package com.energygames.lojadegames.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.energygames.lojadegames.model.CorteTokensUsuario;
+
+@Repository
+public interface CorteTokensUsuarioRepository extends JpaRepository<CorteTokensUsuario, Long> {
+
+    /**
+     * Move o corte de um usuário que já tem linha; 0 indica que a linha ainda precisa ser criada
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CorteTokensUsuario c SET c.emitidosAntes = :emitidosAntes, c.expiraEm = :expiraEm, " +
+           "c.atualizadoEm = :agora WHERE c.usuarioId = :usuarioId")
+    int avancar(@Param("usuarioId") Long usuarioId, @Param("emitidosAntes") LocalDateTime emitidosAntes,
+            @Param("expiraEm") LocalDateTime expiraEm, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Cortes ainda em vigor: carga completa na subida da instância
+     */
+    List<CorteTokensUsuario> findByExpiraEmAfter(LocalDateTime agora);
+
+    /**
+     * Cortes gravados ou movidos recentemente, para a sincronização incremental
+     */
+    List<CorteTokensUsuario> findByAtualizadoEmGreaterThanEqualAndExpiraEmAfter(LocalDateTime desde, LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM CorteTokensUsuario c WHERE c.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") LocalDateTime agora);
+}
@@ -1,10 +1,24 @@
 package com.energygames.lojadegames.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.energygames.lojadegames.dto.projection.ItemPedidoHistoricoProjection;
 import com.energygames.lojadegames.model.ItemPedido;
 
 @Repository
 public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
+
+    /**
+     * Itens de vários pedidos com o nome do produto em uma única consulta
+     */
+    @Query("SELECT new com.energygames.lojadegames.dto.projection.ItemPedidoHistoricoProjection(" +
+           "i.pedido.id, pr.id, pr.nome, i.quantidade, i.precoUnitario, i.descontoUnitario) " +
+           "FROM ItemPedido i JOIN i.produto pr WHERE i.pedido.id IN :pedidoIds ORDER BY i.id")
+    List<ItemPedidoHistoricoProjection> findHistoricoPorPedidoIds(@Param("pedidoIds") Collection<Long> pedidoIds);
 }
@@ -1,23 +1,57 @@
 package com.energygames.lojadegames.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.energygames.lojadegames.dto.projection.PedidoHistoricoProjection;
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
 import com.energygames.lojadegames.model.Pedido;
 import com.energygames.lojadegames.model.Usuario;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+
+    String SELECT_HISTORICO = "SELECT new com.energygames.lojadegames.dto.projection.PedidoHistoricoProjection(" +
+           "p.id, p.status, p.valorTotal, p.dataCriacao, " +
+           "(SELECT COALESCE(SUM(i.quantidade), 0) FROM ItemPedido i WHERE i.pedido = p)) " +
+           "FROM Pedido p ";
+
     List<Pedido> findByUsuario(Usuario usuario);
+
+    /**
+     * Histórico do usuário do mais recente para o mais antigo, por cursor de ID
+     * (usa o índice da FK usuario_id, que no InnoDB já inclui o ID)
+     */
+    @Query(SELECT_HISTORICO + "WHERE p.usuario.id = :usuarioId AND p.id < :antesDeId ORDER BY p.id DESC")
+    List<PedidoHistoricoProjection> findHistorico(@Param("usuarioId") Long usuarioId,
+            @Param("antesDeId") Long antesDeId, Pageable pageable);
+
+    @Query(SELECT_HISTORICO + "WHERE p.usuario.id = :usuarioId ORDER BY p.id DESC")
+    List<PedidoHistoricoProjection> findHistoricoCompleto(@Param("usuarioId") Long usuarioId);
     
     Optional<Pedido> findByStripeSessionId(String stripeSessionId);
+
+    /**
+     * Transição de status por compare-and-set: só altera se o pedido ainda estiver no status lido
+     * @return 1 se esta chamada fez a transição, 0 se outro processo mudou o status antes
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1, p.dataAtualizacao = :agora " +
+           "WHERE p.id = :id AND p.status = :atual")
+    int transicionarStatus(@Param("id") Long id, @Param("atual") StatusPedidoEnum atual,
+            @Param("novo") StatusPedidoEnum novo, @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedidoEnum> findStatusById(@Param("id") Long id);
     
     List<Pedido> findByUsuarioIdOrderByDataCriacaoDesc(Long usuarioId, Pageable pageable);
     
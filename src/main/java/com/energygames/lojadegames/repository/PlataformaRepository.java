@@ -3,14 +3,18 @@ package com.energygames.lojadegames.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.energygames.lojadegames.enums.TipoPlataformaEnum;
 import com.energygames.lojadegames.model.Plataforma;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository para operações de banco de dados da entidade Plataforma.
  */
@@ -20,16 +24,19 @@ public interface PlataformaRepository extends JpaRepository<Plataforma, Long> {
     /**
      * Busca uma plataforma pelo slug
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Plataforma> findBySlug(String slug);
 
     /**
      * Busca uma plataforma pelo ID da IGDB
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Plataforma> findByIdIgdb(Integer idIgdb);
 
     /**
      * Busca plataformas ativas
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Plataforma> findByAtivaTrue();
 
     /**
@@ -1,5 +1,6 @@
 package com.energygames.lojadegames.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -61,4 +62,11 @@ public interface ProdutoImagemRepository extends JpaRepository<ProdutoImagem, Lo
      * Deleta todas as imagens de um produto
      */
     void deleteByProdutoId(Long produtoId);
+
+    /**
+     * URLs das imagens estruturadas (id do produto, url, ordem) para um lote de produtos,
+     * sem hidratar entidades
+     */
+    @Query("SELECT pi.produto.id, pi.url, pi.ordem FROM ProdutoImagem pi WHERE pi.produto.id IN :produtoIds")
+    List<Object[]> findUrlsPorProdutoIds(@Param("produtoIds") Collection<Long> produtoIds);
 }
@@ -1,22 +1,236 @@
 package com.energygames.lojadegames.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.energygames.lojadegames.dto.projection.ProdutoListagemProjection;
 import com.energygames.lojadegames.enums.OrigemEnum;
 import com.energygames.lojadegames.model.Produto;
 
+import jakarta.persistence.LockModeType;
+
 public interface ProdutoRepository extends JpaRepository<Produto, Long>, JpaSpecificationExecutor<Produto> {
 
+	/**
+	 * Associações de valor único usadas pela listagem, carregadas no mesmo SELECT da página
+	 * Coleções (imagens) não entram no grafo para não paginar em memória: são carregadas
+	 * em lote via hibernate.default_batch_fetch_size
+	 */
+	String GRAFO_LISTAGEM_CATEGORIA = "categoria";
+	String GRAFO_LISTAGEM_ORIGEM = "origemExterna";
+
+	/**
+	 * SELECT da listagem em projeção: colunas escalares + resumo da categoria, sem descricaoCompleta
+	 */
+	String SELECT_LISTAGEM = "SELECT new com.energygames.lojadegames.dto.projection.ProdutoListagemProjection(" +
+		"p.id, p.nome, p.descricao, p.preco, p.desconto, p.estoque, p.plataforma, p.desenvolvedor, " +
+		"p.publisher, p.dataLancamento, p.ativo, c.id, c.tipo, c.icone) " +
+		"FROM Produto p LEFT JOIN p.categoria c";
+
 	public List<Produto> findAllByNomeContainingIgnoreCase(@Param("nome") String nome);
 
+	@EntityGraph(attributePaths = {GRAFO_LISTAGEM_CATEGORIA, GRAFO_LISTAGEM_ORIGEM})
 	Page<Produto> findByAtivoFalseAndOrigemExternaOrigem(OrigemEnum origem, Pageable pageable);
 
+	@Override
+	@EntityGraph(attributePaths = {GRAFO_LISTAGEM_CATEGORIA, GRAFO_LISTAGEM_ORIGEM})
+	Page<Produto> findAll(Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = {GRAFO_LISTAGEM_CATEGORIA, GRAFO_LISTAGEM_ORIGEM})
+	Page<Produto> findAll(Specification<Produto> spec, Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = {GRAFO_LISTAGEM_CATEGORIA, GRAFO_LISTAGEM_ORIGEM})
+	List<Produto> findAllById(Iterable<Long> ids);
+
 	Optional<Produto> findBySlug(String slug);
+
+	/**
+	 * Baixa de estoque condicional e atômica: o próprio UPDATE verifica o saldo, sem ler a entidade
+	 * Só consome unidades livres (não reservadas por outros pedidos).
+	 * UPDATE em massa não dispara @PreUpdate nem incrementa @Version: dataAtualizacao (usada nas ETags) e
+	 * versao são atualizadas aqui, e uma edição lida antes da baixa esbarra na trava otimista
+	 * Produtos em modo de estoque quente ficam de fora: o saldo deles está no contador em memória
+	 * @return 1 quando a baixa ocorreu; 0 quando o estoque era insuficiente ou o produto está em modo quente
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Produto p SET p.estoque = p.estoque - :quantidade, p.dataAtualizacao = :agora, p.versao = p.versao + 1 " +
+		   "WHERE p.id = :id AND p.estoque - p.estoqueReservado >= :quantidade AND p.estoqueQuente = false")
+	int baixarEstoque(@Param("id") Long id, @Param("quantidade") int quantidade, @Param("agora") LocalDateTime agora);
+
+	/**
+	 * Reserva condicional: só reserva se houver unidades livres
+	 * @return 1 quando reservou; 0 quando o disponível para venda era insuficiente ou o produto está em modo quente
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Produto p SET p.estoqueReservado = p.estoqueReservado + :quantidade, p.versao = p.versao + 1 " +
+		   "WHERE p.id = :id AND p.estoque - p.estoqueReservado >= :quantidade AND p.estoqueQuente = false")
+	int reservarEstoque(@Param("id") Long id, @Param("quantidade") int quantidade);
+
+	/**
+	 * Devolve unidades reservadas ao disponível para venda
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Produto p SET p.estoqueReservado = p.estoqueReservado - :quantidade, p.versao = p.versao + 1 " +
+		   "WHERE p.id = :id AND p.estoqueReservado >= :quantidade")
+	int liberarReserva(@Param("id") Long id, @Param("quantidade") int quantidade);
+
+	/**
+	 * Converte uma reserva em baixa definitiva (pagamento confirmado)
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Produto p SET p.estoque = p.estoque - :quantidade, " +
+		   "p.estoqueReservado = p.estoqueReservado - :quantidade, p.dataAtualizacao = :agora, p.versao = p.versao + 1 " +
+		   "WHERE p.id = :id AND p.estoqueReservado >= :quantidade AND p.estoque >= :quantidade")
+	int confirmarReserva(@Param("id") Long id, @Param("quantidade") int quantidade, @Param("agora") LocalDateTime agora);
+
+	/**
+	 * Descarga do modo de estoque quente: aplica as vendas acumuladas e regrava o total reservado
+	 * a partir do ledger de reservas, em um único UPDATE por produto
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Produto p SET p.estoque = p.estoque - :vendidas, p.estoqueReservado = :reservado, " +
+		   "p.dataAtualizacao = :agora, p.versao = p.versao + 1 WHERE p.id = :id")
+	int aplicarDescargaEstoque(@Param("id") Long id, @Param("vendidas") int vendidas,
+		@Param("reservado") int reservado, @Param("agora") LocalDateTime agora);
+
+	@Modifying
+	@Query("UPDATE Produto p SET p.estoqueQuente = :quente, p.versao = p.versao + 1 WHERE p.id = :id")
+	int definirEstoqueQuente(@Param("id") Long id, @Param("quente") boolean quente);
+
+	@Query("SELECT p.id FROM Produto p WHERE p.estoqueQuente = true")
+	List<Long> findIdsEstoqueQuente();
+
+	/**
+	 * Lê o flag com trava compartilhada até o fim da transação: operações do modo quente não se
+	 * bloqueiam entre si, mas a desativação e a descarga, que travam a linha para escrita, esperam por elas
+	 */
+	@Lock(LockModeType.PESSIMISTIC_READ)
+	@Query("SELECT p.estoqueQuente FROM Produto p WHERE p.id = :id")
+	Optional<Boolean> findEstoqueQuenteCompartilhado(@Param("id") Long id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p.id FROM Produto p WHERE p.id = :id")
+	Optional<Long> travarParaEscrita(@Param("id") Long id);
+
+	@Query("SELECT p.id FROM Produto p WHERE p.slug = :slug")
+	Optional<Long> findIdBySlug(@Param("slug") String slug);
+
+	/**
+	 * Versão do produto (id, dataAtualizacao) para ETag, sem carregar a entidade
+	 */
+	@Query("SELECT p.id, p.dataAtualizacao FROM Produto p WHERE p.id = :id")
+	List<Object[]> findVersaoById(@Param("id") Long id);
+
+	@Query("SELECT p.id, p.dataAtualizacao FROM Produto p WHERE p.slug = :slug")
+	List<Object[]> findVersaoBySlug(@Param("slug") String slug);
+
+	/**
+	 * Carrega apenas os campos indexáveis (id, nome, descricao, desenvolvedor, publisher, categoriaId)
+	 * e os de ordenação (preco, dataLancamento, ratingIgdb)
+	 * em lotes ordenados por ID, sem hidratar entidades
+	 */
+	@Query("SELECT p.id, p.nome, p.descricao, p.desenvolvedor, p.publisher, c.id, p.preco, p.dataLancamento, " +
+		   "p.ratingIgdb FROM Produto p LEFT JOIN p.categoria c WHERE p.id > :ultimoId ORDER BY p.id")
+	List<Object[]> findDadosIndexaveisAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+	/**
+	 * Carrega os campos textuais indexáveis de um único produto
+	 */
+	@Query("SELECT p.id, p.nome, p.descricao, p.desenvolvedor, p.publisher, c.id, p.preco, p.dataLancamento, " +
+		   "p.ratingIgdb FROM Produto p LEFT JOIN p.categoria c WHERE p.id = :id")
+	List<Object[]> findDadosIndexaveisPorId(@Param("id") Long id);
+
+	// ==================== AUTOCOMPLETE ====================
+
+	/**
+	 * Campos do índice de autocomplete (id, nome, slug, popularidade, ratingIgdb, URL da capa) de produtos ativos
+	 */
+	String SELECT_AUTOCOMPLETE = "SELECT p.id, p.nome, p.slug, p.popularidade, p.ratingIgdb, " +
+		"(SELECT MIN(pi.url) FROM ProdutoImagem pi WHERE pi.produto = p " +
+		"AND pi.tipo = com.energygames.lojadegames.enums.TipoImagemEnum.CAPA) " +
+		"FROM Produto p WHERE p.ativo = true";
+
+	@Query(SELECT_AUTOCOMPLETE + " AND p.id > :ultimoId ORDER BY p.id")
+	List<Object[]> findDadosAutocompleteAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+	@Query(SELECT_AUTOCOMPLETE + " AND p.id = :id")
+	List<Object[]> findDadosAutocompletePorId(@Param("id") Long id);
+
+	/**
+	 * Sugestões via LIKE por prefixo do nome, usadas só enquanto o índice de autocomplete não foi construído
+	 */
+	@Query(SELECT_AUTOCOMPLETE + " AND LOWER(p.nome) LIKE :padrao ORDER BY p.popularidade DESC, p.ratingIgdb DESC")
+	List<Object[]> findDadosAutocompletePorNome(@Param("padrao") String padrao, Pageable pageable);
+
+	// ==================== FACETAS ====================
+
+	/**
+	 * Campos escalares das facetas (id, categoria id/nome, status, preço, desconto, ratingIgdb) de produtos ativos
+	 */
+	String SELECT_FACETAS = "SELECT p.id, c.id, c.tipo, p.status, p.preco, p.desconto, p.ratingIgdb " +
+		"FROM Produto p LEFT JOIN p.categoria c WHERE p.ativo = true";
+
+	@Query(SELECT_FACETAS + " AND p.id > :ultimoId ORDER BY p.id")
+	List<Object[]> findDadosFacetasAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+	@Query(SELECT_FACETAS + " AND p.id = :id")
+	List<Object[]> findDadosFacetasPorId(@Param("id") Long id);
+
+	/**
+	 * Plataformas (id do produto, id, nome) de um lote de produtos, sem hidratar entidades
+	 */
+	@Query("SELECT p.id, pl.id, pl.nome FROM Produto p JOIN p.plataformas pl WHERE p.id IN :ids")
+	List<Object[]> findPlataformasFacetaPorIds(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Gêneros (id do produto, id, nome) de um lote de produtos, sem hidratar entidades
+	 */
+	@Query("SELECT p.id, g.id, g.tipo FROM Produto p JOIN p.generos g WHERE p.id IN :ids")
+	List<Object[]> findGenerosFacetaPorIds(@Param("ids") Collection<Long> ids);
+
+	// ==================== LISTAGEM EM PROJEÇÃO (SOMENTE LEITURA) ====================
+
+	@Query(value = SELECT_LISTAGEM, countQuery = "SELECT COUNT(p) FROM Produto p")
+	Page<ProdutoListagemProjection> findListagem(Pageable pageable);
+
+	@Query(value = SELECT_LISTAGEM + " WHERE c.id = :categoriaId",
+		   countQuery = "SELECT COUNT(p) FROM Produto p WHERE p.categoria.id = :categoriaId")
+	Page<ProdutoListagemProjection> findListagemPorCategoria(@Param("categoriaId") Long categoriaId, Pageable pageable);
+
+	/**
+	 * Filtro por nome via LIKE, usado só enquanto o índice de busca ainda não foi construído
+	 */
+	@Query(value = SELECT_LISTAGEM + " WHERE LOWER(p.nome) LIKE :padrao AND (:categoriaId IS NULL OR c.id = :categoriaId)",
+		   countQuery = "SELECT COUNT(p) FROM Produto p WHERE LOWER(p.nome) LIKE :padrao " +
+		   		"AND (:categoriaId IS NULL OR p.categoria.id = :categoriaId)")
+	Page<ProdutoListagemProjection> findListagemPorNome(@Param("padrao") String padrao,
+			@Param("categoriaId") Long categoriaId, Pageable pageable);
+
+	/**
+	 * Linhas da listagem para IDs já resolvidos (ex.: candidatos do índice de busca)
+	 */
+	@Query(value = SELECT_LISTAGEM + " WHERE p.id IN :ids",
+		   countQuery = "SELECT COUNT(p) FROM Produto p WHERE p.id IN :ids")
+	Page<ProdutoListagemProjection> findListagemPorIds(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+	/**
+	 * URLs do campo simples de imagens (id do produto, url) para um lote de produtos
+	 */
+	@Query("SELECT p.id, i FROM Produto p JOIN p.imagens i WHERE p.id IN :ids")
+	List<Object[]> findUrlsImagensSimples(@Param("ids") Collection<Long> ids);
 }
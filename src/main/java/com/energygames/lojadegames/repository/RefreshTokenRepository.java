@@ -0,0 +1,42 @@
+package com.energygames.lojadegames.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.energygames.lojadegames.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca pelo índice único do hash, já com o usuário para emitir o novo access token
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.hash = :hash")
+    Optional<RefreshToken> findByHash(@Param("hash") String hash);
+
+    /**
+     * Consome o token; só uma de duas renovações concorrentes com o mesmo token obtém 1
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEm = :agora " +
+           "WHERE r.id = :id AND r.usadoEm IS NULL AND r.revogadoEm IS NULL")
+    int marcarUsado(@Param("id") Long id, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogadoEm = :agora WHERE r.familia = :familia AND r.revogadoEm IS NULL")
+    int revogarFamilia(@Param("familia") String familia, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogadoEm = :agora WHERE r.usuario.id = :usuarioId AND r.revogadoEm IS NULL")
+    int revogarDoUsuario(@Param("usuarioId") Long usuarioId, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") LocalDateTime agora);
+}
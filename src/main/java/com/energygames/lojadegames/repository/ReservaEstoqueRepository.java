@@ -0,0 +1,46 @@
+package com.energygames.lojadegames.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.energygames.lojadegames.model.ReservaEstoque;
+
+@Repository
+public interface ReservaEstoqueRepository extends JpaRepository<ReservaEstoque, Long> {
+
+    List<ReservaEstoque> findByPedidoIdAndConfirmadaFalse(Long pedidoId);
+
+    @Query("SELECT r FROM ReservaEstoque r WHERE r.expiraEm < :agora AND r.confirmada = false ORDER BY r.expiraEm")
+    List<ReservaEstoque> findExpiradas(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Remove a reserva e informa se foi esta chamada que a removeu
+     * Pagamento, falha e varredura disputam a mesma reserva: só quem obtém 1 devolve ou consome a quantidade
+     */
+    @Modifying
+    @Query("DELETE FROM ReservaEstoque r WHERE r.id = :id AND r.confirmada = false")
+    int excluir(@Param("id") Long id);
+
+    /**
+     * Marca a reserva como paga (modo de estoque quente), com a mesma disputa por contagem de linhas de excluir
+     */
+    @Modifying
+    @Query("UPDATE ReservaEstoque r SET r.confirmada = true WHERE r.id = :id AND r.confirmada = false")
+    int confirmar(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE ReservaEstoque r SET r.expiraEm = :expiraEm WHERE r.pedidoId = :pedidoId AND r.confirmada = false")
+    int renovar(@Param("pedidoId") Long pedidoId, @Param("expiraEm") LocalDateTime expiraEm);
+
+    List<ReservaEstoque> findByProdutoIdAndConfirmadaTrue(Long produtoId);
+
+    @Query("SELECT COALESCE(SUM(r.quantidade), 0) FROM ReservaEstoque r WHERE r.produtoId = :produtoId AND r.confirmada = false")
+    int somarAbertas(@Param("produtoId") Long produtoId);
+}
@@ -0,0 +1,32 @@
+package com.energygames.lojadegames.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.energygames.lojadegames.model.TokenRevogado;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, Long> {
+
+    boolean existsByJti(String jti);
+
+    /**
+     * Revogações ainda em vigor: carga completa da lista na subida da instância
+     */
+    List<TokenRevogado> findByExpiraEmAfter(LocalDateTime agora);
+
+    /**
+     * Revogações recentes (inclusive de outras instâncias) para a sincronização incremental
+     */
+    List<TokenRevogado> findByRevogadoEmGreaterThanEqualAndExpiraEmAfter(LocalDateTime desde, LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") LocalDateTime agora);
+}
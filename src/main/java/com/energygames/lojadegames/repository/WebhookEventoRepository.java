@@ -0,0 +1,57 @@
+package com.energygames.lojadegames.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.energygames.lojadegames.enums.StatusWebhookEventoEnum;
+import com.energygames.lojadegames.model.WebhookEvento;
+
+@Repository
+public interface WebhookEventoRepository extends JpaRepository<WebhookEvento, Long> {
+
+    boolean existsByStripeEventId(String stripeEventId);
+
+    List<WebhookEvento> findByStatusOrderByIdDesc(StatusWebhookEventoEnum status, Pageable pageable);
+
+    /**
+     * Eventos pendentes prontos para processar, em ordem de chegada
+     * Um evento só é elegível quando nenhum outro da mesma chave está em processamento ou
+     * pendente desde antes dele (inclusive aguardando retentativa): serialização por pedido
+     */
+    @Query("SELECT e.id FROM WebhookEvento e WHERE e.status = :pendente AND e.proximaTentativa <= :agora " +
+           "AND NOT EXISTS (SELECT 1 FROM WebhookEvento o WHERE o.chave = e.chave AND o.id <> e.id " +
+           "AND (o.status = :processando OR (o.status = :pendente AND o.id < e.id))) " +
+           "ORDER BY e.id")
+    List<Long> findProntos(@Param("agora") LocalDateTime agora,
+                           @Param("pendente") StatusWebhookEventoEnum pendente,
+                           @Param("processando") StatusWebhookEventoEnum processando,
+                           Pageable pageable);
+
+    /**
+     * Reivindica o evento para um worker; só quem obtém 1 o processa (várias instâncias disputam a mesma fila)
+     */
+    @Modifying
+    @Query("UPDATE WebhookEvento e SET e.status = :processando, e.bloqueadoAte = :bloqueadoAte, " +
+           "e.tentativas = e.tentativas + 1 WHERE e.id = :id AND e.status = :pendente")
+    int reivindicar(@Param("id") Long id,
+                    @Param("bloqueadoAte") LocalDateTime bloqueadoAte,
+                    @Param("pendente") StatusWebhookEventoEnum pendente,
+                    @Param("processando") StatusWebhookEventoEnum processando);
+
+    /**
+     * Devolve à fila eventos cujo worker parou no meio (queda da instância)
+     */
+    @Modifying
+    @Query("UPDATE WebhookEvento e SET e.status = :pendente, e.bloqueadoAte = null " +
+           "WHERE e.status = :processando AND e.bloqueadoAte < :agora")
+    int liberarTravados(@Param("agora") LocalDateTime agora,
+                        @Param("pendente") StatusWebhookEventoEnum pendente,
+                        @Param("processando") StatusWebhookEventoEnum processando);
+}
@@ -0,0 +1,31 @@
+package com.energygames.lojadegames.scheduler;
+
+import com.energygames.lojadegames.service.EstoqueQuenteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gravação periódica (write-behind) do estoque dos produtos em modo quente
+ * Um UPDATE por produto movimentado a cada intervalo, independente do volume de vendas
+ */
+@Component
+public class EstoqueQuenteScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoqueQuenteScheduler.class);
+
+    private final EstoqueQuenteService estoqueQuenteService;
+
+    public EstoqueQuenteScheduler(EstoqueQuenteService estoqueQuenteService) {
+        this.estoqueQuenteService = estoqueQuenteService;
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.quente.descarga-ms:1000}")
+    public void descarregar() {
+        int gravados = estoqueQuenteService.descarregar();
+        if (gravados > 0) {
+            log.debug("Estoque quente gravado para {} produtos", gravados);
+        }
+    }
+}
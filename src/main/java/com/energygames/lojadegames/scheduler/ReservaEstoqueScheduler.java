@@ -0,0 +1,40 @@
+package com.energygames.lojadegames.scheduler;
+
+import com.energygames.lojadegames.service.ReservaEstoqueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Varredura periódica das reservas de estoque vencidas
+ * Devolve ao disponível para venda as unidades de pedidos cuja sessão de pagamento expirou
+ * sem que o webhook de expiração tenha chegado
+ */
+@Component
+public class ReservaEstoqueScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservaEstoqueScheduler.class);
+
+    // Evita monopolizar a thread de agendamento quando há um acúmulo grande
+    private static final int MAXIMO_LOTES_POR_EXECUCAO = 20;
+
+    private final ReservaEstoqueService reservaEstoqueService;
+
+    public ReservaEstoqueScheduler(ReservaEstoqueService reservaEstoqueService) {
+        this.reservaEstoqueService = reservaEstoqueService;
+    }
+
+    @Scheduled(fixedDelayString = "${pedido.reserva.varredura-ms:60000}")
+    public void liberarReservasExpiradas() {
+        try {
+            for (int lote = 0; lote < MAXIMO_LOTES_POR_EXECUCAO; lote++) {
+                if (reservaEstoqueService.liberarExpiradas() == 0) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Erro na varredura de reservas de estoque: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.energygames.lojadegames.scheduler;
+
+import com.energygames.lojadegames.service.RefreshTokenService;
+import com.energygames.lojadegames.service.TokenRevogacaoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém a lista de tokens revogados desta instância em dia com o banco
+ * O intervalo de sincronização é o atraso máximo para um logout feito em outra instância valer aqui.
+ * A limpeza também apaga refresh tokens expirados.
+ */
+@Component
+public class TokenRevogacaoScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevogacaoScheduler.class);
+
+    private final TokenRevogacaoService tokenRevogacaoService;
+    private final RefreshTokenService refreshTokenService;
+
+    public TokenRevogacaoScheduler(TokenRevogacaoService tokenRevogacaoService, RefreshTokenService refreshTokenService) {
+        this.tokenRevogacaoService = tokenRevogacaoService;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revogacao.sincronizacao-ms:5000}")
+    public void sincronizar() {
+        try {
+            tokenRevogacaoService.sincronizar();
+        } catch (Exception e) {
+            log.error("Erro ao sincronizar tokens revogados: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revogacao.limpeza-ms:3600000}", initialDelayString = "${jwt.revogacao.limpeza-ms:3600000}")
+    public void removerExpirados() {
+        try {
+            tokenRevogacaoService.removerExpirados();
+        } catch (Exception e) {
+            log.error("Erro ao remover tokens revogados expirados: {}", e.getMessage(), e);
+        }
+        try {
+            refreshTokenService.removerExpirados();
+        } catch (Exception e) {
+            log.error("Erro ao remover refresh tokens expirados: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.energygames.lojadegames.scheduler;
+
+import com.energygames.lojadegames.service.WebhookInboxService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drena a caixa de entrada dos webhooks do Stripe com um pool fixo de workers
+ * A cada varredura reivindica no máximo tantos eventos quantas forem as vagas livres
+ * (workers + fila), então um pico de pagamentos só aumenta o tamanho da tabela, nunca
+ * o número de threads ou a memória. Eventos de um mesmo pedido nunca rodam em paralelo.
+ */
+@Component
+public class WebhookInboxScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookInboxScheduler.class);
+
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    private final WebhookInboxService webhookInboxService;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore vagas;
+
+    public WebhookInboxScheduler(WebhookInboxService webhookInboxService,
+            @Value("${webhook.inbox.workers:4}") int quantidadeWorkers,
+            @Value("${webhook.inbox.fila:32}") int capacidadeFila) {
+        this.webhookInboxService = webhookInboxService;
+        this.vagas = new Semaphore(quantidadeWorkers + capacidadeFila);
+        this.workers = new ThreadPoolExecutor(quantidadeWorkers, quantidadeWorkers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory());
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.varredura-ms:250}")
+    public void despachar() {
+        try {
+            int livres = vagas.availablePermits();
+            if (livres == 0) {
+                return;
+            }
+            List<Long> ids = webhookInboxService.reivindicar(livres);
+            for (Long id : ids) {
+                // Só esta thread adquire vagas: as que estavam livres na leitura continuam livres
+                vagas.acquireUninterruptibly();
+                workers.execute(() -> processar(id));
+            }
+        } catch (Exception e) {
+            log.error("Erro ao despachar eventos de webhook: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.recuperacao-ms:60000}")
+    public void liberarTravados() {
+        try {
+            webhookInboxService.liberarTravados();
+        } catch (Exception e) {
+            log.error("Erro ao liberar eventos de webhook travados: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        // Eventos reivindicados e não concluídos voltam à fila quando o prazo de processamento vence
+        workers.shutdown();
+        if (!workers.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    void processar(Long id) {
+        try {
+            webhookInboxService.processar(id);
+        } catch (RuntimeException e) {
+            try {
+                webhookInboxService.registrarFalha(id, e);
+            } catch (RuntimeException falha) {
+                log.error("Erro ao registrar falha do evento de webhook {}: {}", id, falha.getMessage(), falha);
+            }
+        } finally {
+            vagas.release();
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory padrao = Executors.defaultThreadFactory();
+        return tarefa -> {
+            Thread thread = padrao.newThread(tarefa);
+            thread.setName("webhook-worker-" + contador.incrementAndGet());
+            return thread;
+        };
+    }
+}
@@ -41,15 +41,16 @@ public class BasicSecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(HashSenhaExecutor hashSenhaExecutor) {
+        // BCrypt fora das threads do Tomcat, em pool limitado
+        return new PasswordEncoderIsolado(new BCryptPasswordEncoder(), hashSenhaExecutor);
     }
 
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService());
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
         return authenticationProvider;
     }
 
@@ -78,7 +79,7 @@ public class BasicSecurityConfig {
     }
 
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain filterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
 
     	http
 	        .sessionManagement(management -> management
@@ -91,6 +92,7 @@ public class BasicSecurityConfig {
                         // Endpoints públicos - Autenticação
                         .requestMatchers("/usuarios/logar").permitAll()
                         .requestMatchers("/usuarios/cadastrar").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/usuarios/renovar").permitAll()
                         
                         // Endpoints públicos - Stripe Webhook (usa validação própria via Stripe-Signature)
                         .requestMatchers("/api/billing/webhook").permitAll()
@@ -138,7 +140,7 @@ public class BasicSecurityConfig {
                         .anyRequest().authenticated())
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint(authenticationEntryPoint))
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
 	        .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
 
 		return http.build();
@@ -0,0 +1,144 @@
+package com.energygames.lojadegames.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.energygames.lojadegames.dto.response.HashSenhaEstatisticasDTO;
+import com.energygames.lojadegames.exception.TooManyRequestsException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pool dedicado e limitado para o hash de senhas
+ *
+ * BCrypt custa dezenas de milissegundos de CPU por chamada. Rodando nas threads do Tomcat,
+ * uma rajada de logins (credential stuffing) ocupa todas elas e derruba a navegação do catálogo.
+ * Aqui no máximo {@code threads} hashes rodam ao mesmo tempo e no máximo {@code fila} aguardam;
+ * além disso a requisição é recusada na hora com 429, e quem espera demais também desiste.
+ * A thread da requisição só aguarda o resultado, sem consumir CPU.
+ */
+@Component
+public class HashSenhaExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(HashSenhaExecutor.class);
+
+	private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 5;
+	private static final long RETRY_AFTER_SEGUNDOS = 1;
+	private static final String MENSAGEM_OCUPADO = "Serviço de autenticação ocupado. Tente novamente em instantes.";
+
+	private final ThreadPoolExecutor pool;
+	private final int capacidadeFila;
+	private final long esperaMaximaMs;
+
+	private final LongAdder concluidos = new LongAdder();
+	private final LongAdder rejeitados = new LongAdder();
+	private final LongAdder esperaTotalNanos = new LongAdder();
+	private final LongAdder hashTotalNanos = new LongAdder();
+	private final AtomicLong hashMaximoNanos = new AtomicLong();
+
+	public HashSenhaExecutor(@Value("${seguranca.hash.threads:4}") int threads,
+			@Value("${seguranca.hash.fila:64}") int capacidadeFila,
+			@Value("${seguranca.hash.espera-maxima-ms:2000}") long esperaMaximaMs) {
+		this.capacidadeFila = capacidadeFila;
+		this.esperaMaximaMs = esperaMaximaMs;
+		this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(capacidadeFila), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+		log.info("Pool de hash de senhas: threads={}, fila={}, espera máxima={}ms", threads, capacidadeFila, esperaMaximaMs);
+	}
+
+	/**
+	 * Executa o hash no pool e aguarda o resultado na thread da requisição
+	 * @throws TooManyRequestsException se a fila estiver cheia ou a espera passar do limite
+	 */
+	public <T> T executar(Supplier<T> hash) {
+		long enfileirado = System.nanoTime();
+		Future<T> resultado;
+		try {
+			resultado = pool.submit(() -> {
+				long inicio = System.nanoTime();
+				esperaTotalNanos.add(inicio - enfileirado);
+				try {
+					return hash.get();
+				} finally {
+					registrarHash(System.nanoTime() - inicio);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejeitados.increment();
+			log.debug("Hash de senha recusado: fila cheia ({} aguardando)", pool.getQueue().size());
+			throw new TooManyRequestsException(MENSAGEM_OCUPADO, RETRY_AFTER_SEGUNDOS);
+		}
+
+		try {
+			return resultado.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// Ainda na fila: sai dela sem calcular um hash que ninguém vai esperar
+			resultado.cancel(false);
+			rejeitados.increment();
+			throw new TooManyRequestsException(MENSAGEM_OCUPADO, RETRY_AFTER_SEGUNDOS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Erro no hash de senha", e.getCause());
+		} catch (InterruptedException e) {
+			resultado.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando o hash de senha", e);
+		}
+	}
+
+	public HashSenhaEstatisticasDTO estatisticas() {
+		long total = concluidos.sum();
+		return new HashSenhaEstatisticasDTO(
+				pool.getMaximumPoolSize(),
+				pool.getActiveCount(),
+				pool.getQueue().size(),
+				capacidadeFila,
+				total,
+				rejeitados.sum(),
+				total == 0 ? 0 : esperaTotalNanos.sum() / 1e6 / total,
+				total == 0 ? 0 : hashTotalNanos.sum() / 1e6 / total,
+				hashMaximoNanos.get() / 1e6);
+	}
+
+	@PreDestroy
+	public void encerrar() throws InterruptedException {
+		pool.shutdown();
+		if (!pool.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+			pool.shutdownNow();
+		}
+	}
+
+	private void registrarHash(long nanos) {
+		hashTotalNanos.add(nanos);
+		hashMaximoNanos.accumulateAndGet(nanos, Math::max);
+		concluidos.increment();
+	}
+
+	private static ThreadFactory threadFactory() {
+		AtomicInteger contador = new AtomicInteger();
+		ThreadFactory padrao = Executors.defaultThreadFactory();
+		return tarefa -> {
+			Thread thread = padrao.newThread(tarefa);
+			thread.setName("hash-senha-" + contador.incrementAndGet());
+			return thread;
+		};
+	}
+}
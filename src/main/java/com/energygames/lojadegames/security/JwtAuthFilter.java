@@ -1,6 +1,7 @@
 package com.energygames.lojadegames.security;
 
 import java.io.IOException;
+import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,6 +13,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.energygames.lojadegames.service.TokenRevogacaoService;
+
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -30,6 +33,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevogacaoService tokenRevogacaoService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String requestPath = request.getRequestURI();
@@ -38,6 +47,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (requestPath.equals("/produtos/pre-registro") || 
             requestPath.equals("/usuarios/logar") || 
             requestPath.equals("/usuarios/cadastrar") ||
+            requestPath.equals("/usuarios/renovar") ||
             requestPath.startsWith("/swagger-ui") ||
             requestPath.startsWith("/v3/api-docs")) {
             filterChain.doFilter(request, response);
@@ -45,19 +55,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
     
         try{
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                username = jwtService.extractUsername(token);
-            }
+            if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Um único parse: assinatura, exp e claims
+                TokenValidado validado = jwtService.validar(token);
+                if (tokenRevogacaoService.isRevogado(validado.jti())
+                        || tokenRevogacaoService.isEmitidoAntesDoCorte(validado.usuarioId(), validado.emitidoEm())) {
+                    response.setStatus(HttpStatus.FORBIDDEN.value());
+                    return;
+                }
+
+                // O principal vem dos claims assinados, sem banco; tokens emitidos antes dos claims
+                // do usuário ainda são verificados contra o banco (só em miss no cache)
+                UserDetails userDetails = UserDetailsImpl.deToken(validado);
+                if (userDetails == null) {
+                    userDetails = principalCache.obter(token, () -> verificar(validado));
+                }
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    
-                if (jwtService.validateToken(token, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -71,4 +88,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
     }
+
+    private PrincipalCache.Verificado verificar(TokenValidado validado) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(validado.email());
+        return new PrincipalCache.Verificado(userDetails, Date.from(validado.expiracao()));
+    }
 }
\ No newline at end of file
@@ -4,13 +4,15 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import io.jsonwebtoken.Claims;
+import com.energygames.lojadegames.model.Usuario;
+
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -19,57 +21,60 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtService {
 
-	@Value("${jwt.secret}")
-	private String secret;
-
-	@Value("${jwt.expiration:3600000}")
-	private Long expiration;
-
-	private Key getSignKey() {
-		byte[] keyBytes = Decoders.BASE64.decode(secret);
-		return Keys.hmacShaKeyFor(keyBytes);
+	// Claims do principal: com eles o JwtAuthFilter autentica sem consultar o banco
+	public static final String CLAIM_USUARIO_ID = "uid";
+	public static final String CLAIM_NICKNAME = "nick";
+	public static final String CLAIM_ROLES = "roles";
+
+	private final Key chave;
+	// Imutável e thread-safe: montado uma vez, evita decodificar o segredo e derivar a chave a cada token
+	private final JwtParser parser;
+	private final long expiration;
+
+	public JwtService(@Value("${jwt.secret}") String secret,
+			@Value("${jwt.expiration:3600000}") long expiration) {
+		this.chave = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+		this.parser = Jwts.parserBuilder().setSigningKey(chave).build();
+		this.expiration = expiration;
 	}
 
-	private Claims extractAllClaims(String token) {
-		return Jwts.parserBuilder()
-				.setSigningKey(getSignKey()).build()
-				.parseClaimsJws(token).getBody();
-	}
-
-	public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = extractAllClaims(token);
-		return claimsResolver.apply(claims);
+	/**
+	 * Verifica assinatura e expiração com um único parse
+	 * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado
+	 */
+	public TokenValidado validar(String token) {
+		return TokenValidado.de(parser.parseClaimsJws(token).getBody());
 	}
 
 	public String extractUsername(String token) {
-		return extractClaim(token, Claims::getSubject);
+		return validar(token).email();
 	}
 
 	public Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
-	}
-
-	private Boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+		return Date.from(validar(token).expiracao());
 	}
 
 	public Boolean validateToken(String token, UserDetails userDetails) {
-		final String username = extractUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+		// Token expirado já é recusado no parse
+		return validar(token).email().equals(userDetails.getUsername());
 	}
 
 	private String createToken(Map<String, Object> claims, String userName) {
 		return Jwts.builder()
 					.setClaims(claims)
+					.setId(UUID.randomUUID().toString())
 					.setSubject(userName)
 					.setIssuedAt(new Date(System.currentTimeMillis()))
 					.setExpiration(new Date(System.currentTimeMillis() + expiration))
-					.signWith(getSignKey(), SignatureAlgorithm.HS256).compact();
+					.signWith(chave, SignatureAlgorithm.HS256).compact();
 	}
 
-	public String generateToken(String userName) {
+	public String generateToken(Usuario usuario) {
 		Map<String, Object> claims = new HashMap<>();
-		return createToken(claims, userName);
+		claims.put(CLAIM_USUARIO_ID, usuario.getId());
+		claims.put(CLAIM_NICKNAME, usuario.getNickname());
+		claims.put(CLAIM_ROLES, usuario.getRoles().stream().map(Enum::name).sorted().toList());
+		return createToken(claims, usuario.getEmail());
 	}
 
 }
\ No newline at end of file
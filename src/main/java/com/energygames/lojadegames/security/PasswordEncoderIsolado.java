@@ -0,0 +1,33 @@
+package com.energygames.lojadegames.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder que calcula os hashes no pool limitado do HashSenhaExecutor
+ * Cobre login (DaoAuthenticationProvider), cadastro e troca de senha sem mudar quem os chama.
+ */
+public class PasswordEncoderIsolado implements PasswordEncoder {
+
+	private final PasswordEncoder delegado;
+	private final HashSenhaExecutor executor;
+
+	public PasswordEncoderIsolado(PasswordEncoder delegado, HashSenhaExecutor executor) {
+		this.delegado = delegado;
+		this.executor = executor;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return executor.executar(() -> delegado.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return executor.executar(() -> delegado.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegado.upgradeEncoding(encodedPassword);
+	}
+}
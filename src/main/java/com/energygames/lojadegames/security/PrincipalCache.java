@@ -0,0 +1,132 @@
+package com.energygames.lojadegames.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
+import com.energygames.lojadegames.event.UsuarioAlteradoEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Cache dos principais de tokens legados, por token
+ *
+ * Só é consultado para tokens emitidos antes dos claims do usuário: os demais montam o principal
+ * a partir dos claims, sem banco. O JwtAuthFilter sempre valida o JWT (jwtService.validar) e checa
+ * a revogação antes de chegar aqui, então um hit dispensa apenas a consulta do usuário com seus
+ * perfis, não o parse nem a verificação da assinatura. A chave é o SHA-256
+ * do token (o token em si não fica em memória) e cada entrada vive no máximo o TTL configurado,
+ * nunca além do exp do próprio token. Alterações de email, senha ou perfis de um usuário
+ * descartam as entradas dele após o commit.
+ */
+@Component
+public class PrincipalCache {
+
+	public static final String NOME = "jwt-principais";
+
+	/**
+	 * Resultado da verificação completa de um token
+	 */
+	public record Verificado(UserDetails usuario, Date expiracao) {}
+
+	private record Entrada(UserDetails usuario, long expiraEmMillis) {}
+
+	private final Cache<String, Entrada> entradas;
+
+	// Incrementada a cada invalidação: uma verificação iniciada antes dela não é armazenada
+	private final AtomicLong geracao = new AtomicLong();
+
+	public PrincipalCache(
+			@Value("${jwt.cache.ttl-segundos:300}") long ttlSegundos,
+			@Value("${jwt.cache.maximo-entradas:50000}") long maximoEntradas) {
+		long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+		this.entradas = Caffeine.newBuilder()
+			.maximumSize(maximoEntradas)
+			.expireAfter(new Expiry<String, Entrada>() {
+				@Override
+				public long expireAfterCreate(String chave, Entrada entrada, long agora) {
+					long restante = TimeUnit.MILLISECONDS.toNanos(entrada.expiraEmMillis() - System.currentTimeMillis());
+					return Math.max(0, Math.min(ttlNanos, restante));
+				}
+
+				@Override
+				public long expireAfterUpdate(String chave, Entrada entrada, long agora, long duracaoAtual) {
+					return expireAfterCreate(chave, entrada, agora);
+				}
+
+				@Override
+				public long expireAfterRead(String chave, Entrada entrada, long agora, long duracaoAtual) {
+					return duracaoAtual;
+				}
+			})
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * Retorna o principal do token, verificando-o (assinatura, exp, usuário) só em caso de miss
+	 * @param verificacao Verificação completa; pode lançar as exceções do JWT ou retornar null se inválido
+	 * @return Principal, ou null quando a verificação rejeitou o token
+	 */
+	public UserDetails obter(String token, Supplier<Verificado> verificacao) {
+		String chave = chave(token);
+		Entrada entrada = entradas.getIfPresent(chave);
+		if (entrada != null && entrada.expiraEmMillis() > System.currentTimeMillis()) {
+			return entrada.usuario();
+		}
+
+		long geracaoInicial = geracao.get();
+		Verificado verificado = verificacao.get();
+		if (verificado == null) {
+			return null;
+		}
+		if (geracaoInicial == geracao.get()) {
+			entradas.put(chave, new Entrada(verificado.usuario(), verificado.expiracao().getTime()));
+			// Invalidação concorrente entre a checagem e o put
+			if (geracaoInicial != geracao.get()) {
+				entradas.invalidate(chave);
+			}
+		}
+		return verificado.usuario();
+	}
+
+	public void invalidarUsuario(String email) {
+		geracao.incrementAndGet();
+		entradas.asMap().values().removeIf(entrada -> entrada.usuario().getUsername().equals(email));
+	}
+
+	public void invalidarTudo() {
+		geracao.incrementAndGet();
+		entradas.invalidateAll();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+		invalidarUsuario(event.getEmail());
+	}
+
+	public CacheEstatisticasDTO estatisticas() {
+		return CacheEstatisticasDTO.de(NOME, entradas.estimatedSize(), entradas.stats());
+	}
+
+	private static String chave(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return HexFormat.of().formatHex(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível", e);
+		}
+	}
+}
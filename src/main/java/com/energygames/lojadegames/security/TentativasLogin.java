@@ -0,0 +1,82 @@
+package com.energygames.lojadegames.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.energygames.lojadegames.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Limite de tentativas na frente do hash de senhas
+ *
+ * Por IP conta toda tentativa de login, cadastro, atualização do cadastro ou troca de senha; por
+ * conta, só as que erraram a senha (um acerto zera). Passado o limite a requisição é recusada com
+ * 429 antes de ocupar o pool de BCrypt. Cada janela é fixa e começa na primeira tentativa: a entrada é criada uma
+ * vez e só o contador muda, então expireAfterWrite encerra a janela.
+ */
+@Component
+public class TentativasLogin {
+
+	private static final int MAXIMO_ENTRADAS = 100_000;
+
+	private final Cache<String, AtomicInteger> porIp;
+	private final Cache<String, AtomicInteger> falhasPorConta;
+	private final int limiteIp;
+	private final int limiteConta;
+	private final long janelaIpSegundos;
+	private final long janelaContaSegundos;
+
+	public TentativasLogin(@Value("${seguranca.tentativas.limite-ip:30}") int limiteIp,
+			@Value("${seguranca.tentativas.janela-ip-segundos:60}") long janelaIpSegundos,
+			@Value("${seguranca.tentativas.limite-conta:5}") int limiteConta,
+			@Value("${seguranca.tentativas.janela-conta-minutos:15}") long janelaContaMinutos) {
+		this.limiteIp = limiteIp;
+		this.limiteConta = limiteConta;
+		this.janelaIpSegundos = janelaIpSegundos;
+		this.janelaContaSegundos = TimeUnit.MINUTES.toSeconds(janelaContaMinutos);
+		this.porIp = Caffeine.newBuilder()
+			.expireAfterWrite(Duration.ofSeconds(janelaIpSegundos))
+			.maximumSize(MAXIMO_ENTRADAS)
+			.build();
+		this.falhasPorConta = Caffeine.newBuilder()
+			.expireAfterWrite(Duration.ofSeconds(janelaContaSegundos))
+			.maximumSize(MAXIMO_ENTRADAS)
+			.build();
+	}
+
+	/**
+	 * Conta a tentativa do IP e recusa se o IP ou a conta já passaram do limite
+	 * @param email null quando não há conta envolvida (cadastro)
+	 */
+	public void verificar(String ip, String email) {
+		if (email != null) {
+			AtomicInteger falhas = falhasPorConta.getIfPresent(conta(email));
+			if (falhas != null && falhas.get() >= limiteConta) {
+				throw new TooManyRequestsException("Muitas tentativas de login para esta conta. Tente novamente mais tarde.",
+					janelaContaSegundos);
+			}
+		}
+		if (porIp.get(ip, chave -> new AtomicInteger()).incrementAndGet() > limiteIp) {
+			throw new TooManyRequestsException("Muitas tentativas a partir deste endereço. Tente novamente em instantes.",
+				janelaIpSegundos);
+		}
+	}
+
+	public void registrarFalha(String email) {
+		falhasPorConta.get(conta(email), chave -> new AtomicInteger()).incrementAndGet();
+	}
+
+	public void registrarSucesso(String email) {
+		falhasPorConta.invalidate(conta(email));
+	}
+
+	private static String conta(String email) {
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
+}
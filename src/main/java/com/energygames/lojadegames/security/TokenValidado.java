@@ -0,0 +1,39 @@
+package com.energygames.lojadegames.security;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token JWT com assinatura e exp já verificados, lido uma única vez
+ * Imutável: pode ser repassado entre filtro, cache e serviços sem novo parse.
+ * usuarioId e roles ficam nulos em tokens emitidos antes dos claims do usuário.
+ */
+public record TokenValidado(String jti, String email, Long usuarioId, String nickname, List<String> roles,
+		Instant emitidoEm, Instant expiracao) {
+
+	public TokenValidado {
+		roles = roles == null ? null : List.copyOf(roles);
+	}
+
+	static TokenValidado de(Claims claims) {
+		Number usuarioId = claims.get(JwtService.CLAIM_USUARIO_ID, Number.class);
+		List<?> roles = claims.get(JwtService.CLAIM_ROLES, List.class);
+		return new TokenValidado(
+				claims.getId(),
+				claims.getSubject(),
+				usuarioId == null ? null : usuarioId.longValue(),
+				claims.get(JwtService.CLAIM_NICKNAME, String.class),
+				roles == null ? null : roles.stream().map(Object::toString).toList(),
+				claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+				claims.getExpiration().toInstant());
+	}
+
+	/**
+	 * Traz os claims necessários para montar o principal sem consultar o banco
+	 */
+	public boolean temPrincipal() {
+		return usuarioId != null && roles != null;
+	}
+}
@@ -15,12 +15,14 @@ public class UserDetailsImpl implements UserDetails {
 
 	private Long id;
 	private String userName;
+	private String nickname;
 	private String password;
 	private Collection<? extends GrantedAuthority> authorities;
 
 	public UserDetailsImpl(Usuario user) {
 		this.id = user.getId();
 		this.userName = user.getEmail();
+		this.nickname = user.getNickname();
 		this.password = user.getSenha();
 		this.authorities = user.getRoles().stream()
 				.map(role -> new SimpleGrantedAuthority(role.name()))
@@ -29,10 +31,32 @@ public class UserDetailsImpl implements UserDetails {
 
 	public UserDetailsImpl() {}
 
+	/**
+	 * Principal montado só com os claims assinados do token, sem senha
+	 * @return null se o token não traz os claims do principal (emitido antes deles)
+	 */
+	public static UserDetailsImpl deToken(TokenValidado token) {
+		if (!token.temPrincipal()) {
+			return null;
+		}
+		UserDetailsImpl principal = new UserDetailsImpl();
+		principal.id = token.usuarioId();
+		principal.userName = token.email();
+		principal.nickname = token.nickname();
+		principal.authorities = token.roles().stream()
+				.map(SimpleGrantedAuthority::new)
+				.collect(Collectors.toList());
+		return principal;
+	}
+
 	public Long getId() {
 		return id;
 	}
 
+	public String getNickname() {
+		return nickname;
+	}
+
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 		return authorities;
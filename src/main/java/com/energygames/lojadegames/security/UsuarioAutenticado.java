@@ -0,0 +1,49 @@
+package com.energygames.lojadegames.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.energygames.lojadegames.enums.RoleEnum;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.Usuario;
+import com.energygames.lojadegames.repository.UsuarioRepository;
+
+/**
+ * Acesso ao usuário da requisição a partir do principal montado pelo JwtAuthFilter
+ * Id, email e perfis vêm dos claims do token: nenhum destes métodos consulta o banco.
+ */
+public final class UsuarioAutenticado {
+
+	private UsuarioAutenticado() {
+	}
+
+	public static UserDetailsImpl principal() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated()
+				|| !(authentication.getPrincipal() instanceof UserDetailsImpl principal)) {
+			throw new BusinessException("Usuário não autenticado");
+		}
+		return principal;
+	}
+
+	public static Long id() {
+		return principal().getId();
+	}
+
+	public static String email() {
+		return principal().getUsername();
+	}
+
+	public static boolean isAdmin() {
+		return principal().getAuthorities().stream()
+				.anyMatch(authority -> RoleEnum.ROLE_ADMIN.name().equals(authority.getAuthority()));
+	}
+
+	/**
+	 * Referência JPA ao usuário autenticado para associar a pedidos, carrinhos, avaliações etc.
+	 * getReferenceById não faz SELECT: a entidade só é carregada se um campo além do id for lido
+	 */
+	public static Usuario referencia(UsuarioRepository usuarioRepository) {
+		return usuarioRepository.getReferenceById(id());
+	}
+}
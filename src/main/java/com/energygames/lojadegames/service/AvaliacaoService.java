@@ -2,9 +2,11 @@ package com.energygames.lojadegames.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import com.energygames.lojadegames.dto.request.AvaliacaoRequestDTO;
 import com.energygames.lojadegames.dto.response.AvaliacaoResponseDTO;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 
 public interface AvaliacaoService {
 
@@ -18,6 +20,9 @@ public interface AvaliacaoService {
 
 	Page<AvaliacaoResponseDTO> buscarPorProduto(Long produtoId, Pageable pageable);
 
+	CursorPageResponseDTO<AvaliacaoResponseDTO> buscarPorProdutoPorCursor(Long produtoId, String campo,
+			Sort.Direction direcao, String cursor, int tamanho);
+
 	Double calcularMediaPorProduto(Long produtoId);
 
 	Long contarAvaliacoesPorProduto(Long produtoId);
@@ -15,6 +15,11 @@ public interface BannerService {
      */
     List<BannerResponseDTO> listarBannersAtivos();
 
+    /**
+     * ETag dos banners ativos (IDs, ordem e timestamps do banner e do produto vinculado)
+     */
+    String calcularEtagAtivos();
+
     /**
      * Lista todos os banners para administração
      */
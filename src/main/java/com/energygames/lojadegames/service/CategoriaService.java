@@ -17,4 +17,9 @@ public interface CategoriaService {
 	CategoriaResponseDTO atualizar(Long id, CategoriaRequestDTO dto);
 	
 	void deletar(Long id);
+
+	/**
+	 * ETag da listagem de categorias (quantidade + última atualização da tabela)
+	 */
+	String calcularEtagListagem();
 }
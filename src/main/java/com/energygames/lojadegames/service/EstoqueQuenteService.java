@@ -0,0 +1,56 @@
+package com.energygames.lojadegames.service;
+
+import java.util.Map;
+
+/**
+ * Modo de estoque quente para vendas relâmpago: o disponível de produtos marcados pelo admin fica
+ * em contadores em memória, retirado sem disputar a linha do produto, e é gravado em lote
+ */
+public interface EstoqueQuenteService {
+
+    boolean isQuente(Long produtoId);
+
+    /**
+     * Decide, dentro da transação corrente, se as movimentações do produto passam pelo contador. Em modo
+     * quente, trava a linha do produto em modo compartilhado até o fim da transação: compradores não se
+     * bloqueiam entre si, e desativação e descarga esperam as linhas do ledger ainda não gravadas
+     * @return true quando a operação deve usar o contador
+     */
+    boolean usarContador(Long produtoId);
+
+    /**
+     * Disponível para venda em memória, ou null se o produto não está em modo quente
+     */
+    Integer disponivel(Long produtoId);
+
+    /**
+     * Retira unidades do contador; se a transação corrente for desfeita, as unidades voltam
+     * @return false quando o disponível era insuficiente
+     */
+    boolean tentarRetirar(Long produtoId, int quantidade);
+
+    /**
+     * Devolve unidades ao contador após o commit da transação corrente
+     */
+    void devolver(Long produtoId, int quantidade);
+
+    /**
+     * Agenda a gravação do produto na próxima descarga, após o commit da transação corrente
+     */
+    void registrarMovimentacao(Long produtoId);
+
+    void ativar(Long produtoId);
+
+    void desativar(Long produtoId);
+
+    /**
+     * Grava em tb_produtos as movimentações acumuladas dos produtos em modo quente
+     * @return Quantidade de produtos gravados
+     */
+    int descarregar();
+
+    /**
+     * Disponível em memória por produto em modo quente
+     */
+    Map<Long, Integer> situacao();
+}
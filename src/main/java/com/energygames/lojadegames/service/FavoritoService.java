@@ -2,7 +2,9 @@ package com.energygames.lojadegames.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.FavoritoResponseDTO;
 
 public interface FavoritoService {
@@ -13,6 +15,9 @@ public interface FavoritoService {
 
 	Page<FavoritoResponseDTO> listarMeusFavoritos(Pageable pageable);
 
+	CursorPageResponseDTO<FavoritoResponseDTO> listarMeusFavoritosPorCursor(String campo, Sort.Direction direcao,
+			String cursor, int tamanho);
+
 	boolean isFavorito(Long produtoId);
 
 	Long contarMeusFavoritos();
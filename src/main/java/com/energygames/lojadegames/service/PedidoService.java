@@ -2,10 +2,14 @@ package com.energygames.lojadegames.service;
 
 import java.util.List;
 
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.PedidoResponseDTO;
+import com.energygames.lojadegames.dto.response.PedidoResumoResponseDTO;
 
 public interface PedidoService {
     PedidoResponseDTO criarPedido();
     List<PedidoResponseDTO> listarMeusPedidos();
+    CursorPageResponseDTO<PedidoResponseDTO> listarHistorico(String cursor, int tamanho);
+    CursorPageResponseDTO<PedidoResumoResponseDTO> listarHistoricoResumido(String cursor, int tamanho);
     PedidoResponseDTO buscarPedidoPorId(Long id);
 }
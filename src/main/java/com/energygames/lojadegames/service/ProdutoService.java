@@ -1,17 +1,30 @@
 package com.energygames.lojadegames.service;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import com.energygames.lojadegames.dto.request.ProdutoComercialUpdateDTO;
 import com.energygames.lojadegames.dto.request.ProdutoRequestDTO;
+import com.energygames.lojadegames.dto.response.BuscaFacetadaResponseDTO;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.dto.response.ProdutoSugestaoDTO;
 
 public interface ProdutoService {
 	
 	Page<ProdutoResponseDTO> buscarTodos(String nome, Long categoriaId, Pageable pageable);
 	
+	/**
+	 * Lista produtos com paginação por cursor (keyset), sem consulta de contagem
+	 */
+	CursorPageResponseDTO<ProdutoResponseDTO> buscarTodosPorCursor(String nome, Long categoriaId, String campo,
+			Sort.Direction direcao, String cursor, int tamanho);
+	
 	ProdutoResponseDTO buscarPorId(Long id);
 	
 	/**
@@ -23,6 +36,24 @@ public interface ProdutoService {
 	 * Busca produto por slug com mídia estruturada
 	 */
 	ProdutoDetalheResponseDTO buscarDetalhePorSlug(String slug);
+
+	/**
+	 * ETag do produto (dataAtualizacao + versão das categorias), sem montar DTO
+	 */
+	String calcularEtag(Long id);
+
+	String calcularEtagPorSlug(String slug);
+	
+	/**
+	 * Busca com filtros por faceta (OU dentro da faceta, E entre facetas) e contagens de cada valor
+	 * @param filtros Valores selecionados por faceta (ver ProdutoFacetaIndex)
+	 */
+	BuscaFacetadaResponseDTO buscarFacetado(String nome, Map<String, List<String>> filtros, Pageable pageable);
+
+	/**
+	 * Sugestões de produtos para o texto digitado na busca (tolerante a um erro de digitação)
+	 */
+	List<ProdutoSugestaoDTO> autocompletar(String consulta, int limite);
 	
 	ProdutoResponseDTO criar(ProdutoRequestDTO dto);
 	
@@ -0,0 +1,42 @@
+package com.energygames.lojadegames.service;
+
+import com.energygames.lojadegames.model.Usuario;
+
+/**
+ * Refresh tokens opacos com rotação: renovar o access token custa uma busca indexada, sem BCrypt
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Resultado de uma renovação: o usuário (com perfis atuais) e o refresh token que substitui o usado
+     */
+    record Rotacao(Usuario usuario, String refreshToken) {
+    }
+
+    /**
+     * Emite o primeiro refresh token de uma nova sessão (login)
+     */
+    String emitir(Usuario usuario);
+
+    /**
+     * Consome o refresh token e emite o próximo da mesma família
+     * Token já usado apresentado de novo revoga a família inteira (reuso indica vazamento)
+     * @throws com.energygames.lojadegames.exception.UnauthorizedException se o token for inválido, expirado ou reusado
+     */
+    Rotacao rotacionar(String refreshToken);
+
+    /**
+     * Encerra a sessão do token (logout); tokens desconhecidos são ignorados
+     */
+    void revogar(String refreshToken);
+
+    /**
+     * Encerra todas as sessões do usuário (troca de senha)
+     */
+    void revogarDoUsuario(Long usuarioId);
+
+    /**
+     * @return Quantidade de tokens expirados apagados
+     */
+    int removerExpirados();
+}
@@ -0,0 +1,53 @@
+package com.energygames.lojadegames.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+
+/**
+ * Reservas de estoque de pedidos aguardando pagamento
+ */
+public interface ReservaEstoqueService {
+
+    /**
+     * Reserva as quantidades do pedido; lança BusinessException se algum produto não tiver saldo livre
+     */
+    void reservar(Pedido pedido);
+
+    /**
+     * Estende a validade das reservas do pedido e reserva de novo os produtos cuja reserva já foi devolvida
+     * @return Novo instante de expiração, usado também como expiração da sessão do Stripe
+     */
+    LocalDateTime renovar(Pedido pedido);
+
+    /**
+     * Remove as reservas do pedido para conversão em baixa definitiva
+     * @return Quantidade reservada por produto (vazio se as reservas já tinham expirado)
+     */
+    Map<Long, Integer> consumir(Long pedidoId);
+
+    /**
+     * Baixa definitiva de um produto pago: converte a quantidade reservada (já consumida) e
+     * retira o restante do disponível para venda
+     * @return false quando o disponível era insuficiente para o restante
+     */
+    boolean baixar(Long pedidoId, Long produtoId, int reservada, int restante, LocalDateTime agora);
+
+    /**
+     * Disponível para venda, considerando o modo de estoque quente
+     */
+    int disponivel(Produto produto);
+
+    /**
+     * Devolve as reservas do pedido ao disponível para venda
+     */
+    void liberar(Long pedidoId);
+
+    /**
+     * Devolve um lote de reservas vencidas
+     * @return Quantidade de reservas liberadas
+     */
+    int liberarExpiradas();
+}
@@ -0,0 +1,44 @@
+package com.energygames.lojadegames.service;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Lista de tokens JWT revogados antes do exp, consultada em memória a cada requisição
+ * Além de tokens avulsos (logout), guarda por usuário um corte: tokens emitidos antes dele são recusados.
+ */
+public interface TokenRevogacaoService {
+
+    /**
+     * Consulta apenas a memória local; revogações de outras instâncias chegam pela sincronização
+     */
+    boolean isRevogado(String jti);
+
+    /**
+     * Token de um usuário cujo corte é posterior à emissão; tokens sem usuarioId ficam de fora
+     * (o principal deles vem do banco e é recarregado pelo PrincipalCache)
+     */
+    boolean isEmitidoAntesDoCorte(Long usuarioId, Instant emitidoEm);
+
+    /**
+     * Grava a revogação e a aplica imediatamente nesta instância
+     */
+    void revogar(String jti, Date expiracao, Long usuarioId);
+
+    /**
+     * Move o corte do usuário para o instante informado, recusando todos os tokens de acesso emitidos antes
+     * Vale nesta instância após o commit da transação corrente e nas demais após a sincronização
+     */
+    void revogarEmitidosAntes(Long usuarioId, Instant instante);
+
+    /**
+     * Traz do banco as revogações feitas desde a última sincronização e descarta as já expiradas
+     */
+    void sincronizar();
+
+    /**
+     * Apaga do banco as revogações e os cortes de tokens que já expiraram
+     * @return Quantidade de registros apagados
+     */
+    int removerExpirados();
+}
@@ -3,6 +3,7 @@ package com.energygames.lojadegames.service;
 import java.util.List;
 
 import com.energygames.lojadegames.dto.request.LoginRequestDTO;
+import com.energygames.lojadegames.dto.request.RefreshTokenRequestDTO;
 import com.energygames.lojadegames.dto.request.SenhaResetDTO;
 import com.energygames.lojadegames.dto.request.SenhaUpdateDTO;
 import com.energygames.lojadegames.dto.request.UsuarioRequestDTO;
@@ -15,13 +16,36 @@ public interface UsuarioService {
 	
 	UsuarioResponseDTO buscarPorId(Long id);
 	
-	UsuarioResponseDTO cadastrar(UsuarioRequestDTO dto);
+	/**
+	 * @param ip Endereço de origem, para o limite de tentativas
+	 */
+	UsuarioResponseDTO cadastrar(UsuarioRequestDTO dto, String ip);
 	
-	UsuarioResponseDTO atualizar(Long id, UsuarioRequestDTO dto);
+	/**
+	 * @param ip Endereço de origem, para o limite de tentativas
+	 */
+	UsuarioResponseDTO atualizar(Long id, UsuarioRequestDTO dto, String ip);
 	
-	AuthResponseDTO autenticar(LoginRequestDTO dto);
+	/**
+	 * @param ip Endereço de origem, para o limite de tentativas
+	 */
+	AuthResponseDTO autenticar(LoginRequestDTO dto, String ip);
 
-	void alterarSenha(Long id, SenhaUpdateDTO dto);
+	/**
+	 * Emite novo access token e troca o refresh token, sem verificar a senha
+	 */
+	AuthResponseDTO renovar(RefreshTokenRequestDTO dto);
+
+	/**
+	 * @param ip Endereço de origem, para o limite de tentativas
+	 */
+	void alterarSenha(Long id, SenhaUpdateDTO dto, String ip);
+
+	/**
+	 * Revoga o token antes do exp; as demais instâncias o recusam após a próxima sincronização
+	 * @param refreshToken Sessão a encerrar junto; opcional
+	 */
+	void logout(String token, String refreshToken);
 
 	void recuperarSenha(SenhaResetDTO dto);
 }
\ No newline at end of file
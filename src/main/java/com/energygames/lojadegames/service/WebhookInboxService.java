@@ -0,0 +1,40 @@
+package com.energygames.lojadegames.service;
+
+import java.util.List;
+
+import com.stripe.model.Event;
+
+/**
+ * Caixa de entrada dos webhooks do Stripe: ingestão rápida e processamento assíncrono com retentativas
+ */
+public interface WebhookInboxService {
+
+    /**
+     * Grava o evento (já com assinatura verificada) para processamento posterior
+     * @return false quando o evento já estava na caixa de entrada (reentrega do Stripe)
+     */
+    boolean registrar(Event event, String payload);
+
+    /**
+     * Reivindica até {@code limite} eventos prontos, respeitando a serialização por pedido
+     * @return IDs reivindicados, a serem processados com processar
+     */
+    List<Long> reivindicar(int limite);
+
+    /**
+     * Aplica o evento (pagamento confirmado, sessão expirada...) e o marca como processado na mesma transação
+     */
+    void processar(Long id);
+
+    /**
+     * Agenda nova tentativa com backoff exponencial, ou move para FALHOU (dead-letter) quando
+     * a falha é definitiva ou as tentativas acabaram
+     */
+    void registrarFalha(Long id, RuntimeException erro);
+
+    /**
+     * Devolve à fila eventos reivindicados por workers que não terminaram dentro do prazo
+     * @return Quantidade de eventos devolvidos
+     */
+    int liberarTravados();
+}
@@ -0,0 +1,136 @@
+package com.energygames.lojadegames.service.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.exception.DuplicateResourceException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Respostas de requisições com cabeçalho Idempotency-Key (POST /pedidos e checkout do Stripe)
+ *
+ * A primeira requisição de uma chave registra uma execução em andamento e roda a operação;
+ * duplicatas simultâneas aguardam essa mesma execução em vez de repeti-la, e retentativas
+ * posteriores (dentro do TTL) recebem a resposta armazenada sem acessar banco nem Stripe.
+ * Falhas não ficam armazenadas: a próxima retentativa executa de novo.
+ *
+ * As chaves são isoladas por usuário autenticado e por operação. A mesma chave com outro
+ * corpo de requisição é rejeitada.
+ */
+@Component
+public class IdempotenciaCache {
+
+	private static final Logger log = LoggerFactory.getLogger(IdempotenciaCache.class);
+
+	public static final String NOME = "idempotencia";
+	public static final String CABECALHO = "Idempotency-Key";
+	public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+	private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+	private record Execucao(String impressao, CompletableFuture<ResponseEntity<?>> resposta) {}
+
+	private final Cache<String, Execucao> execucoes;
+	private final long esperaMaximaMs;
+
+	public IdempotenciaCache(
+			@Value("${idempotencia.ttl-minutos:60}") long ttlMinutos,
+			@Value("${idempotencia.maximo-entradas:100000}") long maximoEntradas,
+			@Value("${idempotencia.espera-maxima-ms:30000}") long esperaMaximaMs) {
+		this.esperaMaximaMs = esperaMaximaMs;
+		this.execucoes = Caffeine.newBuilder()
+			.expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+			.maximumSize(maximoEntradas)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * Executa a operação uma única vez por chave
+	 * @param operacao Nome estável da operação (ex.: "POST /pedidos")
+	 * @param chave Valor do cabeçalho Idempotency-Key; sem chave a operação roda normalmente
+	 * @param impressao Identificação do corpo da requisição, ou null quando não há corpo
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> ResponseEntity<T> executar(String operacao, String chave, String impressao,
+			Supplier<ResponseEntity<T>> acao) {
+		if (chave == null) {
+			return acao.get();
+		}
+		if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+			throw new BusinessException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+		}
+
+		String id = usuarioAtual() + "|" + operacao + "|" + chave;
+		Execucao nova = new Execucao(impressao, new CompletableFuture<>());
+		Execucao existente = execucoes.asMap().putIfAbsent(id, nova);
+
+		if (existente != null) {
+			if (!Objects.equals(existente.impressao(), impressao)) {
+				throw new BusinessException("Idempotency-Key já utilizada com outra requisição");
+			}
+			return (ResponseEntity<T>) repetir(aguardar(existente));
+		}
+
+		try {
+			ResponseEntity<T> resposta = acao.get();
+			nova.resposta().complete(resposta);
+			return resposta;
+		} catch (RuntimeException | Error e) {
+			execucoes.asMap().remove(id, nova);
+			nova.resposta().completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	public CacheEstatisticasDTO estatisticas() {
+		return CacheEstatisticasDTO.de(NOME, execucoes.estimatedSize(), execucoes.stats());
+	}
+
+	private ResponseEntity<?> aguardar(Execucao execucao) {
+		try {
+			return execucao.resposta().get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			// A duplicata recebe o mesmo erro da execução original
+			if (e.getCause() instanceof RuntimeException causa) {
+				throw causa;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new DuplicateResourceException("Requisição com a mesma Idempotency-Key ainda em processamento");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando requisição idempotente", e);
+		}
+	}
+
+	private static ResponseEntity<?> repetir(ResponseEntity<?> original) {
+		log.debug("Resposta idempotente repetida");
+		HttpHeaders cabecalhos = new HttpHeaders();
+		cabecalhos.addAll(original.getHeaders());
+		cabecalhos.set(CABECALHO_REPETIDA, "true");
+		return new ResponseEntity<>(original.getBody(), cabecalhos, original.getStatusCode());
+	}
+
+	private static String usuarioAtual() {
+		Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+		return autenticacao != null ? autenticacao.getName() : "anonimo";
+	}
+}
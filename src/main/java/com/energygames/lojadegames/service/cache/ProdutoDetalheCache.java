@@ -0,0 +1,150 @@
+package com.energygames.lojadegames.service.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
+import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
+import com.energygames.lojadegames.event.CategoriaAlteradaEvent;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Cache read-through dos DTOs de detalhe do produto, acessível por ID e por slug
+ * Os DTOs ficam armazenados uma única vez, por ID; o slug é apenas um apontamento para o ID.
+ *
+ * O limite é por peso estimado em bytes (não por quantidade), já que um produto com
+ * dezenas de screenshots custa muito mais memória que um produto sem mídia.
+ * A invalidação acontece via ProdutoAlteradoEvent (e CategoriaAlteradaEvent) após o commit da alteração.
+ *
+ * Os DTOs retornados são compartilhados entre requisições e não devem ser modificados.
+ */
+@Component
+public class ProdutoDetalheCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ProdutoDetalheCache.class);
+
+	public static final String NOME = "produto-detalhe";
+
+	// Estimativas de memória por elemento do DTO (cabeçalhos de objeto, campos e ~10 URLs por imagem)
+	private static final long BYTES_BASE = 1024;
+	private static final long BYTES_POR_IMAGEM = 2048;
+	private static final long BYTES_POR_VIDEO = 256;
+	private static final long BYTES_POR_ITEM_RESUMO = 160;
+
+	private final Cache<Long, ProdutoDetalheResponseDTO> porId;
+	private final Map<String, Long> idPorSlug = new ConcurrentHashMap<>();
+
+	public ProdutoDetalheCache(
+			@Value("${catalogo.cache.detalhe.peso-maximo-mb:64}") long pesoMaximoMb,
+			@Value("${catalogo.cache.detalhe.expiracao-minutos:60}") long expiracaoMinutos) {
+		this.porId = Caffeine.newBuilder()
+			.maximumWeight(pesoMaximoMb * 1024 * 1024)
+			.weigher((Long id, ProdutoDetalheResponseDTO dto) -> estimarBytes(dto))
+			.expireAfterWrite(Duration.ofMinutes(expiracaoMinutos))
+			// Remoção síncrona para o apontamento de slug nunca sobreviver ao DTO
+			.executor(Runnable::run)
+			.removalListener((Long id, ProdutoDetalheResponseDTO dto, RemovalCause causa) -> {
+				if (dto != null && dto.getSlug() != null) {
+					idPorSlug.remove(dto.getSlug(), id);
+				}
+			})
+			.recordStats()
+			.build();
+		log.info("Cache de detalhe de produto: limite {} MB, expiração {} min", pesoMaximoMb, expiracaoMinutos);
+	}
+
+	/**
+	 * Retorna o detalhe do cache ou carrega, armazena e retorna
+	 * A carga ocorre de forma atômica por ID: uma invalidação concorrente espera a carga
+	 * terminar e então remove o valor, evitando que um DTO antigo sobreviva ao commit
+	 */
+	public ProdutoDetalheResponseDTO obterPorId(Long id, Function<Long, ProdutoDetalheResponseDTO> carregador) {
+		ProdutoDetalheResponseDTO dto = porId.get(id, carregador);
+		if (dto.getSlug() != null) {
+			idPorSlug.put(dto.getSlug(), id);
+		}
+		return dto;
+	}
+
+	/**
+	 * Retorna o detalhe pelo slug. Slug desconhecido é resolvido para ID (consulta leve)
+	 * e o restante segue o caminho por ID
+	 */
+	public ProdutoDetalheResponseDTO obterPorSlug(String slug, Function<String, Long> resolvedorId,
+			Function<Long, ProdutoDetalheResponseDTO> carregador) {
+		Long id = idPorSlug.get(slug);
+		if (id != null) {
+			ProdutoDetalheResponseDTO dto = obterPorId(id, carregador);
+			if (slug.equals(dto.getSlug())) {
+				return dto;
+			}
+			// Slug mudou desde que o apontamento foi registrado
+			idPorSlug.remove(slug, id);
+		}
+
+		return obterPorId(resolvedorId.apply(slug), carregador);
+	}
+
+	public void invalidar(Long id) {
+		porId.invalidate(id);
+	}
+
+	public void invalidarTudo() {
+		porId.invalidateAll();
+		idPorSlug.clear();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+		invalidar(event.getProdutoId());
+	}
+
+	/**
+	 * Categorias aparecem em todos os detalhes e mudam raramente: descarta o cache inteiro
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoriaAlterada(CategoriaAlteradaEvent event) {
+		invalidarTudo();
+	}
+
+	public CacheEstatisticasDTO estatisticas() {
+		return CacheEstatisticasDTO.de(NOME, porId.estimatedSize(), porId.stats());
+	}
+
+	static int estimarBytes(ProdutoDetalheResponseDTO dto) {
+		long bytes = BYTES_BASE
+			+ bytesTexto(dto.getNome())
+			+ bytesTexto(dto.getDescricao())
+			+ bytesTexto(dto.getDescricaoCompleta())
+			+ BYTES_POR_ITEM_RESUMO * (tamanho(dto.getGeneros()) + tamanho(dto.getPlataformas()));
+
+		ProdutoDetalheResponseDTO.MidiaDTO midia = dto.getMidia();
+		if (midia != null) {
+			long imagens = tamanho(midia.getImagens()) + tamanho(midia.getScreenshots()) + tamanho(midia.getArtworks())
+				+ (midia.getCapa() != null ? 1 : 0);
+			bytes += BYTES_POR_IMAGEM * imagens + BYTES_POR_VIDEO * tamanho(midia.getVideos());
+		}
+
+		return (int) Math.min(Integer.MAX_VALUE, bytes);
+	}
+
+	private static long bytesTexto(String texto) {
+		return texto == null ? 0 : 40L + 2L * texto.length();
+	}
+
+	private static long tamanho(List<?> lista) {
+		return lista == null ? 0 : lista.size();
+	}
+}
@@ -0,0 +1,199 @@
+package com.energygames.lojadegames.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
+import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.event.CategoriaAlteradaEvent;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache de respostas já serializadas das páginas mais acessadas de GET /produtos
+ * (primeira página, sem filtro de nome, com ou sem categoria)
+ *
+ * Guarda os bytes UTF-8 do JSON e, acima de um tamanho mínimo, a versão gzip, prontos para
+ * serem escritos direto no corpo da resposta: um hit não passa por JPA, mapper nem Jackson.
+ * Só os formatos configurados (tamanhos de página e ordenações) são armazenados.
+ *
+ * Invalidação via eventos após o commit: qualquer alteração de produto ou categoria pode
+ * mudar a ordem das páginas, então descarta tudo; uma baixa de estoque só afeta as páginas
+ * que contêm o produto.
+ */
+@Component
+public class ProdutoListagemRespostaCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ProdutoListagemRespostaCache.class);
+
+	public static final String NOME = "produto-listagem-json";
+
+	/**
+	 * Formato de consulta armazenável: sempre a página 0
+	 */
+	public record Chave(Long categoriaId, int tamanho, String ordenacao) {}
+
+	/**
+	 * Corpo pronto para envio. Os arrays são compartilhados e não devem ser modificados
+	 */
+	public static final class Resposta {
+
+		private final byte[] json;
+		private final byte[] gzip;
+		private final long[] produtoIds;
+
+		Resposta(byte[] json, byte[] gzip, long[] produtoIds) {
+			this.json = json;
+			this.gzip = gzip;
+			this.produtoIds = produtoIds;
+		}
+
+		public byte[] getJson() {
+			return json;
+		}
+
+		/**
+		 * Versão comprimida, ou null quando o JSON é pequeno demais para compensar
+		 */
+		public byte[] getGzip() {
+			return gzip;
+		}
+
+		boolean contem(long produtoId) {
+			return Arrays.binarySearch(produtoIds, produtoId) >= 0;
+		}
+	}
+
+	private final ObjectMapper objectMapper;
+	private final boolean habilitado;
+	private final List<Integer> tamanhos;
+	private final List<String> ordenacoes;
+	private final int gzipMinimoBytes;
+	private final Cache<Chave, Resposta> respostas;
+
+	// Incrementada a cada invalidação total: uma carga iniciada antes dela não é armazenada
+	private final AtomicLong geracao = new AtomicLong();
+
+	public ProdutoListagemRespostaCache(ObjectMapper objectMapper,
+			@Value("${catalogo.cache.listagem.habilitado:true}") boolean habilitado,
+			@Value("${catalogo.cache.listagem.tamanhos:20}") List<Integer> tamanhos,
+			@Value("${catalogo.cache.listagem.ordenacoes:nome:asc}") List<String> ordenacoes,
+			@Value("${catalogo.cache.listagem.maximo-entradas:256}") long maximoEntradas,
+			@Value("${catalogo.cache.listagem.gzip-minimo-bytes:1024}") int gzipMinimoBytes) {
+		this.objectMapper = objectMapper;
+		this.habilitado = habilitado;
+		this.tamanhos = List.copyOf(tamanhos);
+		this.ordenacoes = ordenacoes.stream().map(o -> o.trim().toLowerCase(Locale.ROOT)).toList();
+		this.gzipMinimoBytes = gzipMinimoBytes;
+		this.respostas = Caffeine.newBuilder()
+			.maximumSize(maximoEntradas)
+			.recordStats()
+			.build();
+		log.info("Cache de listagem serializada: habilitado={}, tamanhos={}, ordenações={}",
+			habilitado, this.tamanhos, this.ordenacoes);
+	}
+
+	/**
+	 * Retorna a chave quando a consulta é de um formato armazenável, ou null
+	 */
+	public Chave chave(String nome, Long categoriaId, int pagina, int tamanho, String campo, boolean descendente) {
+		if (!habilitado || pagina != 0 || (nome != null && !nome.isBlank()) || !tamanhos.contains(tamanho)) {
+			return null;
+		}
+		String ordenacao = (campo + (descendente ? ":desc" : ":asc")).toLowerCase(Locale.ROOT);
+		if (!ordenacoes.contains(ordenacao)) {
+			return null;
+		}
+		return new Chave(categoriaId, tamanho, ordenacao);
+	}
+
+	/**
+	 * Retorna a resposta armazenada ou consulta, serializa e armazena
+	 */
+	public Resposta obter(Chave chave, Supplier<Page<ProdutoResponseDTO>> consulta) {
+		Resposta resposta = respostas.getIfPresent(chave);
+		if (resposta != null) {
+			return resposta;
+		}
+
+		long geracaoInicial = geracao.get();
+		resposta = serializar(consulta.get());
+		if (geracaoInicial == geracao.get()) {
+			respostas.put(chave, resposta);
+			// Invalidação concorrente entre a checagem e o put
+			if (geracaoInicial != geracao.get()) {
+				respostas.invalidate(chave);
+			}
+		}
+		return resposta;
+	}
+
+	public void invalidarTudo() {
+		geracao.incrementAndGet();
+		respostas.invalidateAll();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+		if (event.isApenasEstoque() && !ordenaPorEstoque()) {
+			long produtoId = event.getProdutoId();
+			respostas.asMap().values().removeIf(resposta -> resposta.contem(produtoId));
+			return;
+		}
+		invalidarTudo();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoriaAlterada(CategoriaAlteradaEvent event) {
+		invalidarTudo();
+	}
+
+	public CacheEstatisticasDTO estatisticas() {
+		return CacheEstatisticasDTO.de(NOME, respostas.estimatedSize(), respostas.stats());
+	}
+
+	private boolean ordenaPorEstoque() {
+		return ordenacoes.stream().anyMatch(o -> o.startsWith("estoque:"));
+	}
+
+	private Resposta serializar(Page<ProdutoResponseDTO> pagina) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(pagina);
+			byte[] gzip = json.length >= gzipMinimoBytes ? comprimir(json) : null;
+			long[] ids = pagina.getContent().stream()
+				.mapToLong(ProdutoResponseDTO::getId)
+				.sorted()
+				.toArray();
+			return new Resposta(json, gzip, ids);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Falha ao serializar listagem de produtos", e);
+		}
+	}
+
+	private static byte[] comprimir(byte[] dados) {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+			gzip.write(dados);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return saida.toByteArray();
+	}
+}
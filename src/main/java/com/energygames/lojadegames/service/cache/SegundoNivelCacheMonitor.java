@@ -0,0 +1,60 @@
+package com.energygames.lojadegames.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Estatísticas das regiões do cache de segundo nível do Hibernate
+ * Lê direto dos caches Caffeine por trás do JCache (monitoring.native-statistics em application.conf),
+ * sem exigir hibernate.generate_statistics
+ */
+@Component
+public class SegundoNivelCacheMonitor {
+
+	private static final String PREFIXO = "l2:";
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	public SegundoNivelCacheMonitor(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	public List<CacheEstatisticasDTO> estatisticas() {
+		List<CacheEstatisticasDTO> regioes = new ArrayList<>();
+		CacheManager cacheManager = cacheManager();
+		if (cacheManager == null) {
+			return regioes;
+		}
+
+		for (String nome : cacheManager.getCacheNames()) {
+			javax.cache.Cache<Object, Object> regiao = cacheManager.getCache(nome);
+			if (regiao == null) {
+				continue;
+			}
+			Cache<?, ?> caffeine = regiao.unwrap(Cache.class);
+			regioes.add(CacheEstatisticasDTO.de(PREFIXO + nome, caffeine.estimatedSize(), caffeine.stats()));
+		}
+		return regioes;
+	}
+
+	private CacheManager cacheManager() {
+		RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+			.getCache().getRegionFactory();
+		if (regionFactory instanceof JCacheRegionFactory jcache) {
+			return jcache.getCacheManager();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,265 @@
+package com.energygames.lojadegames.service.concorrencia;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.energygames.lojadegames.dto.response.FilaCheckoutResponseDTO;
+import com.energygames.lojadegames.dto.response.PedidoResponseDTO;
+import com.energygames.lojadegames.enums.StatusFilaCheckoutEnum;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.exception.ResourceNotFoundException;
+import com.energygames.lojadegames.exception.TooManyRequestsException;
+import com.energygames.lojadegames.repository.CarrinhoRepository;
+import com.energygames.lojadegames.service.EstoqueQuenteService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Controle de admissão da criação de pedidos em vendas relâmpago
+ *
+ * Carrinhos com algum produto em modo de estoque quente disputam um número fixo de permissões:
+ * no máximo esse número de pedidos é criado ao mesmo tempo, então um lançamento concorrido
+ * não esgota o pool de conexões nem prende threads do servlet. Havendo permissão livre e
+ * ninguém aguardando, o pedido é criado na própria requisição; senão o cliente recebe uma
+ * senha (ordem de chegada) e consulta a posição até o pedido ser criado por um dos workers.
+ * A permissão volta assim que a reserva do pedido é gravada.
+ *
+ * Senhas que deixam de ser consultadas são descartadas ao chegar a vez, sem reservar estoque
+ * para quem já abandonou a página. A fila é limitada: cheia, a requisição recebe 429.
+ */
+@Component
+public class FilaCheckout {
+
+	private static final Logger log = LoggerFactory.getLogger(FilaCheckout.class);
+
+	private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+	/**
+	 * Resultado da admissão: o pedido criado na hora ou a senha na fila
+	 */
+	public record Admissao(PedidoResponseDTO pedido, FilaCheckoutResponseDTO senha) {
+
+		public boolean isNaFila() {
+			return senha != null;
+		}
+	}
+
+	private static final class Senha {
+
+		private final String token = UUID.randomUUID().toString();
+		private final String email;
+		private final SecurityContext contexto;
+		private final Supplier<PedidoResponseDTO> criacao;
+		private volatile long numero;
+		private volatile long ultimaConsulta = System.nanoTime();
+		private volatile StatusFilaCheckoutEnum status = StatusFilaCheckoutEnum.AGUARDANDO;
+		private volatile PedidoResponseDTO pedido;
+		private volatile String mensagem;
+
+		Senha(String email, SecurityContext contexto, Supplier<PedidoResponseDTO> criacao) {
+			this.email = email;
+			this.contexto = contexto;
+			this.criacao = criacao;
+		}
+	}
+
+	private final CarrinhoRepository carrinhoRepository;
+	private final EstoqueQuenteService estoqueQuenteService;
+	private final boolean habilitada;
+	private final long abandonoNanos;
+	private final long intervaloConsultaSegundos;
+	private final Semaphore permissoes;
+	private final BlockingQueue<Senha> fila;
+	private final Cache<String, Senha> senhas;
+	private final ExecutorService workers;
+
+	// Numeração das senhas na ordem de entrada na fila; posição = número - atendidas
+	private final ReentrantLock entrada = new ReentrantLock();
+	private final AtomicLong emitidas = new AtomicLong();
+	private final AtomicLong atendidas = new AtomicLong();
+
+	public FilaCheckout(CarrinhoRepository carrinhoRepository, EstoqueQuenteService estoqueQuenteService,
+			@Value("${checkout.fila.habilitada:true}") boolean habilitada,
+			@Value("${checkout.fila.permissoes:8}") int quantidadePermissoes,
+			@Value("${checkout.fila.capacidade:5000}") int capacidade,
+			@Value("${checkout.fila.abandono-segundos:30}") long abandonoSegundos,
+			@Value("${checkout.fila.retencao-minutos:10}") long retencaoMinutos,
+			@Value("${checkout.fila.intervalo-consulta-segundos:2}") long intervaloConsultaSegundos) {
+		this.carrinhoRepository = carrinhoRepository;
+		this.estoqueQuenteService = estoqueQuenteService;
+		this.habilitada = habilitada;
+		this.abandonoNanos = TimeUnit.SECONDS.toNanos(abandonoSegundos);
+		this.intervaloConsultaSegundos = intervaloConsultaSegundos;
+		this.permissoes = new Semaphore(quantidadePermissoes, true);
+		this.fila = new ArrayBlockingQueue<>(capacidade);
+		this.senhas = Caffeine.newBuilder()
+			.expireAfterAccess(Duration.ofMinutes(retencaoMinutos))
+			.maximumSize(capacidade * 2L)
+			.build();
+		this.workers = Executors.newFixedThreadPool(quantidadePermissoes, threadFactory());
+		for (int i = 0; i < quantidadePermissoes; i++) {
+			workers.execute(this::atenderFila);
+		}
+		log.info("Fila de checkout: habilitada={}, permissões={}, capacidade={}", habilitada, quantidadePermissoes, capacidade);
+	}
+
+	/**
+	 * Cria o pedido do usuário autenticado, passando pela fila quando o carrinho está em venda relâmpago
+	 */
+	public Admissao admitir(Supplier<PedidoResponseDTO> criacao) {
+		Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+		if (!exigeFila(autenticacao.getName())) {
+			return new Admissao(criacao.get(), null);
+		}
+
+		// tryAcquire com timeout respeita a ordem do semáforo justo: não passa na frente de um worker
+		if (fila.isEmpty() && tentarPermissao()) {
+			try {
+				return new Admissao(criacao.get(), null);
+			} finally {
+				permissoes.release();
+			}
+		}
+
+		SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+		contexto.setAuthentication(autenticacao);
+		Senha senha = new Senha(autenticacao.getName(), contexto, criacao);
+		enfileirar(senha);
+		log.debug("Checkout de {} na fila com a senha {} (número {})", senha.email, senha.token, senha.numero);
+		return new Admissao(null, situacao(senha));
+	}
+
+	/**
+	 * Situação da senha; só o dono a enxerga. Cada consulta mantém a senha ativa
+	 */
+	public FilaCheckoutResponseDTO consultar(String token) {
+		String email = SecurityContextHolder.getContext().getAuthentication().getName();
+		Senha senha = senhas.getIfPresent(token);
+		if (senha == null || !senha.email.equals(email)) {
+			throw new ResourceNotFoundException("Senha da fila de checkout não encontrada");
+		}
+		senha.ultimaConsulta = System.nanoTime();
+		return situacao(senha);
+	}
+
+	public long getIntervaloConsultaSegundos() {
+		return intervaloConsultaSegundos;
+	}
+
+	@PreDestroy
+	public void encerrar() throws InterruptedException {
+		// Senhas ainda na fila se perdem: nenhum pedido foi criado para elas
+		workers.shutdownNow();
+		workers.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS);
+	}
+
+	private boolean exigeFila(String email) {
+		return habilitada && carrinhoRepository.findProdutoIdsByUsuarioEmail(email).stream()
+			.anyMatch(estoqueQuenteService::isQuente);
+	}
+
+	private boolean tentarPermissao() {
+		try {
+			return permissoes.tryAcquire(0, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void enfileirar(Senha senha) {
+		entrada.lock();
+		try {
+			senha.numero = emitidas.get() + 1;
+			if (!fila.offer(senha)) {
+				throw new TooManyRequestsException("Muitos pedidos aguardando. Tente novamente em instantes.",
+					intervaloConsultaSegundos);
+			}
+			emitidas.incrementAndGet();
+		} finally {
+			entrada.unlock();
+		}
+		senhas.put(senha.token, senha);
+	}
+
+	private FilaCheckoutResponseDTO situacao(Senha senha) {
+		StatusFilaCheckoutEnum status = senha.status;
+		Long posicao = status == StatusFilaCheckoutEnum.AGUARDANDO
+			? Math.max(1, senha.numero - atendidas.get())
+			: null;
+		return new FilaCheckoutResponseDTO(senha.token, status, posicao, senha.pedido, senha.mensagem);
+	}
+
+	private void atenderFila() {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				Senha senha = fila.take();
+				atendidas.incrementAndGet();
+				permissoes.acquire();
+				try {
+					atender(senha);
+				} finally {
+					permissoes.release();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void atender(Senha senha) {
+		if (System.nanoTime() - senha.ultimaConsulta > abandonoNanos) {
+			senha.mensagem = "Senha expirada por falta de consulta";
+			senha.status = StatusFilaCheckoutEnum.EXPIRADO;
+			log.debug("Senha {} descartada por abandono", senha.token);
+			return;
+		}
+
+		senha.status = StatusFilaCheckoutEnum.PROCESSANDO;
+		SecurityContextHolder.setContext(senha.contexto);
+		try {
+			senha.pedido = senha.criacao.get();
+			senha.status = StatusFilaCheckoutEnum.CONCLUIDO;
+		} catch (BusinessException | ResourceNotFoundException e) {
+			senha.mensagem = e.getMessage();
+			senha.status = StatusFilaCheckoutEnum.FALHOU;
+		} catch (RuntimeException e) {
+			log.error("Erro ao criar pedido da senha {}: {}", senha.token, e.getMessage(), e);
+			senha.mensagem = "Erro ao criar o pedido. Tente novamente.";
+			senha.status = StatusFilaCheckoutEnum.FALHOU;
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private static ThreadFactory threadFactory() {
+		AtomicInteger contador = new AtomicInteger();
+		ThreadFactory padrao = Executors.defaultThreadFactory();
+		return tarefa -> {
+			Thread thread = padrao.newThread(tarefa);
+			thread.setName("fila-checkout-" + contador.incrementAndGet());
+			return thread;
+		};
+	}
+}
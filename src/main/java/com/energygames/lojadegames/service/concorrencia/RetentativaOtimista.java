@@ -0,0 +1,69 @@
+package com.energygames.lojadegames.service.concorrencia;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executa uma operação read-modify-write em transação própria, repetindo quando o commit
+ * esbarra na trava otimista (@Version) de uma escrita concorrente
+ *
+ * Cada tentativa relê a entidade em uma transação nova, então a ação deve ser idempotente
+ * até o commit. Deve ser chamada fora de transação: dentro de uma, a falha marcaria a
+ * transação externa para rollback e a nova tentativa não teria efeito.
+ * Esgotadas as tentativas, a exceção é propagada (409 no GlobalExceptionHandler).
+ */
+@Component
+public class RetentativaOtimista {
+
+	private static final Logger log = LoggerFactory.getLogger(RetentativaOtimista.class);
+
+	private final TransactionTemplate transacao;
+	private final int maximoTentativas;
+	private final long esperaBaseMs;
+
+	public RetentativaOtimista(PlatformTransactionManager transactionManager,
+			@Value("${concorrencia.otimista.maximo-tentativas:3}") int maximoTentativas,
+			@Value("${concorrencia.otimista.espera-base-ms:20}") long esperaBaseMs) {
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.maximoTentativas = Math.max(1, maximoTentativas);
+		this.esperaBaseMs = esperaBaseMs;
+	}
+
+	public <T> T executar(String operacao, Supplier<T> acao) {
+		for (int tentativa = 1; ; tentativa++) {
+			try {
+				return transacao.execute(status -> acao.get());
+			} catch (OptimisticLockingFailureException e) {
+				if (tentativa >= maximoTentativas) {
+					log.warn("Conflito de versão em {} após {} tentativas", operacao, tentativa);
+					throw e;
+				}
+				log.debug("Conflito de versão em {} (tentativa {}), repetindo", operacao, tentativa);
+				aguardar(operacao, tentativa);
+			}
+		}
+	}
+
+	// Espera crescente com jitter para que os concorrentes não colidam de novo no mesmo instante
+	private void aguardar(String operacao, int tentativa) {
+		if (esperaBaseMs <= 0) {
+			return;
+		}
+		long limite = esperaBaseMs << (tentativa - 1);
+		try {
+			TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(limite / 2, limite + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando nova tentativa de " + operacao, e);
+		}
+	}
+}
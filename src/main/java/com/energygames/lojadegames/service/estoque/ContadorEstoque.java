@@ -0,0 +1,132 @@
+package com.energygames.lojadegames.service.estoque;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Contador de unidades disponíveis de um produto, dividido em faixas (stripes) independentes
+ *
+ * Cada thread tenta primeiro a sua faixa com um único CAS, então compradores simultâneos do mesmo
+ * produto raramente disputam a mesma posição de memória. Nenhuma faixa fica negativa: toda unidade
+ * retirada saiu de uma faixa com saldo, o que garante que não há venda além do total carregado.
+ * Quando a faixa da thread não basta, o caminho lento (serializado) junta saldo das demais e só
+ * recusa quando o total já não cobre o pedido.
+ * As posições ficam espaçadas no array para não compartilharem linha de cache.
+ */
+public final class ContadorEstoque {
+
+	// 16 ints = 64 bytes entre faixas
+	private static final int ESPACAMENTO = 16;
+
+	private final int faixas;
+	private final AtomicIntegerArray saldos;
+
+	public ContadorEstoque(int disponivel, int faixas) {
+		if (faixas < 1 || Integer.bitCount(faixas) != 1) {
+			throw new IllegalArgumentException("Número de faixas deve ser potência de 2: " + faixas);
+		}
+		this.faixas = faixas;
+		this.saldos = new AtomicIntegerArray(faixas * ESPACAMENTO);
+		distribuir(Math.max(0, disponivel));
+	}
+
+	/**
+	 * Retira unidades se houver saldo suficiente
+	 * @return true quando retirou; false quando o disponível era insuficiente (nada é retirado)
+	 */
+	public boolean tentarRetirar(int quantidade) {
+		if (quantidade <= 0) {
+			throw new IllegalArgumentException("Quantidade deve ser positiva: " + quantidade);
+		}
+		int posicao = posicaoDaThread();
+		int saldo = saldos.get(posicao);
+		while (saldo >= quantidade) {
+			int atual = saldos.compareAndExchange(posicao, saldo, saldo - quantidade);
+			if (atual == saldo) {
+				return true;
+			}
+			saldo = atual;
+		}
+		return retirarDeVariasFaixas(quantidade);
+	}
+
+	/**
+	 * Devolve unidades (reserva liberada, transação desfeita ou reposição)
+	 */
+	public void devolver(int quantidade) {
+		if (quantidade <= 0) {
+			throw new IllegalArgumentException("Quantidade deve ser positiva: " + quantidade);
+		}
+		saldos.getAndAdd(posicaoDaThread(), quantidade);
+	}
+
+	/**
+	 * Soma das faixas; aproximada enquanto há retiradas em andamento
+	 */
+	public int disponivel() {
+		int total = 0;
+		for (int i = 0; i < faixas; i++) {
+			total += saldos.get(i * ESPACAMENTO);
+		}
+		return total;
+	}
+
+	/**
+	 * Junta saldo de todas as faixas. O caminho rápido segue retirando e devolvendo em paralelo, inclusive
+	 * em faixas já visitadas, então uma varredura pode terminar curta com o total ainda suficiente: o que
+	 * foi juntado fica retido e a varredura se repete enquanto o juntado mais o disponível cobrem o pedido
+	 */
+	private synchronized boolean retirarDeVariasFaixas(int quantidade) {
+		int inicio = posicaoDaThread() / ESPACAMENTO;
+		int juntado = 0;
+		do {
+			juntado += varrer(inicio, quantidade - juntado);
+			if (juntado == quantidade) {
+				return true;
+			}
+		} while (juntado + disponivel() >= quantidade);
+
+		// Insuficiente: devolve o que foi juntado
+		if (juntado > 0) {
+			saldos.getAndAdd(inicio * ESPACAMENTO, juntado);
+		}
+		return false;
+	}
+
+	/**
+	 * Uma passada por todas as faixas, a partir da faixa da thread
+	 * @return Unidades retiradas, no máximo faltam
+	 */
+	private int varrer(int inicio, int faltam) {
+		int retiradas = 0;
+		for (int i = 0; i < faixas && retiradas < faltam; i++) {
+			int posicao = ((inicio + i) & (faixas - 1)) * ESPACAMENTO;
+			int saldo = saldos.get(posicao);
+			while (saldo > 0 && retiradas < faltam) {
+				int retirar = Math.min(saldo, faltam - retiradas);
+				int atual = saldos.compareAndExchange(posicao, saldo, saldo - retirar);
+				if (atual == saldo) {
+					retiradas += retirar;
+					saldo -= retirar;
+				} else {
+					saldo = atual;
+				}
+			}
+		}
+		return retiradas;
+	}
+
+	private void distribuir(int disponivel) {
+		int base = disponivel / faixas;
+		int resto = disponivel % faixas;
+		for (int i = 0; i < faixas; i++) {
+			saldos.set(i * ESPACAMENTO, base + (i < resto ? 1 : 0));
+		}
+	}
+
+	private int posicaoDaThread() {
+		// Espalha as threads pelas faixas sem estado por thread; o mesmo id cai sempre na mesma faixa
+		long id = Thread.currentThread().getId();
+		int hash = (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+		return (hash & (faixas - 1)) * ESPACAMENTO;
+	}
+}
@@ -2,18 +2,20 @@ package com.energygames.lojadegames.service.igdb;
 
 import com.energygames.lojadegames.dto.igdb.*;
 import com.energygames.lojadegames.enums.OrigemEnum;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
 import com.energygames.lojadegames.model.Categoria;
 import com.energygames.lojadegames.model.Produto;
 import com.energygames.lojadegames.model.ProdutoOrigemExterna;
 import com.energygames.lojadegames.repository.CategoriaRepository;
 import com.energygames.lojadegames.repository.ProdutoOrigemExternaRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.service.concorrencia.RetentativaOtimista;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,19 +34,25 @@ public class IgdbImportService {
     private final ProdutoRepository produtoRepository;
     private final ProdutoOrigemExternaRepository origemExternaRepository;
     private final CategoriaRepository categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetentativaOtimista retentativa;
 
     public IgdbImportService(
         IgdbApiClient apiClient,
         IgdbMapperService mapper,
         ProdutoRepository produtoRepository,
         ProdutoOrigemExternaRepository origemExternaRepository,
-        CategoriaRepository categoriaRepository
+        CategoriaRepository categoriaRepository,
+        ApplicationEventPublisher eventPublisher,
+        RetentativaOtimista retentativa
     ) {
         this.apiClient = apiClient;
         this.mapper = mapper;
         this.produtoRepository = produtoRepository;
         this.origemExternaRepository = origemExternaRepository;
         this.categoriaRepository = categoriaRepository;
+        this.eventPublisher = eventPublisher;
+        this.retentativa = retentativa;
     }
 
     /**
@@ -118,6 +126,7 @@ public class IgdbImportService {
 
         // Persiste produto (cascade persiste imagens, vídeos e origem)
         Produto savedProduto = produtoRepository.save(produto);
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(savedProduto.getId(), ProdutoAlteradoEvent.Tipo.CRIADO));
 
         log.info("Jogo '{}' importado com sucesso (Produto ID: {})", savedProduto.getNome(), savedProduto.getId());
         return savedProduto;
@@ -194,25 +203,28 @@ public class IgdbImportService {
 
     /**
      * Sincroniza produto existente com dados atualizados da IGDB
+     * A consulta à API roda fora de transação; a gravação copia só os campos gerenciados pela
+     * IGDB para a entidade atual, preservando preço, estoque, desconto e status de venda
+     * definidos pelo admin, e é repetida se uma edição concorrente mudar a versão do produto
      * @param produtoId ID do produto no banco
      * @return Produto atualizado
      */
-    @Transactional
     public Produto syncProduct(Long produtoId) {
         log.info("Sincronizando Produto ID {} com IGDB", produtoId);
 
-        // Busca produto e origem
-        Produto produto = produtoRepository.findById(produtoId)
-            .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + produtoId));
-
-        ProdutoOrigemExterna origem = produto.getOrigemExterna();
-        if (origem == null || origem.getOrigem() != OrigemEnum.IGDB) {
+        // Busca origem
+        ProdutoOrigemExterna origem = origemExternaRepository.findByProdutoId(produtoId)
+            .orElseThrow(() -> produtoRepository.existsById(produtoId)
+                ? new IllegalArgumentException("Produto não tem origem IGDB")
+                : new IllegalArgumentException("Produto não encontrado: " + produtoId));
+        if (origem.getOrigem() != OrigemEnum.IGDB) {
             throw new IllegalArgumentException("Produto não tem origem IGDB");
         }
 
         if (!origem.getSincronizacaoAtiva()) {
             log.warn("Sincronização desabilitada para Produto ID {}", produtoId);
-            return produto;
+            // Sem transação aberta, origem.getProduto() seria um proxy LAZY sem sessão
+            return buscarProduto(produtoId);
         }
 
         // Busca dados atualizados na IGDB
@@ -221,9 +233,11 @@ public class IgdbImportService {
         
         if (gameDTO == null) {
             log.error("Jogo IGDB ID {} não encontrado. Produto pode ter sido removido da API.", igdbId);
-            origem.setSincronizacaoAtiva(false);
-            produtoRepository.save(produto);
-            return produto;
+            return retentativa.executar("syncProduct", () -> {
+                Produto produto = buscarProduto(produtoId);
+                produto.getOrigemExterna().setSincronizacaoAtiva(false);
+                return produtoRepository.save(produto);
+            });
         }
 
         // Busca dados relacionados
@@ -254,20 +268,18 @@ public class IgdbImportService {
             ? apiClient.getInvolvedCompaniesByIds(gameDTO.getInvolvedCompanies())
             : List.of();
 
-        // Atualiza produto (preserva campos não gerenciados pela IGDB como preço)
-        BigDecimal precoOriginal = produto.getPreco();
+        Produto savedProduto = retentativa.executar("syncProduct", () -> {
+            Produto produto = buscarProduto(produtoId);
+            Produto dadosIgdb = mapper.mapGameToProduct(gameDTO, coverDTO, screenshots, artworks, videos, platforms, genres, companies);
+            copiarDadosIgdb(dadosIgdb, produto);
 
-        Produto produtoAtualizado = mapper.mapGameToProduct(gameDTO, coverDTO, screenshots, artworks, videos, platforms, genres, companies);
-        
-        // Preserva ID e campos customizados
-        produtoAtualizado.setId(produto.getId());
-        produtoAtualizado.setPreco(precoOriginal);
+            // Atualiza timestamp de sincronização
+            produto.getOrigemExterna().registrarSincronizacao();
 
-        // Atualiza timestamp de sincronização
-        origem.registrarSincronizacao();
-
-        // Salva
-        Produto savedProduto = produtoRepository.save(produtoAtualizado);
+            Produto salvo = produtoRepository.saveAndFlush(produto);
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(salvo.getId(), ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+            return salvo;
+        });
 
         log.info("Produto '{}' sincronizado com sucesso", savedProduto.getNome());
         return savedProduto;
@@ -275,25 +287,26 @@ public class IgdbImportService {
 
     /**
      * Sincroniza todos produtos com sincronização ativa e desatualizados
+     * Cada produto é gravado em transação própria: uma falha não desfaz os já sincronizados
      * @param diasDesatualizacao Número de dias desde última sincronização
      * @return Quantidade de produtos sincronizados
      */
-    @Transactional
     public int syncOutdatedProducts(int diasDesatualizacao) {
         log.info("Sincronizando produtos desatualizados (> {} dias)", diasDesatualizacao);
 
         LocalDateTime dataLimite = LocalDateTime.now().minusDays(diasDesatualizacao);
-        List<ProdutoOrigemExterna> desatualizados = origemExternaRepository
-            .findProdutosParaSincronizar(OrigemEnum.IGDB, dataLimite);
+        List<Long> produtoIds = origemExternaRepository
+            .findProdutosParaSincronizar(OrigemEnum.IGDB, dataLimite).stream()
+            .map(origem -> origem.getProduto().getId())
+            .toList();
 
         int count = 0;
-        for (ProdutoOrigemExterna origem : desatualizados) {
+        for (Long produtoId : produtoIds) {
             try {
-                syncProduct(origem.getProduto().getId());
+                syncProduct(produtoId);
                 count++;
             } catch (Exception e) {
-                log.error("Erro ao sincronizar Produto ID {}: {}", 
-                    origem.getProduto().getId(), e.getMessage());
+                log.error("Erro ao sincronizar Produto ID {}: {}", produtoId, e.getMessage());
             }
         }
 
@@ -301,6 +314,47 @@ public class IgdbImportService {
         return count;
     }
 
+    private Produto buscarProduto(Long produtoId) {
+        return produtoRepository.findById(produtoId)
+            .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + produtoId));
+    }
+
+    /**
+     * Copia para o produto gerenciado apenas os campos que vêm da IGDB
+     */
+    private void copiarDadosIgdb(Produto origem, Produto destino) {
+        destino.setNome(origem.getNome());
+        destino.setSlug(origem.getSlug());
+        destino.setDescricao(origem.getDescricao());
+        destino.setDescricaoCompleta(origem.getDescricaoCompleta());
+        destino.setDataLancamento(origem.getDataLancamento());
+        destino.setRatingIgdb(origem.getRatingIgdb());
+        destino.setTotalVotosExternos(origem.getTotalVotosExternos());
+        destino.setStatus(origem.getStatus());
+        destino.setPlataforma(origem.getPlataforma());
+        destino.setDesenvolvedor(origem.getDesenvolvedor());
+        destino.setPublisher(origem.getPublisher());
+
+        destino.getPlataformas().clear();
+        destino.getPlataformas().addAll(origem.getPlataformas());
+        destino.getGeneros().clear();
+        destino.getGeneros().addAll(origem.getGeneros());
+        destino.getLinksExternos().clear();
+        destino.getLinksExternos().putAll(origem.getLinksExternos());
+
+        // Coleções com orphanRemoval: as instâncias antigas são removidas, as novas apontam para o destino
+        destino.getImagensEstruturadas().clear();
+        origem.getImagensEstruturadas().forEach(imagem -> {
+            imagem.setProduto(destino);
+            destino.getImagensEstruturadas().add(imagem);
+        });
+        destino.getVideos().clear();
+        origem.getVideos().forEach(video -> {
+            video.setProduto(destino);
+            destino.getVideos().add(video);
+        });
+    }
+
     /**
      * Verifica status da integração IGDB
      * @return true se API está acessível
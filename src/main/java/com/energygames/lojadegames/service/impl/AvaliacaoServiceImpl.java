@@ -1,17 +1,22 @@
 package com.energygames.lojadegames.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.energygames.lojadegames.dto.mapper.AvaliacaoMapper;
 import com.energygames.lojadegames.dto.request.AvaliacaoRequestDTO;
 import com.energygames.lojadegames.dto.response.AvaliacaoResponseDTO;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
 import com.energygames.lojadegames.model.Avaliacao;
@@ -20,13 +25,19 @@ import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.AvaliacaoRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.UsuarioAutenticado;
 import com.energygames.lojadegames.service.AvaliacaoService;
+import com.energygames.lojadegames.util.CursorPaginacao;
 
 @Service
 public class AvaliacaoServiceImpl implements AvaliacaoService {
 
 	private static final Logger log = LoggerFactory.getLogger(AvaliacaoServiceImpl.class);
 
+	private static final Map<String, CursorPaginacao.Campo<Avaliacao>> CAMPOS_CURSOR = Map.of(
+		"dataAvaliacao", new CursorPaginacao.Campo<>(LocalDateTime.class, Avaliacao::getDataAvaliacao),
+		"id", new CursorPaginacao.Campo<>(Long.class, Avaliacao::getId));
+
 	private final AvaliacaoRepository avaliacaoRepository;
 	private final ProdutoRepository produtoRepository;
 	private final UsuarioRepository usuarioRepository;
@@ -131,6 +142,31 @@ public class AvaliacaoServiceImpl implements AvaliacaoService {
 				.map(avaliacaoMapper::toResponseDTO);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponseDTO<AvaliacaoResponseDTO> buscarPorProdutoPorCursor(Long produtoId, String campo,
+			Sort.Direction direcao, String cursor, int tamanho) {
+		log.info("Buscando avaliações do produto ID {} por cursor", produtoId);
+
+		if (!produtoRepository.existsById(produtoId)) {
+			throw new ResourceNotFoundException("Produto não encontrado com ID: " + produtoId);
+		}
+
+		CursorPaginacao.validarTamanho(tamanho);
+		CursorPaginacao.Campo<Avaliacao> definicao = CursorPaginacao.resolverCampo(CAMPOS_CURSOR, campo);
+		Specification<Avaliacao> spec = Specification.<Avaliacao>where(
+				(root, query, cb) -> cb.equal(root.get("produto").get("id"), produtoId))
+			.and(CursorPaginacao.aposCursor(campo, direcao, definicao, cursor));
+
+		List<Avaliacao> resultado = avaliacaoRepository.findBy(spec, consulta -> consulta
+			.sortBy(CursorPaginacao.ordenacao(campo, direcao))
+			.limit(tamanho + 1)
+			.all());
+
+		return CursorPaginacao.montarResposta(resultado, tamanho, campo, direcao, definicao,
+			Avaliacao::getId, avaliacaoMapper::toResponseDTO);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public Double calcularMediaPorProduto(Long produtoId) {
@@ -146,13 +182,6 @@ public class AvaliacaoServiceImpl implements AvaliacaoService {
 	}
 
 	private Usuario obterUsuarioAutenticado() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || !authentication.isAuthenticated()) {
-			throw new BusinessException("Usuário não autenticado");
-		}
-
-		String email = authentication.getName();
-		return usuarioRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + email));
+		return UsuarioAutenticado.referencia(usuarioRepository);
 	}
 }
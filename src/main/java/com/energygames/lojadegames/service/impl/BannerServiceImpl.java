@@ -19,6 +19,7 @@ import com.energygames.lojadegames.model.ProdutoImagem;
 import com.energygames.lojadegames.repository.BannerRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.service.BannerService;
+import com.energygames.lojadegames.util.EtagUtils;
 
 @Service
 @Transactional
@@ -41,6 +42,19 @@ public class BannerServiceImpl implements BannerService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String calcularEtagAtivos() {
+        List<Object[]> versoes = bannerRepository.findVersoesBannersAtivosNoPeriodo(LocalDateTime.now());
+        long hash = EtagUtils.inicioHash();
+        for (Object[] versao : versoes) {
+            hash = EtagUtils.combinar(hash, (Long) versao[0]);
+            hash = EtagUtils.combinar(hash, EtagUtils.valor((LocalDateTime) versao[1]));
+            hash = EtagUtils.combinar(hash, EtagUtils.valor((LocalDateTime) versao[2]));
+        }
+        return EtagUtils.forte("b", versoes.size(), hash);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<BannerResponseDTO> listarTodos() {
@@ -1,13 +1,15 @@
 package com.energygames.lojadegames.service.impl;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,18 +18,22 @@ import com.energygames.lojadegames.dto.request.CheckoutRequestDTO;
 import com.energygames.lojadegames.dto.response.CheckoutResponseDTO;
 import com.energygames.lojadegames.dto.response.PaymentStatusDTO;
 import com.energygames.lojadegames.enums.StatusPedidoEnum;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
 import com.energygames.lojadegames.model.ItemPedido;
-import com.energygames.lojadegames.model.Pedido;
 import com.energygames.lojadegames.model.PaymentEvent;
+import com.energygames.lojadegames.model.Pedido;
 import com.energygames.lojadegames.model.Produto;
 import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.PaymentEventRepository;
 import com.energygames.lojadegames.repository.PedidoRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.UsuarioAutenticado;
 import com.energygames.lojadegames.service.BillingService;
+import com.energygames.lojadegames.service.ReservaEstoqueService;
+import com.energygames.lojadegames.util.Dinheiro;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
@@ -37,23 +43,32 @@ public class BillingServiceImpl implements BillingService {
 
     private static final Logger log = LoggerFactory.getLogger(BillingServiceImpl.class);
 
+    // O Stripe recusa expires_at a menos de 30 minutos da criação; um minuto de folga cobre a latência da chamada
+    private static final long EXPIRACAO_MINIMA_SESSAO_MINUTOS = 31;
+
     private final PedidoRepository pedidoRepository;
     private final UsuarioRepository usuarioRepository;
     private final ProdutoRepository produtoRepository;
     private final PaymentEventRepository paymentEventRepository;
     private final StripeConfig stripeConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservaEstoqueService reservaEstoqueService;
 
     public BillingServiceImpl(
             PedidoRepository pedidoRepository,
             UsuarioRepository usuarioRepository,
             ProdutoRepository produtoRepository,
             PaymentEventRepository paymentEventRepository,
-            StripeConfig stripeConfig) {
+            StripeConfig stripeConfig,
+            ApplicationEventPublisher eventPublisher,
+            ReservaEstoqueService reservaEstoqueService) {
         this.pedidoRepository = pedidoRepository;
         this.usuarioRepository = usuarioRepository;
         this.produtoRepository = produtoRepository;
         this.paymentEventRepository = paymentEventRepository;
         this.stripeConfig = stripeConfig;
+        this.eventPublisher = eventPublisher;
+        this.reservaEstoqueService = reservaEstoqueService;
     }
 
     @Override
@@ -86,20 +101,20 @@ public class BillingServiceImpl implements BillingService {
             }
         }
 
+        // A sessão do Stripe expira junto com a reserva: o cliente nunca paga por unidades já liberadas
+        LocalDateTime reservaExpiraEm = reservaEstoqueService.renovar(pedido);
+        LocalDateTime minimoStripe = LocalDateTime.now().plusMinutes(EXPIRACAO_MINIMA_SESSAO_MINUTOS);
+        LocalDateTime sessaoExpiraEm = reservaExpiraEm.isAfter(minimoStripe) ? reservaExpiraEm : minimoStripe;
+
         try {
             // Criar line items para o Stripe
             List<SessionCreateParams.LineItem> lineItems = new ArrayList<>();
             
             for (ItemPedido item : pedido.getItens()) {
-                BigDecimal precoFinal = item.getPrecoUnitario();
-                if (item.getDescontoUnitario() != null && item.getDescontoUnitario().compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal percentual = item.getDescontoUnitario().divide(BigDecimal.valueOf(100));
-                    BigDecimal desconto = item.getPrecoUnitario().multiply(percentual);
-                    precoFinal = item.getPrecoUnitario().subtract(desconto);
-                }
-                
-                // Stripe trabalha com centavos
-                long priceInCents = precoFinal.multiply(BigDecimal.valueOf(100)).longValue();
+                // Stripe trabalha com centavos: mesma regra usada no valor total do pedido
+                long priceInCents = Dinheiro.de(item.getPrecoUnitario())
+                        .comDesconto(item.getDescontoUnitario())
+                        .getCentavos();
                 
                 SessionCreateParams.LineItem lineItem = SessionCreateParams.LineItem.builder()
                         .setPriceData(
@@ -125,9 +140,10 @@ public class BillingServiceImpl implements BillingService {
                     .setMode(SessionCreateParams.Mode.PAYMENT)
                     .setSuccessUrl(stripeConfig.getSuccessUrl() + "?session_id={CHECKOUT_SESSION_ID}")
                     .setCancelUrl(stripeConfig.getCancelUrl() + "?pedido_id=" + pedido.getId())
-                    .setCustomerEmail(usuario.getEmail())
+                    .setCustomerEmail(UsuarioAutenticado.email())
                     .putMetadata("pedido_id", pedido.getId().toString())
                     .putMetadata("user_id", usuario.getId().toString())
+                    .setExpiresAt(sessaoExpiraEm.atZone(ZoneId.systemDefault()).toEpochSecond())
                     .addAllLineItem(lineItems)
                     .build();
 
@@ -181,25 +197,39 @@ public class BillingServiceImpl implements BillingService {
             return;
         }
 
-        // Baixar estoque
-        for (ItemPedido item : pedido.getItens()) {
-            Produto produto = item.getProduto();
-            
-            if (produto.getEstoque() < item.getQuantidade()) {
-                log.error("Estoque insuficiente para produto {} ao processar pagamento", produto.getId());
-                // Marcar como problema - necessário tratamento manual
-                pedido.setStatus(StatusPedidoEnum.CANCELADO);
-                pedidoRepository.save(pedido);
-                throw new BusinessException("Estoque insuficiente para o produto: " + produto.getNome());
+        // A transição vem antes da baixa: entre dois webhooks concorrentes do mesmo pedido só um
+        // passa por aqui, o outro encontra o status já alterado e não baixa o estoque de novo
+        if (!transicionar(pedido, StatusPedidoEnum.PAGO)) {
+            StatusPedidoEnum atual = pedidoRepository.findStatusById(pedido.getId()).orElse(null);
+            if (atual == StatusPedidoEnum.PAGO) {
+                log.info("Pedido {} pago por processamento concorrente", pedido.getId());
+                return;
             }
-            
-            produto.setEstoque(produto.getEstoque() - item.getQuantidade());
-            produtoRepository.save(produto);
+            throw new BusinessException("Pedido " + pedido.getId() + " mudou para " + atual + " durante o pagamento");
         }
 
-        // Atualizar status
-        pedido.setStatus(StatusPedidoEnum.PAGO);
-        pedidoRepository.save(pedido);
+        // Converter a reserva em baixa definitiva; se ela já expirou (ou foi parcial), a diferença sai
+        // do disponível para venda. Um UPDATE condicional por produto, em ordem de ID para que webhooks
+        // concorrentes com produtos em comum travem as linhas sempre na mesma ordem
+        Map<Long, Integer> quantidades = new TreeMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            quantidades.merge(item.getProduto().getId(), item.getQuantidade(), Integer::sum);
+        }
+        Map<Long, Integer> reservadas = reservaEstoqueService.consumir(pedido.getId());
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> baixa : quantidades.entrySet()) {
+            int reservada = Math.min(reservadas.getOrDefault(baixa.getKey(), 0), baixa.getValue());
+            int restante = baixa.getValue() - reservada;
+            if (!reservaEstoqueService.baixar(pedido.getId(), baixa.getKey(), reservada, restante, agora)) {
+                log.error("Estoque insuficiente para produto {} ao processar pagamento", baixa.getKey());
+                // Necessário tratamento manual: a exceção desfaz a transição para PAGO, as baixas
+                // e o consumo das reservas já feitos para este pedido
+                String nome = produtoRepository.findById(baixa.getKey()).map(Produto::getNome).orElse("ID " + baixa.getKey());
+                throw new BusinessException("Estoque insuficiente para o produto: " + nome);
+            }
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(baixa.getKey(), ProdutoAlteradoEvent.Tipo.ESTOQUE));
+        }
 
         // Registrar evento para idempotência
         PaymentEvent event = new PaymentEvent();
@@ -224,8 +254,16 @@ public class BillingServiceImpl implements BillingService {
         Pedido pedido = pedidoRepository.findByStripeSessionId(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado para session: " + sessionId));
 
-        pedido.setStatus(StatusPedidoEnum.CANCELADO);
-        pedidoRepository.save(pedido);
+        // Só um pedido aguardando pagamento é cancelado: um evento de expiração atrasado
+        // não pode cancelar um pedido que outro webhook já marcou como pago
+        if (pedido.getStatus() != StatusPedidoEnum.PENDENTE_PAGAMENTO) {
+            log.warn("Expiração ignorada para pedido {} com status {}", pedido.getId(), pedido.getStatus());
+        } else if (transicionar(pedido, StatusPedidoEnum.CANCELADO)) {
+            // Devolver as unidades reservadas sem esperar a varredura
+            reservaEstoqueService.liberar(pedido.getId());
+        } else {
+            log.warn("Expiração ignorada para pedido {}: status alterado por processamento concorrente", pedido.getId());
+        }
 
         // Registrar evento
         PaymentEvent event = new PaymentEvent();
@@ -238,10 +276,19 @@ public class BillingServiceImpl implements BillingService {
         log.info("Pagamento falhou/expirou para pedido {}", pedido.getId());
     }
 
+    /**
+     * Aplica a transição de status validada pela máquina de estados, por compare-and-set
+     * @return false se outro processo alterou o status desde a leitura do pedido
+     */
+    private boolean transicionar(Pedido pedido, StatusPedidoEnum novo) {
+        StatusPedidoEnum atual = pedido.getStatus();
+        if (!atual.podeIrPara(novo)) {
+            throw new BusinessException("Transição de status inválida para o pedido " + pedido.getId() + ": " + atual + " -> " + novo);
+        }
+        return pedidoRepository.transicionarStatus(pedido.getId(), atual, novo, LocalDateTime.now()) == 1;
+    }
+
     private Usuario obterUsuarioAutenticado() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        return UsuarioAutenticado.referencia(usuarioRepository);
     }
 }
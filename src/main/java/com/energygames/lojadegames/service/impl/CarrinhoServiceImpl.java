@@ -1,13 +1,10 @@
 package com.energygames.lojadegames.service.impl;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +20,10 @@ import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.CarrinhoRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.UsuarioAutenticado;
 import com.energygames.lojadegames.service.CarrinhoService;
+import com.energygames.lojadegames.service.ReservaEstoqueService;
+import com.energygames.lojadegames.util.Dinheiro;
 
 @Service
 public class CarrinhoServiceImpl implements CarrinhoService {
@@ -34,13 +34,16 @@ public class CarrinhoServiceImpl implements CarrinhoService {
 	private final ProdutoRepository produtoRepository;
 	private final UsuarioRepository usuarioRepository;
 	private final CarrinhoMapper carrinhoMapper;
+	private final ReservaEstoqueService reservaEstoqueService;
 
 	public CarrinhoServiceImpl(CarrinhoRepository carrinhoRepository, ProdutoRepository produtoRepository,
-			UsuarioRepository usuarioRepository, CarrinhoMapper carrinhoMapper) {
+			UsuarioRepository usuarioRepository, CarrinhoMapper carrinhoMapper,
+			ReservaEstoqueService reservaEstoqueService) {
 		this.carrinhoRepository = carrinhoRepository;
 		this.produtoRepository = produtoRepository;
 		this.usuarioRepository = usuarioRepository;
 		this.carrinhoMapper = carrinhoMapper;
+		this.reservaEstoqueService = reservaEstoqueService;
 	}
 
 	@Override
@@ -151,19 +154,16 @@ public class CarrinhoServiceImpl implements CarrinhoService {
 		resumo.setTotalItens(itens.size());
 		resumo.setTotalProdutos(itens.stream().mapToInt(CarrinhoItem::getQuantidade).sum());
 		
-		BigDecimal subtotal = itens.stream()
-				.map(item -> item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())))
-				.reduce(BigDecimal.ZERO, BigDecimal::add);
-		
-		BigDecimal total = itens.stream()
-				.map(CarrinhoItem::calcularSubtotal)
-				.reduce(BigDecimal.ZERO, BigDecimal::add);
-		
-		BigDecimal descontoTotal = subtotal.subtract(total);
+		Dinheiro subtotal = Dinheiro.ZERO;
+		Dinheiro total = Dinheiro.ZERO;
+		for (CarrinhoItem item : itens) {
+			subtotal = subtotal.mais(item.calcularSubtotalBruto());
+			total = total.mais(item.calcularSubtotalComDesconto());
+		}
 		
-		resumo.setSubtotal(subtotal.setScale(2, java.math.RoundingMode.HALF_UP));
-		resumo.setDescontoTotal(descontoTotal.setScale(2, java.math.RoundingMode.HALF_UP));
-		resumo.setTotal(total.setScale(2, java.math.RoundingMode.HALF_UP));
+		resumo.setSubtotal(subtotal.paraReais());
+		resumo.setDescontoTotal(subtotal.menos(total).paraReais());
+		resumo.setTotal(total.paraReais());
 
 		log.info("Resumo gerado: {} itens, Total: R$ {}", resumo.getTotalItens(), resumo.getTotal());
 		return resumo;
@@ -187,23 +187,16 @@ public class CarrinhoServiceImpl implements CarrinhoService {
 	}
 
 	private void validarEstoque(Produto produto, Integer quantidade) {
-		if (produto.getEstoque() == null || produto.getEstoque() < quantidade) {
+		int disponivel = reservaEstoqueService.disponivel(produto);
+		if (disponivel < quantidade) {
 			log.warn("Estoque insuficiente. Produto ID: {}, Solicitado: {}, Disponível: {}",
-					produto.getId(), quantidade, produto.getEstoque());
+					produto.getId(), quantidade, disponivel);
 			throw new BusinessException(String.format(
-					"Estoque insuficiente. Disponível: %d unidade(s)", 
-					produto.getEstoque() != null ? produto.getEstoque() : 0));
+					"Estoque insuficiente. Disponível: %d unidade(s)", disponivel));
 		}
 	}
 
 	private Usuario obterUsuarioAutenticado() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || !authentication.isAuthenticated()) {
-			throw new BusinessException("Usuário não autenticado");
-		}
-
-		String email = authentication.getName();
-		return usuarioRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + email));
+		return UsuarioAutenticado.referencia(usuarioRepository);
 	}
 }
@@ -1,7 +1,10 @@
 package com.energygames.lojadegames.service.impl;
 
+import java.time.LocalDateTime;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -11,11 +14,13 @@ import org.springframework.transaction.annotation.Transactional;
 import com.energygames.lojadegames.dto.mapper.CategoriaMapper;
 import com.energygames.lojadegames.dto.request.CategoriaRequestDTO;
 import com.energygames.lojadegames.dto.response.CategoriaResponseDTO;
+import com.energygames.lojadegames.event.CategoriaAlteradaEvent;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
 import com.energygames.lojadegames.model.Categoria;
 import com.energygames.lojadegames.repository.CategoriaRepository;
 import com.energygames.lojadegames.service.CategoriaService;
+import com.energygames.lojadegames.util.EtagUtils;
 
 @Service
 public class CategoriaServiceImpl implements CategoriaService {
@@ -24,10 +29,13 @@ public class CategoriaServiceImpl implements CategoriaService {
 
 	private final CategoriaRepository categoriaRepository;
 	private final CategoriaMapper categoriaMapper;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public CategoriaServiceImpl(CategoriaRepository categoriaRepository, CategoriaMapper categoriaMapper) {
+	public CategoriaServiceImpl(CategoriaRepository categoriaRepository, CategoriaMapper categoriaMapper,
+			ApplicationEventPublisher eventPublisher) {
 		this.categoriaRepository = categoriaRepository;
 		this.categoriaMapper = categoriaMapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Override
@@ -77,6 +85,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 		
 		categoriaMapper.updateEntity(dto, categoria);
 		Categoria categoriaAtualizada = categoriaRepository.save(categoria);
+		eventPublisher.publishEvent(new CategoriaAlteradaEvent(id));
 		
 		log.info("Categoria atualizada com sucesso. ID: {}", id);
 		return categoriaMapper.toResponseDTO(categoriaAtualizada);
@@ -101,6 +110,14 @@ public class CategoriaServiceImpl implements CategoriaService {
 		}
 		
 		categoriaRepository.deleteById(id);
+		eventPublisher.publishEvent(new CategoriaAlteradaEvent(id));
 		log.info("Categoria deletada com sucesso. ID: {}", id);
 	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public String calcularEtagListagem() {
+		Object[] versao = categoriaRepository.findVersaoTabela().get(0);
+		return EtagUtils.forte("c", (Long) versao[0], EtagUtils.valor((LocalDateTime) versao[1]));
+	}
 }
@@ -0,0 +1,287 @@
+package com.energygames.lojadegames.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.exception.ResourceNotFoundException;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.ReservaEstoque;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.repository.ReservaEstoqueRepository;
+import com.energygames.lojadegames.service.EstoqueQuenteService;
+import com.energygames.lojadegames.service.estoque.ContadorEstoque;
+
+/**
+ * Contadores em memória com gravação posterior (write-behind) para produtos em modo quente
+ *
+ * A fonte durável continua sendo o ledger de reservas: toda reserva de um produto quente é uma linha
+ * em tb_reservas_estoque gravada na transação do pedido, e toda venda é uma linha confirmada. A descarga
+ * aplica as vendas confirmadas em Produto.estoque, remove essas linhas e recalcula estoqueReservado pela
+ * soma das reservas abertas. Por isso, após um reinício, basta uma descarga para realinhar tb_produtos
+ * e recarregar os contadores com estoque - reservado, sem perder vendas ainda não gravadas.
+ * As transações que usam o contador seguram a linha do produto em modo compartilhado (usarContador) e
+ * a descarga a trava para escrita, então ela nunca lê o ledger com uma movimentação pela metade.
+ *
+ * Os contadores vivem na memória desta JVM: duas instâncias com o mesmo produto quente venderiam o mesmo
+ * saldo. Por isso o modo só é ativado com estoque.quente.instancia-unica=true, declarando que a aplicação
+ * roda em um único nó.
+ */
+@Service
+public class EstoqueQuenteServiceImpl implements EstoqueQuenteService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoqueQuenteServiceImpl.class);
+
+    private final ProdutoRepository produtoRepository;
+    private final ReservaEstoqueRepository reservaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transacao;
+    private final int faixas;
+    private final boolean instanciaUnica;
+
+    private final Map<Long, ContadorEstoque> contadores = new ConcurrentHashMap<>();
+    // Produtos com movimentação confirmada ainda não gravada em tb_produtos
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+
+    public EstoqueQuenteServiceImpl(ProdutoRepository produtoRepository, ReservaEstoqueRepository reservaRepository,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            @Value("${estoque.quente.faixas:16}") int faixas,
+            @Value("${estoque.quente.instancia-unica:false}") boolean instanciaUnica) {
+        this.produtoRepository = produtoRepository;
+        this.reservaRepository = reservaRepository;
+        this.eventPublisher = eventPublisher;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.faixas = Integer.highestOneBit(Math.max(1, faixas));
+        this.instanciaUnica = instanciaUnica;
+    }
+
+    /**
+     * Reconciliação na inicialização. Até aqui os produtos quentes recusam reservas e baixas pelo
+     * caminho por UPDATE, que exige estoqueQuente = false
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<Long> ids = produtoRepository.findIdsEstoqueQuente();
+        if (!ids.isEmpty() && !instanciaUnica) {
+            // Sem a declaração de nó único, os produtos voltam às baixas diretas em banco
+            log.error("Modo de estoque quente exige estoque.quente.instancia-unica=true; desativando para {} produtos", ids.size());
+            for (Long id : ids) {
+                transacao.executeWithoutResult(status -> produtoRepository.definirEstoqueQuente(id, false));
+                descarregar(id);
+            }
+            return;
+        }
+        for (Long id : ids) {
+            carregarContador(id);
+        }
+        if (!ids.isEmpty()) {
+            log.info("Modo de estoque quente reconciliado para {} produtos", ids.size());
+        }
+    }
+
+    @Override
+    public boolean isQuente(Long produtoId) {
+        return contadores.containsKey(produtoId);
+    }
+
+    @Override
+    public boolean usarContador(Long produtoId) {
+        if (!isQuente(produtoId)) {
+            return false;
+        }
+        // Flag desligado sob a trava: a desativação já fez commit e o contador está saindo
+        return produtoRepository.findEstoqueQuenteCompartilhado(produtoId).orElse(false);
+    }
+
+    @Override
+    public Integer disponivel(Long produtoId) {
+        ContadorEstoque contador = contadores.get(produtoId);
+        return contador != null ? contador.disponivel() : null;
+    }
+
+    @Override
+    public boolean tentarRetirar(Long produtoId, int quantidade) {
+        ContadorEstoque contador = contador(produtoId);
+        if (!contador.tentarRetirar(quantidade)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        pendentes.add(produtoId);
+                    } else {
+                        contador.devolver(quantidade);
+                    }
+                }
+            });
+        } else {
+            pendentes.add(produtoId);
+        }
+        return true;
+    }
+
+    @Override
+    public void devolver(Long produtoId, int quantidade) {
+        ContadorEstoque contador = contador(produtoId);
+        // Só volta a ser vendável depois que a remoção da reserva estiver gravada
+        aposCommit(() -> {
+            contador.devolver(quantidade);
+            pendentes.add(produtoId);
+        });
+    }
+
+    @Override
+    public void registrarMovimentacao(Long produtoId) {
+        aposCommit(() -> pendentes.add(produtoId));
+    }
+
+    @Override
+    public synchronized void ativar(Long produtoId) {
+        if (!instanciaUnica) {
+            throw new BusinessException("Modo de estoque quente exige instância única: os contadores ficam na memória "
+                    + "de cada servidor (defina estoque.quente.instancia-unica=true)");
+        }
+        if (isQuente(produtoId)) {
+            return;
+        }
+        if (!carregarContador(produtoId)) {
+            throw new ResourceNotFoundException("Produto não encontrado com ID: " + produtoId);
+        }
+        log.info("Modo de estoque quente ativado para produto {}", produtoId);
+    }
+
+    @Override
+    public synchronized void desativar(Long produtoId) {
+        if (!isQuente(produtoId)) {
+            return;
+        }
+        // Descarga e flag na mesma transação, sob a trava da linha tomada pela descarga: as transações
+        // do contador em curso terminam antes, e as novas, como as do caminho por UPDATE, esperam o commit
+        // e encontram estoque e estoqueReservado já coerentes com o ledger
+        transacao.executeWithoutResult(status -> {
+            aplicarDescarga(produtoId);
+            produtoRepository.definirEstoqueQuente(produtoId, false);
+            // Simétrico a carregarContador: o contador só sai depois que o flag desligado estiver gravado
+            aposCommit(() -> {
+                contadores.remove(produtoId);
+                pendentes.remove(produtoId);
+            });
+        });
+        log.info("Modo de estoque quente desativado para produto {}", produtoId);
+    }
+
+    @Override
+    public int descarregar() {
+        int gravados = 0;
+        for (Long produtoId : contadores.keySet()) {
+            if (!pendentes.remove(produtoId)) {
+                continue;
+            }
+            try {
+                descarregar(produtoId);
+                gravados++;
+            } catch (RuntimeException e) {
+                pendentes.add(produtoId);
+                log.error("Erro ao gravar estoque quente do produto {}: {}", produtoId, e.getMessage(), e);
+            }
+        }
+        return gravados;
+    }
+
+    @Override
+    public Map<Long, Integer> situacao() {
+        Map<Long, Integer> situacao = new TreeMap<>();
+        contadores.forEach((id, contador) -> situacao.put(id, contador.disponivel()));
+        return situacao;
+    }
+
+    /**
+     * Liga o flag e monta o contador na mesma transação. O UPDATE do flag trava a linha do produto:
+     * reservas pelo caminho por UPDATE já em curso fazem commit antes, e o contador nasce com elas
+     * descontadas; as que chegam depois esperam a trava, não passam pela condição estoqueQuente = false
+     * e seguem para o contador, que já está publicado quando a trava é liberada
+     * @return false se o produto não existe
+     */
+    private boolean carregarContador(Long produtoId) {
+        Boolean carregado = transacao.execute(status -> {
+            if (produtoRepository.definirEstoqueQuente(produtoId, true) == 0) {
+                return false;
+            }
+            aplicarDescarga(produtoId);
+            Produto produto = produtoRepository.findById(produtoId).orElseThrow();
+            contadores.put(produtoId, new ContadorEstoque(produto.getEstoqueDisponivel(), faixas));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int situacao) {
+                    if (situacao != STATUS_COMMITTED) {
+                        contadores.remove(produtoId);
+                    }
+                }
+            });
+            return true;
+        });
+        return Boolean.TRUE.equals(carregado);
+    }
+
+    private void descarregar(Long produtoId) {
+        transacao.executeWithoutResult(status -> aplicarDescarga(produtoId));
+    }
+
+    /**
+     * Trava a linha para escrita antes de ler o ledger: espera as transações que passaram por usarContador,
+     * então nenhuma venda ou reserva em curso fica de fora da soma
+     */
+    private void aplicarDescarga(Long produtoId) {
+        produtoRepository.travarParaEscrita(produtoId);
+        List<ReservaEstoque> vendas = reservaRepository.findByProdutoIdAndConfirmadaTrue(produtoId);
+        int vendidas = vendas.stream().mapToInt(ReservaEstoque::getQuantidade).sum();
+        if (!vendas.isEmpty()) {
+            reservaRepository.deleteAllInBatch(vendas);
+        }
+        int reservado = reservaRepository.somarAbertas(produtoId);
+        produtoRepository.aplicarDescargaEstoque(produtoId, vendidas, reservado, LocalDateTime.now());
+        if (vendidas > 0) {
+            eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoId, ProdutoAlteradoEvent.Tipo.ESTOQUE));
+        }
+    }
+
+    private ContadorEstoque contador(Long produtoId) {
+        ContadorEstoque contador = contadores.get(produtoId);
+        if (contador == null) {
+            throw new IllegalStateException("Produto " + produtoId + " não está em modo de estoque quente");
+        }
+        return contador;
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.energygames.lojadegames.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.energygames.lojadegames.dto.mapper.FavoritoMapper;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.FavoritoResponseDTO;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
@@ -19,13 +24,19 @@ import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.FavoritoRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.UsuarioAutenticado;
 import com.energygames.lojadegames.service.FavoritoService;
+import com.energygames.lojadegames.util.CursorPaginacao;
 
 @Service
 public class FavoritoServiceImpl implements FavoritoService {
 
 	private static final Logger log = LoggerFactory.getLogger(FavoritoServiceImpl.class);
 
+	private static final Map<String, CursorPaginacao.Campo<Favorito>> CAMPOS_CURSOR = Map.of(
+		"dataAdicionado", new CursorPaginacao.Campo<>(LocalDateTime.class, Favorito::getDataAdicionado),
+		"id", new CursorPaginacao.Campo<>(Long.class, Favorito::getId));
+
 	private final FavoritoRepository favoritoRepository;
 	private final ProdutoRepository produtoRepository;
 	private final UsuarioRepository usuarioRepository;
@@ -100,6 +111,30 @@ public class FavoritoServiceImpl implements FavoritoService {
 				.map(favoritoMapper::toResponseDTO);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponseDTO<FavoritoResponseDTO> listarMeusFavoritosPorCursor(String campo, Sort.Direction direcao,
+			String cursor, int tamanho) {
+		log.info("Listando favoritos do usuário autenticado por cursor");
+
+		Usuario usuario = obterUsuarioAutenticado();
+		Long usuarioId = usuario.getId();
+
+		CursorPaginacao.validarTamanho(tamanho);
+		CursorPaginacao.Campo<Favorito> definicao = CursorPaginacao.resolverCampo(CAMPOS_CURSOR, campo);
+		Specification<Favorito> spec = Specification.<Favorito>where(
+				(root, query, cb) -> cb.equal(root.get("usuario").get("id"), usuarioId))
+			.and(CursorPaginacao.aposCursor(campo, direcao, definicao, cursor));
+
+		List<Favorito> resultado = favoritoRepository.findBy(spec, consulta -> consulta
+			.sortBy(CursorPaginacao.ordenacao(campo, direcao))
+			.limit(tamanho + 1)
+			.all());
+
+		return CursorPaginacao.montarResposta(resultado, tamanho, campo, direcao, definicao,
+			Favorito::getId, favoritoMapper::toResponseDTO);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public boolean isFavorito(Long produtoId) {
@@ -115,13 +150,6 @@ public class FavoritoServiceImpl implements FavoritoService {
 	}
 
 	private Usuario obterUsuarioAutenticado() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || !authentication.isAuthenticated()) {
-			throw new BusinessException("Usuário não autenticado");
-		}
-
-		String email = authentication.getName();
-		return usuarioRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + email));
+		return UsuarioAutenticado.referencia(usuarioRepository);
 	}
 }
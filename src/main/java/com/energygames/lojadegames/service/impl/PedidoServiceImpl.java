@@ -3,17 +3,22 @@ package com.energygames.lojadegames.service.impl;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.energygames.lojadegames.dto.projection.ItemPedidoHistoricoProjection;
+import com.energygames.lojadegames.dto.projection.PedidoHistoricoProjection;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.ItemPedidoResponseDTO;
 import com.energygames.lojadegames.dto.response.PedidoResponseDTO;
+import com.energygames.lojadegames.dto.response.PedidoResumoResponseDTO;
 import com.energygames.lojadegames.enums.StatusPedidoEnum;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
@@ -23,34 +28,49 @@ import com.energygames.lojadegames.model.Pedido;
 import com.energygames.lojadegames.model.Produto;
 import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.CarrinhoRepository;
+import com.energygames.lojadegames.repository.ItemPedidoRepository;
 import com.energygames.lojadegames.repository.PedidoRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.UsuarioAutenticado;
 import com.energygames.lojadegames.service.PedidoService;
+import com.energygames.lojadegames.service.ReservaEstoqueService;
+import com.energygames.lojadegames.util.CursorPaginacao;
+import com.energygames.lojadegames.util.Dinheiro;
 
 @Service
 public class PedidoServiceImpl implements PedidoService {
 
     private static final Logger log = LoggerFactory.getLogger(PedidoServiceImpl.class);
 
+    private static final int TAMANHO_MAXIMO_HISTORICO = 100;
+    private static final String CAMPO_CURSOR = "id";
+    private static final CursorPaginacao.Campo<PedidoHistoricoProjection> DEFINICAO_CURSOR =
+            new CursorPaginacao.Campo<>(Long.class, PedidoHistoricoProjection::id);
+
     private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
     private final CarrinhoRepository carrinhoRepository;
     private final ProdutoRepository produtoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ReservaEstoqueService reservaEstoqueService;
 
-    public PedidoServiceImpl(PedidoRepository pedidoRepository, CarrinhoRepository carrinhoRepository,
-            ProdutoRepository produtoRepository, UsuarioRepository usuarioRepository) {
+    public PedidoServiceImpl(PedidoRepository pedidoRepository, ItemPedidoRepository itemPedidoRepository,
+            CarrinhoRepository carrinhoRepository, ProdutoRepository produtoRepository,
+            UsuarioRepository usuarioRepository, ReservaEstoqueService reservaEstoqueService) {
         this.pedidoRepository = pedidoRepository;
+        this.itemPedidoRepository = itemPedidoRepository;
         this.carrinhoRepository = carrinhoRepository;
         this.produtoRepository = produtoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.reservaEstoqueService = reservaEstoqueService;
     }
 
     @Override
     @Transactional
     public PedidoResponseDTO criarPedido() {
         Usuario usuario = obterUsuarioAutenticado();
-        log.info("Iniciando criação de pedido para usuário: {}", usuario.getEmail());
+        log.info("Iniciando criação de pedido para usuário: {}", UsuarioAutenticado.email());
 
         List<CarrinhoItem> itensCarrinho = carrinhoRepository.findAllByUsuarioId(usuario.getId());
 
@@ -63,18 +83,18 @@ public class PedidoServiceImpl implements PedidoService {
         pedido.setStatus(StatusPedidoEnum.PENDENTE_PAGAMENTO);
         
         List<ItemPedido> itensPedido = new ArrayList<>();
-        BigDecimal valorTotal = BigDecimal.ZERO;
+        Dinheiro valorTotal = Dinheiro.ZERO;
 
         for (CarrinhoItem itemCarrinho : itensCarrinho) {
             Produto produto = itemCarrinho.getProduto();
 
             // Validações - apenas verifica, NÃO baixa estoque ainda
-            // O estoque será baixado apenas após confirmação do pagamento via webhook
+            // As unidades ficam reservadas até a confirmação do pagamento via webhook (ou até expirar)
             if (!produto.getAtivo()) {
                 throw new BusinessException("Produto indisponível: " + produto.getNome());
             }
 
-            if (produto.getEstoque() < itemCarrinho.getQuantidade()) {
+            if (reservaEstoqueService.disponivel(produto) < itemCarrinho.getQuantidade()) {
                 throw new BusinessException("Estoque insuficiente para o produto: " + produto.getNome());
             }
 
@@ -89,14 +109,16 @@ public class PedidoServiceImpl implements PedidoService {
             itensPedido.add(itemPedido);
 
             // Calcular subtotal do item para somar ao total do pedido
-            BigDecimal subtotalItem = itemCarrinho.calcularSubtotal();
-            valorTotal = valorTotal.add(subtotalItem);
+            valorTotal = valorTotal.mais(itemCarrinho.calcularSubtotalComDesconto());
         }
 
         pedido.setItens(itensPedido);
-        pedido.setValorTotal(valorTotal);
+        pedido.setValorTotal(valorTotal.paraReais());
 
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
+
+        // Reserva atômica: a checagem acima é só uma leitura e pode estar defasada
+        reservaEstoqueService.reservar(pedidoSalvo);
         
         // Limpar carrinho
         carrinhoRepository.deleteAllByUsuarioId(usuario.getId());
@@ -110,8 +132,31 @@ public class PedidoServiceImpl implements PedidoService {
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> listarMeusPedidos() {
         Usuario usuario = obterUsuarioAutenticado();
-        List<Pedido> pedidos = pedidoRepository.findByUsuario(usuario);
-        return pedidos.stream().map(this::toResponseDTO).collect(Collectors.toList());
+        // Duas consultas no total (pedidos + itens), em vez de itens e produto por pedido
+        List<PedidoHistoricoProjection> pedidos = pedidoRepository.findHistoricoCompleto(usuario.getId());
+        Map<Long, List<ItemPedidoResponseDTO>> itens = carregarItens(pedidos);
+        return pedidos.stream()
+                .map(pedido -> toResponseDTO(pedido, itens.getOrDefault(pedido.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<PedidoResponseDTO> listarHistorico(String cursor, int tamanho) {
+        List<PedidoHistoricoProjection> resultado = buscarPaginaHistorico(cursor, tamanho);
+        Map<Long, List<ItemPedidoResponseDTO>> itens = carregarItens(
+                resultado.size() > tamanho ? resultado.subList(0, tamanho) : resultado);
+        return CursorPaginacao.montarResposta(resultado, tamanho, CAMPO_CURSOR, Sort.Direction.DESC, DEFINICAO_CURSOR,
+                PedidoHistoricoProjection::id, pedido -> toResponseDTO(pedido, itens.getOrDefault(pedido.id(), List.of())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<PedidoResumoResponseDTO> listarHistoricoResumido(String cursor, int tamanho) {
+        List<PedidoHistoricoProjection> resultado = buscarPaginaHistorico(cursor, tamanho);
+        return CursorPaginacao.montarResposta(resultado, tamanho, CAMPO_CURSOR, Sort.Direction.DESC, DEFINICAO_CURSOR,
+                PedidoHistoricoProjection::id, pedido -> new PedidoResumoResponseDTO(
+                        pedido.id(), pedido.status(), pedido.valorTotal(), pedido.dataCriacao(), pedido.totalItens()));
     }
 
     @Override
@@ -122,8 +167,7 @@ public class PedidoServiceImpl implements PedidoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado com ID: " + id));
 
         // Validar se o pedido pertence ao usuário ou se é admin
-        boolean isAdmin = usuario.getRoles().stream()
-                .anyMatch(role -> role.name().equals("ROLE_ADMIN"));
+        boolean isAdmin = UsuarioAutenticado.isAdmin();
 
         if (!pedido.getUsuario().getId().equals(usuario.getId()) && !isAdmin) {
              // Na verdade, a role é convertida, então preciso ver como comparar.
@@ -135,33 +179,50 @@ public class PedidoServiceImpl implements PedidoService {
         return toResponseDTO(pedido);
     }
 
+    /**
+     * Página do histórico (tamanho + 1 linhas, a extra só indica se há próxima página)
+     */
+    private List<PedidoHistoricoProjection> buscarPaginaHistorico(String cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_HISTORICO) {
+            throw new BusinessException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_HISTORICO);
+        }
+
+        Long antesDeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPaginacao.Cursor posicao = CursorPaginacao.Cursor.decodificar(cursor);
+            if (!CAMPO_CURSOR.equals(posicao.getCampo()) || posicao.getDirecao() != Sort.Direction.DESC) {
+                throw new BusinessException("Cursor não corresponde à ordenação solicitada");
+            }
+            antesDeId = posicao.getId();
+        }
+
+        Usuario usuario = obterUsuarioAutenticado();
+        return pedidoRepository.findHistorico(usuario.getId(), antesDeId, PageRequest.of(0, tamanho + 1));
+    }
+
+    private Map<Long, List<ItemPedidoResponseDTO>> carregarItens(List<PedidoHistoricoProjection> pedidos) {
+        if (pedidos.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = pedidos.stream().map(PedidoHistoricoProjection::id).toList();
+        return itemPedidoRepository.findHistoricoPorPedidoIds(ids).stream()
+                .collect(Collectors.groupingBy(ItemPedidoHistoricoProjection::pedidoId,
+                        Collectors.mapping(item -> toItemResponseDTO(item.produtoId(), item.produtoNome(),
+                                item.quantidade(), item.precoUnitario(), item.descontoUnitario()), Collectors.toList())));
+    }
+
+    private PedidoResponseDTO toResponseDTO(PedidoHistoricoProjection pedido, List<ItemPedidoResponseDTO> itens) {
+        return new PedidoResponseDTO(pedido.id(), pedido.status(), pedido.valorTotal(), pedido.dataCriacao(), itens);
+    }
+
     private Usuario obterUsuarioAutenticado() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        return UsuarioAutenticado.referencia(usuarioRepository);
     }
 
     private PedidoResponseDTO toResponseDTO(Pedido pedido) {
         List<ItemPedidoResponseDTO> itensDTO = pedido.getItens().stream()
-                .map(item -> {
-                    BigDecimal precoFinal = item.getPrecoUnitario();
-                    if (item.getDescontoUnitario() != null && item.getDescontoUnitario().compareTo(BigDecimal.ZERO) > 0) {
-                         BigDecimal percentual = item.getDescontoUnitario().divide(BigDecimal.valueOf(100));
-                         BigDecimal desconto = item.getPrecoUnitario().multiply(percentual);
-                         precoFinal = item.getPrecoUnitario().subtract(desconto);
-                    }
-                    BigDecimal subtotal = precoFinal.multiply(BigDecimal.valueOf(item.getQuantidade()));
-                    
-                    return new ItemPedidoResponseDTO(
-                        item.getProduto().getId(),
-                        item.getProduto().getNome(),
-                        item.getQuantidade(),
-                        item.getPrecoUnitario(),
-                        item.getDescontoUnitario(),
-                        subtotal
-                    );
-                })
+                .map(item -> toItemResponseDTO(item.getProduto().getId(), item.getProduto().getNome(),
+                        item.getQuantidade(), item.getPrecoUnitario(), item.getDescontoUnitario()))
                 .collect(Collectors.toList());
 
         return new PedidoResponseDTO(
@@ -172,4 +233,11 @@ public class PedidoServiceImpl implements PedidoService {
             itensDTO
         );
     }
+
+    private ItemPedidoResponseDTO toItemResponseDTO(Long produtoId, String produtoNome, Integer quantidade,
+            BigDecimal precoUnitario, BigDecimal descontoUnitario) {
+        BigDecimal subtotal = Dinheiro.de(precoUnitario).comDesconto(descontoUnitario).vezes(quantidade).paraReais();
+
+        return new ItemPedidoResponseDTO(produtoId, produtoNome, quantidade, precoUnitario, descontoUnitario, subtotal);
+    }
 }
@@ -1,44 +1,107 @@
 package com.energygames.lojadegames.service.impl;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.energygames.lojadegames.dto.mapper.ProdutoMapper;
+import com.energygames.lojadegames.dto.projection.ProdutoListagemProjection;
 import com.energygames.lojadegames.dto.request.ProdutoComercialUpdateDTO;
 import com.energygames.lojadegames.dto.request.ProdutoRequestDTO;
+import com.energygames.lojadegames.dto.response.BuscaFacetadaResponseDTO;
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
 import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.dto.response.ProdutoSugestaoDTO;
 import com.energygames.lojadegames.enums.OrigemEnum;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
 import com.energygames.lojadegames.model.Categoria;
 import com.energygames.lojadegames.model.Produto;
 import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.CategoriaRepository;
+import com.energygames.lojadegames.repository.ProdutoImagemRepository;
 import com.energygames.lojadegames.repository.ProdutoRepository;
 import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.UsuarioAutenticado;
 import com.energygames.lojadegames.service.ProdutoService;
+import com.energygames.lojadegames.service.cache.ProdutoDetalheCache;
+import com.energygames.lojadegames.service.concorrencia.RetentativaOtimista;
+import com.energygames.lojadegames.service.search.ProdutoAutocompleteIndex;
+import com.energygames.lojadegames.service.search.ProdutoFacetaIndex;
+import com.energygames.lojadegames.service.search.ProdutoSearchIndex;
+import com.energygames.lojadegames.util.CursorPaginacao;
+import com.energygames.lojadegames.util.Dinheiro;
+import com.energygames.lojadegames.util.EtagUtils;
 
 @Service
 public class ProdutoServiceImpl implements ProdutoService {
 
 	private static final Logger log = LoggerFactory.getLogger(ProdutoServiceImpl.class);
 
+	// Campos com índice que suportam paginação por cursor
+	private static final Map<String, CursorPaginacao.Campo<Produto>> CAMPOS_CURSOR = Map.of(
+		"dataLancamento", new CursorPaginacao.Campo<>(LocalDate.class, Produto::getDataLancamento),
+		"ratingIgdb", new CursorPaginacao.Campo<>(BigDecimal.class, Produto::getRatingIgdb),
+		"nome", new CursorPaginacao.Campo<>(String.class, Produto::getNome),
+		"preco", new CursorPaginacao.Campo<>(BigDecimal.class, Produto::getPreco),
+		"id", new CursorPaginacao.Campo<>(Long.class, Produto::getId));
+
+	private static final int LIMITE_AUTOCOMPLETE = 20;
+
 	private final ProdutoRepository produtoRepository;
+	private final ProdutoImagemRepository produtoImagemRepository;
 	private final CategoriaRepository categoriaRepository;
 	private final UsuarioRepository usuarioRepository;
 	private final ProdutoMapper produtoMapper;
-
-	public ProdutoServiceImpl(ProdutoRepository produtoRepository, CategoriaRepository categoriaRepository,
-			UsuarioRepository usuarioRepository, ProdutoMapper produtoMapper) {
+	private final ProdutoSearchIndex searchIndex;
+	private final ProdutoAutocompleteIndex autocompleteIndex;
+	private final ProdutoFacetaIndex facetaIndex;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProdutoDetalheCache detalheCache;
+	private final TransactionTemplate transacaoLeitura;
+	private final RetentativaOtimista retentativa;
+
+	public ProdutoServiceImpl(ProdutoRepository produtoRepository, ProdutoImagemRepository produtoImagemRepository,
+			CategoriaRepository categoriaRepository, UsuarioRepository usuarioRepository, ProdutoMapper produtoMapper,
+			ProdutoSearchIndex searchIndex, ProdutoAutocompleteIndex autocompleteIndex, ProdutoFacetaIndex facetaIndex,
+			ApplicationEventPublisher eventPublisher, ProdutoDetalheCache detalheCache,
+			PlatformTransactionManager transactionManager, RetentativaOtimista retentativa) {
 		this.produtoRepository = produtoRepository;
+		this.produtoImagemRepository = produtoImagemRepository;
 		this.categoriaRepository = categoriaRepository;
 		this.usuarioRepository = usuarioRepository;
 		this.produtoMapper = produtoMapper;
+		this.searchIndex = searchIndex;
+		this.autocompleteIndex = autocompleteIndex;
+		this.facetaIndex = facetaIndex;
+		this.eventPublisher = eventPublisher;
+		this.detalheCache = detalheCache;
+		this.transacaoLeitura = new TransactionTemplate(transactionManager);
+		this.transacaoLeitura.setReadOnly(true);
+		this.retentativa = retentativa;
 	}
 
 	@Override
@@ -47,27 +110,160 @@ public class ProdutoServiceImpl implements ProdutoService {
 			String nome, Long categoriaId, org.springframework.data.domain.Pageable pageable) {
 		log.info("Buscando produtos com filtros - nome: {}, categoriaId: {}", nome, categoriaId);
 		
-		org.springframework.data.domain.Page<com.energygames.lojadegames.model.Produto> produtos;
-		
-		if (nome != null && categoriaId != null) {
-			produtos = produtoRepository.findAll(
-				(root, query, cb) -> cb.and(
-					cb.like(cb.lower(root.get("nome")), "%" + nome.toLowerCase() + "%"),
-					cb.equal(root.get("categoria").get("id"), categoriaId)
-				), pageable);
-		} else if (nome != null) {
-			produtos = produtoRepository.findAll(
-				(root, query, cb) -> cb.like(cb.lower(root.get("nome")), "%" + nome.toLowerCase() + "%"), 
-				pageable);
+		if (usarIndice(nome)) {
+			Page<ProdutoResponseDTO> pagina = buscarPorIndice(nome, categoriaId, pageable);
+			if (pagina != null) {
+				return pagina;
+			}
+		}
+
+		// Listagem em projeção: sem entidades gerenciadas nem descricaoCompleta
+		Page<ProdutoListagemProjection> linhas;
+		if (nome != null) {
+			linhas = produtoRepository.findListagemPorNome("%" + nome.toLowerCase() + "%", categoriaId, pageable);
 		} else if (categoriaId != null) {
-			produtos = produtoRepository.findAll(
-				(root, query, cb) -> cb.equal(root.get("categoria").get("id"), categoriaId), 
-				pageable);
+			linhas = produtoRepository.findListagemPorCategoria(categoriaId, pageable);
 		} else {
-			produtos = produtoRepository.findAll(pageable);
+			linhas = produtoRepository.findListagem(pageable);
 		}
-		
-		return produtos.map(produtoMapper::toResponseDTO);
+
+		return new PageImpl<>(montarListagem(linhas.getContent()), linhas.getPageable(), linhas.getTotalElements());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponseDTO<ProdutoResponseDTO> buscarTodosPorCursor(String nome, Long categoriaId, String campo,
+			Sort.Direction direcao, String cursor, int tamanho) {
+		log.info("Buscando produtos por cursor - nome: {}, categoriaId: {}, ordenação: {} {}", nome, categoriaId, campo, direcao);
+
+		CursorPaginacao.validarTamanho(tamanho);
+		CursorPaginacao.Campo<Produto> definicao = CursorPaginacao.resolverCampo(CAMPOS_CURSOR, campo);
+		Specification<Produto> spec = filtrosCatalogo(nome, categoriaId)
+			.and(CursorPaginacao.aposCursor(campo, direcao, definicao, cursor));
+
+		List<Produto> resultado = produtoRepository.findBy(spec, consulta -> consulta
+			.project(ProdutoRepository.GRAFO_LISTAGEM_CATEGORIA, ProdutoRepository.GRAFO_LISTAGEM_ORIGEM)
+			.sortBy(CursorPaginacao.ordenacao(campo, direcao))
+			.limit(tamanho + 1)
+			.all());
+
+		return CursorPaginacao.montarResposta(resultado, tamanho, campo, direcao, definicao,
+			Produto::getId, produtoMapper::toResponseDTO);
+	}
+
+	/**
+	 * Filtros de nome e categoria do catálogo como Specification
+	 * O nome é resolvido pelo índice de busca quando disponível
+	 */
+	private Specification<Produto> filtrosCatalogo(String nome, Long categoriaId) {
+		Specification<Produto> spec = Specification.where(null);
+
+		if (usarIndice(nome)) {
+			List<Long> ids = searchIndex.buscar(nome, categoriaId);
+			spec = spec.and((root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids));
+		} else if (nome != null) {
+			spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("nome")), "%" + nome.toLowerCase() + "%"));
+		}
+
+		if (categoriaId != null) {
+			spec = spec.and((root, query, cb) -> cb.equal(root.get("categoria").get("id"), categoriaId));
+		}
+		return spec;
+	}
+
+	/**
+	 * Índice pronto e consulta com algum termo indexável; senão a busca vai ao banco por LIKE
+	 */
+	private boolean usarIndice(String nome) {
+		return nome != null && searchIndex.isPronto() && searchIndex.isPesquisavel(nome);
+	}
+
+	/**
+	 * Busca textual pelo índice invertido em memória
+	 * Sem ordenação explícita, a página segue a relevância; com ordenação, o índice ordena os
+	 * candidatos em memória. Em ambos os casos só os IDs da página vão ao banco.
+	 * @return null se a ordenação usa um campo que o índice não mantém (a busca vai ao banco)
+	 */
+	private Page<ProdutoResponseDTO> buscarPorIndice(String nome, Long categoriaId, Pageable pageable) {
+		List<Long> ids = searchIndex.buscar(nome, categoriaId);
+		List<Long> ordenados = pageable.getSort().isSorted() ? searchIndex.ordenar(ids, pageable.getSort()) : ids;
+		return ordenados == null ? null : paginaDeIdsOrdenados(ordenados, pageable);
+	}
+
+	/**
+	 * Página da listagem para IDs de facetas, ordenados pelo índice de busca quando possível
+	 * Só com índice em construção ou campo de ordenação fora dele o banco ordena todos os candidatos
+	 */
+	private Page<ProdutoResponseDTO> paginaPorIds(List<Long> ids, Pageable pageable) {
+		if (ids.isEmpty()) {
+			return Page.empty(pageable);
+		}
+
+		List<Long> ordenados = ids;
+		if (pageable.getSort().isSorted()) {
+			ordenados = searchIndex.isPronto() ? searchIndex.ordenar(ids, pageable.getSort()) : null;
+			if (ordenados == null) {
+				Page<ProdutoListagemProjection> linhas = produtoRepository.findListagemPorIds(ids, pageable);
+				return new PageImpl<>(montarListagem(linhas.getContent()), pageable, linhas.getTotalElements());
+			}
+		}
+		return paginaDeIdsOrdenados(ordenados, pageable);
+	}
+
+	/**
+	 * Recorta a página de uma lista de IDs já ordenada e hidrata só esses IDs, mantendo a ordem
+	 */
+	private Page<ProdutoResponseDTO> paginaDeIdsOrdenados(List<Long> ids, Pageable pageable) {
+		int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+		int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+		List<Long> idsPagina = ids.subList(inicio, fim);
+		if (idsPagina.isEmpty()) {
+			return new PageImpl<>(List.of(), pageable, ids.size());
+		}
+
+		Map<Long, ProdutoListagemProjection> porId = new HashMap<>();
+		for (ProdutoListagemProjection linha : produtoRepository.findListagemPorIds(idsPagina, Pageable.unpaged())) {
+			porId.put(linha.getId(), linha);
+		}
+
+		List<ProdutoListagemProjection> linhasOrdenadas = idsPagina.stream()
+			.map(porId::get)
+			.filter(Objects::nonNull)
+			.toList();
+		return new PageImpl<>(montarListagem(linhasOrdenadas), pageable, ids.size());
+	}
+
+	/**
+	 * Converte as linhas projetadas em DTOs, resolvendo as URLs de imagem da página em lote
+	 * (estruturadas primeiro; campo simples apenas para quem não tem estruturadas)
+	 */
+	private List<ProdutoResponseDTO> montarListagem(List<ProdutoListagemProjection> linhas) {
+		if (linhas.isEmpty()) {
+			return List.of();
+		}
+
+		List<Long> ids = linhas.stream().map(ProdutoListagemProjection::getId).toList();
+		Map<Long, List<Object[]>> estruturadas = new HashMap<>();
+		for (Object[] linha : produtoImagemRepository.findUrlsPorProdutoIds(ids)) {
+			estruturadas.computeIfAbsent((Long) linha[0], id -> new ArrayList<>()).add(linha);
+		}
+
+		Map<Long, List<String>> imagens = new HashMap<>();
+		estruturadas.forEach((id, lista) -> imagens.put(id, lista.stream()
+			.sorted(Comparator.comparing(linha -> (Integer) linha[2], Comparator.nullsLast(Comparator.naturalOrder())))
+			.map(linha -> (String) linha[1])
+			.toList()));
+
+		List<Long> semEstruturadas = ids.stream().filter(id -> !imagens.containsKey(id)).toList();
+		if (!semEstruturadas.isEmpty()) {
+			for (Object[] linha : produtoRepository.findUrlsImagensSimples(semEstruturadas)) {
+				imagens.computeIfAbsent((Long) linha[0], id -> new ArrayList<>()).add((String) linha[1]);
+			}
+		}
+
+		return linhas.stream()
+			.map(linha -> produtoMapper.toResponseDTO(linha, imagens.getOrDefault(linha.getId(), List.of())))
+			.toList();
 	}
 
 	@Override
@@ -80,24 +276,94 @@ public class ProdutoServiceImpl implements ProdutoService {
 	}
 
 	@Override
-	@Transactional(readOnly = true)
 	public ProdutoDetalheResponseDTO buscarDetalhePorId(Long id) {
 		log.info("Buscando detalhe do produto com ID: {}", id);
-		Produto produto = produtoRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
-		return produtoMapper.toDetalheResponseDTO(produto);
+		return detalheCache.obterPorId(id, this::carregarDetalhe);
 	}
 
 	@Override
-	@Transactional(readOnly = true)
 	public ProdutoDetalheResponseDTO buscarDetalhePorSlug(String slug) {
 		log.info("Buscando detalhe do produto com slug: {}", slug);
-		Produto produto = produtoRepository.findBySlug(slug)
+		return detalheCache.obterPorSlug(slug, this::resolverIdPorSlug, this::carregarDetalhe);
+	}
+
+	/**
+	 * Carga do detalhe em caso de miss no cache
+	 * A transação é aberta só aqui para que hits no cache não ocupem conexão do pool
+	 */
+	private ProdutoDetalheResponseDTO carregarDetalhe(Long id) {
+		return transacaoLeitura.execute(status -> {
+			Produto produto = produtoRepository.findById(id)
+					.orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
+			return produtoMapper.toDetalheResponseDTO(produto);
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public String calcularEtag(Long id) {
+		List<Object[]> versao = produtoRepository.findVersaoById(id);
+		if (versao.isEmpty()) {
+			throw new ResourceNotFoundException("Produto não encontrado com ID: " + id);
+		}
+		return etagProduto(versao.get(0));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public String calcularEtagPorSlug(String slug) {
+		List<Object[]> versao = produtoRepository.findVersaoBySlug(slug);
+		if (versao.isEmpty()) {
+			throw new ResourceNotFoundException("Produto não encontrado com slug: " + slug);
+		}
+		return etagProduto(versao.get(0));
+	}
+
+	/**
+	 * Os DTOs de produto embutem resumos de categoria e gêneros, então a versão da tabela
+	 * de categorias (vinda do cache de consultas) também compõe a ETag
+	 */
+	private String etagProduto(Object[] versao) {
+		Object[] categorias = categoriaRepository.findVersaoTabela().get(0);
+		return EtagUtils.forte("p", (Long) versao[0], EtagUtils.valor((LocalDateTime) versao[1]),
+			(Long) categorias[0], EtagUtils.valor((LocalDateTime) categorias[1]));
+	}
+
+	private Long resolverIdPorSlug(String slug) {
+		return produtoRepository.findIdBySlug(slug)
 				.orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com slug: " + slug));
-		return produtoMapper.toDetalheResponseDTO(produto);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public BuscaFacetadaResponseDTO buscarFacetado(String nome, Map<String, List<String>> filtros, Pageable pageable) {
+		log.info("Busca facetada - nome: {}, filtros: {}", nome, filtros);
+		boolean comTexto = nome != null && !nome.isBlank();
+
+		// Índices ainda em construção, ou texto sem termo indexável: produtos por LIKE, sem contagens
+		if (!facetaIndex.isPronto() || (comTexto && !usarIndice(nome))) {
+			return new BuscaFacetadaResponseDTO(buscarTodos(comTexto ? nome : null, null, pageable), Map.of());
+		}
 
+		List<Long> restricao = comTexto ? searchIndex.buscar(nome, null) : null;
+		ProdutoFacetaIndex.Resultado resultado = facetaIndex.buscar(restricao, filtros);
+		return new BuscaFacetadaResponseDTO(paginaPorIds(resultado.ids(), pageable), resultado.facetas());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProdutoSugestaoDTO> autocompletar(String consulta, int limite) {
+		int tamanho = Math.max(1, Math.min(limite, LIMITE_AUTOCOMPLETE));
+		if (autocompleteIndex.isPronto()) {
+			return autocompleteIndex.sugerir(consulta, tamanho);
+		}
+
+		log.debug("Índice de autocomplete em construção, usando LIKE para: {}", consulta);
+		return produtoRepository.findDadosAutocompletePorNome(
+				"%" + consulta.trim().toLowerCase() + "%", PageRequest.of(0, tamanho)).stream()
+			.map(ProdutoAutocompleteIndex::sugestaoDe)
+			.toList();
+	}
 
 	@Override
 	@Transactional
@@ -135,8 +401,7 @@ public class ProdutoServiceImpl implements ProdutoService {
 		}
 
 		// Calcular preço com desconto
-		java.math.BigDecimal precoFinal = calcularPrecoComDesconto(dto.getPreco(), dto.getDesconto());
-		if (precoFinal.compareTo(java.math.BigDecimal.ZERO) <= 0) {
+		if (!Dinheiro.de(dto.getPreco()).comDesconto(dto.getDesconto()).isPositivo()) {
 			log.warn("Preço final calculado é zero ou negativo. Preço: {}, Desconto: {}", dto.getPreco(), dto.getDesconto());
 			throw new BusinessException("Preço final do produto não pode ser zero ou negativo");
 		}
@@ -146,6 +411,7 @@ public class ProdutoServiceImpl implements ProdutoService {
 
 		Produto produto = produtoMapper.toEntity(dto, categoria, usuario);
 		Produto produtoSalvo = produtoRepository.save(produto);
+		eventPublisher.publishEvent(new ProdutoAlteradoEvent(produtoSalvo.getId(), ProdutoAlteradoEvent.Tipo.CRIADO));
 
 		log.info("Produto criado com sucesso. ID: {}, Preço: {}, Desconto: {}%", 
 			produtoSalvo.getId(), produtoSalvo.getPreco(), produtoSalvo.getDesconto());
@@ -176,6 +442,7 @@ public class ProdutoServiceImpl implements ProdutoService {
 			log.warn("Tentativa de atualizar produto com estoque negativo. Produto ID: {}", id);
 			throw new BusinessException("Estoque não pode ser negativo");
 		}
+		validarEdicaoEstoqueQuente(produto, dto.getEstoque());
 
 		// Validar desconto
 		if (dto.getDesconto() != null && 
@@ -193,14 +460,14 @@ public class ProdutoServiceImpl implements ProdutoService {
 		}
 
 		// Calcular preço com desconto
-		java.math.BigDecimal precoFinal = calcularPrecoComDesconto(dto.getPreco(), dto.getDesconto());
-		if (precoFinal.compareTo(java.math.BigDecimal.ZERO) <= 0) {
+		if (!Dinheiro.de(dto.getPreco()).comDesconto(dto.getDesconto()).isPositivo()) {
 			log.warn("Preço final calculado é zero ou negativo na atualização. Produto ID: {}", id);
 			throw new BusinessException("Preço final do produto não pode ser zero ou negativo");
 		}
 
 		produtoMapper.updateEntity(dto, produto, categoria);
 		Produto produtoAtualizado = produtoRepository.save(produto);
+		eventPublisher.publishEvent(new ProdutoAlteradoEvent(id, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
 
 		log.info("Produto atualizado com sucesso. ID: {}, Novo preço: {}, Novo desconto: {}%", 
 			id, produtoAtualizado.getPreco(), produtoAtualizado.getDesconto());
@@ -218,64 +485,70 @@ public class ProdutoServiceImpl implements ProdutoService {
 		}
 
 		produtoRepository.deleteById(id);
+		eventPublisher.publishEvent(new ProdutoAlteradoEvent(id, ProdutoAlteradoEvent.Tipo.REMOVIDO));
 		log.info("Produto deletado com sucesso. ID: {}", id);
 	}
 
 	private Usuario obterUsuarioAutenticado() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || !authentication.isAuthenticated()) {
-			throw new BusinessException("Usuário não autenticado");
-		}
-
-		String email = authentication.getName();
-		return usuarioRepository.findByEmail(email)
-				.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + email));
+		return UsuarioAutenticado.referencia(usuarioRepository);
 	}
 
-	private java.math.BigDecimal calcularPrecoComDesconto(java.math.BigDecimal preco, java.math.BigDecimal desconto) {
-		if (desconto == null || desconto.compareTo(java.math.BigDecimal.ZERO) == 0) {
-			return preco;
+	// Em modo quente o estoque em tb_produtos é gravado em lote a partir dos contadores em memória;
+	// uma edição direta seria sobrescrita ou deixaria os contadores defasados
+	private void validarEdicaoEstoqueQuente(Produto produto, Integer novoEstoque) {
+		if (Boolean.TRUE.equals(produto.getEstoqueQuente()) && !novoEstoque.equals(produto.getEstoque())) {
+			log.warn("Tentativa de alterar estoque de produto em modo quente. Produto ID: {}", produto.getId());
+			throw new BusinessException("Desative o modo de estoque quente antes de alterar o estoque do produto");
 		}
-		java.math.BigDecimal percentualDesconto = desconto.divide(
-			java.math.BigDecimal.valueOf(100), 4, java.math.RoundingMode.HALF_UP);
-		java.math.BigDecimal valorDesconto = preco.multiply(percentualDesconto);
-		return preco.subtract(valorDesconto).setScale(2, java.math.RoundingMode.HALF_UP);
 	}
 
 	@Override
-	@Transactional
 	public ProdutoResponseDTO atualizarDadosComerciais(Long id, ProdutoComercialUpdateDTO dto) {
 		log.info("Atualizando dados comerciais do produto ID: {}", id);
 
-		Produto produto = produtoRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
-
-		// Atualizar preço
-		if (dto.getPreco() != null) {
-			produto.setPreco(dto.getPreco());
-		}
-
-		// Atualizar estoque
-		if (dto.getEstoque() != null) {
-			produto.setEstoque(dto.getEstoque());
-		}
-
-		// Atualizar desconto
-		if (dto.getDesconto() != null) {
-			produto.setDesconto(dto.getDesconto());
-		}
-
-		// Atualizar status ativo (permitir ativar produto após definir preço/estoque)
-		if (dto.getAtivo() != null) {
-			produto.setAtivo(dto.getAtivo());
-		}
-
-		Produto produtoAtualizado = produtoRepository.save(produto);
-
-		log.info("Dados comerciais atualizados. Produto ID: {}, Preço: {}, Estoque: {}, Ativo: {}", 
-			id, produtoAtualizado.getPreco(), produtoAtualizado.getEstoque(), produtoAtualizado.getAtivo());
-
-		return produtoMapper.toResponseDTO(produtoAtualizado);
+		// Transação por tentativa: um conflito de versão (edição concorrente, sincronização IGDB ou
+		// movimentação de estoque) relê o produto e reaplica os campos do DTO sobre o estado atual
+		AtomicReference<Integer> estoqueLido = new AtomicReference<>();
+		return retentativa.executar("atualizarDadosComerciais", () -> {
+			Produto produto = produtoRepository.findById(id)
+					.orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + id));
+			estoqueLido.compareAndSet(null, produto.getEstoque());
+
+			// Atualizar preço
+			if (dto.getPreco() != null) {
+				produto.setPreco(dto.getPreco());
+			}
+
+			// Atualizar estoque
+			if (dto.getEstoque() != null) {
+				// Estoque vale como diferença sobre a primeira leitura: vendas que forçaram a nova
+				// tentativa continuam descontadas
+				int novoEstoque = produto.getEstoque() + dto.getEstoque() - estoqueLido.get();
+				if (novoEstoque < 0) {
+					throw new BusinessException("Estoque alterado por vendas durante a edição; revise o valor informado");
+				}
+				validarEdicaoEstoqueQuente(produto, novoEstoque);
+				produto.setEstoque(novoEstoque);
+			}
+
+			// Atualizar desconto
+			if (dto.getDesconto() != null) {
+				produto.setDesconto(dto.getDesconto());
+			}
+
+			// Atualizar status ativo (permitir ativar produto após definir preço/estoque)
+			if (dto.getAtivo() != null) {
+				produto.setAtivo(dto.getAtivo());
+			}
+
+			Produto produtoAtualizado = produtoRepository.saveAndFlush(produto);
+			eventPublisher.publishEvent(new ProdutoAlteradoEvent(id, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+
+			log.info("Dados comerciais atualizados. Produto ID: {}, Preço: {}, Estoque: {}, Ativo: {}", 
+				id, produtoAtualizado.getPreco(), produtoAtualizado.getEstoque(), produtoAtualizado.getAtivo());
+
+			return produtoMapper.toResponseDTO(produtoAtualizado);
+		});
 	}
 
 	@Override
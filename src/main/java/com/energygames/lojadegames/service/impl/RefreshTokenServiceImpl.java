@@ -0,0 +1,120 @@
+package com.energygames.lojadegames.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.energygames.lojadegames.exception.UnauthorizedException;
+import com.energygames.lojadegames.model.RefreshToken;
+import com.energygames.lojadegames.model.Usuario;
+import com.energygames.lojadegames.repository.RefreshTokenRepository;
+import com.energygames.lojadegames.service.RefreshTokenService;
+
+/**
+ * Refresh tokens de 256 bits aleatórios; no banco fica só o SHA-256
+ * Com essa entropia um hash rápido basta: não há dicionário a testar, e a renovação
+ * continua sendo uma busca pelo índice único do hash.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final int TAMANHO_BYTES = 32;
+    private static final String TOKEN_INVALIDO = "Refresh token inválido";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration validade;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh.validade-dias:14}") long validadeDias) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.validade = Duration.ofDays(validadeDias);
+    }
+
+    @Override
+    @Transactional
+    public String emitir(Usuario usuario) {
+        return gravar(usuario, UUID.randomUUID().toString(), LocalDateTime.now());
+    }
+
+    // A revogação da família por reuso precisa ser gravada mesmo com a renovação recusada
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotacao rotacionar(String refreshToken) {
+        LocalDateTime agora = LocalDateTime.now();
+        RefreshToken atual = refreshTokenRepository.findByHash(hash(refreshToken))
+                .orElseThrow(() -> new UnauthorizedException(TOKEN_INVALIDO));
+
+        if (atual.getRevogadoEm() != null) {
+            throw new UnauthorizedException(TOKEN_INVALIDO);
+        }
+        if (!atual.getExpiraEm().isAfter(agora)) {
+            throw new UnauthorizedException("Refresh token expirado");
+        }
+        // Inclui a renovação concorrente com o mesmo token: só uma consome, a outra é tratada como reuso
+        if (atual.getUsadoEm() != null || refreshTokenRepository.marcarUsado(atual.getId(), agora) == 0) {
+            int revogados = refreshTokenRepository.revogarFamilia(atual.getFamilia(), agora);
+            log.warn("Reuso de refresh token detectado para o usuário {}: família {} revogada ({} tokens)",
+                    atual.getUsuario().getId(), atual.getFamilia(), revogados);
+            throw new UnauthorizedException(TOKEN_INVALIDO);
+        }
+
+        Usuario usuario = atual.getUsuario();
+        return new Rotacao(usuario, gravar(usuario, atual.getFamilia(), agora));
+    }
+
+    @Override
+    @Transactional
+    public void revogar(String refreshToken) {
+        refreshTokenRepository.findByHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revogarFamilia(token.getFamilia(), LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public void revogarDoUsuario(Long usuarioId) {
+        int revogados = refreshTokenRepository.revogarDoUsuario(usuarioId, LocalDateTime.now());
+        log.info("{} refresh tokens do usuário {} revogados", revogados, usuarioId);
+    }
+
+    @Override
+    @Transactional
+    public int removerExpirados() {
+        int removidos = refreshTokenRepository.deleteExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("{} refresh tokens expirados removidos", removidos);
+        }
+        return removidos;
+    }
+
+    private String gravar(Usuario usuario, String familia, LocalDateTime agora) {
+        byte[] bytes = new byte[TAMANHO_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), familia, usuario, agora.plus(validade)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.energygames.lojadegames.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.ItemPedido;
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.ReservaEstoque;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.repository.ReservaEstoqueRepository;
+import com.energygames.lojadegames.service.EstoqueQuenteService;
+import com.energygames.lojadegames.service.ReservaEstoqueService;
+
+/**
+ * Ledger de reservas: cada reserva é uma linha em tb_reservas_estoque e, ao mesmo tempo,
+ * soma em Produto.estoqueReservado, que é o contador lido para o disponível para venda.
+ * Todas as alterações do contador são UPDATEs condicionais; a posse de uma reserva é decidida
+ * pelo DELETE da linha, então pagamento, falha e varredura nunca devolvem a mesma quantidade duas vezes.
+ * Produtos em modo de estoque quente trocam os UPDATEs em tb_produtos pelos contadores do
+ * EstoqueQuenteService; as linhas do ledger são gravadas do mesmo jeito. A escolha passa por
+ * usarContador, que segura a linha do produto em modo compartilhado até o commit.
+ */
+@Service
+public class ReservaEstoqueServiceImpl implements ReservaEstoqueService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservaEstoqueServiceImpl.class);
+
+    // A sessão do Stripe Checkout dura no mínimo 30 minutos: a reserva cobre essa janela com folga
+    private static final long TTL_MINIMO_MINUTOS = 35;
+    private static final long TTL_MAXIMO_MINUTOS = 24 * 60;
+
+    private static final int TAMANHO_LOTE_VARREDURA = 500;
+
+    private final ReservaEstoqueRepository reservaRepository;
+    private final ProdutoRepository produtoRepository;
+    private final EstoqueQuenteService estoqueQuente;
+    private final long ttlMinutos;
+
+    public ReservaEstoqueServiceImpl(ReservaEstoqueRepository reservaRepository, ProdutoRepository produtoRepository,
+            EstoqueQuenteService estoqueQuente, @Value("${pedido.reserva.ttl-minutos:35}") long ttlMinutos) {
+        this.reservaRepository = reservaRepository;
+        this.produtoRepository = produtoRepository;
+        this.estoqueQuente = estoqueQuente;
+        this.ttlMinutos = Math.max(TTL_MINIMO_MINUTOS, Math.min(TTL_MAXIMO_MINUTOS, ttlMinutos));
+    }
+
+    @Override
+    @Transactional
+    public void reservar(Pedido pedido) {
+        LocalDateTime expiraEm = LocalDateTime.now().plusMinutes(ttlMinutos);
+        reservarProdutos(pedido, expiraEm, Set.of());
+        log.info("Estoque reservado para pedido {} até {}", pedido.getId(), expiraEm);
+    }
+
+    @Override
+    @Transactional
+    public LocalDateTime renovar(Pedido pedido) {
+        LocalDateTime expiraEm = LocalDateTime.now().plusMinutes(ttlMinutos);
+        reservaRepository.renovar(pedido.getId(), expiraEm);
+
+        // A varredura exclui linha por linha: só os produtos cuja reserva já foi devolvida voltam a ser reservados
+        Set<Long> vigentes = new HashSet<>();
+        for (ReservaEstoque reserva : reservaRepository.findByPedidoIdAndConfirmadaFalse(pedido.getId())) {
+            vigentes.add(reserva.getProdutoId());
+        }
+        if (reservarProdutos(pedido, expiraEm, vigentes) > 0) {
+            log.info("Reservas expiradas do pedido {} refeitas até {}", pedido.getId(), expiraEm);
+        }
+        return expiraEm;
+    }
+
+    /**
+     * Reserva os produtos do pedido que não estão em ignorar e devolve quantos foram reservados
+     */
+    private int reservarProdutos(Pedido pedido, LocalDateTime expiraEm, Set<Long> ignorar) {
+        // Ordem de ID: pedidos concorrentes com produtos em comum travam as linhas na mesma ordem
+        Map<Long, Integer> quantidades = new TreeMap<>();
+        Map<Long, String> nomes = new HashMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            if (!ignorar.contains(item.getProduto().getId())) {
+                quantidades.merge(item.getProduto().getId(), item.getQuantidade(), Integer::sum);
+                nomes.put(item.getProduto().getId(), item.getProduto().getNome());
+            }
+        }
+
+        for (Map.Entry<Long, Integer> reserva : quantidades.entrySet()) {
+            if (!retirar(reserva.getKey(), reserva.getValue())) {
+                log.warn("Sem saldo livre para reservar produto {} (pedido {})", reserva.getKey(), pedido.getId());
+                // A exceção desfaz as reservas já feitas para este pedido
+                throw new BusinessException("Estoque insuficiente para o produto: " + nomes.get(reserva.getKey()));
+            }
+            reservaRepository.save(new ReservaEstoque(pedido.getId(), reserva.getKey(), reserva.getValue(), expiraEm));
+        }
+        return quantidades.size();
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> consumir(Long pedidoId) {
+        Map<Long, Integer> consumidas = new HashMap<>();
+        for (ReservaEstoque reserva : reservaRepository.findByPedidoIdAndConfirmadaFalse(pedidoId)) {
+            // Produto quente: a linha fica confirmada até a descarga aplicar a venda em tb_produtos
+            boolean quente = estoqueQuente.usarContador(reserva.getProdutoId());
+            int consumida = quente ? reservaRepository.confirmar(reserva.getId()) : reservaRepository.excluir(reserva.getId());
+            if (consumida == 1) {
+                consumidas.merge(reserva.getProdutoId(), reserva.getQuantidade(), Integer::sum);
+                if (quente) {
+                    estoqueQuente.registrarMovimentacao(reserva.getProdutoId());
+                }
+            }
+        }
+        return consumidas;
+    }
+
+    @Override
+    @Transactional
+    public boolean baixar(Long pedidoId, Long produtoId, int reservada, int restante, LocalDateTime agora) {
+        if (estoqueQuente.usarContador(produtoId)) {
+            return baixarQuente(pedidoId, produtoId, restante, agora);
+        }
+        if (reservada > 0 && produtoRepository.confirmarReserva(produtoId, reservada, agora) != 1) {
+            return false;
+        }
+        if (restante == 0 || produtoRepository.baixarEstoque(produtoId, restante, agora) == 1) {
+            return true;
+        }
+        // O produto pode ter entrado em modo quente enquanto o UPDATE esperava a trava da linha
+        return estoqueQuente.usarContador(produtoId) && baixarQuente(pedidoId, produtoId, restante, agora);
+    }
+
+    private boolean baixarQuente(Long pedidoId, Long produtoId, int restante, LocalDateTime agora) {
+        if (restante == 0) {
+            return true;
+        }
+        if (!estoqueQuente.tentarRetirar(produtoId, restante)) {
+            return false;
+        }
+        ReservaEstoque venda = new ReservaEstoque(pedidoId, produtoId, restante, agora);
+        venda.setConfirmada(true);
+        reservaRepository.save(venda);
+        return true;
+    }
+
+    @Override
+    public int disponivel(Produto produto) {
+        Integer quente = estoqueQuente.disponivel(produto.getId());
+        return quente != null ? quente : produto.getEstoqueDisponivel();
+    }
+
+    @Override
+    @Transactional
+    public void liberar(Long pedidoId) {
+        devolver(reservaRepository.findByPedidoIdAndConfirmadaFalse(pedidoId));
+    }
+
+    @Override
+    @Transactional
+    public int liberarExpiradas() {
+        List<ReservaEstoque> expiradas = reservaRepository.findExpiradas(LocalDateTime.now(),
+                PageRequest.of(0, TAMANHO_LOTE_VARREDURA));
+        int liberadas = devolver(expiradas);
+        if (liberadas > 0) {
+            log.info("{} reservas de estoque expiradas liberadas", liberadas);
+        }
+        return liberadas;
+    }
+
+    private int devolver(List<ReservaEstoque> reservas) {
+        int devolvidas = 0;
+        for (ReservaEstoque reserva : reservas) {
+            if (reservaRepository.excluir(reserva.getId()) == 1) {
+                if (estoqueQuente.usarContador(reserva.getProdutoId())) {
+                    estoqueQuente.devolver(reserva.getProdutoId(), reserva.getQuantidade());
+                } else {
+                    produtoRepository.liberarReserva(reserva.getProdutoId(), reserva.getQuantidade());
+                }
+                devolvidas++;
+            }
+        }
+        return devolvidas;
+    }
+
+    private boolean retirar(Long produtoId, int quantidade) {
+        if (estoqueQuente.usarContador(produtoId)) {
+            return estoqueQuente.tentarRetirar(produtoId, quantidade);
+        }
+        if (produtoRepository.reservarEstoque(produtoId, quantidade) == 1) {
+            return true;
+        }
+        // Mesmo caso de baixar: a ativação do modo quente liberou a trava com o contador já publicado
+        return estoqueQuente.usarContador(produtoId) && estoqueQuente.tentarRetirar(produtoId, quantidade);
+    }
+}
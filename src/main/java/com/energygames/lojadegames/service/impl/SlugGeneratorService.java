@@ -2,21 +2,25 @@ package com.energygames.lojadegames.service.impl;
 
 import com.energygames.lojadegames.model.Produto;
 import com.energygames.lojadegames.repository.ProdutoRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import com.energygames.lojadegames.util.TextoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.text.Normalizer;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
-@Slf4j
 public class SlugGeneratorService {
 
+    private static final Logger log = LoggerFactory.getLogger(SlugGeneratorService.class);
+
     private final ProdutoRepository produtoRepository;
 
+    public SlugGeneratorService(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
     /**
      * Gera slugs para todos os produtos que não possuem
      */
@@ -67,17 +71,7 @@ public class SlugGeneratorService {
             return "produto-sem-nome";
         }
         
-        // Normalizar caracteres acentuados
-        String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        
-        // Converter para minúsculas e remover caracteres especiais
-        return normalizado.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .replaceAll("^-|-$", "")
-                .trim();
+        return TextoUtils.gerarSlug(texto);
     }
 
     /**
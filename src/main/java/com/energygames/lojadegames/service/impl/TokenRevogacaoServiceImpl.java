@@ -0,0 +1,187 @@
+package com.energygames.lojadegames.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.energygames.lojadegames.event.UsuarioAlteradoEvent;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.CorteTokensUsuario;
+import com.energygames.lojadegames.model.TokenRevogado;
+import com.energygames.lojadegames.repository.CorteTokensUsuarioRepository;
+import com.energygames.lojadegames.repository.TokenRevogadoRepository;
+import com.energygames.lojadegames.service.TokenRevogacaoService;
+
+/**
+ * Lista de revogação em memória: jti -> exp (epoch ms)
+ * Só guarda tokens revogados e ainda não expirados, então fica pequena mesmo com muitos
+ * usuários. A primeira sincronização carrega todas as revogações em vigor; as seguintes
+ * buscam apenas as recentes, com uma margem para cobrir commits atrasados e relógios
+ * levemente diferentes entre instâncias.
+ *
+ * Os cortes por usuário seguem o mesmo ciclo. O iat do JWT tem precisão de segundos: o corte
+ * é truncado para o segundo, e tokens emitidos no mesmo segundo da alteração continuam válidos,
+ * para não recusar o login feito logo em seguida.
+ */
+@Service
+public class TokenRevogacaoServiceImpl implements TokenRevogacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevogacaoServiceImpl.class);
+
+    private static final Duration MARGEM_SINCRONIZACAO = Duration.ofSeconds(30);
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final CorteTokensUsuarioRepository corteRepository;
+    private final Duration validadeToken;
+    private final Map<String, Long> revogados = new ConcurrentHashMap<>();
+    private final Map<Long, Corte> cortes = new ConcurrentHashMap<>();
+    private volatile LocalDateTime ultimaSincronizacao;
+
+    /**
+     * Corte em memória: epoch em segundos (como o iat) e fim da validade em epoch ms
+     */
+    private record Corte(long emitidosAntes, long expiraEm) {
+
+        Corte mais(Corte outro) {
+            return outro.emitidosAntes > emitidosAntes ? outro : this;
+        }
+    }
+
+    public TokenRevogacaoServiceImpl(TokenRevogadoRepository tokenRevogadoRepository,
+            CorteTokensUsuarioRepository corteRepository, @Value("${jwt.expiration:3600000}") long validadeTokenMs) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.corteRepository = corteRepository;
+        this.validadeToken = Duration.ofMillis(validadeTokenMs);
+    }
+
+    @Override
+    public boolean isRevogado(String jti) {
+        // Tokens expirados já são recusados na verificação do exp; basta a presença na lista
+        return jti != null && revogados.containsKey(jti);
+    }
+
+    @Override
+    public boolean isEmitidoAntesDoCorte(Long usuarioId, Instant emitidoEm) {
+        Corte corte = usuarioId == null ? null : cortes.get(usuarioId);
+        if (corte == null) {
+            return false;
+        }
+        return emitidoEm == null || emitidoEm.getEpochSecond() < corte.emitidosAntes();
+    }
+
+    // Sem transação própria, como no registro de webhooks: a violação de unicidade de um
+    // logout repetido em paralelo é tratada aqui
+    @Override
+    public void revogar(String jti, Date expiracao, Long usuarioId) {
+        if (jti == null) {
+            throw new BusinessException("Token sem identificador não pode ser revogado");
+        }
+        LocalDateTime expiraEm = LocalDateTime.ofInstant(expiracao.toInstant(), ZoneId.systemDefault());
+        if (!tokenRevogadoRepository.existsByJti(jti)) {
+            try {
+                tokenRevogadoRepository.saveAndFlush(new TokenRevogado(jti, usuarioId, expiraEm));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Token {} já revogado por outra requisição", jti);
+            }
+        }
+        revogados.put(jti, expiracao.getTime());
+        log.info("Token {} do usuário {} revogado", jti, usuarioId);
+    }
+
+    /**
+     * Grava o corte na transação da alteração do usuário: senha nova e corte fazem commit juntos
+     */
+    @EventListener
+    @Transactional
+    public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+        if (event.getUsuarioId() != null) {
+            revogarEmitidosAntes(event.getUsuarioId(), Instant.now());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void revogarEmitidosAntes(Long usuarioId, Instant instante) {
+        LocalDateTime emitidosAntes = LocalDateTime.ofInstant(instante, ZoneId.systemDefault());
+        LocalDateTime expiraEm = emitidosAntes.plus(validadeToken);
+        if (corteRepository.avancar(usuarioId, emitidosAntes, expiraEm, LocalDateTime.now()) == 0) {
+            corteRepository.save(new CorteTokensUsuario(usuarioId, emitidosAntes, expiraEm));
+        }
+
+        Corte corte = new Corte(instante.getEpochSecond(), instante.plus(validadeToken).toEpochMilli());
+        aposCommit(() -> cortes.merge(usuarioId, corte, Corte::mais));
+        log.info("Tokens do usuário {} emitidos antes de {} revogados", usuarioId, emitidosAntes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void sincronizar() {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime desde = ultimaSincronizacao == null ? null : ultimaSincronizacao.minus(MARGEM_SINCRONIZACAO);
+        List<TokenRevogado> novos = desde == null
+                ? tokenRevogadoRepository.findByExpiraEmAfter(agora)
+                : tokenRevogadoRepository.findByRevogadoEmGreaterThanEqualAndExpiraEmAfter(desde, agora);
+        for (TokenRevogado token : novos) {
+            revogados.put(token.getJti(), epochMilli(token.getExpiraEm()));
+        }
+        List<CorteTokensUsuario> novosCortes = desde == null
+                ? corteRepository.findByExpiraEmAfter(agora)
+                : corteRepository.findByAtualizadoEmGreaterThanEqualAndExpiraEmAfter(desde, agora);
+        for (CorteTokensUsuario corte : novosCortes) {
+            cortes.merge(corte.getUsuarioId(), new Corte(epochMilli(corte.getEmitidosAntes()) / 1000,
+                    epochMilli(corte.getExpiraEm())), Corte::mais);
+        }
+
+        long agoraMs = System.currentTimeMillis();
+        revogados.values().removeIf(expiracao -> expiracao <= agoraMs);
+        cortes.values().removeIf(corte -> corte.expiraEm() <= agoraMs);
+        ultimaSincronizacao = agora;
+        if (!novos.isEmpty() || !novosCortes.isEmpty()) {
+            log.debug("Lista de revogação sincronizada: {} tokens e {} cortes novos, {} tokens e {} cortes em memória",
+                    novos.size(), novosCortes.size(), revogados.size(), cortes.size());
+        }
+    }
+
+    @Override
+    @Transactional
+    public int removerExpirados() {
+        LocalDateTime agora = LocalDateTime.now();
+        int removidos = tokenRevogadoRepository.deleteExpirados(agora) + corteRepository.deleteExpirados(agora);
+        if (removidos > 0) {
+            log.info("{} revogações de tokens expirados removidas", removidos);
+        }
+        return removidos;
+    }
+
+    private static long epochMilli(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -1,31 +1,42 @@
 package com.energygames.lojadegames.service.impl;
 
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.energygames.lojadegames.dto.mapper.UsuarioMapper;
 import com.energygames.lojadegames.dto.request.LoginRequestDTO;
+import com.energygames.lojadegames.dto.request.RefreshTokenRequestDTO;
 import com.energygames.lojadegames.dto.request.SenhaResetDTO;
 import com.energygames.lojadegames.dto.request.SenhaUpdateDTO;
 import com.energygames.lojadegames.dto.request.UsuarioRequestDTO;
 import com.energygames.lojadegames.dto.response.AuthResponseDTO;
 import com.energygames.lojadegames.dto.response.UsuarioResponseDTO;
+import com.energygames.lojadegames.event.UsuarioAlteradoEvent;
 import com.energygames.lojadegames.exception.BusinessException;
 import com.energygames.lojadegames.exception.DuplicateResourceException;
 import com.energygames.lojadegames.exception.ResourceNotFoundException;
+import com.energygames.lojadegames.exception.TooManyRequestsException;
 import com.energygames.lojadegames.exception.UnauthorizedException;
 import com.energygames.lojadegames.model.Usuario;
 import com.energygames.lojadegames.repository.UsuarioRepository;
 import com.energygames.lojadegames.security.JwtService;
+import com.energygames.lojadegames.security.TentativasLogin;
+import com.energygames.lojadegames.security.TokenValidado;
+import com.energygames.lojadegames.service.RefreshTokenService;
+import com.energygames.lojadegames.service.TokenRevogacaoService;
 import com.energygames.lojadegames.service.UsuarioService;
 
 @Service
@@ -38,14 +49,27 @@ public class UsuarioServiceImpl implements UsuarioService {
 	private final JwtService jwtService;
 	private final AuthenticationManager authenticationManager;
 	private final PasswordEncoder passwordEncoder;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TokenRevogacaoService tokenRevogacaoService;
+	private final RefreshTokenService refreshTokenService;
+	private final TentativasLogin tentativasLogin;
+	private final TransactionTemplate transacao;
 
 	public UsuarioServiceImpl(UsuarioRepository usuarioRepository, UsuarioMapper usuarioMapper,
-			JwtService jwtService, AuthenticationManager authenticationManager, PasswordEncoder passwordEncoder) {
+			JwtService jwtService, AuthenticationManager authenticationManager, PasswordEncoder passwordEncoder,
+			ApplicationEventPublisher eventPublisher, TokenRevogacaoService tokenRevogacaoService,
+			RefreshTokenService refreshTokenService, TentativasLogin tentativasLogin,
+			PlatformTransactionManager transactionManager) {
 		this.usuarioRepository = usuarioRepository;
 		this.usuarioMapper = usuarioMapper;
 		this.jwtService = jwtService;
 		this.authenticationManager = authenticationManager;
 		this.passwordEncoder = passwordEncoder;
+		this.eventPublisher = eventPublisher;
+		this.tokenRevogacaoService = tokenRevogacaoService;
+		this.refreshTokenService = refreshTokenService;
+		this.tentativasLogin = tentativasLogin;
+		this.transacao = new TransactionTemplate(transactionManager);
 	}
 
 	@Override
@@ -66,9 +90,11 @@ public class UsuarioServiceImpl implements UsuarioService {
 		return usuarioMapper.toResponseDTO(usuario);
 	}
 
+	// Sem transação envolvendo o método: o BCrypt pode aguardar na fila do pool de hash e não deve
+	// segurar uma conexão do banco enquanto isso (cada acesso ao repositório tem a sua)
 	@Override
-	@Transactional
-	public UsuarioResponseDTO cadastrar(UsuarioRequestDTO dto) {
+	public UsuarioResponseDTO cadastrar(UsuarioRequestDTO dto, String ip) {
+		tentativasLogin.verificar(ip, null);
 		log.info("Cadastrando novo usuário: {}", dto.getEmail());
 
 		if (usuarioRepository.findByEmail(dto.getEmail()).isPresent()) {
@@ -85,32 +111,43 @@ public class UsuarioServiceImpl implements UsuarioService {
 		return usuarioMapper.toResponseDTO(usuarioSalvo);
 	}
 
+	// Sem transação envolvendo o método, como na troca de senha: a nova senha é gerada no pool de hash
+	// antes da transação curta que grava a atualização
 	@Override
-	@Transactional
-	public UsuarioResponseDTO atualizar(Long id, UsuarioRequestDTO dto) {
+	public UsuarioResponseDTO atualizar(Long id, UsuarioRequestDTO dto, String ip) {
 		log.info("Atualizando usuário ID: {}", id);
 
 		Usuario usuario = usuarioRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
-
-		usuarioRepository.findByEmail(dto.getEmail()).ifPresent(usuarioExistente -> {
-			if (!usuarioExistente.getId().equals(id)) {
-				throw new DuplicateResourceException("Email já cadastrado: " + dto.getEmail());
-			}
+		tentativasLogin.verificar(ip, usuario.getEmail());
+		verificarEmailDisponivel(id, dto.getEmail());
+		String novaSenha = criptografarSenha(dto.getSenha());
+
+		Usuario usuarioAtualizado = transacao.execute(status -> {
+			Usuario atual = usuarioRepository.findById(id)
+					.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
+			// Repetida na transação: o email pode ter sido ocupado enquanto o hash era gerado
+			verificarEmailDisponivel(id, dto.getEmail());
+
+			String emailAnterior = atual.getEmail();
+			usuarioMapper.updateEntity(dto, atual);
+			atual.setSenha(novaSenha);
+
+			Usuario salvo = usuarioRepository.save(atual);
+			// A atualização regrava email e senha: sessões abertas com as credenciais anteriores terminam
+			refreshTokenService.revogarDoUsuario(id);
+			eventPublisher.publishEvent(new UsuarioAlteradoEvent(id, emailAnterior));
+			return salvo;
 		});
 
-		usuarioMapper.updateEntity(dto, usuario);
-		usuario.setSenha(criptografarSenha(usuario.getSenha()));
-
-		Usuario usuarioAtualizado = usuarioRepository.save(usuario);
-
 		log.info("Usuário atualizado com sucesso. ID: {}", id);
 		return usuarioMapper.toResponseDTO(usuarioAtualizado);
 	}
 
+	// Sem transação envolvendo o método, pelo mesmo motivo do cadastro
 	@Override
-	@Transactional
-	public AuthResponseDTO autenticar(LoginRequestDTO dto) {
+	public AuthResponseDTO autenticar(LoginRequestDTO dto, String ip) {
+		tentativasLogin.verificar(ip, dto.getEmail());
 		log.info("Autenticando usuário: {}", dto.getEmail());
 
 		try {
@@ -121,45 +158,96 @@ public class UsuarioServiceImpl implements UsuarioService {
 				Usuario usuario = usuarioRepository.findByEmail(dto.getEmail())
 						.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + dto.getEmail()));
 
-				String token = gerarToken(dto.getEmail());
+				String token = gerarToken(usuario);
+				String refreshToken = refreshTokenService.emitir(usuario);
 
+				tentativasLogin.registrarSucesso(dto.getEmail());
 				log.info("Usuário autenticado com sucesso: {}", dto.getEmail());
-				return usuarioMapper.toAuthResponseDTO(usuario, token);
+				return usuarioMapper.toAuthResponseDTO(usuario, token, refreshToken);
 			}
+		} catch (TooManyRequestsException e) {
+			// Pool de hash cheio: não é falha de credencial
+			throw e;
 		} catch (Exception e) {
+			tentativasLogin.registrarFalha(dto.getEmail());
 			log.warn("Falha na autenticação para usuário: {}", dto.getEmail());
 			throw new UnauthorizedException("Credenciais inválidas");
 		}
 
+		tentativasLogin.registrarFalha(dto.getEmail());
 		throw new UnauthorizedException("Credenciais inválidas");
 	}
 
+	// Sem transação própria: a revogação por reuso feita na rotação precisa ser gravada mesmo
+	// quando a renovação é recusada
 	@Override
-	@Transactional
-	public void alterarSenha(Long id, SenhaUpdateDTO dto) {
+	public AuthResponseDTO renovar(RefreshTokenRequestDTO dto) {
+		RefreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(dto.getRefreshToken());
+		Usuario usuario = rotacao.usuario();
+		log.debug("Access token renovado para o usuário {}", usuario.getId());
+		return usuarioMapper.toAuthResponseDTO(usuario, gerarToken(usuario), rotacao.refreshToken());
+	}
+
+	// Sem transação envolvendo o método, como no login: a senha atual é conferida e a nova é gerada no
+	// pool de hash antes da transação curta que grava a troca
+	@Override
+	public void alterarSenha(Long id, SenhaUpdateDTO dto, String ip) {
 		Usuario usuario = usuarioRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
+		tentativasLogin.verificar(ip, usuario.getEmail());
 
-		if (!passwordEncoder.matches(dto.getSenhaAtual(), usuario.getSenha())) {
+		String senhaVerificada = usuario.getSenha();
+		if (!passwordEncoder.matches(dto.getSenhaAtual(), senhaVerificada)) {
+			tentativasLogin.registrarFalha(usuario.getEmail());
 			throw new BusinessException("Senha atual incorreta");
 		}
-
-		usuario.setSenha(passwordEncoder.encode(dto.getNovaSenha()));
-		usuarioRepository.save(usuario);
+		tentativasLogin.registrarSucesso(usuario.getEmail());
+		String novaSenha = passwordEncoder.encode(dto.getNovaSenha());
+
+		transacao.executeWithoutResult(status -> {
+			Usuario atual = usuarioRepository.findById(id)
+					.orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
+			// A conferência foi feita fora da transação: outra troca no meio invalida a senha informada
+			if (!senhaVerificada.equals(atual.getSenha())) {
+				throw new BusinessException("A senha foi alterada por outra requisição. Tente novamente.");
+			}
+			atual.setSenha(novaSenha);
+			usuarioRepository.save(atual);
+			refreshTokenService.revogarDoUsuario(id);
+			eventPublisher.publishEvent(new UsuarioAlteradoEvent(id, atual.getEmail()));
+		});
 		log.info("Senha alterada com sucesso para usuário ID: {}", id);
 	}
 
+	@Override
+	public void logout(String token, String refreshToken) {
+		TokenValidado validado = jwtService.validar(token);
+		tokenRevogacaoService.revogar(validado.jti(), Date.from(validado.expiracao()), validado.usuarioId());
+		if (refreshToken != null && !refreshToken.isBlank()) {
+			refreshTokenService.revogar(refreshToken);
+		}
+		log.info("Logout do usuário: {}", validado.email());
+	}
+
 	@Override
 	public void recuperarSenha(SenhaResetDTO dto) {
 		log.info("Solicitação de recuperação de senha para email: {}", dto.getEmail());
 		log.info("Email de recuperação enviado para: {}", dto.getEmail());
 	}
 
-	private String criptografarSenha(String senha) {
+	private void verificarEmailDisponivel(Long id, String email) {
+		usuarioRepository.findByEmail(email).ifPresent(usuarioExistente -> {
+			if (!usuarioExistente.getId().equals(id)) {
+				throw new DuplicateResourceException("Email já cadastrado: " + email);
+			}
+		});
+	}
+
+		private String criptografarSenha(String senha) {
 		return passwordEncoder.encode(senha);
 	}
 
-	private String gerarToken(String email) {
-		return jwtService.generateToken(email);
+	private String gerarToken(Usuario usuario) {
+		return jwtService.generateToken(usuario);
 	}
 }
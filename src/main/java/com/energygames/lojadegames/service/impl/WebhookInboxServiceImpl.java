@@ -0,0 +1,221 @@
+package com.energygames.lojadegames.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.energygames.lojadegames.enums.StatusWebhookEventoEnum;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.exception.ResourceNotFoundException;
+import com.energygames.lojadegames.model.WebhookEvento;
+import com.energygames.lojadegames.repository.WebhookEventoRepository;
+import com.energygames.lojadegames.service.BillingService;
+import com.energygames.lojadegames.service.WebhookInboxService;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.model.Event;
+import com.stripe.model.StripeObject;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
+
+/**
+ * Caixa de entrada transacional dos webhooks do Stripe
+ * O evento é gravado bruto na ingestão e reprocessado a partir do payload pelos workers.
+ * A reivindicação é um UPDATE condicional, então várias instâncias podem drenar a mesma tabela.
+ */
+@Service
+public class WebhookInboxServiceImpl implements WebhookInboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookInboxServiceImpl.class);
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private final WebhookEventoRepository webhookEventoRepository;
+    private final BillingService billingService;
+    private final int maximoTentativas;
+    private final Duration backoffInicial;
+    private final Duration backoffMaximo;
+    private final Duration prazoProcessamento;
+
+    public WebhookInboxServiceImpl(WebhookEventoRepository webhookEventoRepository, BillingService billingService,
+            @Value("${webhook.inbox.maximo-tentativas:8}") int maximoTentativas,
+            @Value("${webhook.inbox.backoff-inicial-ms:2000}") long backoffInicialMs,
+            @Value("${webhook.inbox.backoff-maximo-ms:600000}") long backoffMaximoMs,
+            @Value("${webhook.inbox.prazo-processamento-minutos:5}") long prazoProcessamentoMinutos) {
+        this.webhookEventoRepository = webhookEventoRepository;
+        this.billingService = billingService;
+        this.maximoTentativas = maximoTentativas;
+        this.backoffInicial = Duration.ofMillis(backoffInicialMs);
+        this.backoffMaximo = Duration.ofMillis(backoffMaximoMs);
+        this.prazoProcessamento = Duration.ofMinutes(prazoProcessamentoMinutos);
+    }
+
+    // Sem transação própria: o INSERT roda na transação do repositório, e a violação de unicidade
+    // de uma reentrega concorrente pode ser tratada aqui sem marcar uma transação externa para rollback
+    @Override
+    public boolean registrar(Event event, String payload) {
+        if (webhookEventoRepository.existsByStripeEventId(event.getId())) {
+            return false;
+        }
+
+        WebhookEvento evento = new WebhookEvento();
+        evento.setStripeEventId(event.getId());
+        evento.setTipo(event.getType());
+        evento.setChave(chave(event));
+        evento.setPayload(payload);
+        try {
+            webhookEventoRepository.saveAndFlush(evento);
+        } catch (DataIntegrityViolationException e) {
+            // Reentrega concorrente do mesmo evento: a outra requisição já gravou
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> reivindicar(int limite) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> prontos = webhookEventoRepository.findProntos(agora,
+                StatusWebhookEventoEnum.PENDENTE, StatusWebhookEventoEnum.PROCESSANDO, PageRequest.of(0, limite));
+
+        List<Long> reivindicados = new ArrayList<>(prontos.size());
+        LocalDateTime bloqueadoAte = agora.plus(prazoProcessamento);
+        for (Long id : prontos) {
+            if (webhookEventoRepository.reivindicar(id, bloqueadoAte,
+                    StatusWebhookEventoEnum.PENDENTE, StatusWebhookEventoEnum.PROCESSANDO) == 1) {
+                reivindicados.add(id);
+            }
+        }
+        return reivindicados;
+    }
+
+    @Override
+    @Transactional
+    public void processar(Long id) {
+        WebhookEvento evento = webhookEventoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Evento de webhook não encontrado: " + id));
+        if (evento.getStatus() != StatusWebhookEventoEnum.PROCESSANDO) {
+            return;
+        }
+
+        Event event = ApiResource.GSON.fromJson(evento.getPayload(), Event.class);
+        log.info("Processando webhook: type={}, id={}, tentativa={}", event.getType(), event.getId(), evento.getTentativas());
+
+        switch (event.getType()) {
+            case "checkout.session.completed" -> {
+                Session session = sessao(event);
+                if ("paid".equals(session.getPaymentStatus())) {
+                    billingService.handlePaymentSuccess(session.getId(), event.getId());
+                } else {
+                    log.info("Checkout completed mas pagamento não confirmado: {}", session.getPaymentStatus());
+                }
+            }
+
+            case "checkout.session.expired" -> billingService.handlePaymentFailure(sessao(event).getId(), event.getId());
+
+            case "payment_intent.succeeded" -> log.info("PaymentIntent succeeded - processado via checkout.session.completed");
+
+            case "payment_intent.payment_failed" -> log.warn("PaymentIntent falhou: {}", event.getId());
+
+            default -> log.info("Evento não tratado: {}", event.getType());
+        }
+
+        evento.setStatus(StatusWebhookEventoEnum.PROCESSADO);
+        evento.setProcessadoEm(LocalDateTime.now());
+        evento.setBloqueadoAte(null);
+        evento.setUltimoErro(null);
+    }
+
+    @Override
+    @Transactional
+    public void registrarFalha(Long id, RuntimeException erro) {
+        WebhookEvento evento = webhookEventoRepository.findById(id).orElse(null);
+        if (evento == null || evento.getStatus() != StatusWebhookEventoEnum.PROCESSANDO) {
+            return;
+        }
+
+        evento.setBloqueadoAte(null);
+        evento.setUltimoErro(resumir(erro));
+
+        // Regra de negócio violada (ex.: estoque insuficiente) não muda com uma nova tentativa
+        boolean definitiva = erro instanceof BusinessException;
+        if (definitiva || evento.getTentativas() >= maximoTentativas) {
+            evento.setStatus(StatusWebhookEventoEnum.FALHOU);
+            log.error("Webhook {} ({}) movido para FALHOU após {} tentativa(s): {}",
+                    evento.getStripeEventId(), evento.getTipo(), evento.getTentativas(), erro.getMessage());
+            return;
+        }
+
+        Duration espera = backoff(evento.getTentativas());
+        evento.setStatus(StatusWebhookEventoEnum.PENDENTE);
+        evento.setProximaTentativa(LocalDateTime.now().plus(espera));
+        log.warn("Falha ao processar webhook {} ({}), tentativa {}/{}; nova tentativa em {} ms: {}",
+                evento.getStripeEventId(), evento.getTipo(), evento.getTentativas(), maximoTentativas,
+                espera.toMillis(), erro.getMessage());
+    }
+
+    @Override
+    @Transactional
+    public int liberarTravados() {
+        int liberados = webhookEventoRepository.liberarTravados(LocalDateTime.now(),
+                StatusWebhookEventoEnum.PENDENTE, StatusWebhookEventoEnum.PROCESSANDO);
+        if (liberados > 0) {
+            log.warn("{} evento(s) de webhook devolvido(s) à fila após prazo de processamento", liberados);
+        }
+        return liberados;
+    }
+
+    /**
+     * Backoff exponencial a partir da primeira falha: inicial, 2x, 4x... limitado ao máximo
+     */
+    Duration backoff(int tentativas) {
+        int expoente = Math.min(Math.max(tentativas - 1, 0), 20);
+        Duration espera = backoffInicial.multipliedBy(1L << expoente);
+        return espera.compareTo(backoffMaximo) > 0 ? backoffMaximo : espera;
+    }
+
+    /**
+     * Pedido do evento (metadata definida no checkout), ou a própria sessão quando não houver
+     */
+    private static String chave(Event event) {
+        if (objeto(event) instanceof Session session) {
+            String pedidoId = session.getMetadata() != null ? session.getMetadata().get("pedido_id") : null;
+            return pedidoId != null ? "pedido:" + pedidoId : "sessao:" + session.getId();
+        }
+        return null;
+    }
+
+    private static Session sessao(Event event) {
+        if (!(objeto(event) instanceof Session session)) {
+            throw new BusinessException("Falha ao deserializar session do evento " + event.getId());
+        }
+        return session;
+    }
+
+    private static StripeObject objeto(Event event) {
+        StripeObject objeto = event.getDataObjectDeserializer().getObject().orElse(null);
+        if (objeto != null) {
+            return objeto;
+        }
+        // Versão da API do evento diferente da biblioteca: tenta com os campos disponíveis
+        try {
+            return event.getDataObjectDeserializer().deserializeUnsafe();
+        } catch (EventDataObjectDeserializationException e) {
+            return null;
+        }
+    }
+
+    private static String resumir(RuntimeException erro) {
+        String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
@@ -0,0 +1,460 @@
+package com.energygames.lojadegames.service.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.energygames.lojadegames.dto.response.ProdutoSugestaoDTO;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+
+/**
+ * Índice de prefixos em memória para o autocomplete da busca do catálogo
+ * Indexa os termos do nome e do slug dos produtos ativos (mesma tokenização do ProdutoSearchIndex)
+ * em um dicionário ordenado, onde cada prefixo digitado é um intervalo de termos.
+ *
+ * Cada termo guarda seus produtos já ordenados por popularidade (seguidores e rating da IGDB),
+ * então as melhores sugestões de um termo são sempre as primeiras da lista e a consulta
+ * não precisa percorrer todos os produtos de prefixos curtos.
+ *
+ * Termos com 4 ou mais caracteres toleram um erro de digitação (distância de edição 1:
+ * inserção, remoção, troca ou transposição); sugestões com erro vêm depois das exatas.
+ * Construído na inicialização e mantido incrementalmente via ProdutoAlteradoEvent.
+ */
+@Component
+public class ProdutoAutocompleteIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(ProdutoAutocompleteIndex.class);
+
+	private static final int TAMANHO_LOTE = 1000;
+	private static final int TAMANHO_MINIMO_TOLERANCIA = 4;
+
+	// Rating (0-100) vale até 5 pontos, o mesmo que ~150 seguidores na escala logarítmica
+	private static final double PESO_RATING = 0.05;
+
+	private static final char[] ALFABETO = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+	// Níveis de casamento: menor é melhor
+	private static final int EXATO = 0;
+	private static final int COM_ERRO = 1;
+
+	private static final Comparator<Candidato> ORDEM = Comparator
+		.comparingInt(Candidato::nivel)
+		.thenComparing(Candidato::pontuacao, Comparator.reverseOrder())
+		.thenComparing(Candidato::id);
+
+	private final ProdutoRepository produtoRepository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final TreeMap<String, ListaRanqueada> termos = new TreeMap<>();
+	private final Map<Long, Entrada> entradas = new HashMap<>();
+
+	private volatile boolean pronto = false;
+
+	public ProdutoAutocompleteIndex(ProdutoRepository produtoRepository) {
+		this.produtoRepository = produtoRepository;
+	}
+
+	/**
+	 * Reconstrói o índice completo a partir do banco em lotes (keyset por ID)
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruir() {
+		long inicio = System.currentTimeMillis();
+		log.info("Construindo índice de autocomplete do catálogo");
+
+		lock.writeLock().lock();
+		try {
+			termos.clear();
+			entradas.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		long ultimoId = 0L;
+		List<Object[]> lote;
+		do {
+			lote = produtoRepository.findDadosAutocompleteAposId(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+			for (Object[] linha : lote) {
+				indexarLinha(linha);
+				ultimoId = (Long) linha[0];
+			}
+		} while (lote.size() == TAMANHO_LOTE);
+
+		pronto = true;
+		log.info("Índice de autocomplete construído: {} produtos, {} termos em {} ms",
+			getTotalProdutos(), getTotalTermos(), System.currentTimeMillis() - inicio);
+	}
+
+	/**
+	 * Mantém o índice sincronizado após o commit de alterações no catálogo
+	 * Produtos desativados saem das sugestões
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+		if (event.isApenasEstoque()) {
+			return;
+		}
+
+		Long id = event.getProdutoId();
+		List<Object[]> linhas = event.isRemocao() ? List.of() : produtoRepository.findDadosAutocompletePorId(id);
+		if (linhas.isEmpty()) {
+			remover(id);
+			return;
+		}
+		indexarLinha(linhas.get(0));
+	}
+
+	/**
+	 * Indexa (ou reindexa) um produto
+	 */
+	public void indexar(Long id, String nome, String slug, Integer popularidade, BigDecimal ratingIgdb, String capa) {
+		float pontuacao = pontuacao(popularidade, ratingIgdb);
+		Set<String> termosProduto = new LinkedHashSet<>(ProdutoSearchIndex.tokenizar(nome));
+		termosProduto.addAll(ProdutoSearchIndex.tokenizar(slug));
+
+		lock.writeLock().lock();
+		try {
+			removerSemLock(id);
+
+			String[] chaves = new String[termosProduto.size()];
+			int i = 0;
+			for (String termo : termosProduto) {
+				ListaRanqueada lista = termos.get(termo);
+				if (lista == null) {
+					lista = new ListaRanqueada();
+					termos.put(termo, lista);
+					chaves[i++] = termo;
+				} else {
+					// Reutiliza a instância da chave do dicionário para não duplicar strings
+					chaves[i++] = termos.ceilingKey(termo);
+				}
+				lista.inserir(id, pontuacao);
+			}
+
+			entradas.put(id, new Entrada(new ProdutoSugestaoDTO(id, nome, slug, capa), pontuacao, chaves));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove um produto do índice
+	 */
+	public void remover(Long id) {
+		lock.writeLock().lock();
+		try {
+			removerSemLock(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Sugestões para o texto digitado
+	 * Os termos anteriores precisam casar por inteiro; o último casa por prefixo (digitação em andamento)
+	 * @param consulta Texto digitado pelo usuário
+	 * @param limite Quantidade máxima de sugestões
+	 * @return Sugestões exatas primeiro, depois as com erro de digitação, cada grupo por popularidade
+	 */
+	public List<ProdutoSugestaoDTO> sugerir(String consulta, int limite) {
+		List<String> tokens = ProdutoSearchIndex.tokenizar(consulta);
+		if (tokens.isEmpty() || limite <= 0) {
+			return List.of();
+		}
+
+		lock.readLock().lock();
+		try {
+			Map<String, Integer> termosUltimo = casar(tokens.get(tokens.size() - 1), true);
+			if (termosUltimo.isEmpty()) {
+				return List.of();
+			}
+			if (tokens.size() == 1) {
+				return ordenar(melhoresPorTermo(termosUltimo, limite), limite);
+			}
+
+			Map<Long, Integer> candidatos = null;
+			for (String token : tokens.subList(0, tokens.size() - 1)) {
+				Map<Long, Integer> parcial = new HashMap<>();
+				for (Map.Entry<String, Integer> termo : casar(token, false).entrySet()) {
+					ListaRanqueada lista = termos.get(termo.getKey());
+					for (int j = 0; j < lista.tamanho; j++) {
+						parcial.merge(lista.ids[j], termo.getValue(), Math::min);
+					}
+				}
+
+				if (candidatos == null) {
+					candidatos = parcial;
+				} else {
+					candidatos.keySet().retainAll(parcial.keySet());
+					candidatos.replaceAll((id, nivel) -> Math.max(nivel, parcial.get(id)));
+				}
+				if (candidatos.isEmpty()) {
+					return List.of();
+				}
+			}
+
+			List<Candidato> resultado = new ArrayList<>();
+			for (Map.Entry<Long, Integer> candidato : candidatos.entrySet()) {
+				Entrada entrada = entradas.get(candidato.getKey());
+				int melhor = Integer.MAX_VALUE;
+				for (String termo : entrada.termos) {
+					Integer nivel = termosUltimo.get(termo);
+					if (nivel != null) {
+						melhor = Math.min(melhor, nivel);
+					}
+				}
+				if (melhor != Integer.MAX_VALUE) {
+					resultado.add(new Candidato(entrada, Math.max(candidato.getValue(), melhor)));
+				}
+			}
+			return ordenar(resultado, limite);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public boolean isPronto() {
+		return pronto;
+	}
+
+	public int getTotalProdutos() {
+		lock.readLock().lock();
+		try {
+			return entradas.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int getTotalTermos() {
+		lock.readLock().lock();
+		try {
+			return termos.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Converte uma linha de ProdutoRepository.SELECT_AUTOCOMPLETE em sugestão
+	 */
+	public static ProdutoSugestaoDTO sugestaoDe(Object[] linha) {
+		return new ProdutoSugestaoDTO((Long) linha[0], (String) linha[1], (String) linha[2], (String) linha[5]);
+	}
+
+	/**
+	 * Pontuação de popularidade: seguidores em escala logarítmica + rating da IGDB
+	 */
+	static float pontuacao(Integer popularidade, BigDecimal ratingIgdb) {
+		double seguidores = popularidade == null ? 0 : Math.log1p(Math.max(0, popularidade));
+		double rating = ratingIgdb == null ? 0 : ratingIgdb.doubleValue() * PESO_RATING;
+		return (float) (seguidores + rating);
+	}
+
+	/**
+	 * Variações a um erro de digitação do termo (sem o próprio termo)
+	 */
+	static Set<String> variacoes(String termo) {
+		Set<String> variacoes = new LinkedHashSet<>();
+		StringBuilder sb = new StringBuilder(termo.length() + 1);
+		for (int i = 0; i < termo.length(); i++) {
+			// Remoção
+			variacoes.add(sb.append(termo, 0, i).append(termo, i + 1, termo.length()).toString());
+			sb.setLength(0);
+			// Transposição com o próximo caractere
+			if (i + 1 < termo.length() && termo.charAt(i) != termo.charAt(i + 1)) {
+				variacoes.add(sb.append(termo, 0, i).append(termo.charAt(i + 1)).append(termo.charAt(i))
+					.append(termo, i + 2, termo.length()).toString());
+				sb.setLength(0);
+			}
+		}
+		for (int i = 0; i <= termo.length(); i++) {
+			for (char c : ALFABETO) {
+				// Inserção
+				variacoes.add(sb.append(termo, 0, i).append(c).append(termo, i, termo.length()).toString());
+				sb.setLength(0);
+				// Substituição
+				if (i < termo.length() && termo.charAt(i) != c) {
+					variacoes.add(sb.append(termo, 0, i).append(c).append(termo, i + 1, termo.length()).toString());
+					sb.setLength(0);
+				}
+			}
+		}
+		variacoes.remove(termo);
+		return variacoes;
+	}
+
+	/**
+	 * Termos do dicionário que casam com o token, com o melhor nível de casamento de cada um
+	 */
+	private Map<String, Integer> casar(String token, boolean prefixo) {
+		Map<String, Integer> casados = new HashMap<>();
+		adicionarCasados(casados, token, prefixo, EXATO);
+		if (token.length() >= TAMANHO_MINIMO_TOLERANCIA) {
+			for (String variacao : variacoes(token)) {
+				adicionarCasados(casados, variacao, prefixo, COM_ERRO);
+			}
+		}
+		return casados;
+	}
+
+	private void adicionarCasados(Map<String, Integer> casados, String termo, boolean prefixo, int nivel) {
+		if (!prefixo) {
+			if (termos.containsKey(termo)) {
+				casados.merge(termo, nivel, Math::min);
+			}
+			return;
+		}
+		for (String chave : termos.subMap(termo, true, termo + Character.MAX_VALUE, false).keySet()) {
+			casados.merge(chave, nivel, Math::min);
+		}
+	}
+
+	/**
+	 * Consulta de um único token: basta olhar as primeiras posições da lista de cada termo,
+	 * já que as listas estão em ordem de popularidade (exatos antes dos com erro)
+	 */
+	private Collection<Candidato> melhoresPorTermo(Map<String, Integer> casados, int limite) {
+		Map<Long, Candidato> escolhidos = new HashMap<>();
+		for (int nivel = EXATO; nivel <= COM_ERRO; nivel++) {
+			for (Map.Entry<String, Integer> termo : casados.entrySet()) {
+				if (termo.getValue() != nivel) {
+					continue;
+				}
+				ListaRanqueada lista = termos.get(termo.getKey());
+				int usados = 0;
+				for (int j = 0; j < lista.tamanho && usados < limite; j++) {
+					Candidato atual = escolhidos.get(lista.ids[j]);
+					if (atual == null) {
+						escolhidos.put(lista.ids[j], new Candidato(entradas.get(lista.ids[j]), nivel));
+						usados++;
+					} else if (atual.nivel() == nivel) {
+						usados++;
+					}
+				}
+			}
+		}
+		return escolhidos.values();
+	}
+
+	private List<ProdutoSugestaoDTO> ordenar(Collection<Candidato> candidatos, int limite) {
+		return candidatos.stream()
+			.sorted(ORDEM)
+			.limit(limite)
+			.map(candidato -> candidato.entrada().sugestao)
+			.toList();
+	}
+
+	private void indexarLinha(Object[] linha) {
+		indexar((Long) linha[0], (String) linha[1], (String) linha[2], (Integer) linha[3], (BigDecimal) linha[4],
+			(String) linha[5]);
+	}
+
+	private void removerSemLock(Long id) {
+		Entrada entrada = entradas.remove(id);
+		if (entrada == null) {
+			return;
+		}
+		for (String termo : entrada.termos) {
+			ListaRanqueada lista = termos.get(termo);
+			if (lista != null && lista.remover(id, entrada.pontuacao) && lista.tamanho == 0) {
+				termos.remove(termo);
+			}
+		}
+	}
+
+	private record Candidato(Entrada entrada, int nivel) {
+
+		private float pontuacao() {
+			return entrada.pontuacao;
+		}
+
+		private long id() {
+			return entrada.sugestao.getId();
+		}
+	}
+
+	/**
+	 * Sugestão pronta para resposta, pontuação e termos indexados (para remoção)
+	 */
+	private static final class Entrada {
+		private final ProdutoSugestaoDTO sugestao;
+		private final float pontuacao;
+		private final String[] termos;
+
+		private Entrada(ProdutoSugestaoDTO sugestao, float pontuacao, String[] termos) {
+			this.sugestao = sugestao;
+			this.pontuacao = pontuacao;
+			this.termos = termos;
+		}
+	}
+
+	/**
+	 * Produtos de um termo em arrays primitivos paralelos, ordenados por pontuação (maior primeiro) e ID
+	 */
+	private static final class ListaRanqueada {
+		private long[] ids = new long[4];
+		private float[] pontuacoes = new float[4];
+		private int tamanho;
+
+		private void inserir(long id, float pontuacao) {
+			int posicao = posicao(id, pontuacao);
+			if (tamanho == ids.length) {
+				ids = Arrays.copyOf(ids, tamanho * 2);
+				pontuacoes = Arrays.copyOf(pontuacoes, tamanho * 2);
+			}
+			System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+			System.arraycopy(pontuacoes, posicao, pontuacoes, posicao + 1, tamanho - posicao);
+			ids[posicao] = id;
+			pontuacoes[posicao] = pontuacao;
+			tamanho++;
+		}
+
+		private boolean remover(long id, float pontuacao) {
+			int posicao = posicao(id, pontuacao);
+			if (posicao >= tamanho || ids[posicao] != id) {
+				return false;
+			}
+			System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+			System.arraycopy(pontuacoes, posicao + 1, pontuacoes, posicao, tamanho - posicao - 1);
+			tamanho--;
+			return true;
+		}
+
+		/**
+		 * Busca binária pela posição de (pontuação, ID) na ordem da lista
+		 */
+		private int posicao(long id, float pontuacao) {
+			int inicio = 0;
+			int fim = tamanho;
+			while (inicio < fim) {
+				int meio = (inicio + fim) >>> 1;
+				boolean antes = pontuacoes[meio] > pontuacao || (pontuacoes[meio] == pontuacao && ids[meio] < id);
+				if (antes) {
+					inicio = meio + 1;
+				} else {
+					fim = meio;
+				}
+			}
+			return inicio;
+		}
+	}
+}
@@ -0,0 +1,482 @@
+package com.energygames.lojadegames.service.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.energygames.lojadegames.dto.response.FacetaValorDTO;
+import com.energygames.lojadegames.enums.StatusJogoEnum;
+import com.energygames.lojadegames.event.CategoriaAlteradaEvent;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.repository.CategoriaRepository;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.util.Dinheiro;
+
+/**
+ * Índice de facetas em memória para a busca do catálogo (produtos ativos)
+ * Cada valor de faceta (categoria, plataforma, gênero, status, faixa de preço e de rating)
+ * guarda o conjunto de produtos como bitmap sobre ordinais densos: o ID do produto é mapeado
+ * para uma posição compacta, reaproveitada após remoções, então cada bitmap ocupa um bit por produto.
+ *
+ * Uma consulta intersecta os bitmaps dos filtros selecionados e conta, para cada faceta,
+ * os valores dentro do resultado dos filtros das outras facetas (seleção múltipla dentro da
+ * mesma faceta é OU). Nada é consultado no banco para as contagens.
+ * Construído na inicialização e mantido incrementalmente via ProdutoAlteradoEvent.
+ */
+@Component
+public class ProdutoFacetaIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(ProdutoFacetaIndex.class);
+
+	public static final String CATEGORIA = "categoria";
+	public static final String PLATAFORMA = "plataforma";
+	public static final String GENERO = "genero";
+	public static final String STATUS = "status";
+	public static final String PRECO = "preco";
+	public static final String RATING = "rating";
+
+	private static final int TAMANHO_LOTE = 1000;
+
+	// Limites das faixas (preço com desconto em reais e rating IGDB 0-100)
+	private static final int[] LIMITES_PRECO = {50, 100, 200, 300};
+	private static final int[] LIMITES_RATING = {50, 70, 85};
+
+	private final ProdutoRepository produtoRepository;
+	private final CategoriaRepository categoriaRepository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Faceta> facetas = new LinkedHashMap<>();
+	private final Map<Long, Documento> documentos = new HashMap<>();
+	private final BitSet ocupados = new BitSet();
+	private long[] idPorOrdinal = new long[1024];
+
+	private volatile boolean pronto = false;
+
+	public ProdutoFacetaIndex(ProdutoRepository produtoRepository, CategoriaRepository categoriaRepository) {
+		this.produtoRepository = produtoRepository;
+		this.categoriaRepository = categoriaRepository;
+		registrarFacetas();
+	}
+
+	/**
+	 * Reconstrói o índice completo a partir do banco em lotes (keyset por ID)
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconstruir() {
+		long inicio = System.currentTimeMillis();
+		log.info("Construindo índice de facetas do catálogo");
+
+		lock.writeLock().lock();
+		try {
+			documentos.clear();
+			ocupados.clear();
+			registrarFacetas();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		long ultimoId = 0L;
+		List<Object[]> lote;
+		do {
+			lote = produtoRepository.findDadosFacetasAposId(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+			if (!lote.isEmpty()) {
+				indexarLote(lote);
+				ultimoId = (Long) lote.get(lote.size() - 1)[0];
+			}
+		} while (lote.size() == TAMANHO_LOTE);
+
+		pronto = true;
+		log.info("Índice de facetas construído: {} produtos em {} ms", getTotalProdutos(), System.currentTimeMillis() - inicio);
+	}
+
+	/**
+	 * Mantém o índice sincronizado após o commit de alterações no catálogo
+	 * Produtos desativados saem das facetas; estoque não participa de nenhuma faceta
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+		if (event.isApenasEstoque()) {
+			return;
+		}
+
+		List<Object[]> linhas = event.isRemocao() ? List.of() : produtoRepository.findDadosFacetasPorId(event.getProdutoId());
+		if (linhas.isEmpty()) {
+			remover(event.getProdutoId());
+			return;
+		}
+		indexarLote(linhas);
+	}
+
+	/**
+	 * Categoria renomeada: atualiza o rótulo nas facetas de categoria e gênero
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoriaAlterada(CategoriaAlteradaEvent event) {
+		categoriaRepository.findById(event.getCategoriaId()).ifPresent(categoria -> {
+			String valor = String.valueOf(categoria.getId());
+			lock.writeLock().lock();
+			try {
+				facetas.get(CATEGORIA).renomear(valor, categoria.getTipo());
+				facetas.get(GENERO).renomear(valor, categoria.getTipo());
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Indexa (ou reindexa) um produto
+	 * @param precoFinal Preço com desconto, usado na faixa de preço
+	 * @param plataformas Plataformas (id → nome)
+	 * @param generos Gêneros (id → nome)
+	 */
+	public void indexar(Long id, Long categoriaId, String categoria, StatusJogoEnum status, BigDecimal precoFinal,
+			BigDecimal ratingIgdb, Map<Long, String> plataformas, Map<Long, String> generos) {
+		Map<String, Map<String, String>> valores = new LinkedHashMap<>();
+		if (categoriaId != null) {
+			valores.put(CATEGORIA, Map.of(String.valueOf(categoriaId), categoria != null ? categoria : ""));
+		}
+		valores.put(PLATAFORMA, comChaveTexto(plataformas));
+		valores.put(GENERO, comChaveTexto(generos));
+		if (status != null) {
+			valores.put(STATUS, Map.of(status.name(), status.name()));
+		}
+		if (precoFinal != null) {
+			valores.put(PRECO, Map.of(faixa(precoFinal, LIMITES_PRECO), ""));
+		}
+		if (ratingIgdb != null) {
+			valores.put(RATING, Map.of(faixa(ratingIgdb, LIMITES_RATING), ""));
+		}
+
+		lock.writeLock().lock();
+		try {
+			removerSemLock(id);
+
+			int ordinal = ocupados.nextClearBit(0);
+			ocupados.set(ordinal);
+			if (ordinal >= idPorOrdinal.length) {
+				idPorOrdinal = Arrays.copyOf(idPorOrdinal, idPorOrdinal.length * 2);
+			}
+			idPorOrdinal[ordinal] = id;
+
+			Map<String, String[]> valoresDocumento = new HashMap<>();
+			for (Map.Entry<String, Map<String, String>> faceta : valores.entrySet()) {
+				Faceta destino = facetas.get(faceta.getKey());
+				for (Map.Entry<String, String> valor : faceta.getValue().entrySet()) {
+					destino.adicionar(valor.getKey(), valor.getValue(), ordinal);
+				}
+				valoresDocumento.put(faceta.getKey(), faceta.getValue().keySet().toArray(String[]::new));
+			}
+			documentos.put(id, new Documento(ordinal, valoresDocumento));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove um produto do índice
+	 */
+	public void remover(Long id) {
+		lock.writeLock().lock();
+		try {
+			removerSemLock(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Aplica os filtros e calcula as contagens de todas as facetas
+	 * @param restricao IDs aos quais a busca fica restrita (ex.: resultado da busca textual), ou null
+	 * @param filtros Valores selecionados por faceta (OU dentro da faceta, E entre facetas)
+	 * @return IDs dos produtos filtrados (ordem crescente) e contagens por faceta
+	 */
+	public Resultado buscar(Collection<Long> restricao, Map<String, ? extends Collection<String>> filtros) {
+		lock.readLock().lock();
+		try {
+			BitSet universo = (BitSet) ocupados.clone();
+			if (restricao != null) {
+				BitSet permitidos = new BitSet();
+				for (Long id : restricao) {
+					Documento documento = documentos.get(id);
+					if (documento != null) {
+						permitidos.set(documento.ordinal);
+					}
+				}
+				universo.and(permitidos);
+			}
+
+			Map<String, BitSet> selecoes = new LinkedHashMap<>();
+			for (Map.Entry<String, ? extends Collection<String>> filtro : filtros.entrySet()) {
+				Faceta faceta = facetas.get(filtro.getKey());
+				if (faceta != null && filtro.getValue() != null && !filtro.getValue().isEmpty()) {
+					selecoes.put(filtro.getKey(), faceta.uniao(filtro.getValue()));
+				}
+			}
+
+			BitSet filtrados = (BitSet) universo.clone();
+			selecoes.values().forEach(filtrados::and);
+
+			Map<String, List<FacetaValorDTO>> contagens = new LinkedHashMap<>();
+			for (Faceta faceta : facetas.values()) {
+				// Sem seleção nesta faceta, o contexto é o próprio resultado filtrado
+				BitSet contexto = filtrados;
+				if (selecoes.containsKey(faceta.nome)) {
+					contexto = (BitSet) universo.clone();
+					for (Map.Entry<String, BitSet> selecao : selecoes.entrySet()) {
+						if (!selecao.getKey().equals(faceta.nome)) {
+							contexto.and(selecao.getValue());
+						}
+					}
+				}
+				Collection<String> selecionados = filtros.get(faceta.nome);
+				contagens.put(faceta.nome, faceta.contar(contexto, selecionados != null ? selecionados : Set.of()));
+			}
+
+			long[] ids = new long[filtrados.cardinality()];
+			int i = 0;
+			for (int ordinal = filtrados.nextSetBit(0); ordinal >= 0; ordinal = filtrados.nextSetBit(ordinal + 1)) {
+				ids[i++] = idPorOrdinal[ordinal];
+			}
+			Arrays.sort(ids);
+			return new Resultado(Arrays.stream(ids).boxed().toList(), contagens);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public boolean isPronto() {
+		return pronto;
+	}
+
+	public int getTotalProdutos() {
+		lock.readLock().lock();
+		try {
+			return documentos.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Chave da faixa em que o valor se encaixa (ex.: "50-100", "300+")
+	 */
+	static String faixa(BigDecimal valor, int[] limites) {
+		int inferior = 0;
+		for (int limite : limites) {
+			if (valor.compareTo(BigDecimal.valueOf(limite)) < 0) {
+				return inferior + "-" + limite;
+			}
+			inferior = limite;
+		}
+		return inferior + "+";
+	}
+
+	/**
+	 * Facetas fixas (status e faixas) já nascem com todos os valores, na ordem de exibição
+	 */
+	private void registrarFacetas() {
+		facetas.clear();
+		facetas.put(CATEGORIA, new Faceta(CATEGORIA, true));
+		facetas.put(PLATAFORMA, new Faceta(PLATAFORMA, true));
+		facetas.put(GENERO, new Faceta(GENERO, true));
+
+		Faceta status = new Faceta(STATUS, false);
+		for (StatusJogoEnum valor : StatusJogoEnum.values()) {
+			status.registrar(valor.name(), valor.name());
+		}
+		facetas.put(STATUS, status);
+
+		Faceta preco = new Faceta(PRECO, false);
+		registrarFaixas(preco, LIMITES_PRECO, "Até R$ %d", "R$ %d a R$ %d", "Acima de R$ %d");
+		facetas.put(PRECO, preco);
+
+		Faceta rating = new Faceta(RATING, false);
+		registrarFaixas(rating, LIMITES_RATING, "Abaixo de %d", "%d a %d", "%d ou mais");
+		facetas.put(RATING, rating);
+	}
+
+	private void registrarFaixas(Faceta faceta, int[] limites, String primeira, String intermediaria, String ultima) {
+		int inferior = 0;
+		for (int limite : limites) {
+			String rotulo = inferior == 0 ? String.format(primeira, limite) : String.format(intermediaria, inferior, limite);
+			faceta.registrar(inferior + "-" + limite, rotulo);
+			inferior = limite;
+		}
+		faceta.registrar(inferior + "+", String.format(ultima, inferior));
+	}
+
+	/**
+	 * Indexa um lote de linhas de SELECT_FACETAS, buscando plataformas e gêneros em duas consultas
+	 */
+	private void indexarLote(List<Object[]> linhas) {
+		List<Long> ids = linhas.stream().map(linha -> (Long) linha[0]).toList();
+		Map<Long, Map<Long, String>> plataformas = agrupar(produtoRepository.findPlataformasFacetaPorIds(ids));
+		Map<Long, Map<Long, String>> generos = agrupar(produtoRepository.findGenerosFacetaPorIds(ids));
+
+		for (Object[] linha : linhas) {
+			Long id = (Long) linha[0];
+			indexar(id, (Long) linha[1], (String) linha[2], (StatusJogoEnum) linha[3],
+				Dinheiro.precoComDesconto((BigDecimal) linha[4], (BigDecimal) linha[5]), (BigDecimal) linha[6],
+				plataformas.getOrDefault(id, Map.of()), generos.getOrDefault(id, Map.of()));
+		}
+	}
+
+	private static Map<Long, Map<Long, String>> agrupar(List<Object[]> linhas) {
+		Map<Long, Map<Long, String>> porProduto = new HashMap<>();
+		for (Object[] linha : linhas) {
+			porProduto.computeIfAbsent((Long) linha[0], id -> new LinkedHashMap<>()).put((Long) linha[1], (String) linha[2]);
+		}
+		return porProduto;
+	}
+
+	private static Map<String, String> comChaveTexto(Map<Long, String> valores) {
+		Map<String, String> porTexto = new LinkedHashMap<>();
+		valores.forEach((id, nome) -> porTexto.put(String.valueOf(id), nome));
+		return porTexto;
+	}
+
+	private void removerSemLock(Long id) {
+		Documento documento = documentos.remove(id);
+		if (documento == null) {
+			return;
+		}
+		for (Map.Entry<String, String[]> faceta : documento.valores.entrySet()) {
+			Faceta origem = facetas.get(faceta.getKey());
+			for (String valor : faceta.getValue()) {
+				origem.remover(valor, documento.ordinal);
+			}
+		}
+		ocupados.clear(documento.ordinal);
+	}
+
+	/**
+	 * Produtos filtrados e contagens de cada faceta
+	 */
+	public record Resultado(List<Long> ids, Map<String, List<FacetaValorDTO>> facetas) {}
+
+	/**
+	 * Ordinal do produto nos bitmaps e valores indexados por faceta (para remoção)
+	 */
+	private static final class Documento {
+		private final int ordinal;
+		private final Map<String, String[]> valores;
+
+		private Documento(int ordinal, Map<String, String[]> valores) {
+			this.ordinal = ordinal;
+			this.valores = valores;
+		}
+	}
+
+	/**
+	 * Valores de uma faceta com seus bitmaps de produtos
+	 * Facetas dinâmicas (categoria, plataforma, gênero) descartam valores sem produtos e
+	 * são exibidas por quantidade; as fixas mantêm a ordem de registro
+	 */
+	private static final class Faceta {
+
+		private static final Comparator<FacetaValorDTO> POR_QUANTIDADE = Comparator
+			.comparingLong(FacetaValorDTO::getQuantidade).reversed()
+			.thenComparing(FacetaValorDTO::getRotulo, Comparator.nullsLast(Comparator.naturalOrder()));
+
+		private final String nome;
+		private final boolean dinamica;
+		private final Map<String, Valor> valores = new LinkedHashMap<>();
+
+		private Faceta(String nome, boolean dinamica) {
+			this.nome = nome;
+			this.dinamica = dinamica;
+		}
+
+		private void registrar(String valor, String rotulo) {
+			valores.put(valor, new Valor(rotulo));
+		}
+
+		private void adicionar(String valor, String rotulo, int ordinal) {
+			Valor destino = valores.computeIfAbsent(valor, v -> new Valor(rotulo));
+			if (dinamica) {
+				destino.rotulo = rotulo;
+			}
+			destino.produtos.set(ordinal);
+		}
+
+		private void remover(String valor, int ordinal) {
+			Valor origem = valores.get(valor);
+			if (origem == null) {
+				return;
+			}
+			origem.produtos.clear(ordinal);
+			if (dinamica && origem.produtos.isEmpty()) {
+				valores.remove(valor);
+			}
+		}
+
+		private void renomear(String valor, String rotulo) {
+			Valor destino = valores.get(valor);
+			if (destino != null) {
+				destino.rotulo = rotulo;
+			}
+		}
+
+		private BitSet uniao(Collection<String> selecionados) {
+			BitSet uniao = new BitSet();
+			for (String valor : selecionados) {
+				Valor origem = valores.get(valor);
+				if (origem != null) {
+					uniao.or(origem.produtos);
+				}
+			}
+			return uniao;
+		}
+
+		/**
+		 * Contagem de cada valor dentro do contexto, percorrendo só os bits do valor (sem alocar bitmaps)
+		 */
+		private List<FacetaValorDTO> contar(BitSet contexto, Collection<String> selecionados) {
+			List<FacetaValorDTO> resultado = new ArrayList<>();
+			for (Map.Entry<String, Valor> entrada : valores.entrySet()) {
+				BitSet produtos = entrada.getValue().produtos;
+				long quantidade = 0;
+				for (int ordinal = produtos.nextSetBit(0); ordinal >= 0; ordinal = produtos.nextSetBit(ordinal + 1)) {
+					if (contexto.get(ordinal)) {
+						quantidade++;
+					}
+				}
+				boolean selecionado = selecionados.contains(entrada.getKey());
+				if (quantidade > 0 || selecionado) {
+					resultado.add(new FacetaValorDTO(entrada.getKey(), entrada.getValue().rotulo, quantidade, selecionado));
+				}
+			}
+			if (dinamica) {
+				resultado.sort(POR_QUANTIDADE);
+			}
+			return resultado;
+		}
+	}
+
+	private static final class Valor {
+		private String rotulo;
+		private final BitSet produtos = new BitSet();
+
+		private Valor(String rotulo) {
+			this.rotulo = rotulo;
+		}
+	}
+}
@@ -0,0 +1,509 @@
+package com.energygames.lojadegames.service.search;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.util.TextoUtils;
+
+/**
+ * Índice invertido em memória para busca textual no catálogo
+ * Indexa nome, descrição, desenvolvedor e publisher com normalização de acentos
+ * idêntica à usada na geração de slugs, e retorna IDs ordenados por relevância.
+ *
+ * As listas de postagens são arrays primitivos ordenados por ID para manter o
+ * consumo de memória previsível mesmo com centenas de milhares de produtos.
+ * O índice é construído na inicialização e mantido incrementalmente via ProdutoAlteradoEvent.
+ * Guarda também os campos de ordenação da listagem, para que uma busca ordenada seja paginada
+ * em memória sem mandar todos os candidatos ao banco.
+ */
+@Component
+public class ProdutoSearchIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(ProdutoSearchIndex.class);
+
+	private static final int TAMANHO_LOTE = 1000;
+	private static final int TAMANHO_MINIMO_TERMO = 2;
+
+	private static final float PESO_NOME = 3.0f;
+	private static final float PESO_DESENVOLVEDOR = 2.0f;
+	private static final float PESO_PUBLISHER = 2.0f;
+	private static final float PESO_DESCRICAO = 1.0f;
+
+	// Termos que casam por prefixo valem menos que termos exatos
+	private static final float FATOR_PREFIXO = 0.5f;
+
+	private static final Pattern SEPARADOR = Pattern.compile("[^a-z0-9]+");
+
+	private static final Set<String> STOPWORDS = Set.of(
+		"de", "da", "do", "das", "dos", "em", "no", "na", "para", "com", "um", "uma", "os", "as",
+		"the", "of", "and", "to", "in", "on", "for", "an", "or");
+
+	// Campos de ordenação da listagem que o índice consegue aplicar sozinho
+	private static final Map<String, Comparator<Documento>> ORDENACOES = Map.of(
+		"id", Comparator.comparing(documento -> documento.id),
+		"nome", Comparator.comparing(documento -> documento.nomeOrdenacao, Comparator.nullsFirst(Comparator.naturalOrder())),
+		"preco", Comparator.comparing(documento -> documento.preco, Comparator.nullsFirst(Comparator.naturalOrder())),
+		"dataLancamento", Comparator.comparing(documento -> documento.dataLancamento, Comparator.nullsFirst(Comparator.naturalOrder())),
+		"ratingIgdb", Comparator.comparing(documento -> documento.ratingIgdb, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+	private final ProdutoRepository produtoRepository;
+
+	// Estruturas publicadas, sempre acessadas sob o lock; a reconstrução monta novas e as troca de uma vez
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private TreeMap<String, ListaPostagens> postagens = new TreeMap<>();
+	private Map<Long, Documento> documentos = new HashMap<>();
+
+	// Produtos alterados durante uma reconstrução (null fora dela), reaplicados após a troca
+	private Set<Long> alteradosNaReconstrucao;
+
+	private volatile boolean pronto = false;
+
+	public ProdutoSearchIndex(ProdutoRepository produtoRepository) {
+		this.produtoRepository = produtoRepository;
+	}
+
+	/**
+	 * Reconstrói o índice completo a partir do banco em lotes (keyset por ID)
+	 * Enquanto não estiver pronto, o serviço de produtos usa a busca por LIKE. O novo índice é montado
+	 * fora do lock e publicado de uma vez: buscas durante uma reconstrução continuam vendo o índice
+	 * anterior completo, e produtos alterados nesse meio tempo são relidos do banco após a troca.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void reconstruir() {
+		long inicio = System.currentTimeMillis();
+		log.info("Construindo índice de busca do catálogo");
+
+		Set<Long> alterados = new HashSet<>();
+		lock.writeLock().lock();
+		try {
+			alteradosNaReconstrucao = alterados;
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		TreeMap<String, ListaPostagens> novasPostagens = new TreeMap<>();
+		Map<Long, Documento> novosDocumentos = new HashMap<>();
+		try {
+			long ultimoId = 0L;
+			List<Object[]> lote;
+			do {
+				lote = produtoRepository.findDadosIndexaveisAposId(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+				for (Object[] linha : lote) {
+					indexarLinha(novasPostagens, novosDocumentos, linha);
+					ultimoId = (Long) linha[0];
+				}
+			} while (lote.size() == TAMANHO_LOTE);
+		} catch (RuntimeException e) {
+			lock.writeLock().lock();
+			try {
+				alteradosNaReconstrucao = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			throw e;
+		}
+
+		// Troca e fim do registro no mesmo lock: nenhuma alteração fica entre os dois
+		List<Long> reaplicar;
+		lock.writeLock().lock();
+		try {
+			postagens = novasPostagens;
+			documentos = novosDocumentos;
+			reaplicar = new ArrayList<>(alterados);
+			alteradosNaReconstrucao = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		// Linhas lidas antes de uma alteração concorrente: relê após a troca
+		reaplicar.forEach(this::reindexar);
+
+		pronto = true;
+		log.info("Índice de busca construído: {} produtos, {} termos em {} ms ({} reaplicados)",
+			getTotalDocumentos(), getTotalTermos(), System.currentTimeMillis() - inicio, reaplicar.size());
+	}
+
+	/**
+	 * Mantém o índice sincronizado após o commit de alterações no catálogo
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProdutoAlterado(ProdutoAlteradoEvent event) {
+		if (event.isApenasEstoque()) {
+			return;
+		}
+
+		Long id = event.getProdutoId();
+		if (event.isRemocao()) {
+			remover(id);
+			return;
+		}
+
+		reindexar(id);
+		log.debug("Produto ID {} reindexado ({})", id, event.getTipo());
+	}
+
+	/**
+	 * Indexa (ou reindexa) um produto sem os campos de ordenação
+	 */
+	public void indexar(Long id, String nome, String descricao, String desenvolvedor, String publisher, Long categoriaId) {
+		indexar(id, nome, descricao, desenvolvedor, publisher, categoriaId, null, null, null);
+	}
+
+	/**
+	 * Indexa (ou reindexa) um produto
+	 */
+	public void indexar(Long id, String nome, String descricao, String desenvolvedor, String publisher, Long categoriaId,
+			BigDecimal preco, LocalDate dataLancamento, BigDecimal ratingIgdb) {
+		lock.writeLock().lock();
+		try {
+			registrarAlteracao(id);
+			indexar(postagens, documentos, id, nome, descricao, desenvolvedor, publisher, categoriaId,
+				preco, dataLancamento, ratingIgdb);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove um produto do índice
+	 */
+	public void remover(Long id) {
+		lock.writeLock().lock();
+		try {
+			registrarAlteracao(id);
+			remover(postagens, documentos, id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Busca produtos pelo texto informado
+	 * Todos os termos precisam casar; o último termo casa por prefixo (digitação em andamento)
+	 * @param consulta Texto digitado pelo usuário
+	 * @param categoriaId Filtro opcional por categoria
+	 * @return IDs dos produtos ordenados por relevância (maior primeiro)
+	 */
+	public List<Long> buscar(String consulta, Long categoriaId) {
+		List<String> termos = tokenizar(consulta);
+		if (termos.isEmpty()) {
+			return List.of();
+		}
+
+		lock.readLock().lock();
+		try {
+			int totalDocumentos = documentos.size();
+			Map<Long, Float> pontuacoes = null;
+
+			for (int i = 0; i < termos.size(); i++) {
+				String termo = termos.get(i);
+				boolean ultimo = i == termos.size() - 1;
+
+				Map<Long, Float> parcial = new HashMap<>();
+				NavigableMap<String, ListaPostagens> candidatos = ultimo
+					? postagens.subMap(termo, true, termo + Character.MAX_VALUE, false)
+					: exato(termo);
+
+				for (Map.Entry<String, ListaPostagens> entrada : candidatos.entrySet()) {
+					ListaPostagens lista = entrada.getValue();
+					float idf = (float) Math.log(1.0 + (double) totalDocumentos / lista.tamanho);
+					float fator = entrada.getKey().length() == termo.length() ? 1.0f : FATOR_PREFIXO;
+					for (int j = 0; j < lista.tamanho; j++) {
+						float pontuacao = lista.pesos[j] * idf * fator;
+						parcial.merge(lista.ids[j], pontuacao, Math::max);
+					}
+				}
+
+				if (pontuacoes == null) {
+					pontuacoes = parcial;
+				} else {
+					Map<Long, Float> anterior = pontuacoes;
+					anterior.keySet().retainAll(parcial.keySet());
+					anterior.replaceAll((id, valor) -> valor + parcial.get(id));
+				}
+
+				if (pontuacoes.isEmpty()) {
+					return List.of();
+				}
+			}
+
+			List<Map.Entry<Long, Float>> resultado = new ArrayList<>(pontuacoes.size());
+			for (Map.Entry<Long, Float> entrada : pontuacoes.entrySet()) {
+				if (categoriaId == null) {
+					resultado.add(entrada);
+					continue;
+				}
+				Documento documento = documentos.get(entrada.getKey());
+				if (documento != null && categoriaId.equals(documento.categoriaId)) {
+					resultado.add(entrada);
+				}
+			}
+
+			resultado.sort(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+				.thenComparing(Map.Entry.comparingByKey()));
+			return resultado.stream().map(Map.Entry::getKey).toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ordena em memória IDs resolvidos pelo índice (busca textual ou facetas)
+	 * Empates seguem a ordem recebida (relevância); IDs fora do índice ficam no fim.
+	 * @return null se algum campo da ordenação não é mantido pelo índice
+	 */
+	public List<Long> ordenar(List<Long> ids, Sort sort) {
+		Comparator<Documento> comparador = null;
+		for (Sort.Order ordem : sort) {
+			Comparator<Documento> campo = ORDENACOES.get(ordem.getProperty());
+			if (campo == null) {
+				return null;
+			}
+			campo = ordem.isDescending() ? campo.reversed() : campo;
+			comparador = comparador == null ? campo : comparador.thenComparing(campo);
+		}
+		if (comparador == null) {
+			return ids;
+		}
+
+		lock.readLock().lock();
+		try {
+			List<Documento> encontrados = new ArrayList<>(ids.size());
+			List<Long> ausentes = new ArrayList<>();
+			for (Long id : ids) {
+				Documento documento = documentos.get(id);
+				if (documento != null) {
+					encontrados.add(documento);
+				} else {
+					ausentes.add(id);
+				}
+			}
+			encontrados.sort(comparador);
+
+			List<Long> ordenados = new ArrayList<>(ids.size());
+			encontrados.forEach(documento -> ordenados.add(documento.id));
+			ordenados.addAll(ausentes);
+			return ordenados;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Indica se a consulta tem algum termo indexável
+	 * Consultas só com termos curtos ou stopwords ("a", "de") devem ir ao banco por LIKE
+	 */
+	public boolean isPesquisavel(String consulta) {
+		return !tokenizar(consulta).isEmpty();
+	}
+
+	public boolean isPronto() {
+		return pronto;
+	}
+
+	public int getTotalDocumentos() {
+		lock.readLock().lock();
+		try {
+			return documentos.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int getTotalTermos() {
+		lock.readLock().lock();
+		try {
+			return postagens.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Quebra o texto em termos normalizados (sem acento, minúsculos, sem stopwords)
+	 */
+	static List<String> tokenizar(String texto) {
+		if (texto == null || texto.isBlank()) {
+			return List.of();
+		}
+		Set<String> termos = new LinkedHashSet<>();
+		for (String termo : SEPARADOR.split(TextoUtils.normalizar(texto))) {
+			if (termo.length() >= TAMANHO_MINIMO_TERMO && !STOPWORDS.contains(termo)) {
+				termos.add(termo);
+			}
+		}
+		return new ArrayList<>(termos);
+	}
+
+	/**
+	 * Relê o produto do banco e o aplica ao índice publicado (ou o remove, se não existe mais)
+	 */
+	private void reindexar(Long id) {
+		List<Object[]> linhas = produtoRepository.findDadosIndexaveisPorId(id);
+		lock.writeLock().lock();
+		try {
+			registrarAlteracao(id);
+			if (linhas.isEmpty()) {
+				remover(postagens, documentos, id);
+			} else {
+				indexarLinha(postagens, documentos, linhas.get(0));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Chamado com o write lock
+	private void registrarAlteracao(Long id) {
+		if (alteradosNaReconstrucao != null) {
+			alteradosNaReconstrucao.add(id);
+		}
+	}
+
+	private void indexarLinha(TreeMap<String, ListaPostagens> postagens, Map<Long, Documento> documentos,
+			Object[] linha) {
+		indexar(postagens, documentos, (Long) linha[0], (String) linha[1], (String) linha[2], (String) linha[3],
+			(String) linha[4], (Long) linha[5], (BigDecimal) linha[6], (LocalDate) linha[7], (BigDecimal) linha[8]);
+	}
+
+	private void indexar(TreeMap<String, ListaPostagens> postagens, Map<Long, Documento> documentos, Long id,
+			String nome, String descricao, String desenvolvedor, String publisher, Long categoriaId,
+			BigDecimal preco, LocalDate dataLancamento, BigDecimal ratingIgdb) {
+		remover(postagens, documentos, id);
+
+		Map<String, Float> pesos = new LinkedHashMap<>();
+		acumularPesos(pesos, nome, PESO_NOME);
+		acumularPesos(pesos, desenvolvedor, PESO_DESENVOLVEDOR);
+		acumularPesos(pesos, publisher, PESO_PUBLISHER);
+		acumularPesos(pesos, descricao, PESO_DESCRICAO);
+
+		String[] termos = new String[pesos.size()];
+		int i = 0;
+		for (Map.Entry<String, Float> entrada : pesos.entrySet()) {
+			// Reutiliza a instância da chave do dicionário para não duplicar strings
+			ListaPostagens lista = postagens.get(entrada.getKey());
+			if (lista == null) {
+				lista = new ListaPostagens();
+				postagens.put(entrada.getKey(), lista);
+				termos[i++] = entrada.getKey();
+			} else {
+				termos[i++] = postagens.ceilingKey(entrada.getKey());
+			}
+			lista.inserir(id, entrada.getValue());
+		}
+
+		documentos.put(id, new Documento(id, termos, categoriaId,
+			nome == null ? null : TextoUtils.normalizar(nome), preco, dataLancamento, ratingIgdb));
+	}
+
+	private void acumularPesos(Map<String, Float> pesos, String texto, float peso) {
+		for (String termo : tokenizar(texto)) {
+			pesos.merge(termo, peso, Float::sum);
+		}
+	}
+
+	private NavigableMap<String, ListaPostagens> exato(String termo) {
+		return postagens.subMap(termo, true, termo, true);
+	}
+
+	private static void remover(TreeMap<String, ListaPostagens> postagens, Map<Long, Documento> documentos, Long id) {
+		Documento documento = documentos.remove(id);
+		if (documento == null) {
+			return;
+		}
+		for (String termo : documento.termos) {
+			ListaPostagens lista = postagens.get(termo);
+			if (lista != null && lista.remover(id) && lista.tamanho == 0) {
+				postagens.remove(termo);
+			}
+		}
+	}
+
+	/**
+	 * Termos indexados de um produto (para remoção), a categoria usada como filtro
+	 * e os campos de ordenação da listagem
+	 */
+	private static final class Documento {
+		private final long id;
+		private final String[] termos;
+		private final Long categoriaId;
+		private final String nomeOrdenacao;
+		private final BigDecimal preco;
+		private final LocalDate dataLancamento;
+		private final BigDecimal ratingIgdb;
+
+		private Documento(long id, String[] termos, Long categoriaId, String nomeOrdenacao, BigDecimal preco,
+				LocalDate dataLancamento, BigDecimal ratingIgdb) {
+			this.id = id;
+			this.termos = termos;
+			this.categoriaId = categoriaId;
+			this.nomeOrdenacao = nomeOrdenacao;
+			this.preco = preco;
+			this.dataLancamento = dataLancamento;
+			this.ratingIgdb = ratingIgdb;
+		}
+	}
+
+	/**
+	 * Lista de postagens compacta: IDs ordenados e pesos em arrays primitivos paralelos
+	 * A reconstrução percorre os produtos em ordem de ID, então a inserção vira append
+	 */
+	private static final class ListaPostagens {
+		private long[] ids = new long[4];
+		private float[] pesos = new float[4];
+		private int tamanho;
+
+		private void inserir(long id, float peso) {
+			int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+			if (posicao >= 0) {
+				pesos[posicao] = peso;
+				return;
+			}
+			posicao = -posicao - 1;
+			if (tamanho == ids.length) {
+				ids = Arrays.copyOf(ids, tamanho * 2);
+				pesos = Arrays.copyOf(pesos, tamanho * 2);
+			}
+			System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+			System.arraycopy(pesos, posicao, pesos, posicao + 1, tamanho - posicao);
+			ids[posicao] = id;
+			pesos[posicao] = peso;
+			tamanho++;
+		}
+
+		private boolean remover(long id) {
+			int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+			if (posicao < 0) {
+				return false;
+			}
+			System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+			System.arraycopy(pesos, posicao + 1, pesos, posicao, tamanho - posicao - 1);
+			tamanho--;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package com.energygames.lojadegames.util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
+import com.energygames.lojadegames.exception.BusinessException;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Paginação por cursor (keyset) para listagens profundas
+ * Em vez de OFFSET + COUNT(*), o cursor carrega a última chave de ordenação e o ID,
+ * e a próxima página é buscada com WHERE (chave, id) > (?, ?) usando o índice da coluna.
+ *
+ * Campos anuláveis seguem a ordenação nativa do MySQL (NULL primeiro em ASC, por último em DESC).
+ */
+public final class CursorPaginacao {
+
+	private static final String SEPARADOR = "|";
+	private static final String CAMPO_ID = "id";
+	public static final int TAMANHO_MAXIMO = 100;
+
+	private CursorPaginacao() {}
+
+	/**
+	 * Campo ordenável em modo cursor: tipo da coluna e como ler o valor da entidade
+	 */
+	public static final class Campo<T> {
+		private final Class<? extends Comparable<?>> tipo;
+		private final Function<T, ?> extrator;
+
+		public Campo(Class<? extends Comparable<?>> tipo, Function<T, ?> extrator) {
+			this.tipo = tipo;
+			this.extrator = extrator;
+		}
+	}
+
+	/**
+	 * Posição de leitura codificada no token opaco devolvido ao cliente
+	 */
+	public static final class Cursor {
+		private final String campo;
+		private final Sort.Direction direcao;
+		private final Long id;
+		private final String valor;
+
+		public Cursor(String campo, Sort.Direction direcao, Long id, String valor) {
+			this.campo = campo;
+			this.direcao = direcao;
+			this.id = id;
+			this.valor = valor;
+		}
+
+		public String codificar() {
+			String bruto = campo + SEPARADOR + direcao.name() + SEPARADOR + id + SEPARADOR
+				+ (valor == null ? "" : "=" + valor);
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+		}
+
+		public static Cursor decodificar(String token) {
+			try {
+				String bruto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+				String[] partes = bruto.split("\\" + SEPARADOR, 4);
+				String valor = partes[3].isEmpty() ? null : partes[3].substring(1);
+				return new Cursor(partes[0], Sort.Direction.valueOf(partes[1]), Long.valueOf(partes[2]), valor);
+			} catch (RuntimeException e) {
+				throw new BusinessException("Cursor de paginação inválido");
+			}
+		}
+
+		public String getCampo() {
+			return campo;
+		}
+
+		public Sort.Direction getDirecao() {
+			return direcao;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getValor() {
+			return valor;
+		}
+	}
+
+	/**
+	 * Valida o campo de ordenação pedido contra os campos suportados
+	 */
+	public static <T> Campo<T> resolverCampo(Map<String, Campo<T>> campos, String campo) {
+		Campo<T> resolvido = campos.get(campo);
+		if (resolvido == null) {
+			throw new BusinessException("Ordenação por cursor suportada apenas para: " + String.join(", ", campos.keySet()));
+		}
+		return resolvido;
+	}
+
+	/**
+	 * Valida o tamanho da página antes da consulta (o limite da consulta é tamanho + 1)
+	 */
+	public static void validarTamanho(int tamanho) {
+		if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+			throw new BusinessException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO);
+		}
+	}
+
+	/**
+	 * Ordenação estável: campo pedido seguido do ID na mesma direção
+	 */
+	public static Sort ordenacao(String campo, Sort.Direction direcao) {
+		if (CAMPO_ID.equals(campo)) {
+			return Sort.by(direcao, CAMPO_ID);
+		}
+		return Sort.by(direcao, campo).and(Sort.by(direcao, CAMPO_ID));
+	}
+
+	/**
+	 * Predicado de continuação a partir do cursor (ou sem restrição na primeira página)
+	 */
+	public static <T> Specification<T> aposCursor(String campo, Sort.Direction direcao, Campo<T> definicao, String token) {
+		if (token == null || token.isBlank()) {
+			return (root, query, cb) -> null;
+		}
+
+		Cursor cursor = Cursor.decodificar(token);
+		if (!cursor.getCampo().equals(campo) || cursor.getDirecao() != direcao) {
+			throw new BusinessException("Cursor não corresponde à ordenação solicitada");
+		}
+
+		boolean asc = direcao.isAscending();
+		return (root, query, cb) -> {
+			Path<Long> id = root.get(CAMPO_ID);
+			Predicate idApos = asc ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+			if (CAMPO_ID.equals(campo)) {
+				return idApos;
+			}
+
+			Path<Comparable<Object>> chave = root.get(campo);
+			if (cursor.getValor() == null) {
+				// Cursor dentro do bloco de NULLs: ASC continua nos NULLs e depois nos valores; DESC só restam NULLs
+				Predicate nulosApos = cb.and(cb.isNull(chave), idApos);
+				return asc ? cb.or(nulosApos, cb.isNotNull(chave)) : nulosApos;
+			}
+
+			Comparable<Object> valor = converter(cursor.getValor(), definicao.tipo);
+			// chave >= v AND (chave > v OR id > ultimoId) mantém um range scan limpo no índice
+			Predicate aPartir = asc ? cb.greaterThanOrEqualTo(chave, valor) : cb.lessThanOrEqualTo(chave, valor);
+			Predicate estritamente = asc ? cb.greaterThan(chave, valor) : cb.lessThan(chave, valor);
+			Predicate continuacao = cb.and(aPartir, cb.or(estritamente, idApos));
+			return asc ? continuacao : cb.or(continuacao, cb.isNull(chave));
+		};
+	}
+
+	/**
+	 * Monta a resposta a partir de uma consulta com limite de tamanho + 1 (o item extra só indica que há próxima página)
+	 */
+	public static <T, D> CursorPageResponseDTO<D> montarResposta(List<T> resultado, int tamanho, String campo,
+			Sort.Direction direcao, Campo<T> definicao, Function<T, Long> extratorId, Function<T, D> conversor) {
+		validarTamanho(tamanho);
+		boolean temProxima = resultado.size() > tamanho;
+		List<T> pagina = temProxima ? resultado.subList(0, tamanho) : resultado;
+
+		String proximoCursor = null;
+		if (temProxima) {
+			T ultimo = pagina.get(pagina.size() - 1);
+			Object valor = definicao.extrator.apply(ultimo);
+			proximoCursor = new Cursor(campo, direcao, extratorId.apply(ultimo), valor == null ? null : valor.toString())
+				.codificar();
+		}
+
+		return new CursorPageResponseDTO<>(pagina.stream().map(conversor).toList(), temProxima, proximoCursor);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object> converter(String valor, Class<?> tipo) {
+		try {
+			if (tipo == String.class) {
+				return (Comparable<Object>) (Comparable<?>) valor;
+			}
+			if (tipo == BigDecimal.class) {
+				return (Comparable<Object>) (Comparable<?>) new BigDecimal(valor);
+			}
+			if (tipo == LocalDate.class) {
+				return (Comparable<Object>) (Comparable<?>) LocalDate.parse(valor);
+			}
+			if (tipo == LocalDateTime.class) {
+				return (Comparable<Object>) (Comparable<?>) LocalDateTime.parse(valor);
+			}
+			if (tipo == Long.class) {
+				return (Comparable<Object>) (Comparable<?>) Long.valueOf(valor);
+			}
+			if (tipo == Integer.class) {
+				return (Comparable<Object>) (Comparable<?>) Integer.valueOf(valor);
+			}
+		} catch (RuntimeException e) {
+			throw new BusinessException("Cursor de paginação inválido");
+		}
+		throw new IllegalArgumentException("Tipo de campo não suportado para cursor: " + tipo.getSimpleName());
+	}
+}
@@ -0,0 +1,124 @@
+package com.energygames.lojadegames.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário imutável em centavos (long), usado em toda a aritmética de carrinho,
+ * pedido, checkout e catálogo
+ *
+ * Regra única de desconto: o desconto percentual (até 2 casas) é aplicado sobre o preço
+ * unitário e arredondado para o centavo (HALF_UP); subtotais são preço unitário final
+ * vezes quantidade. É a mesma conta que o Stripe faz com unit_amount x quantity, então o
+ * total do pedido sempre bate com o valor cobrado.
+ *
+ * BigDecimal aparece apenas na borda (entidades e DTOs, sempre com escala 2).
+ */
+public final class Dinheiro implements Comparable<Dinheiro> {
+
+	public static final Dinheiro ZERO = new Dinheiro(0);
+
+	// Desconto em centésimos de ponto percentual: 100% = 10000
+	private static final long DESCONTO_TOTAL = 10_000;
+
+	private final long centavos;
+
+	private Dinheiro(long centavos) {
+		this.centavos = centavos;
+	}
+
+	public static Dinheiro deCentavos(long centavos) {
+		return centavos == 0 ? ZERO : new Dinheiro(centavos);
+	}
+
+	/**
+	 * Converte reais para centavos, arredondando além da segunda casa (HALF_UP)
+	 */
+	public static Dinheiro de(BigDecimal reais) {
+		return deCentavos(reais.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact());
+	}
+
+	/**
+	 * Preço unitário com desconto, na borda BigDecimal (mappers, entidades, índices)
+	 * @return null quando o preço é null
+	 */
+	public static BigDecimal precoComDesconto(BigDecimal preco, BigDecimal desconto) {
+		return preco == null ? null : de(preco).comDesconto(desconto).paraReais();
+	}
+
+	/**
+	 * Aplica o desconto percentual (0-100, null = sem desconto)
+	 */
+	public Dinheiro comDesconto(BigDecimal percentual) {
+		if (percentual == null || percentual.signum() <= 0) {
+			return this;
+		}
+		return comDesconto(percentual.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact());
+	}
+
+	/**
+	 * Aplica o desconto em centésimos de ponto percentual (1250 = 12,5%)
+	 */
+	public Dinheiro comDesconto(long centesimosPercentual) {
+		if (centesimosPercentual <= 0) {
+			return this;
+		}
+		if (centesimosPercentual >= DESCONTO_TOTAL) {
+			return ZERO;
+		}
+		return deCentavos(centavos - arredondar(centavos * centesimosPercentual));
+	}
+
+	public Dinheiro vezes(int quantidade) {
+		return deCentavos(Math.multiplyExact(centavos, (long) quantidade));
+	}
+
+	public Dinheiro mais(Dinheiro outro) {
+		return deCentavos(Math.addExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro menos(Dinheiro outro) {
+		return deCentavos(Math.subtractExact(centavos, outro.centavos));
+	}
+
+	public long getCentavos() {
+		return centavos;
+	}
+
+	public boolean isPositivo() {
+		return centavos > 0;
+	}
+
+	/**
+	 * Valor em reais com escala 2
+	 */
+	public BigDecimal paraReais() {
+		return BigDecimal.valueOf(centavos, 2);
+	}
+
+	// Divide por DESCONTO_TOTAL arredondando HALF_UP (também para valores negativos)
+	private static long arredondar(long valor) {
+		long metade = DESCONTO_TOTAL / 2;
+		return valor >= 0 ? (valor + metade) / DESCONTO_TOTAL : -((-valor + metade) / DESCONTO_TOTAL);
+	}
+
+	@Override
+	public int compareTo(Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public boolean equals(Object outro) {
+		return this == outro || (outro instanceof Dinheiro dinheiro && dinheiro.centavos == centavos);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	@Override
+	public String toString() {
+		return paraReais().toPlainString();
+	}
+}
@@ -0,0 +1,61 @@
+package com.energygames.lojadegames.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.http.CacheControl;
+
+/**
+ * Montagem de ETags fortes a partir de versões/timestamps das entidades
+ * As ETags de listagens são impressões digitais agregadas (contagem, maior timestamp, IDs),
+ * nunca hashes do corpo serializado: assim um 304 é respondido sem montar DTO algum.
+ */
+public final class EtagUtils {
+
+	/**
+	 * Navegador e CDN podem armazenar, mas revalidam a cada uso com If-None-Match
+	 * (substitui o no-store padrão do Spring Security nesses endpoints públicos)
+	 */
+	public static final CacheControl REVALIDAR = CacheControl.noCache().cachePublic();
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private EtagUtils() {}
+
+	/**
+	 * ETag forte (entre aspas) com os valores em hexadecimal
+	 */
+	public static String forte(String prefixo, long... valores) {
+		StringBuilder etag = new StringBuilder("\"").append(prefixo);
+		for (long valor : valores) {
+			etag.append('-').append(Long.toHexString(valor));
+		}
+		return etag.append('"').toString();
+	}
+
+	/**
+	 * Timestamp com precisão de nanossegundos como número (0 quando ausente)
+	 */
+	public static long valor(LocalDateTime dataHora) {
+		if (dataHora == null) {
+			return 0L;
+		}
+		return dataHora.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dataHora.getNano();
+	}
+
+	/**
+	 * Impressão digital incremental (FNV-1a sobre os 8 bytes de cada valor)
+	 */
+	public static long combinar(long hash, long valor) {
+		for (int i = 0; i < Long.BYTES; i++) {
+			hash ^= (valor >>> (i * 8)) & 0xff;
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+	public static long inicioHash() {
+		return FNV_OFFSET;
+	}
+}
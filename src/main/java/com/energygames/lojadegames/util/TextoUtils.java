@@ -0,0 +1,39 @@
+package com.energygames.lojadegames.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitários de normalização de texto compartilhados entre geração de slug e busca
+ * Garante que "Ação", "acao" e "AÇÃO" sejam tratados como o mesmo termo
+ */
+public final class TextoUtils {
+
+	private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+	private TextoUtils() {}
+
+	/**
+	 * Remove acentos e converte para minúsculas
+	 */
+	public static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		return semAcentos.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Gera um slug (URL amigável) a partir de um texto
+	 */
+	public static String gerarSlug(String texto) {
+		return normalizar(texto)
+			.replaceAll("[^a-z0-9\\s-]", "")
+			.replaceAll("\\s+", "-")
+			.replaceAll("-+", "-")
+			.replaceAll("^-|-$", "")
+			.trim();
+	}
+}
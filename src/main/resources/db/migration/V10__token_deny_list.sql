@@ -0,0 +1,21 @@
+-- =====================================================
+-- Migration V10: Token Deny List
+-- Description: JWTs now carry user id, nickname and roles, so authentication no longer reads tb_usuarios.
+--              Tokens revoked before their exp (logout) are listed here and synced into memory by every instance.
+-- Date: 2026-10-18
+-- =====================================================
+
+CREATE TABLE tb_tokens_revogados (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti VARCHAR(36) NOT NULL,
+    usuario_id BIGINT,
+    expira_em DATETIME(6) NOT NULL,
+    revogado_em DATETIME(6) NOT NULL,
+    UNIQUE INDEX idx_token_revogado_jti (jti),
+    INDEX idx_token_revogado_em (revogado_em),
+    INDEX idx_token_expira_em (expira_em)
+);
+
+-- =====================================================
+-- END OF MIGRATION V10
+-- =====================================================
@@ -0,0 +1,26 @@
+-- =====================================================
+-- Migration V11: Refresh Tokens
+-- Description: Opaque refresh tokens stored as SHA-256, rotated on every use. A reused token revokes
+--              its whole family (login session). Access JWTs become short-lived.
+-- Date: 2026-10-18
+-- =====================================================
+
+CREATE TABLE tb_refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hash VARCHAR(64) NOT NULL,
+    familia VARCHAR(36) NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    expira_em DATETIME(6) NOT NULL,
+    criado_em DATETIME(6) NOT NULL,
+    usado_em DATETIME(6),
+    revogado_em DATETIME(6),
+    UNIQUE INDEX idx_refresh_token_hash (hash),
+    INDEX idx_refresh_token_familia (familia),
+    INDEX idx_refresh_token_usuario (usuario_id),
+    INDEX idx_refresh_token_expira_em (expira_em),
+    CONSTRAINT fk_refresh_token_usuario FOREIGN KEY (usuario_id) REFERENCES tb_usuarios(id) ON DELETE CASCADE
+);
+
+-- =====================================================
+-- END OF MIGRATION V11
+-- =====================================================
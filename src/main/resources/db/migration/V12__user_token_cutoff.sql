@@ -0,0 +1,19 @@
+-- =====================================================
+-- Migration V12: User Token Cutoff
+-- Description: Per-user "issued before" cutoff for access JWTs. Changing email, password or roles moves the
+--              cutoff, so tokens carrying the principal in their claims stop working before their exp.
+-- Date: 2026-10-18
+-- =====================================================
+
+CREATE TABLE tb_cortes_tokens_usuario (
+    usuario_id BIGINT PRIMARY KEY,
+    emitidos_antes DATETIME(6) NOT NULL,
+    expira_em DATETIME(6) NOT NULL,
+    atualizado_em DATETIME(6) NOT NULL,
+    INDEX idx_corte_token_atualizado_em (atualizado_em),
+    INDEX idx_corte_token_expira_em (expira_em)
+);
+
+-- =====================================================
+-- END OF MIGRATION V12
+-- =====================================================
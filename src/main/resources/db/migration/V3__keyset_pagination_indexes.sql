@@ -0,0 +1,19 @@
+-- =====================================================
+-- Migration V3: Keyset Pagination Indexes
+-- Description: Indexes backing cursor pagination on catalog, reviews and favorites
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Catálogo: ordenação por nome e preço (dataLancamento e rating já indexados)
+CREATE INDEX idx_nome ON tb_produtos(nome);
+CREATE INDEX idx_preco ON tb_produtos(preco);
+
+-- Avaliações de um produto ordenadas por data
+CREATE INDEX idx_avaliacao_produto_data ON tb_avaliacoes(produto_id, data_avaliacao);
+
+-- Favoritos de um usuário ordenados por data
+CREATE INDEX idx_favorito_usuario_data ON tb_favoritos(usuario_id, data_adicionado);
+
+-- =====================================================
+-- END OF MIGRATION V3
+-- =====================================================
@@ -0,0 +1,14 @@
+-- =====================================================
+-- Migration V4: Catalog ETag Timestamps
+-- Description: Update timestamp on categories backing conditional GET (ETag) fingerprints
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE tb_categoria
+    ADD COLUMN data_atualizacao DATETIME(6);
+
+UPDATE tb_categoria SET data_atualizacao = COALESCE(data_criacao, NOW(6));
+
+-- =====================================================
+-- END OF MIGRATION V4
+-- =====================================================
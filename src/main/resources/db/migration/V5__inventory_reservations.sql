@@ -0,0 +1,23 @@
+-- =====================================================
+-- Migration V5: Inventory Reservations
+-- Description: Reserved stock counter on products and time-boxed reservation ledger for pending orders
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE tb_produtos
+    ADD COLUMN estoque_reservado INT NOT NULL DEFAULT 0;
+
+CREATE TABLE tb_reservas_estoque (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    pedido_id BIGINT NOT NULL,
+    produto_id BIGINT NOT NULL,
+    quantidade INT NOT NULL,
+    expira_em DATETIME(6) NOT NULL,
+    criado_em DATETIME(6) NOT NULL,
+    INDEX idx_reserva_pedido (pedido_id),
+    INDEX idx_reserva_expira_em (expira_em)
+);
+
+-- =====================================================
+-- END OF MIGRATION V5
+-- =====================================================
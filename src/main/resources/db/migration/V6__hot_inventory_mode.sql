@@ -0,0 +1,17 @@
+-- =====================================================
+-- Migration V6: Hot Inventory Mode
+-- Description: Flag for products whose stock is kept in in-memory counters during flash sales,
+--              and confirmed (sold, not yet flushed) rows in the reservation ledger
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE tb_produtos
+    ADD COLUMN estoque_quente BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE tb_reservas_estoque
+    ADD COLUMN confirmada BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD INDEX idx_reserva_produto_confirmada (produto_id, confirmada);
+
+-- =====================================================
+-- END OF MIGRATION V6
+-- =====================================================
@@ -0,0 +1,33 @@
+-- =====================================================
+-- Migration V7: Pooled Id Generators
+-- Description: Sequence tables (MySQL emulation used by Hibernate) for write-heavy entities,
+--              allowing JDBC insert batching. Ids are handed out in blocks of 50 (allocationSize).
+-- Date: 2026-10-18
+-- =====================================================
+
+-- O otimizador pooled trata o valor lido como limite superior do bloco:
+-- cada tabela começa em MAX(id) + 51 para o primeiro bloco não colidir com ids existentes
+-- (tb_itens_pedido e tb_payment_events ainda não têm migration: seq_itens_pedido e
+--  seq_payment_events são criadas pelo Hibernate junto com elas)
+
+CREATE TABLE seq_produto_imagens (next_val BIGINT);
+INSERT INTO seq_produto_imagens SELECT COALESCE(MAX(id), 0) + 51 FROM tb_produto_imagens;
+
+CREATE TABLE seq_produto_videos (next_val BIGINT);
+INSERT INTO seq_produto_videos SELECT COALESCE(MAX(id), 0) + 51 FROM tb_produto_videos;
+
+CREATE TABLE seq_carrinho_itens (next_val BIGINT);
+INSERT INTO seq_carrinho_itens SELECT COALESCE(MAX(id), 0) + 51 FROM tb_carrinho_itens;
+
+CREATE TABLE seq_reservas_estoque (next_val BIGINT);
+INSERT INTO seq_reservas_estoque SELECT COALESCE(MAX(id), 0) + 51 FROM tb_reservas_estoque;
+
+-- As colunas id deixam de depender de AUTO_INCREMENT
+ALTER TABLE tb_produto_imagens MODIFY id BIGINT NOT NULL;
+ALTER TABLE tb_produto_videos MODIFY id BIGINT NOT NULL;
+ALTER TABLE tb_carrinho_itens MODIFY id BIGINT NOT NULL;
+ALTER TABLE tb_reservas_estoque MODIFY id BIGINT NOT NULL;
+
+-- =====================================================
+-- END OF MIGRATION V7
+-- =====================================================
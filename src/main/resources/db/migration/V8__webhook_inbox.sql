@@ -0,0 +1,28 @@
+-- =====================================================
+-- Migration V8: Webhook Inbox
+-- Description: Transactional inbox for Stripe webhooks. Ingestion stores the verified raw event and acks;
+--              workers drain it with retries, exponential backoff, per-order serialization and a dead-letter state.
+-- Date: 2026-10-18
+-- =====================================================
+
+CREATE TABLE tb_webhook_eventos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    stripe_event_id VARCHAR(255) NOT NULL,
+    tipo VARCHAR(255) NOT NULL,
+    chave VARCHAR(100),
+    payload LONGTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    proxima_tentativa DATETIME(6) NOT NULL,
+    bloqueado_ate DATETIME(6),
+    ultimo_erro VARCHAR(1000),
+    recebido_em DATETIME(6) NOT NULL,
+    processado_em DATETIME(6),
+    UNIQUE INDEX idx_webhook_stripe_event_id (stripe_event_id),
+    INDEX idx_webhook_status_proxima (status, proxima_tentativa),
+    INDEX idx_webhook_chave (chave, status)
+);
+
+-- =====================================================
+-- END OF MIGRATION V8
+-- =====================================================
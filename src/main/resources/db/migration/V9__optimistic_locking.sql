@@ -0,0 +1,13 @@
+-- =====================================================
+-- Migration V9: Optimistic Locking
+-- Description: Version column for catalog edits (admin and IGDB sync) on products.
+--              tb_pedidos.versao is created with the table by Hibernate (no migration for tb_pedidos)
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE tb_produtos
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+-- =====================================================
+-- END OF MIGRATION V9
+-- =====================================================
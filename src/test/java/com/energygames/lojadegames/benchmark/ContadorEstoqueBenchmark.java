@@ -0,0 +1,76 @@
+package com.energygames.lojadegames.benchmark;
+
+import com.energygames.lojadegames.service.estoque.ContadorEstoque;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retirada + devolução de uma unidade sob disputa: contador em faixas x um único AtomicInteger
+ * (equivalente em memória a todos os compradores disputando a mesma linha)
+ *
+ * Executar com: mvn test-compile e depois a classe main pelo classpath de teste (IDE ou exec:java)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ContadorEstoqueBenchmark {
+
+    @Param({"1", "16"})
+    private int faixas;
+
+    private ContadorEstoque contador;
+    private final AtomicInteger unico = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        contador = new ContadorEstoque(1_000_000, faixas);
+        unico.set(1_000_000);
+    }
+
+    @Benchmark
+    public boolean contadorEmFaixas() {
+        boolean retirou = contador.tentarRetirar(1);
+        if (retirou) {
+            contador.devolver(1);
+        }
+        return retirou;
+    }
+
+    @Benchmark
+    public boolean atomicoUnico() {
+        int saldo = unico.get();
+        while (saldo >= 1) {
+            int atual = unico.compareAndExchange(saldo, saldo - 1);
+            if (atual == saldo) {
+                unico.incrementAndGet();
+                return true;
+            }
+            saldo = atual;
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContadorEstoqueBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.energygames.lojadegames.benchmark;
+
+import com.energygames.lojadegames.util.Dinheiro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total de um carrinho (preço, desconto, quantidade por item): cadeia BigDecimal usada antes
+ * em CarrinhoItem.calcularSubtotal x Dinheiro em centavos
+ *
+ * Executar com: mvn test-compile e depois a classe main pelo classpath de teste (IDE ou exec:java)
+ * Para ver alocação por operação: adicionar -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DinheiroBenchmark {
+
+    @Param({"5", "50"})
+    private int itens;
+
+    private BigDecimal[] precos;
+    private BigDecimal[] descontos;
+    private int[] quantidades;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        precos = new BigDecimal[itens];
+        descontos = new BigDecimal[itens];
+        quantidades = new int[itens];
+        for (int i = 0; i < itens; i++) {
+            precos[i] = BigDecimal.valueOf(999 + random.nextInt(30_000), 2);
+            descontos[i] = random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(8) * 500, 2) : null;
+            quantidades[i] = 1 + random.nextInt(3);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal cadeiaBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itens; i++) {
+            BigDecimal precoFinal = precos[i];
+            if (descontos[i] != null && descontos[i].compareTo(BigDecimal.ZERO) > 0) {
+                BigDecimal percentual = descontos[i].divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+                precoFinal = precos[i].subtract(precos[i].multiply(percentual));
+            }
+            total = total.add(precoFinal.multiply(BigDecimal.valueOf(quantidades[i])).setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal dinheiro() {
+        Dinheiro total = Dinheiro.ZERO;
+        for (int i = 0; i < itens; i++) {
+            total = total.mais(Dinheiro.de(precos[i]).comDesconto(descontos[i]).vezes(quantidades[i]));
+        }
+        return total.paraReais();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DinheiroBenchmark.class.getSimpleName()).build()).run();
+    }
+}
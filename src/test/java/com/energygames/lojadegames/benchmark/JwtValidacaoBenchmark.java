@@ -0,0 +1,83 @@
+package com.energygames.lojadegames.benchmark;
+
+import com.energygames.lojadegames.enums.RoleEnum;
+import com.energygames.lojadegames.model.Usuario;
+import com.energygames.lojadegames.security.JwtService;
+import com.energygames.lojadegames.security.TokenValidado;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de um token por requisição: fluxo anterior do JwtAuthFilter (extractUsername,
+ * validateToken e extractExpiration, cada um decodificando o segredo, derivando a chave e
+ * montando um parser) x JwtService.validar (um parse com parser e chave pré-montados)
+ *
+ * Executar com: mvn test-compile e depois a classe main pelo classpath de teste (IDE ou exec:java)
+ * Para ver alocação por operação: adicionar -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidacaoBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L);
+        Usuario usuario = new Usuario();
+        usuario.setId(42L);
+        usuario.setNickname("jogador");
+        usuario.setEmail("jogador@email.com");
+        usuario.getRoles().add(RoleEnum.ROLE_USER);
+        token = jwtService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Date parsePorChamada() {
+        String username = claimsPorChamada(token).getSubject();
+        boolean valido = username.equals(claimsPorChamada(token).getSubject())
+                && !claimsPorChamada(token).getExpiration().before(new Date());
+        return valido ? claimsPorChamada(token).getExpiration() : null;
+    }
+
+    @Benchmark
+    public TokenValidado parseUnico() {
+        return jwtService.validar(token);
+    }
+
+    // Implementação anterior de JwtService.extractAllClaims
+    private static Claims claimsPorChamada(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                .parseClaimsJws(token).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtValidacaoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.energygames.lojadegames.controller;
+
+import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
+import com.energygames.lojadegames.service.ProdutoService;
+import com.energygames.lojadegames.service.cache.ProdutoListagemRespostaCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes de GET condicional (ETag) no ProdutoController")
+class ProdutoControllerEtagTest {
+
+    private static final String ETAG = "\"p-1-18c2f-3-18c00\"";
+
+    @Mock
+    private ProdutoService produtoService;
+
+    @Mock
+    private ProdutoListagemRespostaCache listagemCache;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProdutoController(produtoService, listagemCache)).build();
+    }
+
+    @Test
+    @DisplayName("Deve responder 200 com ETag na primeira requisição")
+    void deveResponderComEtag() throws Exception {
+        // Arrange
+        ProdutoDetalheResponseDTO dto = new ProdutoDetalheResponseDTO();
+        dto.setId(1L);
+        dto.setNome("Zelda");
+        when(produtoService.calcularEtagPorSlug("zelda")).thenReturn(ETAG);
+        when(produtoService.buscarDetalhePorSlug("zelda")).thenReturn(dto);
+
+        // Act & Assert
+        mockMvc.perform(get("/produtos/slug/zelda"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andExpect(jsonPath("$.nome").value("Zelda"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem montar o DTO quando a ETag confere")
+    void deveResponderNaoModificado() throws Exception {
+        // Arrange
+        when(produtoService.calcularEtag(1L)).thenReturn(ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/produtos/1/detalhe").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().string(""));
+
+        verify(produtoService, never()).buscarDetalhePorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve responder 200 quando a ETag do cliente está desatualizada")
+    void deveResponderComCorpoQuandoEtagMudou() throws Exception {
+        // Arrange
+        when(produtoService.calcularEtag(1L)).thenReturn(ETAG);
+        when(produtoService.buscarDetalhePorId(1L)).thenReturn(new ProdutoDetalheResponseDTO());
+
+        // Act & Assert
+        mockMvc.perform(get("/produtos/1/detalhe").header(HttpHeaders.IF_NONE_MATCH, "\"p-1-antiga\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+}
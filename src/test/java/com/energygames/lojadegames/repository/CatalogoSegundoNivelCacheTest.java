@@ -0,0 +1,84 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.dto.response.CacheEstatisticasDTO;
+import com.energygames.lojadegames.enums.TipoPlataformaEnum;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.Plataforma;
+import com.energygames.lojadegames.service.cache.SegundoNivelCacheMonitor;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+// Sem transação de teste: o cache READ_WRITE só é populado após o commit de cada operação
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do cache de segundo nível das entidades de referência do catálogo")
+class CatalogoSegundoNivelCacheTest {
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PlataformaRepository plataformaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        categoriaRepository.deleteAll();
+        plataformaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve servir Categoria e Plataforma do cache após a primeira carga")
+    void deveServirEntidadesDoCache() {
+        // Arrange
+        Categoria categoria = categoriaRepository.save(new Categoria("Aventura", "Jogos de aventura"));
+        Plataforma plataforma = plataformaRepository.save(new Plataforma("PC (Windows)", "pc-windows", TipoPlataformaEnum.PC));
+        categoriaRepository.findById(categoria.getId());
+        plataformaRepository.findById(plataforma.getId());
+
+        // Act
+        categoriaRepository.findById(categoria.getId());
+        plataformaRepository.findById(plataforma.getId());
+
+        // Assert
+        List<CacheEstatisticasDTO> regioes = new SegundoNivelCacheMonitor(entityManagerFactory).estatisticas();
+        assertThat(regiao(regioes, "l2:catalogo-categoria").getHits()).isPositive();
+        assertThat(regiao(regioes, "l2:catalogo-plataforma").getHits()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o cache de consultas na busca por ID da IGDB")
+    void deveUsarCacheDeConsultas() {
+        // Arrange
+        Plataforma plataforma = new Plataforma("PlayStation 5", "playstation-5", TipoPlataformaEnum.CONSOLE);
+        plataforma.setIdIgdb(167);
+        plataformaRepository.save(plataforma);
+        plataformaRepository.findByIdIgdb(167);
+
+        // Act
+        assertThat(plataformaRepository.findByIdIgdb(167)).isPresent();
+
+        // Assert
+        List<CacheEstatisticasDTO> regioes = new SegundoNivelCacheMonitor(entityManagerFactory).estatisticas();
+        assertThat(regiao(regioes, "l2:default-query-results-region").getHits()).isPositive();
+    }
+
+    private CacheEstatisticasDTO regiao(List<CacheEstatisticasDTO> regioes, String nome) {
+        return regioes.stream().filter(r -> r.getNome().equals(nome)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,222 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.dto.mapper.ProdutoMapper;
+import com.energygames.lojadegames.dto.request.ProdutoComercialUpdateDTO;
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.Usuario;
+import com.energygames.lojadegames.service.cache.ProdutoDetalheCache;
+import com.energygames.lojadegames.service.concorrencia.RetentativaOtimista;
+import com.energygames.lojadegames.service.impl.ProdutoServiceImpl;
+import com.energygames.lojadegames.service.search.ProdutoAutocompleteIndex;
+import com.energygames.lojadegames.service.search.ProdutoFacetaIndex;
+import com.energygames.lojadegames.service.search.ProdutoSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+// Sem transação de teste: cada operação faz commit na própria transação, como nos serviços
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes da trava otimista e das transições de status por compare-and-set")
+class ControleVersaoConcorrenciaTest {
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+    private TransactionTemplate transacaoIsolada;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        transacaoIsolada = new TransactionTemplate(transactionManager);
+        transacaoIsolada.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Categoria categoria = categoriaRepository.save(new Categoria("Ação", "Jogos de ação"));
+        produto = produtoRepository.save(new Produto("Jogo Editado", "Descrição", new BigDecimal("199.90"), 10,
+            "PC", "Dev", "Publisher", LocalDate.of(2024, 1, 1), categoria));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a gravação de um produto lido antes de outra edição")
+    void deveRejeitarGravacaoDesatualizada() {
+        // Arrange
+        Produto lidoAntes = produtoRepository.findById(produto.getId()).orElseThrow();
+        transacao.executeWithoutResult(status -> {
+            Produto atual = produtoRepository.findById(produto.getId()).orElseThrow();
+            atual.setPreco(new BigDecimal("149.90"));
+        });
+
+        // Act & Assert
+        lidoAntes.setDesconto(new BigDecimal("10"));
+        assertThatThrownBy(() -> produtoRepository.save(lidoAntes))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(produtoRepository.findById(produto.getId()).orElseThrow().getPreco())
+            .isEqualByComparingTo("149.90");
+    }
+
+    @Test
+    @DisplayName("Edição lida antes de uma baixa de estoque deve esbarrar na trava otimista")
+    void edicaoLidaAntesDaBaixaDeveConflitar() {
+        // Act
+        assertThatThrownBy(() -> transacao.executeWithoutResult(status -> {
+            Produto editado = produtoRepository.findById(produto.getId()).orElseThrow();
+            transacaoIsolada.executeWithoutResult(venda ->
+                produtoRepository.baixarEstoque(produto.getId(), 3, LocalDateTime.now()));
+            editado.setPreco(new BigDecimal("99.90"));
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        // Assert
+        Produto atual = produtoRepository.findById(produto.getId()).orElseThrow();
+        assertThat(atual.getEstoque()).isEqualTo(7);
+        assertThat(atual.getPreco()).isEqualByComparingTo("199.90");
+        assertThat(atual.getVersao()).isEqualTo(produto.getVersao() + 1);
+    }
+
+    @Test
+    @DisplayName("Edição comercial que cruza com uma baixa deve ser repetida sem devolver as unidades vendidas")
+    void edicaoComercialDeveManterBaixaConcorrente() {
+        // Arrange: a baixa acontece entre a leitura e a gravação da primeira tentativa
+        AtomicInteger leituras = new AtomicInteger();
+        ProdutoRepository repositorio = mock(ProdutoRepository.class, delegatesTo(produtoRepository));
+        doAnswer(invocacao -> {
+            Optional<Produto> lido = produtoRepository.findById(produto.getId());
+            if (leituras.incrementAndGet() == 1) {
+                transacaoIsolada.executeWithoutResult(venda ->
+                    produtoRepository.baixarEstoque(produto.getId(), 3, LocalDateTime.now()));
+            }
+            return lido;
+        }).when(repositorio).findById(produto.getId());
+        ProdutoServiceImpl produtoService = new ProdutoServiceImpl(repositorio, mock(ProdutoImagemRepository.class),
+            categoriaRepository, usuarioRepository, mock(ProdutoMapper.class), mock(ProdutoSearchIndex.class),
+            mock(ProdutoAutocompleteIndex.class), mock(ProdutoFacetaIndex.class), mock(ApplicationEventPublisher.class),
+            mock(ProdutoDetalheCache.class), transactionManager, new RetentativaOtimista(transactionManager, 3, 0));
+        ProdutoComercialUpdateDTO dto = new ProdutoComercialUpdateDTO();
+        dto.setPreco(new BigDecimal("79.90"));
+        dto.setEstoque(15);
+
+        // Act: o admin leu 10 e pediu 15
+        produtoService.atualizarDadosComerciais(produto.getId(), dto);
+
+        // Assert
+        Produto atual = produtoRepository.findById(produto.getId()).orElseThrow();
+        assertThat(leituras).hasValue(2);
+        assertThat(atual.getEstoque()).isEqualTo(12);
+        assertThat(atual.getPreco()).isEqualByComparingTo("79.90");
+    }
+
+    @Test
+    @DisplayName("Deve repetir a edição relendo o produto após conflito de versão")
+    void deveRepetirAposConflito() {
+        // Arrange
+        RetentativaOtimista retentativa = new RetentativaOtimista(transactionManager, 3, 0);
+        AtomicInteger tentativas = new AtomicInteger();
+
+        // Act
+        retentativa.executar("teste", () -> {
+            Produto editado = produtoRepository.findById(produto.getId()).orElseThrow();
+            if (tentativas.incrementAndGet() == 1) {
+                transacaoIsolada.executeWithoutResult(status -> {
+                    Produto concorrente = produtoRepository.findById(produto.getId()).orElseThrow();
+                    concorrente.setDesconto(new BigDecimal("25"));
+                });
+            }
+            editado.setPreco(new BigDecimal("89.90"));
+            return produtoRepository.saveAndFlush(editado);
+        });
+
+        // Assert
+        Produto atual = produtoRepository.findById(produto.getId()).orElseThrow();
+        assertThat(tentativas).hasValue(2);
+        assertThat(atual.getPreco()).isEqualByComparingTo("89.90");
+        assertThat(atual.getDesconto()).isEqualByComparingTo("25");
+    }
+
+    @Test
+    @DisplayName("Somente uma transição de status deve vencer a partir do mesmo status lido")
+    void somenteUmaTransicaoDeveVencer() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNickname("comprador");
+        usuario.setEmail("comprador@email.com");
+        usuario.setSenha("senha-segura");
+        usuarioRepository.save(usuario);
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuario);
+        pedido.setStatus(StatusPedidoEnum.PENDENTE_PAGAMENTO);
+        pedido.setValorTotal(new BigDecimal("199.90"));
+        pedido = pedidoRepository.save(pedido);
+        Long id = pedido.getId();
+
+        // Act
+        int pago = transacao.execute(status -> pedidoRepository.transicionarStatus(
+            id, StatusPedidoEnum.PENDENTE_PAGAMENTO, StatusPedidoEnum.PAGO, LocalDateTime.now()));
+        int cancelado = transacao.execute(status -> pedidoRepository.transicionarStatus(
+            id, StatusPedidoEnum.PENDENTE_PAGAMENTO, StatusPedidoEnum.CANCELADO, LocalDateTime.now()));
+
+        // Assert
+        assertThat(pago).isEqualTo(1);
+        assertThat(cancelado).isZero();
+        assertThat(pedidoRepository.findStatusById(id)).contains(StatusPedidoEnum.PAGO);
+        assertThat(pedidoRepository.findById(id).orElseThrow().getVersao()).isEqualTo(pedido.getVersao() + 1);
+    }
+
+    @Test
+    @DisplayName("Máquina de estados não deve permitir sair de status final nem pular etapas")
+    void maquinaDeEstadosDeveRestringirTransicoes() {
+        assertThat(StatusPedidoEnum.PENDENTE_PAGAMENTO.podeIrPara(StatusPedidoEnum.PAGO)).isTrue();
+        assertThat(StatusPedidoEnum.PAGO.podeIrPara(StatusPedidoEnum.ENVIADO)).isTrue();
+        assertThat(StatusPedidoEnum.CANCELADO.podeIrPara(StatusPedidoEnum.PAGO)).isFalse();
+        assertThat(StatusPedidoEnum.ENTREGUE.podeIrPara(StatusPedidoEnum.CANCELADO)).isFalse();
+        assertThat(StatusPedidoEnum.PENDENTE_PAGAMENTO.podeIrPara(StatusPedidoEnum.ENVIADO)).isFalse();
+    }
+}
@@ -0,0 +1,125 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
+import com.energygames.lojadegames.enums.TipoImagemEnum;
+import com.energygames.lojadegames.enums.TipoVideoEnum;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.ItemPedido;
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.ProdutoImagem;
+import com.energygames.lojadegames.model.ProdutoVideo;
+import com.energygames.lojadegames.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Usa batch_size/order_inserts do application.properties: o teste protege a configuração real
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Testes de inserção em lote (ids por sequência com pool)")
+class InsercaoEmLoteTest {
+
+    private static final int TOTAL_FILHOS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        categoria = entityManager.persist(new Categoria("Ação", "Jogos de ação"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Mídias de uma importação devem ser gravadas em lote")
+    void midiasDevemSerGravadasEmLote() {
+        // Arrange
+        Produto produto = novoProduto("Importado");
+        for (int i = 0; i < TOTAL_FILHOS; i++) {
+            produto.adicionarImagem(new ProdutoImagem(produto, "https://igdb/ss-" + i + ".jpg", TipoImagemEnum.SCREENSHOT));
+            produto.adicionarVideo(new ProdutoVideo(produto, "video-" + i, TipoVideoEnum.TRAILER));
+        }
+        Statistics estatisticas = estatisticas();
+
+        // Act
+        entityManager.persist(produto);
+        entityManager.flush();
+
+        // Assert: 1 + 2 x 20 linhas; produto (IDENTITY) + blocos de ids + um lote por tabela
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(1 + 2L * TOTAL_FILHOS);
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Itens de um pedido devem ser gravados em lote")
+    void itensDoPedidoDevemSerGravadosEmLote() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNickname("comprador");
+        usuario.setEmail("comprador@email.com");
+        usuario.setSenha("senha-segura");
+        entityManager.persist(usuario);
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_FILHOS; i++) {
+            produtos.add(entityManager.persist(novoProduto("Jogo " + i)));
+        }
+        entityManager.flush();
+
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuario);
+        pedido.setStatus(StatusPedidoEnum.PENDENTE_PAGAMENTO);
+        pedido.setValorTotal(new BigDecimal("1998.00"));
+        List<ItemPedido> itens = new ArrayList<>();
+        for (Produto produto : produtos) {
+            ItemPedido item = new ItemPedido();
+            item.setPedido(pedido);
+            item.setProduto(produto);
+            item.setQuantidade(1);
+            item.setPrecoUnitario(new BigDecimal("99.90"));
+            itens.add(item);
+        }
+        pedido.setItens(itens);
+        Statistics estatisticas = estatisticas();
+
+        // Act
+        entityManager.persist(pedido);
+        entityManager.flush();
+
+        // Assert: pedido (IDENTITY) + bloco de ids + um lote de itens
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(1 + TOTAL_FILHOS);
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    private Statistics estatisticas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        return estatisticas;
+    }
+
+    private Produto novoProduto(String nome) {
+        return new Produto(nome, "Descrição", new BigDecimal("99.90"), 10,
+            "PC", "Dev", "Publisher", LocalDate.of(2020, 1, 1), categoria);
+    }
+}
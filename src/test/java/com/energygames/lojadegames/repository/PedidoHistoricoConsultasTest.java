@@ -0,0 +1,130 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.dto.projection.ItemPedidoHistoricoProjection;
+import com.energygames.lojadegames.dto.projection.PedidoHistoricoProjection;
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.ItemPedido;
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Testes das consultas do histórico de pedidos")
+class PedidoHistoricoConsultasTest {
+
+    private static final int TOTAL_PEDIDOS = 25;
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setNickname("colecionador");
+        usuario.setEmail("colecionador@email.com");
+        usuario.setSenha("senha-segura");
+        entityManager.persist(usuario);
+
+        Categoria categoria = entityManager.persist(new Categoria("RPG", "Jogos de RPG"));
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+            produtos.add(entityManager.persist(new Produto("Jogo " + i, "Descrição", new BigDecimal("100.00"), 10,
+                "PC", "Dev", "Publisher", LocalDate.of(2020, 1, 1), categoria)));
+        }
+
+        for (int p = 0; p < TOTAL_PEDIDOS; p++) {
+            Pedido pedido = new Pedido();
+            pedido.setUsuario(usuario);
+            pedido.setStatus(StatusPedidoEnum.PAGO);
+            pedido.setValorTotal(new BigDecimal("600.00"));
+            List<ItemPedido> itens = new ArrayList<>();
+            for (Produto produto : produtos) {
+                ItemPedido item = new ItemPedido();
+                item.setPedido(pedido);
+                item.setProduto(produto);
+                item.setQuantidade(2);
+                item.setPrecoUnitario(new BigDecimal("100.00"));
+                itens.add(item);
+            }
+            pedido.setItens(itens);
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Página do histórico com itens deve custar duas consultas")
+    void paginaDeveCustarDuasConsultas() {
+        // Arrange
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        List<PedidoHistoricoProjection> pedidos = pedidoRepository.findHistorico(usuario.getId(), Long.MAX_VALUE,
+            PageRequest.of(0, 10));
+        List<ItemPedidoHistoricoProjection> itens = itemPedidoRepository.findHistoricoPorPedidoIds(
+            pedidos.stream().map(PedidoHistoricoProjection::id).toList());
+
+        // Assert
+        assertThat(pedidos).hasSize(10);
+        assertThat(pedidos).allSatisfy(pedido -> assertThat(pedido.totalItens()).isEqualTo(2L * ITENS_POR_PEDIDO));
+        assertThat(itens).hasSize(10 * ITENS_POR_PEDIDO);
+        assertThat(itens).allSatisfy(item -> assertThat(item.produtoNome()).startsWith("Jogo "));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cursor deve continuar do último pedido sem repetir nem pular")
+    void cursorDeveContinuarDoUltimoPedido() {
+        // Act
+        List<Long> vistos = new ArrayList<>();
+        Long antesDeId = Long.MAX_VALUE;
+        List<PedidoHistoricoProjection> pagina;
+        do {
+            pagina = pedidoRepository.findHistorico(usuario.getId(), antesDeId, PageRequest.of(0, 10));
+            pagina.forEach(pedido -> vistos.add(pedido.id()));
+            if (!pagina.isEmpty()) {
+                antesDeId = pagina.get(pagina.size() - 1).id();
+            }
+        } while (pagina.size() == 10);
+
+        // Assert
+        assertThat(vistos).hasSize(TOTAL_PEDIDOS).doesNotHaveDuplicates();
+        assertThat(vistos).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+}
@@ -0,0 +1,101 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.dto.response.CursorPageResponseDTO;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.util.CursorPaginacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("Testes de paginação por cursor (keyset) no ProdutoRepository")
+class ProdutoCursorPaginacaoTest {
+
+    private static final CursorPaginacao.Campo<Produto> CAMPO_RATING =
+        new CursorPaginacao.Campo<>(BigDecimal.class, Produto::getRatingIgdb);
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Ratings repetidos e nulos para exercitar desempate por ID e o bloco de NULLs
+        BigDecimal[] ratings = {
+            new BigDecimal("90.00"), null, new BigDecimal("75.50"), new BigDecimal("90.00"),
+            null, new BigDecimal("60.00"), new BigDecimal("75.50")
+        };
+        for (int i = 0; i < ratings.length; i++) {
+            Produto produto = new Produto("Jogo " + i, "Descrição " + i, new BigDecimal("99.90"), 10,
+                "PC", "Dev", "Publisher", LocalDate.of(2020, 1, 1).plusDays(i), null);
+            produto.setRatingIgdb(ratings[i]);
+            produtoRepository.save(produto);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas em ordem decrescente sem repetir nem pular itens")
+    void devePercorrerPaginasDescendentes() {
+        List<Produto> esperado = produtoRepository.findAll(
+            Sort.by(Sort.Direction.DESC, "ratingIgdb").and(Sort.by(Sort.Direction.DESC, "id")));
+
+        List<Long> percorrido = percorrer(Sort.Direction.DESC, 2);
+
+        assertThat(percorrido).containsExactlyElementsOf(esperado.stream().map(Produto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas em ordem crescente passando pelo bloco de NULLs")
+    void devePercorrerPaginasAscendentes() {
+        List<Produto> esperado = produtoRepository.findAll(
+            Sort.by(Sort.Direction.ASC, "ratingIgdb").and(Sort.by(Sort.Direction.ASC, "id")));
+
+        List<Long> percorrido = percorrer(Sort.Direction.ASC, 3);
+
+        assertThat(percorrido).containsExactlyElementsOf(esperado.stream().map(Produto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tamanho de página fora de 1..100")
+    void deveRejeitarTamanhoInvalido() {
+        assertThatThrownBy(() -> CursorPaginacao.validarTamanho(0)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CursorPaginacao.validarTamanho(-1)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CursorPaginacao.validarTamanho(CursorPaginacao.TAMANHO_MAXIMO + 1))
+            .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> CursorPaginacao.montarResposta(List.<Produto>of(), 0, "ratingIgdb",
+            Sort.Direction.DESC, CAMPO_RATING, Produto::getId, Produto::getId))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    private List<Long> percorrer(Sort.Direction direcao, int tamanho) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            Specification<Produto> spec = CursorPaginacao.aposCursor("ratingIgdb", direcao, CAMPO_RATING, cursor);
+            List<Produto> resultado = produtoRepository.findBy(spec, consulta -> consulta
+                .sortBy(CursorPaginacao.ordenacao("ratingIgdb", direcao))
+                .limit(tamanho + 1)
+                .all());
+            CursorPageResponseDTO<Long> pagina = CursorPaginacao.montarResposta(resultado, tamanho, "ratingIgdb",
+                direcao, CAMPO_RATING, Produto::getId, Produto::getId);
+            ids.addAll(pagina.getConteudo());
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
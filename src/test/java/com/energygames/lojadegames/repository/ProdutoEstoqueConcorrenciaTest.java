@@ -0,0 +1,102 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.Produto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+// Sem transação de teste: cada baixa roda e faz commit na própria transação, como no webhook
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes da baixa de estoque condicional sob concorrência")
+class ProdutoEstoqueConcorrenciaTest {
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = categoriaRepository.save(new Categoria("Ação", "Jogos de ação"));
+        produto = produtoRepository.save(new Produto("Jogo Disputado", "Descrição", new BigDecimal("199.90"), 5,
+            "PC", "Dev", "Publisher", LocalDate.of(2024, 1, 1), categoria));
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve baixar o estoque apenas quando há saldo suficiente")
+    void deveBaixarApenasComSaldo() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        int primeira = transacao.execute(status -> produtoRepository.baixarEstoque(produto.getId(), 3, LocalDateTime.now()));
+        int segunda = transacao.execute(status -> produtoRepository.baixarEstoque(produto.getId(), 3, LocalDateTime.now()));
+
+        assertThat(primeira).isEqualTo(1);
+        assertThat(segunda).isZero();
+        assertThat(produtoRepository.findById(produto.getId()).orElseThrow().getEstoque()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve vender além do estoque com compras simultâneas")
+    void naoDeveVenderAlemDoEstoque() throws Exception {
+        // Arrange
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        int compradores = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < compradores; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return transacao.execute(status -> produtoRepository.baixarEstoque(produto.getId(), 1, LocalDateTime.now()));
+            }));
+        }
+        largada.countDown();
+        int vendidos = 0;
+        for (Future<Integer> resultado : resultados) {
+            vendidos += resultado.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(vendidos).isEqualTo(5);
+        assertThat(produtoRepository.findById(produto.getId()).orElseThrow().getEstoque()).isZero();
+    }
+}
@@ -0,0 +1,161 @@
+package com.energygames.lojadegames.repository;
+
+import com.energygames.lojadegames.dto.mapper.ProdutoMapper;
+import com.energygames.lojadegames.dto.projection.ProdutoListagemProjection;
+import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.enums.OrigemEnum;
+import com.energygames.lojadegames.enums.TipoImagemEnum;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.ProdutoImagem;
+import com.energygames.lojadegames.model.ProdutoOrigemExterna;
+import com.energygames.lojadegames.service.MediaUrlService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Testes de regressão N+1 na listagem de produtos")
+class ProdutoListagemConsultasTest {
+
+    private static final int TOTAL_PRODUTOS = 30;
+
+    // SELECT da página + COUNT + lote de imagens estruturadas + lote de imagens simples
+    private static final long MAXIMO_CONSULTAS_POR_PAGINA = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ProdutoImagemRepository produtoImagemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ProdutoMapper produtoMapper = new ProdutoMapper(new MediaUrlService());
+
+    @BeforeEach
+    void setUp() {
+        for (int c = 0; c < 3; c++) {
+            Categoria categoria = new Categoria("Categoria " + c, "Descrição");
+            entityManager.persist(categoria);
+
+            for (int i = 0; i < TOTAL_PRODUTOS / 3; i++) {
+                Produto produto = new Produto("Jogo " + c + "-" + i, "Descrição", new BigDecimal("99.90"), 10,
+                    "PC", "Dev", "Publisher", LocalDate.of(2020, 1, 1), categoria);
+                produto.setImagens(List.of("https://img/" + i + "-a.jpg", "https://img/" + i + "-b.jpg"));
+                produto.adicionarImagem(new ProdutoImagem(produto, "https://igdb/" + i + "-capa.jpg", TipoImagemEnum.CAPA));
+                produto.adicionarImagem(new ProdutoImagem(produto, "https://igdb/" + i + "-ss.jpg", TipoImagemEnum.SCREENSHOT));
+                produto.setOrigemExterna(new ProdutoOrigemExterna(produto, OrigemEnum.IGDB, String.valueOf(c * 100 + i)));
+                entityManager.persist(produto);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Página de 20 produtos deve custar número constante de consultas")
+    void paginaDeveCustarConsultasConstantes() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Page<ProdutoResponseDTO> pagina = produtoRepository.findAll(PageRequest.of(0, 20, Sort.by("nome")))
+            .map(produtoMapper::toResponseDTO);
+
+        assertThat(pagina.getContent()).hasSize(20);
+        assertThat(pagina.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getCategoria()).isNotNull();
+            assertThat(dto.getImagens()).hasSize(2);
+        });
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(MAXIMO_CONSULTAS_POR_PAGINA);
+    }
+
+    @Test
+    @DisplayName("Listagem filtrada por Specification deve custar número constante de consultas")
+    void listagemFiltradaDeveCustarConsultasConstantes() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Page<ProdutoResponseDTO> pagina = produtoRepository.findAll(
+                (root, query, cb) -> cb.like(root.get("nome"), "Jogo%"), PageRequest.of(1, 10, Sort.by("nome")))
+            .map(produtoMapper::toResponseDTO);
+
+        assertThat(pagina.getContent()).hasSize(10);
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(MAXIMO_CONSULTAS_POR_PAGINA);
+    }
+
+    @Test
+    @DisplayName("Listagem em projeção não deve hidratar entidades")
+    void listagemEmProjecaoNaoDeveHidratarEntidades() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        Page<ProdutoListagemProjection> pagina = produtoRepository.findListagem(PageRequest.of(0, 20, Sort.by("nome")));
+        List<Long> ids = pagina.getContent().stream().map(ProdutoListagemProjection::getId).toList();
+        List<Object[]> imagens = produtoImagemRepository.findUrlsPorProdutoIds(ids);
+
+        // Assert
+        assertThat(pagina.getTotalElements()).isEqualTo(TOTAL_PRODUTOS);
+        assertThat(pagina.getContent()).hasSize(20);
+        assertThat(pagina.getContent()).extracting(ProdutoListagemProjection::getNome).isSorted();
+        assertThat(pagina.getContent()).allSatisfy(linha -> assertThat(linha.getCategoriaTipo()).startsWith("Categoria"));
+        assertThat(imagens).hasSize(40);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Listagem em projeção deve filtrar por categoria e por IDs")
+    void listagemEmProjecaoDeveFiltrar() {
+        // Arrange
+        Long categoriaId = produtoRepository.findListagem(PageRequest.of(0, 1)).getContent().get(0).getCategoriaId();
+        List<Long> ids = produtoRepository.findListagemPorCategoria(categoriaId, PageRequest.of(0, 3)).getContent()
+            .stream().map(ProdutoListagemProjection::getId).toList();
+
+        // Act
+        Page<ProdutoListagemProjection> porCategoria = produtoRepository.findListagemPorCategoria(categoriaId, PageRequest.of(0, 20));
+        Page<ProdutoListagemProjection> porIds = produtoRepository.findListagemPorIds(ids, PageRequest.of(0, 20, Sort.by("id")));
+        Page<ProdutoListagemProjection> porNome = produtoRepository.findListagemPorNome("jogo 1-%", null, PageRequest.of(0, 20));
+
+        // Assert
+        assertThat(porCategoria.getTotalElements()).isEqualTo(TOTAL_PRODUTOS / 3);
+        assertThat(porIds.getContent()).extracting(ProdutoListagemProjection::getId).containsExactlyElementsOf(ids);
+        assertThat(porNome.getTotalElements()).isEqualTo(TOTAL_PRODUTOS / 3);
+        assertThat(produtoRepository.findUrlsImagensSimples(ids)).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("Dados do autocomplete devem trazer a URL da capa em uma única consulta")
+    void dadosAutocompleteDevemTrazerCapa() {
+        // Act
+        List<Object[]> linhas = produtoRepository.findDadosAutocompleteAposId(0L, PageRequest.of(0, 5));
+
+        // Assert
+        assertThat(linhas).hasSize(5);
+        assertThat(linhas).allSatisfy(linha -> assertThat((String) linha[5]).endsWith("-capa.jpg"));
+    }
+}
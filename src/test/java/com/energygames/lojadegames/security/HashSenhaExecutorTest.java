@@ -0,0 +1,100 @@
+package com.energygames.lojadegames.security;
+
+import com.energygames.lojadegames.dto.response.HashSenhaEstatisticasDTO;
+import com.energygames.lojadegames.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do HashSenhaExecutor - Pool limitado de hash de senhas")
+class HashSenhaExecutorTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final CountDownLatch ocupado = new CountDownLatch(1);
+    private HashSenhaExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        liberar.countDown();
+        executor.encerrar();
+    }
+
+    @Test
+    @DisplayName("Hash deve rodar fora da thread da requisição e entrar nas estatísticas")
+    void deveCalcularNoPool() {
+        // Arrange
+        executor = new HashSenhaExecutor(2, 4, 5_000);
+        PasswordEncoderIsolado encoder = new PasswordEncoderIsolado(new BCryptPasswordEncoder(4), executor);
+
+        // Act
+        String hash = encoder.encode("senha-segura");
+        String thread = executor.executar(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(encoder.matches("senha-segura", hash)).isTrue();
+        assertThat(thread).startsWith("hash-senha-");
+        HashSenhaEstatisticasDTO estatisticas = executor.estatisticas();
+        assertThat(estatisticas.concluidos()).isEqualTo(3);
+        assertThat(estatisticas.hashMaximoMs()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Fila cheia deve recusar na hora com 429")
+    void filaCheiaDeveRecusar() throws Exception {
+        // Arrange
+        executor = new HashSenhaExecutor(1, 1, 5_000);
+        ocuparUnicaThread();
+        CompletableFuture.runAsync(() -> executor.executar(() -> "na fila"));
+        aguardarFila(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.executar(() -> "recusado"))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(executor.estatisticas().rejeitados()).isEqualTo(1);
+        assertThat(executor.estatisticas().naFila()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Espera acima do limite deve desistir com 429 sem calcular o hash")
+    void esperaLongaDeveDesistir() throws Exception {
+        // Arrange
+        executor = new HashSenhaExecutor(1, 4, 50);
+        ocuparUnicaThread();
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.executar(() -> {
+            throw new AssertionError("Hash abandonado não deve ser calculado");
+        })).isInstanceOf(TooManyRequestsException.class);
+        liberar.countDown();
+        assertThat(executor.executar(() -> "depois")).isEqualTo("depois");
+    }
+
+    private void ocuparUnicaThread() throws InterruptedException {
+        CompletableFuture.runAsync(() -> executor.executar(() -> {
+            ocupado.countDown();
+            try {
+                return liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void aguardarFila(int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.estatisticas().naFila() < tamanho) {
+            assertThat(System.nanoTime()).isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+}
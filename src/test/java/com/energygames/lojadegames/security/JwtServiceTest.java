@@ -0,0 +1,89 @@
+package com.energygames.lojadegames.security;
+
+import com.energygames.lojadegames.enums.RoleEnum;
+import com.energygames.lojadegames.model.Usuario;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do JwtService - Claims do principal no token")
+class JwtServiceTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L);
+    }
+
+    @Test
+    @DisplayName("Principal montado dos claims deve trazer id, nickname e perfis sem consultar o banco")
+    void principalDeveVirDosClaims() {
+        // Act
+        TokenValidado validado = jwtService.validar(jwtService.generateToken(usuario()));
+        UserDetailsImpl principal = UserDetailsImpl.deToken(validado);
+
+        // Assert
+        assertThat(validado.jti()).isNotBlank();
+        assertThat(validado.emitidoEm()).isNotNull();
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("jogador@email.com");
+        assertThat(principal.getNickname()).isEqualTo("jogador");
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Token sem os claims do usuário deve cair na verificação pelo banco")
+    void tokenAntigoNaoDeveGerarPrincipal() {
+        // Arrange
+        String tokenAntigo = Jwts.builder()
+            .setSubject("jogador@email.com")
+            .setIssuedAt(new Date())
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+            .compact();
+
+        // Act & Assert
+        assertThat(UserDetailsImpl.deToken(jwtService.validar(tokenAntigo))).isNull();
+    }
+
+    @Test
+    @DisplayName("Token adulterado ou expirado deve ser recusado pelo parser reaproveitado")
+    void tokenInvalidoDeveSerRecusado() {
+        // Arrange
+        String token = jwtService.generateToken(usuario());
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String expirado = new JwtService(SECRET, -1_000L).generateToken(usuario());
+
+        // Act & Assert
+        assertThat(jwtService.validar(token).email()).isEqualTo("jogador@email.com");
+        assertThatThrownBy(() -> jwtService.validar(adulterado)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtService.validar(expirado)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(42L);
+        usuario.setNickname("jogador");
+        usuario.setEmail("jogador@email.com");
+        usuario.setSenha("hash");
+        usuario.getRoles().add(RoleEnum.ROLE_USER);
+        usuario.getRoles().add(RoleEnum.ROLE_ADMIN);
+        return usuario;
+    }
+}
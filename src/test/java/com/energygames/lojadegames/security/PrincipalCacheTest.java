@@ -0,0 +1,111 @@
+package com.energygames.lojadegames.security;
+
+import com.energygames.lojadegames.event.UsuarioAlteradoEvent;
+import com.energygames.lojadegames.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do PrincipalCache - Principais verificados por token")
+class PrincipalCacheTest {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.cliente.assinatura";
+
+    private PrincipalCache cache;
+    private AtomicInteger verificacoes;
+    private UserDetails cliente;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(300, 1000);
+        verificacoes = new AtomicInteger();
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("cliente@email.com");
+        usuario.setSenha("hash");
+        cliente = new UserDetailsImpl(usuario);
+    }
+
+    @Test
+    @DisplayName("Deve verificar o token apenas no primeiro acesso")
+    void deveVerificarApenasUmaVez() {
+        // Act
+        UserDetails primeiro = cache.obter(TOKEN, verificacao(60_000));
+        UserDetails segundo = cache.obter(TOKEN, verificacao(60_000));
+
+        // Assert
+        assertThat(segundo).isSameAs(primeiro);
+        assertThat(verificacoes).hasValue(1);
+        assertThat(cache.estatisticas().getHits()).isEqualTo(1);
+        assertThat(cache.estatisticas().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Alteração do usuário deve forçar nova verificação")
+    void alteracaoDoUsuarioDeveInvalidar() {
+        // Arrange
+        cache.obter(TOKEN, verificacao(60_000));
+
+        // Act
+        cache.onUsuarioAlterado(new UsuarioAlteradoEvent(1L, "cliente@email.com"));
+        cache.obter(TOKEN, verificacao(60_000));
+
+        // Assert
+        assertThat(verificacoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Não deve servir o principal de um token após o seu exp")
+    void naoDeveServirAposExpiracao() {
+        // Act
+        cache.obter(TOKEN, verificacao(-1));
+        cache.obter(TOKEN, verificacao(60_000));
+
+        // Assert
+        assertThat(verificacoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Verificação concorrente com uma invalidação não deve ser armazenada")
+    void verificacaoDuranteInvalidacaoNaoDeveSerArmazenada() {
+        // Act
+        cache.obter(TOKEN, () -> {
+            verificacoes.incrementAndGet();
+            cache.invalidarUsuario("cliente@email.com");
+            return new PrincipalCache.Verificado(cliente, new Date(System.currentTimeMillis() + 60_000));
+        });
+        cache.obter(TOKEN, verificacao(60_000));
+
+        // Assert
+        assertThat(verificacoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Token rejeitado pela verificação não deve ser armazenado")
+    void tokenRejeitadoNaoDeveSerArmazenado() {
+        // Act
+        UserDetails resultado = cache.obter(TOKEN, () -> {
+            verificacoes.incrementAndGet();
+            return null;
+        });
+        cache.obter(TOKEN, verificacao(60_000));
+
+        // Assert
+        assertThat(resultado).isNull();
+        assertThat(verificacoes).hasValue(2);
+    }
+
+    private Supplier<PrincipalCache.Verificado> verificacao(long validadeMs) {
+        return () -> {
+            verificacoes.incrementAndGet();
+            return new PrincipalCache.Verificado(cliente, new Date(System.currentTimeMillis() + validadeMs));
+        };
+    }
+}
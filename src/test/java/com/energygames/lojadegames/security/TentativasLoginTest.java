@@ -0,0 +1,46 @@
+package com.energygames.lojadegames.security;
+
+import com.energygames.lojadegames.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@DisplayName("Testes do TentativasLogin - Limite por IP e por conta")
+class TentativasLoginTest {
+
+    private final TentativasLogin tentativas = new TentativasLogin(3, 60, 2, 15);
+
+    @Test
+    @DisplayName("Conta deve ser bloqueada após falhas seguidas, em qualquer IP, e liberada pelo login certo")
+    void contaDeveSerBloqueadaAposFalhas() {
+        // Arrange
+        tentativas.registrarFalha("jogador@email.com");
+        tentativas.registrarFalha("Jogador@Email.com ");
+
+        // Act & Assert
+        TooManyRequestsException recusa = catchThrowableOfType(
+            () -> tentativas.verificar("10.0.0.9", "jogador@email.com"), TooManyRequestsException.class);
+        assertThat(recusa.getRetryAfterSeconds()).isEqualTo(900);
+        assertThatCode(() -> tentativas.verificar("10.0.0.9", "outro@email.com")).doesNotThrowAnyException();
+        tentativas.registrarSucesso("jogador@email.com");
+        assertThatCode(() -> tentativas.verificar("10.0.0.9", "jogador@email.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("IP deve ser limitado em todas as tentativas, inclusive cadastro, sem afetar outros IPs")
+    void ipDeveSerLimitado() {
+        // Act
+        tentativas.verificar("10.0.0.1", "a@email.com");
+        tentativas.verificar("10.0.0.1", null);
+        tentativas.verificar("10.0.0.1", "b@email.com");
+
+        // Assert
+        assertThatThrownBy(() -> tentativas.verificar("10.0.0.1", "c@email.com"))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> tentativas.verificar("10.0.0.2", "c@email.com")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,265 @@
+package com.energygames.lojadegames.service;
+
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.ItemPedido;
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.repository.CategoriaRepository;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.repository.ReservaEstoqueRepository;
+import com.energygames.lojadegames.service.impl.EstoqueQuenteServiceImpl;
+import com.energygames.lojadegames.service.impl.ReservaEstoqueServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "estoque.quente.instancia-unica=true"
+})
+@Import({ReservaEstoqueServiceImpl.class, EstoqueQuenteServiceImpl.class})
+// Sem transação de teste: reservas, pagamentos e descargas fazem commit nas próprias transações
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do EstoqueQuenteService - Contadores em memória com gravação em lote")
+class EstoqueQuenteServiceTest {
+
+    @Autowired
+    private EstoqueQuenteService estoqueQuenteService;
+
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = categoriaRepository.save(new Categoria("Ação", "Jogos de ação"));
+        produto = produtoRepository.save(new Produto("Lançamento", "Descrição", new BigDecimal("299.90"), 10,
+            "PC", "Dev", "Publisher", LocalDate.of(2024, 1, 1), categoria));
+        estoqueQuenteService.ativar(produto.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        estoqueQuenteService.desativar(produto.getId());
+        reservaRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Não deve reservar além do estoque com pedidos simultâneos")
+    void naoDeveReservarAlemDoEstoque() throws Exception {
+        // Arrange
+        int compradores = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < compradores; i++) {
+            long pedidoId = i + 1;
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    reservaEstoqueService.reservar(pedido(pedidoId, 1));
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }));
+        }
+        largada.countDown();
+        int reservados = 0;
+        for (Future<Boolean> resultado : resultados) {
+            reservados += resultado.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        estoqueQuenteService.descarregar();
+
+        // Assert
+        assertThat(reservados).isEqualTo(10);
+        assertThat(estoqueQuenteService.disponivel(produto.getId())).isZero();
+        assertThat(recarregar().getEstoqueReservado()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Venda deve ser gravada em tb_produtos apenas na descarga")
+    void vendaDeveSerGravadaNaDescarga() {
+        // Arrange
+        reservaEstoqueService.reservar(pedido(1L, 3));
+
+        // Act
+        pagar(1L, 3);
+        Produto antes = recarregar();
+        estoqueQuenteService.descarregar();
+        Produto depois = recarregar();
+
+        // Assert
+        assertThat(antes.getEstoque()).isEqualTo(10);
+        assertThat(depois.getEstoque()).isEqualTo(7);
+        assertThat(depois.getEstoqueReservado()).isZero();
+        assertThat(estoqueQuenteService.disponivel(produto.getId())).isEqualTo(7);
+        assertThat(reservaRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reinício deve reconciliar vendas e reservas ainda não gravadas")
+    void reinicioDeveReconciliar() {
+        // Arrange: uma venda paga e uma reserva aberta, nenhuma gravada em tb_produtos
+        reservaEstoqueService.reservar(pedido(1L, 2));
+        pagar(1L, 2);
+        reservaEstoqueService.reservar(pedido(2L, 3));
+
+        // Act: nova instância, como após um restart
+        EstoqueQuenteServiceImpl reiniciado = new EstoqueQuenteServiceImpl(produtoRepository, reservaRepository,
+            eventPublisher, transactionManager, 16, true);
+        reiniciado.carregar();
+
+        // Assert
+        Produto atual = recarregar();
+        assertThat(atual.getEstoque()).isEqualTo(8);
+        assertThat(atual.getEstoqueReservado()).isEqualTo(3);
+        assertThat(reiniciado.disponivel(produto.getId())).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Ativação deve descontar reservas feitas pelo caminho por UPDATE e fechar esse caminho")
+    void ativacaoDeveDescontarReservasAnteriores() {
+        // Arrange
+        estoqueQuenteService.desativar(produto.getId());
+        reservaEstoqueService.reservar(pedido(1L, 4));
+
+        // Act
+        estoqueQuenteService.ativar(produto.getId());
+        Integer reservouPorUpdate = new TransactionTemplate(transactionManager).execute(status ->
+            produtoRepository.reservarEstoque(produto.getId(), 1));
+
+        // Assert
+        assertThat(estoqueQuenteService.disponivel(produto.getId())).isEqualTo(6);
+        assertThat(reservouPorUpdate).isZero();
+        reservaEstoqueService.reservar(pedido(2L, 6));
+        assertThat(estoqueQuenteService.disponivel(produto.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Desativação não deve deixar o caminho por UPDATE vender reservas ainda não gravadas")
+    void desativacaoNaoDeveVenderReservasEmCurso() throws Exception {
+        // Arrange: 4 reservadas e gravadas no ledger, 3 em uma transação do contador ainda aberta
+        reservaEstoqueService.reservar(pedido(1L, 4));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch reservou = new CountDownLatch(1);
+        CountDownLatch liberarCommit = new CountDownLatch(1);
+        Future<?> emCurso = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            reservaEstoqueService.reservar(pedido(2L, 3));
+            reservou.countDown();
+            try {
+                liberarCommit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        reservou.await();
+
+        // Act: desativação e uma reserva que cai no caminho por UPDATE concorrem com a transação aberta
+        Future<?> desativacao = executor.submit(() -> estoqueQuenteService.desativar(produto.getId()));
+        Thread.sleep(200);
+        Future<Boolean> porUpdate = executor.submit(() -> {
+            try {
+                reservaEstoqueService.reservar(pedido(3L, 4));
+                return true;
+            } catch (BusinessException e) {
+                return false;
+            }
+        });
+        Thread.sleep(200);
+        liberarCommit.countDown();
+        emCurso.get();
+        desativacao.get();
+        boolean reservouAlemDoEstoque = porUpdate.get();
+        executor.shutdown();
+
+        // Assert: sobram 3, então o pedido de 4 é recusado e o de 3 passa pelos UPDATEs
+        assertThat(reservouAlemDoEstoque).isFalse();
+        assertThat(estoqueQuenteService.isQuente(produto.getId())).isFalse();
+        assertThat(recarregar().getEstoqueReservado()).isEqualTo(7);
+        reservaEstoqueService.reservar(pedido(4L, 3));
+        assertThat(recarregar().getEstoqueDisponivel()).isZero();
+        assertThat(recarregar().getEstoqueQuente()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve recusar a ativação sem a declaração de instância única")
+    void deveRecusarAtivacaoSemInstanciaUnica() {
+        EstoqueQuenteServiceImpl multiplasInstancias = new EstoqueQuenteServiceImpl(produtoRepository,
+            reservaRepository, eventPublisher, transactionManager, 16, false);
+
+        assertThatThrownBy(() -> multiplasInstancias.ativar(produto.getId()))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("instância única");
+        assertThat(multiplasInstancias.isQuente(produto.getId())).isFalse();
+    }
+
+    private void pagar(Long pedidoId, int quantidade) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Map<Long, Integer> reservadas = reservaEstoqueService.consumir(pedidoId);
+            reservaEstoqueService.baixar(pedidoId, produto.getId(), reservadas.get(produto.getId()),
+                quantidade - reservadas.get(produto.getId()), LocalDateTime.now());
+        });
+    }
+
+    private Produto recarregar() {
+        return produtoRepository.findById(produto.getId()).orElseThrow();
+    }
+
+    private Pedido pedido(Long id, int quantidade) {
+        Pedido pedido = new Pedido();
+        pedido.setId(id);
+        ItemPedido item = new ItemPedido();
+        item.setPedido(pedido);
+        item.setProduto(produto);
+        item.setQuantidade(quantidade);
+        pedido.setItens(List.of(item));
+        return pedido;
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -47,6 +48,9 @@ class IgdbImportServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IgdbImportService importService;
 
@@ -191,4 +195,24 @@ class IgdbImportServiceTest {
         
         verify(produtoRepository, times(1)).save(any());
     }
+
+    @Test
+    @DisplayName("Deve recarregar o produto quando a sincronização está desabilitada")
+    void deveRecarregarProdutoComSincronizacaoDesabilitada() {
+        // Arrange
+        ProdutoOrigemExterna origem = new ProdutoOrigemExterna();
+        origem.setOrigem(OrigemEnum.IGDB);
+        origem.setSincronizacaoAtiva(false);
+        origem.setProduto(mock(Produto.class));
+
+        when(origemExternaRepository.findByProdutoId(1L)).thenReturn(Optional.of(origem));
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+
+        // Act
+        Produto resultado = importService.syncProduct(1L);
+
+        // Assert
+        assertThat(resultado).isSameAs(produto);
+        verify(apiClient, never()).getGameById(any());
+    }
 }
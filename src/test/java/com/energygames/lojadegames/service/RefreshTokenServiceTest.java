@@ -0,0 +1,152 @@
+package com.energygames.lojadegames.service;
+
+import com.energygames.lojadegames.dto.mapper.UsuarioMapper;
+import com.energygames.lojadegames.dto.request.UsuarioRequestDTO;
+import com.energygames.lojadegames.enums.RoleEnum;
+import com.energygames.lojadegames.exception.UnauthorizedException;
+import com.energygames.lojadegames.model.RefreshToken;
+import com.energygames.lojadegames.model.Usuario;
+import com.energygames.lojadegames.repository.RefreshTokenRepository;
+import com.energygames.lojadegames.repository.UsuarioRepository;
+import com.energygames.lojadegames.security.JwtService;
+import com.energygames.lojadegames.security.TentativasLogin;
+import com.energygames.lojadegames.service.impl.RefreshTokenServiceImpl;
+import com.energygames.lojadegames.service.impl.UsuarioServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(RefreshTokenServiceImpl.class)
+// Sem transação de teste: a revogação por reuso precisa ser gravada mesmo com a renovação recusada
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do RefreshTokenService - Rotação de refresh tokens")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setNickname("jogador");
+        usuario.setEmail("jogador@email.com");
+        usuario.setSenha("hash-bcrypt");
+        usuario.getRoles().add(RoleEnum.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Renovação deve trocar o refresh token e devolver o usuário com os perfis")
+    void deveRotacionar() {
+        // Arrange
+        String inicial = refreshTokenService.emitir(usuario);
+
+        // Act
+        RefreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(inicial);
+        RefreshTokenService.Rotacao seguinte = refreshTokenService.rotacionar(rotacao.refreshToken());
+
+        // Assert
+        assertThat(rotacao.refreshToken()).isNotEqualTo(inicial);
+        assertThat(rotacao.usuario().getId()).isEqualTo(usuario.getId());
+        assertThat(rotacao.usuario().getRoles()).containsExactly(RoleEnum.ROLE_USER);
+        assertThat(seguinte.refreshToken()).isNotEqualTo(rotacao.refreshToken());
+        assertThat(refreshTokenRepository.findAll())
+            .hasSize(3)
+            .noneMatch(token -> token.getHash().equals(inicial))
+            .extracting(RefreshToken::getFamilia).containsOnly(refreshTokenRepository.findAll().get(0).getFamilia());
+    }
+
+    @Test
+    @DisplayName("Reuso de um token já trocado deve revogar a família inteira")
+    void reusoDeveRevogarFamilia() {
+        // Arrange
+        String inicial = refreshTokenService.emitir(usuario);
+        String outraSessao = refreshTokenService.emitir(usuario);
+        String atual = refreshTokenService.rotacionar(inicial).refreshToken();
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(inicial))
+            .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(atual))
+            .isInstanceOf(UnauthorizedException.class);
+        assertThat(refreshTokenService.rotacionar(outraSessao).usuario().getId()).isEqualTo(usuario.getId());
+    }
+
+    @Test
+    @DisplayName("Troca de senha e logout devem encerrar as sessões; token desconhecido é recusado")
+    void revogacoesDevemEncerrarSessoes() {
+        // Arrange
+        String sessaoA = refreshTokenService.emitir(usuario);
+        String sessaoB = refreshTokenService.emitir(usuario);
+        String sessaoC = refreshTokenService.emitir(usuario);
+
+        // Act
+        refreshTokenService.revogar(sessaoA);
+        refreshTokenService.revogar("token-desconhecido");
+
+        // Assert
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(sessaoA)).isInstanceOf(UnauthorizedException.class);
+        assertThat(refreshTokenService.rotacionar(sessaoB).refreshToken()).isNotBlank();
+        refreshTokenService.revogarDoUsuario(usuario.getId());
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(sessaoC)).isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotacionar("token-desconhecido"))
+            .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Atualização do cadastro deve recusar a renovação com refresh token anterior")
+    void atualizacaoDeveEncerrarSessoes() {
+        // Arrange
+        String anterior = refreshTokenService.emitir(usuario);
+        UsuarioServiceImpl usuarioService = new UsuarioServiceImpl(usuarioRepository, new UsuarioMapper(),
+            mock(JwtService.class), mock(AuthenticationManager.class), NoOpPasswordEncoder.getInstance(),
+            mock(ApplicationEventPublisher.class), mock(TokenRevogacaoService.class), refreshTokenService,
+            new TentativasLogin(30, 60, 5, 15), transactionManager);
+        UsuarioRequestDTO dto = new UsuarioRequestDTO();
+        dto.setNickname("jogador");
+        dto.setEmail("novo@email.com");
+        dto.setSenha("nova-senha");
+
+        // Act
+        usuarioService.atualizar(usuario.getId(), dto, "127.0.0.1");
+
+        // Assert
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(anterior)).isInstanceOf(UnauthorizedException.class);
+        assertThat(usuarioRepository.findById(usuario.getId()).orElseThrow().getEmail()).isEqualTo("novo@email.com");
+    }
+}
@@ -0,0 +1,180 @@
+package com.energygames.lojadegames.service;
+
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.Categoria;
+import com.energygames.lojadegames.model.ItemPedido;
+import com.energygames.lojadegames.model.Pedido;
+import com.energygames.lojadegames.model.Produto;
+import com.energygames.lojadegames.model.ReservaEstoque;
+import com.energygames.lojadegames.repository.CategoriaRepository;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import com.energygames.lojadegames.repository.ReservaEstoqueRepository;
+import com.energygames.lojadegames.service.impl.EstoqueQuenteServiceImpl;
+import com.energygames.lojadegames.service.impl.ReservaEstoqueServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ReservaEstoqueServiceImpl.class, EstoqueQuenteServiceImpl.class})
+// Sem transação de teste: cada operação faz commit na própria transação, como nos fluxos reais
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do ReservaEstoqueService - Reservas com validade")
+class ReservaEstoqueServiceTest {
+
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    private ReservaEstoqueRepository reservaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = categoriaRepository.save(new Categoria("Ação", "Jogos de ação"));
+        produto = produtoRepository.save(new Produto("Jogo Reservado", "Descrição", new BigDecimal("199.90"), 5,
+            "PC", "Dev", "Publisher", LocalDate.of(2024, 1, 1), categoria));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Reserva deve reduzir o disponível sem alterar o estoque físico")
+    void reservaDeveReduzirDisponivel() {
+        // Act
+        reservaEstoqueService.reservar(pedido(1L, 3));
+
+        // Assert
+        Produto atual = recarregar();
+        assertThat(atual.getEstoque()).isEqualTo(5);
+        assertThat(atual.getEstoqueReservado()).isEqualTo(3);
+        assertThat(atual.getEstoqueDisponivel()).isEqualTo(2);
+        assertThatThrownBy(() -> reservaEstoqueService.reservar(pedido(2L, 3)))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("Jogo Reservado");
+        assertThat(recarregar().getEstoqueReservado()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Pagamento deve converter a reserva em baixa uma única vez")
+    void pagamentoDeveConverterReserva() {
+        // Arrange
+        reservaEstoqueService.reservar(pedido(1L, 2));
+
+        // Act
+        Map<Long, Integer> consumidas = new TransactionTemplate(transactionManager).execute(status -> {
+            Map<Long, Integer> reservadas = reservaEstoqueService.consumir(1L);
+            produtoRepository.confirmarReserva(produto.getId(), reservadas.get(produto.getId()), LocalDateTime.now());
+            return reservadas;
+        });
+        reservaEstoqueService.liberar(1L);
+
+        // Assert
+        assertThat(consumidas).containsEntry(produto.getId(), 2);
+        Produto atual = recarregar();
+        assertThat(atual.getEstoque()).isEqualTo(3);
+        assertThat(atual.getEstoqueReservado()).isZero();
+        assertThat(reservaRepository.findByPedidoIdAndConfirmadaFalse(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Varredura deve devolver apenas reservas vencidas")
+    void varreduraDeveDevolverReservasVencidas() {
+        // Arrange
+        reservaEstoqueService.reservar(pedido(1L, 1));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            produtoRepository.reservarEstoque(produto.getId(), 2));
+        reservaRepository.save(new ReservaEstoque(2L, produto.getId(), 2, LocalDateTime.now().minusMinutes(1)));
+
+        // Act
+        int liberadas = reservaEstoqueService.liberarExpiradas();
+
+        // Assert
+        assertThat(liberadas).isEqualTo(1);
+        assertThat(recarregar().getEstoqueReservado()).isEqualTo(1);
+        assertThat(reservaEstoqueService.consumir(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Renovação deve reservar de novo só os produtos cuja reserva foi devolvida")
+    void renovacaoDeveRefazerReservasDevolvidas() {
+        // Arrange
+        Produto outro = produtoRepository.save(new Produto("Outro Jogo", "Descrição", new BigDecimal("99.90"), 5,
+            "PC", "Dev", "Publisher", LocalDate.of(2024, 1, 1), produto.getCategoria()));
+        Pedido pedido = pedido(1L, 2);
+        ItemPedido item = new ItemPedido();
+        item.setPedido(pedido);
+        item.setProduto(outro);
+        item.setQuantidade(1);
+        pedido.setItens(List.of(pedido.getItens().get(0), item));
+        reservaEstoqueService.reservar(pedido);
+
+        ReservaEstoque vencida = reservaRepository.findByPedidoIdAndConfirmadaFalse(1L).stream()
+            .filter(reserva -> reserva.getProdutoId().equals(outro.getId()))
+            .findFirst().orElseThrow();
+        vencida.setExpiraEm(LocalDateTime.now().minusMinutes(1));
+        reservaRepository.save(vencida);
+        reservaEstoqueService.liberarExpiradas();
+
+        // Act
+        LocalDateTime expiraEm = reservaEstoqueService.renovar(pedido);
+
+        // Assert
+        assertThat(expiraEm).isAfter(LocalDateTime.now().plusMinutes(30));
+        assertThat(reservaRepository.findByPedidoIdAndConfirmadaFalse(1L))
+            .extracting(ReservaEstoque::getProdutoId)
+            .containsExactlyInAnyOrder(produto.getId(), outro.getId());
+        assertThat(recarregar().getEstoqueReservado()).isEqualTo(2);
+        assertThat(produtoRepository.findById(outro.getId()).orElseThrow().getEstoqueReservado()).isEqualTo(1);
+    }
+
+    private Produto recarregar() {
+        return produtoRepository.findById(produto.getId()).orElseThrow();
+    }
+
+    private Pedido pedido(Long id, int quantidade) {
+        Pedido pedido = new Pedido();
+        pedido.setId(id);
+        ItemPedido item = new ItemPedido();
+        item.setPedido(pedido);
+        item.setProduto(produto);
+        item.setQuantidade(quantidade);
+        pedido.setItens(List.of(item));
+        return pedido;
+    }
+}
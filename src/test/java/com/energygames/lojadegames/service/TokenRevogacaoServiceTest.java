@@ -0,0 +1,134 @@
+package com.energygames.lojadegames.service;
+
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.TokenRevogado;
+import com.energygames.lojadegames.repository.CorteTokensUsuarioRepository;
+import com.energygames.lojadegames.repository.TokenRevogadoRepository;
+import com.energygames.lojadegames.service.impl.TokenRevogacaoServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(TokenRevogacaoServiceImpl.class)
+// Sem transação de teste: a revogação de uma instância precisa estar commitada para a outra sincronizar
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do TokenRevogacaoService - Lista de tokens revogados")
+class TokenRevogacaoServiceTest {
+
+    private static final long VALIDADE_TOKEN_MS = 900_000;
+
+    @Autowired
+    private TokenRevogacaoService tokenRevogacaoService;
+
+    @Autowired
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    @Autowired
+    private CorteTokensUsuarioRepository corteRepository;
+
+    @AfterEach
+    void tearDown() {
+        tokenRevogadoRepository.deleteAll();
+        corteRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Revogação deve valer na hora nesta instância e após a sincronização nas demais")
+    void revogacaoDeveChegarAsDemaisInstancias() {
+        // Arrange
+        TokenRevogacaoService outraInstancia = new TokenRevogacaoServiceImpl(tokenRevogadoRepository, corteRepository, VALIDADE_TOKEN_MS);
+        outraInstancia.sincronizar();
+
+        // Act
+        tokenRevogacaoService.revogar("jti-1", daquiA(60_000), 7L);
+        boolean antesDaSincronizacao = outraInstancia.isRevogado("jti-1");
+        outraInstancia.sincronizar();
+
+        // Assert
+        assertThat(tokenRevogacaoService.isRevogado("jti-1")).isTrue();
+        assertThat(antesDaSincronizacao).isFalse();
+        assertThat(outraInstancia.isRevogado("jti-1")).isTrue();
+        assertThat(outraInstancia.isRevogado("jti-2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Logout repetido deve gravar uma única revogação")
+    void logoutRepetidoNaoDeveDuplicar() {
+        // Act
+        tokenRevogacaoService.revogar("jti-1", daquiA(60_000), 7L);
+        tokenRevogacaoService.revogar("jti-1", daquiA(60_000), 7L);
+
+        // Assert
+        assertThat(tokenRevogadoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Revogações de tokens já expirados não devem ser carregadas e devem ser apagadas")
+    void revogacoesExpiradasDevemSerDescartadas() {
+        // Arrange
+        tokenRevogadoRepository.save(new TokenRevogado("jti-expirado", 7L, LocalDateTime.now().minusMinutes(1)));
+        tokenRevogadoRepository.save(new TokenRevogado("jti-valido", 7L, LocalDateTime.now().plusMinutes(10)));
+        TokenRevogacaoService novaInstancia = new TokenRevogacaoServiceImpl(tokenRevogadoRepository, corteRepository, VALIDADE_TOKEN_MS);
+
+        // Act
+        novaInstancia.sincronizar();
+        int removidos = tokenRevogacaoService.removerExpirados();
+
+        // Assert
+        assertThat(novaInstancia.isRevogado("jti-expirado")).isFalse();
+        assertThat(novaInstancia.isRevogado("jti-valido")).isTrue();
+        assertThat(removidos).isEqualTo(1);
+        assertThat(tokenRevogadoRepository.existsByJti("jti-valido")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Corte do usuário deve recusar tokens emitidos antes dele, aqui e nas demais instâncias")
+    void corteDeveRecusarTokensAnteriores() {
+        // Arrange
+        TokenRevogacaoService outraInstancia =
+            new TokenRevogacaoServiceImpl(tokenRevogadoRepository, corteRepository, VALIDADE_TOKEN_MS);
+        outraInstancia.sincronizar();
+        Instant alteracao = Instant.now();
+
+        // Act
+        tokenRevogacaoService.revogarEmitidosAntes(7L, alteracao);
+        tokenRevogacaoService.revogarEmitidosAntes(7L, alteracao.plusSeconds(2));
+        outraInstancia.sincronizar();
+
+        // Assert
+        for (TokenRevogacaoService instancia : new TokenRevogacaoService[] {tokenRevogacaoService, outraInstancia}) {
+            assertThat(instancia.isEmitidoAntesDoCorte(7L, alteracao.minusSeconds(60))).isTrue();
+            assertThat(instancia.isEmitidoAntesDoCorte(7L, alteracao.plusSeconds(2))).isFalse();
+            assertThat(instancia.isEmitidoAntesDoCorte(8L, alteracao.minusSeconds(60))).isFalse();
+            assertThat(instancia.isEmitidoAntesDoCorte(null, alteracao.minusSeconds(60))).isFalse();
+        }
+        assertThat(corteRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Token sem jti não pode ser revogado")
+    void tokenSemJtiDeveSerRecusado() {
+        assertThatThrownBy(() -> tokenRevogacaoService.revogar(null, daquiA(60_000), 7L))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    private static Date daquiA(long ms) {
+        return new Date(System.currentTimeMillis() + ms);
+    }
+}
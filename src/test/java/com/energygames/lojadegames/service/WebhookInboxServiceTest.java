@@ -0,0 +1,186 @@
+package com.energygames.lojadegames.service;
+
+import com.energygames.lojadegames.enums.StatusWebhookEventoEnum;
+import com.energygames.lojadegames.exception.BusinessException;
+import com.energygames.lojadegames.model.WebhookEvento;
+import com.energygames.lojadegames.repository.WebhookEventoRepository;
+import com.energygames.lojadegames.service.impl.WebhookInboxServiceImpl;
+import com.stripe.Stripe;
+import com.stripe.model.Event;
+import com.stripe.net.ApiResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database=h2",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "webhook.inbox.maximo-tentativas=2"
+})
+@Import(WebhookInboxServiceImpl.class)
+// Sem transação de teste: ingestão, reivindicação e processamento fazem commit separadamente, como nos workers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do WebhookInboxService - Caixa de entrada de webhooks")
+class WebhookInboxServiceTest {
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    @Autowired
+    private WebhookEventoRepository webhookEventoRepository;
+
+    @MockBean
+    private BillingService billingService;
+
+    @AfterEach
+    void tearDown() {
+        webhookEventoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Reentrega do mesmo evento não deve gerar segunda linha")
+    void reentregaNaoDeveDuplicar() {
+        // Act
+        boolean primeira = registrar("evt_1", "checkout.session.completed", "cs_1", 10L);
+        boolean segunda = registrar("evt_1", "checkout.session.completed", "cs_1", 10L);
+
+        // Assert
+        assertThat(primeira).isTrue();
+        assertThat(segunda).isFalse();
+        List<WebhookEvento> eventos = webhookEventoRepository.findAll();
+        assertThat(eventos).hasSize(1);
+        assertThat(eventos.get(0).getChave()).isEqualTo("pedido:10");
+        assertThat(eventos.get(0).getStatus()).isEqualTo(StatusWebhookEventoEnum.PENDENTE);
+    }
+
+    @Test
+    @DisplayName("Eventos do mesmo pedido devem ser processados um de cada vez, em ordem")
+    void deveSerializarPorPedido() {
+        // Arrange
+        registrar("evt_1", "checkout.session.expired", "cs_1", 10L);
+        registrar("evt_2", "checkout.session.completed", "cs_2", 10L);
+        registrar("evt_3", "checkout.session.completed", "cs_3", 20L);
+
+        // Act
+        List<Long> primeiraRodada = webhookInboxService.reivindicar(10);
+        List<Long> enquantoProcessa = webhookInboxService.reivindicar(10);
+        webhookInboxService.processar(primeiraRodada.get(0));
+        List<Long> segundaRodada = webhookInboxService.reivindicar(10);
+
+        // Assert
+        assertThat(primeiraRodada).containsExactly(id("evt_1"), id("evt_3"));
+        assertThat(enquantoProcessa).isEmpty();
+        assertThat(segundaRodada).containsExactly(id("evt_2"));
+        verify(billingService).handlePaymentFailure("cs_1", "evt_1");
+        assertThat(evento("evt_1").getStatus()).isEqualTo(StatusWebhookEventoEnum.PROCESSADO);
+        assertThat(evento("evt_1").getProcessadoEm()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Falha transitória deve agendar nova tentativa e bloquear os eventos seguintes do pedido")
+    void falhaTransitoriaDeveAgendarRetentativa() {
+        // Arrange
+        registrar("evt_1", "checkout.session.completed", "cs_1", 10L);
+        registrar("evt_2", "checkout.session.expired", "cs_1", 10L);
+        doThrow(new IllegalStateException("Deadlock")).when(billingService).handlePaymentSuccess("cs_1", "evt_1");
+
+        // Act
+        Long id = webhookInboxService.reivindicar(10).get(0);
+        RuntimeException erro = processarComFalha(id);
+        webhookInboxService.registrarFalha(id, erro);
+
+        // Assert
+        WebhookEvento evento = evento("evt_1");
+        assertThat(evento.getStatus()).isEqualTo(StatusWebhookEventoEnum.PENDENTE);
+        assertThat(evento.getTentativas()).isEqualTo(1);
+        assertThat(evento.getProximaTentativa()).isAfter(LocalDateTime.now());
+        assertThat(evento.getUltimoErro()).contains("Deadlock");
+        assertThat(webhookInboxService.reivindicar(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Falha de regra de negócio ou tentativas esgotadas devem ir para FALHOU")
+    void falhaDefinitivaDeveIrParaDeadLetter() {
+        // Arrange
+        registrar("evt_1", "checkout.session.completed", "cs_1", 10L);
+        registrar("evt_2", "checkout.session.completed", "cs_2", 20L);
+        doThrow(new BusinessException("Estoque insuficiente")).when(billingService).handlePaymentSuccess("cs_1", "evt_1");
+        doThrow(new IllegalStateException("Timeout")).when(billingService).handlePaymentSuccess("cs_2", "evt_2");
+        List<Long> ids = webhookInboxService.reivindicar(10);
+
+        // Act
+        for (Long id : ids) {
+            webhookInboxService.registrarFalha(id, processarComFalha(id));
+        }
+        // Segunda tentativa do evento com falha transitória (limite de 2 no teste)
+        WebhookEvento transitorio = evento("evt_2");
+        transitorio.setProximaTentativa(LocalDateTime.now().minusSeconds(1));
+        webhookEventoRepository.save(transitorio);
+        Long id = webhookInboxService.reivindicar(10).get(0);
+        webhookInboxService.registrarFalha(id, processarComFalha(id));
+
+        // Assert
+        assertThat(evento("evt_1").getStatus()).isEqualTo(StatusWebhookEventoEnum.FALHOU);
+        assertThat(evento("evt_1").getTentativas()).isEqualTo(1);
+        assertThat(evento("evt_2").getStatus()).isEqualTo(StatusWebhookEventoEnum.FALHOU);
+        assertThat(evento("evt_2").getTentativas()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Evento travado em processamento deve voltar à fila após o prazo")
+    void eventoTravadoDeveVoltarAFila() {
+        // Arrange
+        registrar("evt_1", "checkout.session.completed", "cs_1", 10L);
+        Long id = webhookInboxService.reivindicar(10).get(0);
+        WebhookEvento evento = evento("evt_1");
+        evento.setBloqueadoAte(LocalDateTime.now().minusSeconds(1));
+        webhookEventoRepository.save(evento);
+
+        // Act
+        int liberados = webhookInboxService.liberarTravados();
+
+        // Assert
+        assertThat(liberados).isEqualTo(1);
+        assertThat(webhookInboxService.reivindicar(10)).containsExactly(id);
+    }
+
+    private boolean registrar(String eventId, String tipo, String sessionId, Long pedidoId) {
+        String payload = """
+            {"id": "%s", "object": "event", "api_version": "%s", "type": "%s",
+             "data": {"object": {"id": "%s", "object": "checkout.session", "payment_status": "paid",
+                                 "metadata": {"pedido_id": "%d"}}}}
+            """.formatted(eventId, Stripe.API_VERSION, tipo, sessionId, pedidoId);
+        return webhookInboxService.registrar(ApiResource.GSON.fromJson(payload, Event.class), payload);
+    }
+
+    private RuntimeException processarComFalha(Long id) {
+        RuntimeException erro = catchThrowableOfType(() -> webhookInboxService.processar(id), RuntimeException.class);
+        assertThat(erro).isNotNull();
+        return erro;
+    }
+
+    private WebhookEvento evento(String stripeEventId) {
+        return webhookEventoRepository.findAll().stream()
+            .filter(e -> e.getStripeEventId().equals(stripeEventId))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private Long id(String stripeEventId) {
+        return evento(stripeEventId).getId();
+    }
+}
@@ -0,0 +1,145 @@
+package com.energygames.lojadegames.service.cache;
+
+import com.energygames.lojadegames.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do IdempotenciaCache - Idempotency-Key")
+class IdempotenciaCacheTest {
+
+    private IdempotenciaCache cache;
+    private AtomicInteger execucoes;
+    private Supplier<ResponseEntity<String>> criarPedido;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IdempotenciaCache(60, 1000, 5000);
+        execucoes = new AtomicInteger();
+        criarPedido = () -> ResponseEntity.status(HttpStatus.CREATED).body("pedido-" + execucoes.incrementAndGet());
+        autenticar("cliente@email.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Retentativa com a mesma chave deve repetir a resposta sem executar de novo")
+    void deveRepetirResposta() {
+        // Act
+        ResponseEntity<String> primeira = cache.executar("POST /pedidos", "chave-1", null, criarPedido);
+        ResponseEntity<String> segunda = cache.executar("POST /pedidos", "chave-1", null, criarPedido);
+
+        // Assert
+        assertThat(execucoes).hasValue(1);
+        assertThat(segunda.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(segunda.getBody()).isEqualTo(primeira.getBody());
+        assertThat(segunda.getHeaders().getFirst(IdempotenciaCache.CABECALHO_REPETIDA)).isEqualTo("true");
+        assertThat(primeira.getHeaders().containsKey(IdempotenciaCache.CABECALHO_REPETIDA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sem chave, ou com chave de outro usuário, deve executar normalmente")
+    void deveIsolarPorChaveEUsuario() {
+        // Act
+        cache.executar("POST /pedidos", null, null, criarPedido);
+        cache.executar("POST /pedidos", null, null, criarPedido);
+        cache.executar("POST /pedidos", "chave-1", null, criarPedido);
+        autenticar("outro@email.com");
+        cache.executar("POST /pedidos", "chave-1", null, criarPedido);
+
+        // Assert
+        assertThat(execucoes).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Duplicatas simultâneas devem aguardar a execução original")
+    void duplicatasSimultaneasDevemExecutarUmaVez() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<ResponseEntity<String>> lenta = () -> {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return criarPedido.get();
+        };
+        var contexto = SecurityContextHolder.getContext();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<ResponseEntity<String>>> respostas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            respostas.add(executor.submit(() -> {
+                SecurityContextHolder.setContext(contexto);
+                return cache.executar("POST /pedidos", "chave-1", null, lenta);
+            }));
+        }
+        Thread.sleep(100);
+        liberar.countDown();
+
+        // Assert
+        for (Future<ResponseEntity<String>> resposta : respostas) {
+            assertThat(resposta.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("pedido-1");
+        }
+        assertThat(execucoes).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Mesma chave com outro corpo deve ser rejeitada")
+    void deveRejeitarCorpoDiferente() {
+        // Arrange
+        cache.executar("POST /api/billing/checkout", "chave-1", "10", criarPedido);
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.executar("POST /api/billing/checkout", "chave-1", "11", criarPedido))
+            .isInstanceOf(BusinessException.class);
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Falha não deve ser armazenada")
+    void falhaNaoDeveSerArmazenada() {
+        // Arrange
+        Supplier<ResponseEntity<String>> falha = () -> {
+            execucoes.incrementAndGet();
+            throw new BusinessException("Carrinho vazio");
+        };
+
+        // Act
+        assertThatThrownBy(() -> cache.executar("POST /pedidos", "chave-1", null, falha))
+            .isInstanceOf(BusinessException.class);
+        ResponseEntity<String> retentativa = cache.executar("POST /pedidos", "chave-1", null, criarPedido);
+
+        // Assert
+        assertThat(execucoes).hasValue(2);
+        assertThat(retentativa.getBody()).isEqualTo("pedido-2");
+    }
+
+    private void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
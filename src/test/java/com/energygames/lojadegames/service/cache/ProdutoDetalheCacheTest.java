@@ -0,0 +1,107 @@
+package com.energygames.lojadegames.service.cache;
+
+import com.energygames.lojadegames.dto.response.ProdutoDetalheResponseDTO;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do ProdutoDetalheCache - Cache de detalhe por ID e slug")
+class ProdutoDetalheCacheTest {
+
+    private ProdutoDetalheCache cache;
+    private Map<Long, String> slugs;
+    private AtomicInteger cargas;
+    private AtomicInteger resolucoes;
+
+    private Function<Long, ProdutoDetalheResponseDTO> carregador;
+    private Function<String, Long> resolvedor;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProdutoDetalheCache(1, 60);
+        slugs = new HashMap<>(Map.of(1L, "zelda", 2L, "elden-ring"));
+        cargas = new AtomicInteger();
+        resolucoes = new AtomicInteger();
+
+        carregador = id -> {
+            cargas.incrementAndGet();
+            if (!slugs.containsKey(id)) {
+                throw new ResourceNotFoundException("Produto não encontrado com ID: " + id);
+            }
+            ProdutoDetalheResponseDTO dto = new ProdutoDetalheResponseDTO();
+            dto.setId(id);
+            dto.setSlug(slugs.get(id));
+            return dto;
+        };
+        resolvedor = slug -> {
+            resolucoes.incrementAndGet();
+            return slugs.entrySet().stream()
+                .filter(e -> e.getValue().equals(slug))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com slug: " + slug));
+        };
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a mesma entrada entre ID e slug")
+    void deveCompartilharEntradaEntreIdESlug() {
+        // Act
+        ProdutoDetalheResponseDTO porId = cache.obterPorId(1L, carregador);
+        ProdutoDetalheResponseDTO porSlug = cache.obterPorSlug("zelda", resolvedor, carregador);
+
+        // Assert
+        assertThat(porSlug).isSameAs(porId);
+        assertThat(cargas).hasValue(1);
+        assertThat(resolucoes).hasValue(0);
+        assertThat(cache.estatisticas().getHits()).isEqualTo(1);
+        assertThat(cache.estatisticas().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar após evento de alteração do produto")
+    void deveRecarregarAposAlteracao() {
+        // Arrange
+        cache.obterPorSlug("zelda", resolvedor, carregador);
+
+        // Act
+        cache.onProdutoAlterado(new ProdutoAlteradoEvent(1L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+        cache.obterPorId(1L, carregador);
+
+        // Assert
+        assertThat(cargas).hasValue(2);
+        assertThat(cache.estatisticas().getEntradas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve servir detalhe pelo slug antigo após troca de slug")
+    void naoDeveServirSlugAntigo() {
+        // Arrange
+        cache.obterPorSlug("zelda", resolvedor, carregador);
+        slugs.put(1L, "zelda-botw");
+        cache.onProdutoAlterado(new ProdutoAlteradoEvent(1L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+
+        // Act & Assert
+        assertThat(cache.obterPorSlug("zelda-botw", resolvedor, carregador).getId()).isEqualTo(1L);
+        assertThatThrownBy(() -> cache.obterPorSlug("zelda", resolvedor, carregador))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar produto inexistente")
+    void naoDeveArmazenarProdutoInexistente() {
+        assertThatThrownBy(() -> cache.obterPorId(99L, carregador))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cache.estatisticas().getEntradas()).isZero();
+    }
+}
@@ -0,0 +1,106 @@
+package com.energygames.lojadegames.service.cache;
+
+import com.energygames.lojadegames.dto.response.ProdutoResponseDTO;
+import com.energygames.lojadegames.event.CategoriaAlteradaEvent;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ProdutoListagemRespostaCache - Listagem pré-serializada")
+class ProdutoListagemRespostaCacheTest {
+
+    private ProdutoListagemRespostaCache cache;
+    private AtomicInteger consultas;
+    private Supplier<Page<ProdutoResponseDTO>> consulta;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProdutoListagemRespostaCache(new ObjectMapper(), true, List.of(20), List.of("nome:asc"), 16, 64);
+        consultas = new AtomicInteger();
+        consulta = () -> {
+            consultas.incrementAndGet();
+            return new PageImpl<>(List.of(produto(1L, "Celeste"), produto(2L, "Zelda")), PageRequest.of(0, 20), 2);
+        };
+    }
+
+    @Test
+    @DisplayName("Deve armazenar apenas os formatos de consulta configurados")
+    void deveArmazenarApenasFormatosConfigurados() {
+        assertThat(cache.chave(null, 3L, 0, 20, "nome", false)).isNotNull();
+        assertThat(cache.chave(null, null, 1, 20, "nome", false)).isNull();
+        assertThat(cache.chave("zel", null, 0, 20, "nome", false)).isNull();
+        assertThat(cache.chave(null, null, 0, 50, "nome", false)).isNull();
+        assertThat(cache.chave(null, null, 0, 20, "preco", true)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve servir os mesmos bytes sem nova consulta e com versão gzip equivalente")
+    void deveServirBytesArmazenados() throws Exception {
+        // Arrange
+        ProdutoListagemRespostaCache.Chave chave = cache.chave(null, null, 0, 20, "nome", false);
+
+        // Act
+        ProdutoListagemRespostaCache.Resposta primeira = cache.obter(chave, consulta);
+        ProdutoListagemRespostaCache.Resposta segunda = cache.obter(chave, consulta);
+
+        // Assert
+        assertThat(segunda.getJson()).isSameAs(primeira.getJson());
+        assertThat(consultas).hasValue(1);
+        assertThat(new String(primeira.getJson(), StandardCharsets.UTF_8)).contains("\"nome\":\"Zelda\"");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(primeira.getGzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(primeira.getJson());
+        }
+    }
+
+    @Test
+    @DisplayName("Baixa de estoque deve invalidar só as páginas que contêm o produto")
+    void baixaDeEstoqueDeveInvalidarPaginasDoProduto() {
+        // Arrange
+        ProdutoListagemRespostaCache.Chave chave = cache.chave(null, null, 0, 20, "nome", false);
+        cache.obter(chave, consulta);
+
+        // Act
+        cache.onProdutoAlterado(new ProdutoAlteradoEvent(99L, ProdutoAlteradoEvent.Tipo.ESTOQUE));
+        cache.obter(chave, consulta);
+        cache.onProdutoAlterado(new ProdutoAlteradoEvent(2L, ProdutoAlteradoEvent.Tipo.ESTOQUE));
+        cache.obter(chave, consulta);
+
+        // Assert
+        assertThat(consultas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Alteração de categoria deve descartar todas as páginas")
+    void alteracaoDeCategoriaDeveDescartarTudo() {
+        // Arrange
+        cache.obter(cache.chave(null, null, 0, 20, "nome", false), consulta);
+        cache.obter(cache.chave(null, 5L, 0, 20, "nome", false), consulta);
+
+        // Act
+        cache.onCategoriaAlterada(new CategoriaAlteradaEvent(5L));
+
+        // Assert
+        assertThat(cache.estatisticas().getEntradas()).isZero();
+    }
+
+    private ProdutoResponseDTO produto(Long id, String nome) {
+        ProdutoResponseDTO dto = new ProdutoResponseDTO();
+        dto.setId(id);
+        dto.setNome(nome);
+        return dto;
+    }
+}
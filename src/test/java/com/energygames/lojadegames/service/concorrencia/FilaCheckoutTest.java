@@ -0,0 +1,183 @@
+package com.energygames.lojadegames.service.concorrencia;
+
+import com.energygames.lojadegames.dto.response.FilaCheckoutResponseDTO;
+import com.energygames.lojadegames.dto.response.PedidoResponseDTO;
+import com.energygames.lojadegames.enums.StatusFilaCheckoutEnum;
+import com.energygames.lojadegames.enums.StatusPedidoEnum;
+import com.energygames.lojadegames.exception.ResourceNotFoundException;
+import com.energygames.lojadegames.exception.TooManyRequestsException;
+import com.energygames.lojadegames.repository.CarrinhoRepository;
+import com.energygames.lojadegames.service.EstoqueQuenteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Testes da FilaCheckout - Admissão de pedidos em venda relâmpago")
+class FilaCheckoutTest {
+
+    private static final String CLIENTE = "cliente@email.com";
+
+    private CarrinhoRepository carrinhoRepository;
+    private EstoqueQuenteService estoqueQuenteService;
+    private FilaCheckout fila;
+    private CountDownLatch liberarPrimeiro;
+    private CountDownLatch primeiroIniciado;
+
+    @BeforeEach
+    void setUp() {
+        carrinhoRepository = mock(CarrinhoRepository.class);
+        estoqueQuenteService = mock(EstoqueQuenteService.class);
+        when(carrinhoRepository.findProdutoIdsByUsuarioEmail(anyString())).thenReturn(List.of(1L, 2L));
+        when(estoqueQuenteService.isQuente(2L)).thenReturn(true);
+        liberarPrimeiro = new CountDownLatch(1);
+        primeiroIniciado = new CountDownLatch(1);
+        autenticar(CLIENTE);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        liberarPrimeiro.countDown();
+        if (fila != null) {
+            fila.encerrar();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Carrinho sem produto em modo quente deve criar o pedido sem passar pela fila")
+    void carrinhoComumNaoDeveUsarFila() {
+        // Arrange
+        when(estoqueQuenteService.isQuente(2L)).thenReturn(false);
+        fila = criarFila(1, 10, 30);
+
+        // Act
+        FilaCheckout.Admissao admissao = fila.admitir(() -> pedido(10L));
+
+        // Assert
+        assertThat(admissao.isNaFila()).isFalse();
+        assertThat(admissao.pedido().id()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Sem permissão livre deve emitir senha e criar o pedido quando chegar a vez")
+    void deveEnfileirarEAtenderNaOrdem() throws Exception {
+        // Arrange
+        fila = criarFila(1, 10, 30);
+        CompletableFuture<FilaCheckout.Admissao> primeiro = ocuparPermissao();
+
+        // Act
+        FilaCheckout.Admissao segundo = fila.admitir(() -> {
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(CLIENTE);
+            return pedido(2L);
+        });
+        liberarPrimeiro.countDown();
+        FilaCheckoutResponseDTO concluida = aguardarFim(segundo.senha().token());
+
+        // Assert
+        assertThat(segundo.isNaFila()).isTrue();
+        assertThat(segundo.senha().status()).isEqualTo(StatusFilaCheckoutEnum.AGUARDANDO);
+        assertThat(segundo.senha().posicao()).isEqualTo(1L);
+        assertThat(primeiro.get(5, TimeUnit.SECONDS).pedido().id()).isEqualTo(1L);
+        assertThat(concluida.status()).isEqualTo(StatusFilaCheckoutEnum.CONCLUIDO);
+        assertThat(concluida.pedido().id()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Fila cheia deve recusar com 429")
+    void filaCheiaDeveRecusar() throws Exception {
+        // Arrange
+        fila = criarFila(1, 1, 30);
+        ocuparPermissao();
+        // O worker retira a primeira senha e fica aguardando a permissão; a segunda ocupa a fila
+        fila.admitir(() -> pedido(2L));
+        Thread.sleep(100);
+        fila.admitir(() -> pedido(3L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> fila.admitir(() -> pedido(4L)))
+            .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("Senha não consultada deve expirar sem criar o pedido, e só o dono pode consultá-la")
+    void senhaAbandonadaDeveExpirar() throws Exception {
+        // Arrange
+        fila = criarFila(1, 10, 0);
+        ocuparPermissao();
+        FilaCheckout.Admissao admissao = fila.admitir(() -> {
+            throw new AssertionError("Pedido abandonado não deve ser criado");
+        });
+        String token = admissao.senha().token();
+
+        // Act
+        Thread.sleep(5);
+        liberarPrimeiro.countDown();
+        FilaCheckoutResponseDTO situacao = aguardarFim(token);
+
+        // Assert
+        assertThat(situacao.status()).isEqualTo(StatusFilaCheckoutEnum.EXPIRADO);
+        autenticar("outro@email.com");
+        assertThatThrownBy(() -> fila.consultar(token)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private FilaCheckout criarFila(int permissoes, int capacidade, long abandonoSegundos) {
+        return new FilaCheckout(carrinhoRepository, estoqueQuenteService, true, permissoes, capacidade,
+            abandonoSegundos, 10, 1);
+    }
+
+    // Primeiro pedido roda na própria requisição e segura a única permissão até o latch ser liberado
+    private CompletableFuture<FilaCheckout.Admissao> ocuparPermissao() throws InterruptedException {
+        Supplier<PedidoResponseDTO> lento = () -> {
+            primeiroIniciado.countDown();
+            try {
+                liberarPrimeiro.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return pedido(1L);
+        };
+        CompletableFuture<FilaCheckout.Admissao> primeiro = CompletableFuture.supplyAsync(() -> {
+            autenticar(CLIENTE);
+            return fila.admitir(lento);
+        });
+        assertThat(primeiroIniciado.await(5, TimeUnit.SECONDS)).isTrue();
+        return primeiro;
+    }
+
+    private FilaCheckoutResponseDTO aguardarFim(String token) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        FilaCheckoutResponseDTO situacao = fila.consultar(token);
+        while (situacao.status() == StatusFilaCheckoutEnum.AGUARDANDO
+                || situacao.status() == StatusFilaCheckoutEnum.PROCESSANDO) {
+            assertThat(System.nanoTime()).isLessThan(limite);
+            Thread.sleep(10);
+            situacao = fila.consultar(token);
+        }
+        return situacao;
+    }
+
+    private static PedidoResponseDTO pedido(Long id) {
+        return new PedidoResponseDTO(id, StatusPedidoEnum.PENDENTE_PAGAMENTO, BigDecimal.TEN, LocalDateTime.now(), List.of());
+    }
+
+    private static void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+    }
+}
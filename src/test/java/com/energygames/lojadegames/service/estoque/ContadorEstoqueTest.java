@@ -0,0 +1,140 @@
+package com.energygames.lojadegames.service.estoque;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do ContadorEstoque - Contador em faixas sem venda além do estoque")
+class ContadorEstoqueTest {
+
+    @Test
+    @DisplayName("Deve retirar de várias faixas quando a faixa da thread não basta")
+    void deveRetirarDeVariasFaixas() {
+        // Arrange
+        ContadorEstoque contador = new ContadorEstoque(10, 8);
+
+        // Act & Assert
+        assertThat(contador.tentarRetirar(7)).isTrue();
+        assertThat(contador.tentarRetirar(4)).isFalse();
+        assertThat(contador.disponivel()).isEqualTo(3);
+        assertThat(contador.tentarRetirar(3)).isTrue();
+        assertThat(contador.disponivel()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas potência de 2 como número de faixas")
+    void deveValidarFaixas() {
+        assertThatThrownBy(() -> new ContadorEstoque(10, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Não deve vender além do estoque com retiradas e devoluções simultâneas")
+    void naoDeveVenderAlemDoEstoque() throws Exception {
+        // Arrange
+        int estoque = 5_000;
+        int threads = 16;
+        int tentativasPorThread = 20_000;
+        ContadorEstoque contador = new ContadorEstoque(estoque, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Long>> resultados = new ArrayList<>();
+
+        // Act: cada thread retira 1 a 3 unidades e devolve parte delas (reservas que expiram)
+        for (int t = 0; t < threads; t++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                long retidas = 0;
+                for (int i = 0; i < tentativasPorThread; i++) {
+                    int quantidade = aleatorio.nextInt(1, 4);
+                    if (contador.tentarRetirar(quantidade)) {
+                        if (aleatorio.nextInt(4) == 0) {
+                            contador.devolver(quantidade);
+                        } else {
+                            retidas += quantidade;
+                        }
+                    }
+                }
+                return retidas;
+            }));
+        }
+        largada.countDown();
+        long vendidas = 0;
+        for (Future<Long> resultado : resultados) {
+            vendidas += resultado.get();
+        }
+        executor.shutdown();
+
+        // Assert: tudo o que não foi vendido continua no contador, e nada além do estoque saiu
+        assertThat(vendidas).isLessThanOrEqualTo(estoque);
+        assertThat(vendidas + contador.disponivel()).isEqualTo(estoque);
+        assertThat(contador.disponivel()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Não deve recusar pedido grande enquanto o total cobre a quantidade")
+    void naoDeveRecusarComTotalSuficiente() throws Exception {
+        // Arrange: estoque justo. Ruído segura no máximo 1 unidade por thread e os outros compradores
+        // no máximo um pedido cada, então o disponível nunca fica abaixo de um pedido e toda recusa seria falsa
+        int ruido = 8;
+        int compradores = 4;
+        int pedido = 100;
+        int estoque = compradores * pedido + ruido;
+        ContadorEstoque contador = new ContadorEstoque(estoque, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(ruido + compradores);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicBoolean parar = new AtomicBoolean();
+        List<Future<Integer>> recusas = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < ruido; t++) {
+            executor.submit(() -> {
+                largada.await();
+                while (!parar.get()) {
+                    if (contador.tentarRetirar(1)) {
+                        contador.devolver(1);
+                    }
+                }
+                return null;
+            });
+        }
+        for (int t = 0; t < compradores; t++) {
+            recusas.add(executor.submit(() -> {
+                largada.await();
+                int recusados = 0;
+                for (int i = 0; i < 20_000; i++) {
+                    if (contador.tentarRetirar(pedido)) {
+                        contador.devolver(pedido);
+                    } else {
+                        recusados++;
+                    }
+                }
+                return recusados;
+            }));
+        }
+        largada.countDown();
+        int totalRecusas = 0;
+        for (Future<Integer> resultado : recusas) {
+            totalRecusas += resultado.get();
+        }
+        parar.set(true);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(totalRecusas).isZero();
+        assertThat(contador.disponivel()).isEqualTo(estoque);
+    }
+}
@@ -0,0 +1,98 @@
+package com.energygames.lojadegames.service.search;
+
+import com.energygames.lojadegames.dto.response.ProdutoSugestaoDTO;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ProdutoAutocompleteIndex - Sugestões por prefixo")
+class ProdutoAutocompleteIndexTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    private ProdutoAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProdutoAutocompleteIndex(produtoRepository);
+        index.indexar(1L, "The Legend of Zelda: Breath of the Wild", "the-legend-of-zelda-breath-of-the-wild",
+            5000, new BigDecimal("97"), "https://img/zelda-botw.jpg");
+        index.indexar(2L, "Zelda Tears of the Kingdom", "zelda-tears-of-the-kingdom",
+            8000, new BigDecimal("95"), "https://img/zelda-totk.jpg");
+        index.indexar(3L, "Zeal", "zeal", 10, null, null);
+        index.indexar(4L, "Mario Kart 8", "mario-kart-8", 3000, new BigDecimal("92"), null);
+    }
+
+    @Test
+    @DisplayName("Deve casar por prefixo e ordenar por popularidade")
+    void deveOrdenarPorPopularidade() {
+        assertThat(ids(index.sugerir("zel", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.sugerir("ze", 10))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Deve tolerar um erro de digitação, com as sugestões exatas primeiro")
+    void deveTolerarErroDeDigitacao() {
+        // Transposição, troca e remoção de letra
+        assertThat(ids(index.sugerir("zedla", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.sugerir("marip", 10))).containsExactly(4L);
+        assertThat(ids(index.sugerir("mrio", 10))).containsExactly(4L);
+        // "zeal" é exato; "zela" com erro casa os dois Zelda
+        assertThat(ids(index.sugerir("zeal", 10))).startsWith(3L);
+    }
+
+    @Test
+    @DisplayName("Deve exigir os termos anteriores e casar o último por prefixo")
+    void deveCasarVariosTermos() {
+        assertThat(ids(index.sugerir("zelda kin", 10))).containsExactly(2L);
+        assertThat(ids(index.sugerir("zelda brea", 10))).containsExactly(1L);
+        assertThat(index.sugerir("zelda mario", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite e retornar apenas os dados da sugestão")
+    void deveRespeitarLimite() {
+        List<ProdutoSugestaoDTO> sugestoes = index.sugerir("zelda", 1);
+
+        assertThat(sugestoes).hasSize(1);
+        assertThat(sugestoes.get(0).getSlug()).isEqualTo("zelda-tears-of-the-kingdom");
+        assertThat(sugestoes.get(0).getCapa()).isEqualTo("https://img/zelda-totk.jpg");
+    }
+
+    @Test
+    @DisplayName("Deve reordenar após alteração de popularidade e remover produto desativado")
+    void deveAtualizarIncrementalmente() {
+        // Arrange
+        when(produtoRepository.findDadosAutocompletePorId(1L)).thenReturn(List.<Object[]>of(new Object[] {
+            1L, "The Legend of Zelda: Breath of the Wild", "the-legend-of-zelda-breath-of-the-wild",
+            20000, new BigDecimal("97"), null }));
+        when(produtoRepository.findDadosAutocompletePorId(2L)).thenReturn(List.of());
+
+        // Act
+        index.onProdutoAlterado(new ProdutoAlteradoEvent(1L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+        List<Long> reordenado = ids(index.sugerir("zelda", 10));
+        index.onProdutoAlterado(new ProdutoAlteradoEvent(2L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+
+        // Assert
+        assertThat(reordenado).containsExactly(1L, 2L);
+        assertThat(ids(index.sugerir("zelda", 10))).containsExactly(1L);
+        assertThat(ids(index.sugerir("kingdom", 10))).isEmpty();
+    }
+
+    private List<Long> ids(List<ProdutoSugestaoDTO> sugestoes) {
+        return sugestoes.stream().map(ProdutoSugestaoDTO::getId).toList();
+    }
+}
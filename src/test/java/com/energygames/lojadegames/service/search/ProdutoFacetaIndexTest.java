@@ -0,0 +1,114 @@
+package com.energygames.lojadegames.service.search;
+
+import com.energygames.lojadegames.dto.response.FacetaValorDTO;
+import com.energygames.lojadegames.enums.StatusJogoEnum;
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.repository.CategoriaRepository;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ProdutoFacetaIndex - Contagens de facetas em memória")
+class ProdutoFacetaIndexTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    private ProdutoFacetaIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProdutoFacetaIndex(produtoRepository, categoriaRepository);
+        // Plataformas: 1 = PC, 2 = PS5 | Gêneros: 10 = Aventura, 11 = RPG
+        index.indexar(1L, 100L, "Ação", StatusJogoEnum.RELEASED, new BigDecimal("299.90"), new BigDecimal("97"),
+            Map.of(1L, "PC", 2L, "PS5"), Map.of(10L, "Aventura"));
+        index.indexar(2L, 100L, "Ação", StatusJogoEnum.RELEASED, new BigDecimal("49.90"), new BigDecimal("80"),
+            Map.of(1L, "PC"), Map.of(10L, "Aventura", 11L, "RPG"));
+        index.indexar(3L, 200L, "RPG", StatusJogoEnum.EARLY_ACCESS, new BigDecimal("120.00"), null,
+            Map.of(2L, "PS5"), Map.of(11L, "RPG"));
+    }
+
+    @Test
+    @DisplayName("Deve contar todos os valores sem filtros")
+    void deveContarSemFiltros() {
+        ProdutoFacetaIndex.Resultado resultado = index.buscar(null, Map.of());
+
+        assertThat(resultado.ids()).containsExactly(1L, 2L, 3L);
+        assertThat(contagens(resultado, ProdutoFacetaIndex.CATEGORIA)).containsExactly(Map.entry("100", 2L), Map.entry("200", 1L));
+        assertThat(contagens(resultado, ProdutoFacetaIndex.PRECO))
+            .containsExactly(Map.entry("0-50", 1L), Map.entry("100-200", 1L), Map.entry("200-300", 1L));
+        assertThat(contagens(resultado, ProdutoFacetaIndex.RATING)).containsExactly(Map.entry("70-85", 1L), Map.entry("85+", 1L));
+    }
+
+    @Test
+    @DisplayName("Filtro de uma faceta não deve reduzir as contagens da própria faceta")
+    void deveManterContagensDaPropriaFaceta() {
+        // Act
+        ProdutoFacetaIndex.Resultado resultado = index.buscar(null, Map.of(ProdutoFacetaIndex.PLATAFORMA, List.of("1")));
+
+        // Assert
+        assertThat(resultado.ids()).containsExactly(1L, 2L);
+        assertThat(contagens(resultado, ProdutoFacetaIndex.PLATAFORMA)).containsEntry("1", 2L).containsEntry("2", 2L);
+        assertThat(contagens(resultado, ProdutoFacetaIndex.GENERO)).containsEntry("10", 2L).containsEntry("11", 1L);
+        assertThat(resultado.facetas().get(ProdutoFacetaIndex.PLATAFORMA))
+            .filteredOn(FacetaValorDTO::isSelecionado).extracting(FacetaValorDTO::getRotulo).containsExactly("PC");
+    }
+
+    @Test
+    @DisplayName("Deve combinar OU dentro da faceta, E entre facetas e a restrição da busca textual")
+    void deveCombinarFiltros() {
+        Map<String, List<String>> filtros = Map.of(
+            ProdutoFacetaIndex.GENERO, List.of("10", "11"),
+            ProdutoFacetaIndex.STATUS, List.of("RELEASED"));
+
+        assertThat(index.buscar(null, filtros).ids()).containsExactly(1L, 2L);
+        assertThat(index.buscar(List.of(2L, 3L), filtros).ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve remover produto desativado das contagens")
+    void deveRemoverProdutoDesativado() {
+        // Arrange
+        when(produtoRepository.findDadosFacetasPorId(3L)).thenReturn(List.of());
+
+        // Act
+        index.onProdutoAlterado(new ProdutoAlteradoEvent(3L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+        ProdutoFacetaIndex.Resultado resultado = index.buscar(null, Map.of());
+
+        // Assert
+        assertThat(resultado.ids()).containsExactly(1L, 2L);
+        assertThat(contagens(resultado, ProdutoFacetaIndex.CATEGORIA)).containsOnlyKeys("100");
+        assertThat(contagens(resultado, ProdutoFacetaIndex.STATUS)).containsOnlyKeys("RELEASED");
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a posição de um produto removido")
+    void deveReaproveitarPosicao() {
+        index.remover(1L);
+        index.indexar(4L, 200L, "RPG", StatusJogoEnum.RELEASED, new BigDecimal("10"), null, Map.of(), Map.of());
+
+        assertThat(index.buscar(null, Map.of(ProdutoFacetaIndex.CATEGORIA, List.of("200"))).ids()).containsExactly(3L, 4L);
+        assertThat(index.buscar(null, Map.of(ProdutoFacetaIndex.PLATAFORMA, List.of("1"))).ids()).containsExactly(2L);
+    }
+
+    private Map<String, Long> contagens(ProdutoFacetaIndex.Resultado resultado, String faceta) {
+        Map<String, Long> contagens = new java.util.LinkedHashMap<>();
+        resultado.facetas().get(faceta).forEach(valor -> contagens.put(valor.getValor(), valor.getQuantidade()));
+        return contagens;
+    }
+}
@@ -0,0 +1,135 @@
+package com.energygames.lojadegames.service.search;
+
+import com.energygames.lojadegames.event.ProdutoAlteradoEvent;
+import com.energygames.lojadegames.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ProdutoSearchIndex - Busca textual em memória")
+class ProdutoSearchIndexTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    private ProdutoSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProdutoSearchIndex(produtoRepository);
+        index.indexar(1L, "The Legend of Zelda: Breath of the Wild", "Aventura em mundo aberto", "Nintendo", "Nintendo", 10L);
+        index.indexar(2L, "Ação Total", "Jogo de ação frenético", "Estúdio Brasil", "Publisher X", 20L);
+        index.indexar(3L, "Zelda Tears of the Kingdom", "Sequência de Breath of the Wild", "Nintendo", "Nintendo", 10L);
+        index.indexar(4L, "Elden Ring", "RPG de ação", "FromSoftware", "Bandai Namco", 20L,
+            new BigDecimal("249.90"), LocalDate.of(2022, 2, 25), new BigDecimal("95.0"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e maiúsculas na busca")
+    void deveIgnorarAcentos() {
+        assertThat(index.buscar("ACAO", null)).containsExactly(2L, 4L);
+        assertThat(index.buscar("ação", null)).containsExactly(2L, 4L);
+    }
+
+    @Test
+    @DisplayName("Deve priorizar ocorrências no nome sobre a descrição")
+    void devePriorizarNome() {
+        // "breath" está no nome do produto 1 e apenas na descrição do produto 3
+        assertThat(index.buscar("breath", null)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os termos e casar o último por prefixo")
+    void deveExigirTodosOsTermos() {
+        assertThat(index.buscar("zelda kingd", null)).containsExactly(3L);
+        assertThat(index.buscar("zelda inexistente", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por categoria")
+    void deveFiltrarPorCategoria() {
+        assertThat(index.buscar("nintendo", 10L)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.buscar("nintendo", 20L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve reindexar produto atualizado e remover produto excluído")
+    void deveAtualizarIncrementalmente() {
+        // Arrange
+        Object[] linhaAtualizada = {4L, "Elden Ring Nightreign", "Cooperativo", "FromSoftware", "Bandai Namco", 20L,
+            new BigDecimal("199.90"), LocalDate.of(2025, 5, 30), null};
+        when(produtoRepository.findDadosIndexaveisPorId(4L)).thenReturn(List.<Object[]>of(linhaAtualizada));
+
+        // Act
+        index.onProdutoAlterado(new ProdutoAlteradoEvent(4L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+        index.onProdutoAlterado(new ProdutoAlteradoEvent(2L, ProdutoAlteradoEvent.Tipo.REMOVIDO));
+
+        // Assert
+        assertThat(index.buscar("nightreign", null)).containsExactly(4L);
+        assertThat(index.buscar("acao", null)).isEmpty();
+        assertThat(index.getTotalDocumentos()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar candidatos em memória pelos campos indexados")
+    void deveOrdenarEmMemoria() {
+        // Arrange
+        index.indexar(3L, "Zelda Tears of the Kingdom", "Sequência de Breath of the Wild", "Nintendo", "Nintendo", 10L,
+            new BigDecimal("349.90"), LocalDate.of(2023, 5, 12), new BigDecimal("96.0"));
+        List<Long> candidatos = List.of(1L, 2L, 3L, 4L);
+
+        // Act & Assert
+        assertThat(index.ordenar(candidatos, Sort.by("nome"))).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(index.ordenar(candidatos, Sort.by(Sort.Direction.DESC, "preco"))).containsExactly(3L, 4L, 1L, 2L);
+        assertThat(index.ordenar(candidatos, Sort.unsorted())).isSameAs(candidatos);
+        assertThat(index.ordenar(candidatos, Sort.by("estoque"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer consultas sem nenhum termo indexável")
+    void deveReconhecerConsultaSemTermos() {
+        assertThat(index.isPesquisavel("de")).isFalse();
+        assertThat(index.isPesquisavel("a")).isFalse();
+        assertThat(index.isPesquisavel("zelda")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reconstrução deve manter o índice anterior visível e reaplicar alterações concorrentes")
+    void reconstrucaoDeveReaplicarAlteracoesConcorrentes() {
+        // Arrange: o lote lido traz o nome antigo; a edição chega entre a leitura e a publicação
+        Object[] linhaAntiga = {4L, "Elden Ring", "RPG de ação", "FromSoftware", "Bandai Namco", 20L, null, null, null};
+        Object[] linhaNova = {4L, "Elden Ring Nightreign", "Cooperativo", "FromSoftware", "Bandai Namco", 20L,
+            null, null, null};
+        List<Long> vistosDuranteReconstrucao = new ArrayList<>();
+        when(produtoRepository.findDadosIndexaveisPorId(4L)).thenReturn(List.<Object[]>of(linhaNova));
+        when(produtoRepository.findDadosIndexaveisAposId(eq(0L), any(Pageable.class))).thenAnswer(invocacao -> {
+            vistosDuranteReconstrucao.addAll(index.buscar("zelda", null));
+            index.onProdutoAlterado(new ProdutoAlteradoEvent(4L, ProdutoAlteradoEvent.Tipo.ATUALIZADO));
+            return List.<Object[]>of(linhaAntiga);
+        });
+
+        // Act
+        index.reconstruir();
+
+        // Assert
+        assertThat(vistosDuranteReconstrucao).containsExactly(1L, 3L);
+        assertThat(index.buscar("nightreign", null)).containsExactly(4L);
+        assertThat(index.getTotalDocumentos()).isEqualTo(1);
+    }
+}
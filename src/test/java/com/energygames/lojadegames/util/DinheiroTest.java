@@ -0,0 +1,60 @@
+package com.energygames.lojadegames.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do Dinheiro - Aritmética em centavos")
+class DinheiroTest {
+
+    @Test
+    @DisplayName("Deve converter reais para centavos arredondando HALF_UP")
+    void deveConverterReais() {
+        assertThat(Dinheiro.de(new BigDecimal("59.99")).getCentavos()).isEqualTo(5999);
+        assertThat(Dinheiro.de(new BigDecimal("10")).getCentavos()).isEqualTo(1000);
+        assertThat(Dinheiro.de(new BigDecimal("0.005")).getCentavos()).isEqualTo(1);
+        assertThat(Dinheiro.deCentavos(5999).paraReais()).isEqualByComparingTo("59.99").hasScaleOf(2);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o desconto no preço unitário e arredondar para o centavo")
+    void deveAplicarDesconto() {
+        Dinheiro preco = Dinheiro.de(new BigDecimal("59.99"));
+
+        assertThat(preco.comDesconto(new BigDecimal("15")).paraReais()).isEqualByComparingTo("50.99");
+        assertThat(preco.comDesconto(new BigDecimal("12.5")).paraReais()).isEqualByComparingTo("52.49");
+        assertThat(preco.comDesconto((BigDecimal) null)).isSameAs(preco);
+        assertThat(preco.comDesconto(BigDecimal.ZERO)).isSameAs(preco);
+        assertThat(preco.comDesconto(new BigDecimal("100"))).isEqualTo(Dinheiro.ZERO);
+    }
+
+    @Test
+    @DisplayName("Subtotal deve ser preço unitário final vezes quantidade, como no Stripe")
+    void subtotalDeveBaterComStripe() {
+        // 0,99 com 50%: desconto de 0,495 -> 0,50, unidade a 0,49; 3 unidades = 1,47 (e não 1,485 -> 1,49)
+        Dinheiro unitario = Dinheiro.de(new BigDecimal("0.99")).comDesconto(new BigDecimal("50"));
+
+        assertThat(unitario.getCentavos()).isEqualTo(49);
+        assertThat(unitario.vezes(3).paraReais()).isEqualByComparingTo("1.47");
+        assertThat(Dinheiro.precoComDesconto(new BigDecimal("0.99"), new BigDecimal("50"))).isEqualByComparingTo("0.49");
+        assertThat(Dinheiro.precoComDesconto(null, new BigDecimal("50"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve somar e subtrair e detectar overflow")
+    void deveSomarESubtrair() {
+        Dinheiro total = Dinheiro.ZERO
+            .mais(Dinheiro.deCentavos(1999))
+            .mais(Dinheiro.deCentavos(1));
+
+        assertThat(total).isEqualTo(Dinheiro.deCentavos(2000));
+        assertThat(total.menos(Dinheiro.deCentavos(500)).toString()).isEqualTo("15.00");
+        assertThat(Dinheiro.ZERO.isPositivo()).isFalse();
+        assertThatThrownBy(() -> Dinheiro.deCentavos(Long.MAX_VALUE).vezes(2))
+            .isInstanceOf(ArithmeticException.class);
+    }
+}